@@ -20,6 +20,7 @@ import java.io.Serializable;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.OrderUtils;
 import org.springframework.lang.Nullable;
@@ -110,13 +111,17 @@ public class BeanFactoryAspectInstanceFactory implements MetadataAwareAspectInst
 			// Rely on singleton semantics provided by the factory -> no local lock.
 			return null;
 		}
-		else if (this.beanFactory instanceof ConfigurableBeanFactory) {
+		else if (this.beanFactory instanceof ConfigurableBeanFactory &&
+				!(this.beanFactory instanceof DefaultSingletonBeanRegistry &&
+						((DefaultSingletonBeanRegistry) this.beanFactory).isPerBeanSingletonLocking())) {
 			// No singleton guarantees from the factory -> let's lock locally but
 			// reuse the factory's singleton lock, just in case a lazy dependency
 			// of our advice bean happens to trigger the singleton lock implicitly...
 			return ((ConfigurableBeanFactory) this.beanFactory).getSingletonMutex();
 		}
 		else {
+			// No singleton lock to reuse, or one that must not be held while obtaining
+			// beans (with per-bean singleton locking) -> let's lock on this factory.
 			return this;
 		}
 	}
@@ -24,6 +24,7 @@ import org.aopalliance.aop.Advice;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -82,7 +83,11 @@ public abstract class AbstractBeanFactoryPointcutAdvisor extends AbstractPointcu
 	}
 
 	private void resetAdviceMonitor() {
-		if (this.beanFactory instanceof ConfigurableBeanFactory) {
+		// The singleton mutex does not guard singleton creation with per-bean singleton locking,
+		// and must not be held while obtaining beans then -> lock locally in that case.
+		if (this.beanFactory instanceof ConfigurableBeanFactory &&
+				!(this.beanFactory instanceof DefaultSingletonBeanRegistry &&
+						((DefaultSingletonBeanRegistry) this.beanFactory).isPerBeanSingletonLocking())) {
 			this.adviceMonitor = ((ConfigurableBeanFactory) this.beanFactory).getSingletonMutex();
 		}
 		else {
@@ -119,8 +124,9 @@ public abstract class AbstractBeanFactoryPointcutAdvisor extends AbstractPointcu
 		}
 		else {
 			// No singleton guarantees from the factory -> let's lock locally but
-			// reuse the factory's singleton lock, just in case a lazy dependency
-			// of our advice bean happens to trigger the singleton lock implicitly...
+			// reuse the factory's singleton lock (unless locking singletons per bean),
+			// just in case a lazy dependency of our advice bean happens to trigger
+			// the singleton lock implicitly...
 			synchronized (this.adviceMonitor) {
 				advice = this.advice;
 				if (advice == null) {
@@ -17,6 +17,7 @@
 package org.springframework.beans;
 
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.AccessControlContext;
 import java.security.AccessController;
@@ -25,6 +26,7 @@ import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.convert.Property;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.Nullable;
@@ -62,6 +64,21 @@ import org.springframework.util.ReflectionUtils;
  */
 public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements BeanWrapper {
 
+	/**
+	 * System property that instructs Spring to access bean properties through
+	 * generated accessor classes by default, instead of through reflection:
+	 * "spring.beanwrapper.compile".
+	 * <p>The default is "false". Consider switching this flag to "true" for
+	 * intensive data binding or row mapping onto classes with many properties.
+	 * @since 5.0.11
+	 * @see #setCompiledPropertyAccess
+	 */
+	public static final String COMPILED_PROPERTY_ACCESS_PROPERTY_NAME = "spring.beanwrapper.compile";
+
+
+	private static final boolean compiledPropertyAccessByDefault =
+			SpringProperties.getFlag(COMPILED_PROPERTY_ACCESS_PROPERTY_NAME);
+
 	/**
 	 * Cached introspections results for this object, to prevent encountering
 	 * the cost of JavaBeans introspection every time.
@@ -75,6 +92,11 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	@Nullable
 	private AccessControlContext acc;
 
+	/**
+	 * Whether to access bean properties through a generated accessor
+	 */
+	private boolean compiledPropertyAccess = compiledPropertyAccessByDefault;
+
 
 	/**
 	 * Create a new empty BeanWrapperImpl. Wrapped instance needs to be set afterwards.
@@ -132,6 +154,7 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	private BeanWrapperImpl(Object object, String nestedPath, BeanWrapperImpl parent) {
 		super(object, nestedPath, parent);
 		setSecurityContext(parent.acc);
+		setCompiledPropertyAccess(parent.compiledPropertyAccess);
 	}
 
 
@@ -193,6 +216,39 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		return this.acc;
 	}
 
+	/**
+	 * Set whether to read and write bean properties through an accessor class
+	 * generated for the wrapped class, invoking the property methods directly
+	 * instead of through {@link Method#invoke}. The accessor is generated once
+	 * per class and shared along with the cached introspection results.
+	 * <p>Properties that cannot be accessed from generated code, e.g. with
+	 * non-public methods or types, as well as any access under a SecurityManager,
+	 * keep going through reflection.
+	 * <p>Default is "false", unless the {@link #COMPILED_PROPERTY_ACCESS_PROPERTY_NAME}
+	 * system property has been set to "true". Nested bean wrappers inherit this setting.
+	 * @since 5.0.11
+	 */
+	public void setCompiledPropertyAccess(boolean compiledPropertyAccess) {
+		this.compiledPropertyAccess = compiledPropertyAccess;
+	}
+
+	/**
+	 * Return whether to read and write bean properties through a generated accessor.
+	 * @since 5.0.11
+	 */
+	public boolean isCompiledPropertyAccess() {
+		return this.compiledPropertyAccess;
+	}
+
+
+	/**
+	 * Obtain the generated accessor for the wrapped object, if enabled.
+	 */
+	@Nullable
+	private CompiledPropertyAccessor getCompiledPropertyAccessor() {
+		return (this.compiledPropertyAccess && System.getSecurityManager() == null ?
+				getCachedIntrospectionResults().getCompiledPropertyAccessor() : null);
+	}
 
 	/**
 	 * Convert the given value for the specified property to the latter's type.
@@ -304,6 +360,18 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 				}
 			}
 			else {
+				CompiledPropertyAccessor accessor = getCompiledPropertyAccessor();
+				if (accessor != null) {
+					int index = accessor.getReadIndex(this.pd.getName());
+					if (index != -1) {
+						try {
+							return accessor.getPropertyValue(getWrappedInstance(), index);
+						}
+						catch (Throwable ex) {
+							throw new InvocationTargetException(ex);
+						}
+					}
+				}
 				ReflectionUtils.makeAccessible(readMethod);
 				return readMethod.invoke(getWrappedInstance(), (Object[]) null);
 			}
@@ -328,6 +396,20 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 				}
 			}
 			else {
+				CompiledPropertyAccessor accessor = getCompiledPropertyAccessor();
+				if (accessor != null) {
+					int index = accessor.getWriteIndex(this.pd.getName());
+					// Leave widening conversions and argument mismatches to reflection
+					if (index != -1 && accessor.isAssignableValue(index, value)) {
+						try {
+							accessor.setPropertyValue(getWrappedInstance(), index, value);
+						}
+						catch (Throwable ex) {
+							throw new InvocationTargetException(ex);
+						}
+						return;
+					}
+				}
 				ReflectionUtils.makeAccessible(writeMethod);
 				writeMethod.invoke(getWrappedInstance(), value);
 			}
@@ -259,6 +259,13 @@ public class CachedIntrospectionResults {
 	/** TypeDescriptor objects keyed by PropertyDescriptor */
 	private final ConcurrentMap<PropertyDescriptor, TypeDescriptor> typeDescriptorCache;
 
+	/** Generated accessor for the bean properties, lazily compiled on demand */
+	@Nullable
+	private volatile CompiledPropertyAccessor compiledPropertyAccessor;
+
+	/** Whether compilation of the property accessor has been attempted already */
+	private volatile boolean compiledPropertyAccessorResolved;
+
 
 	/**
 	 * Create a new CachedIntrospectionResults instance for the given class.
@@ -373,4 +380,34 @@ public class CachedIntrospectionResults {
 		return this.typeDescriptorCache.get(pd);
 	}
 
+	/**
+	 * Return the generated accessor for the bean properties, compiling it on
+	 * first access.
+	 * @return the accessor, or {@code null} if the bean class does not allow
+	 * for compiled access or if compilation failed
+	 * @since 5.0.11
+	 * @see PropertyAccessorCompiler
+	 */
+	@Nullable
+	CompiledPropertyAccessor getCompiledPropertyAccessor() {
+		if (!this.compiledPropertyAccessorResolved) {
+			synchronized (this) {
+				if (!this.compiledPropertyAccessorResolved) {
+					Class<?> beanClass = getBeanClass();
+					try {
+						this.compiledPropertyAccessor = PropertyAccessorCompiler.compile(beanClass, getPropertyDescriptors());
+					}
+					catch (Throwable ex) {
+						if (logger.isDebugEnabled()) {
+							logger.debug("Failed to compile property accessor for class [" + beanClass.getName() +
+									"] - falling back to reflective property access", ex);
+						}
+					}
+					this.compiledPropertyAccessorResolved = true;
+				}
+			}
+		}
+		return this.compiledPropertyAccessor;
+	}
+
 }
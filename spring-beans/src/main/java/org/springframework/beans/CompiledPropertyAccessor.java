@@ -0,0 +1,112 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Base class for generated bean property accessors, invoking the read and write
+ * methods of a specific bean class directly instead of through reflection.
+ * Each accessible property is identified by an index into the accessor.
+ *
+ * <p><b>NOTE: This is an internal class.</b> It is just public in order to allow
+ * for access from generated subclasses in a different ClassLoader.
+ *
+ * @since 5.0.11
+ * @see BeanWrapperImpl#setCompiledPropertyAccess
+ */
+public abstract class CompiledPropertyAccessor {
+
+	private final Map<String, Integer> readIndexes = new HashMap<>();
+
+	private final Map<String, Integer> writeIndexes = new HashMap<>();
+
+	private final Class<?>[] writeTypes;
+
+
+	/**
+	 * Create a new CompiledPropertyAccessor.
+	 * @param propertyCount the number of property indexes
+	 */
+	protected CompiledPropertyAccessor(int propertyCount) {
+		this.writeTypes = new Class<?>[propertyCount];
+	}
+
+
+	/**
+	 * Invoke the read method of the property with the given index.
+	 * @param bean the target bean instance
+	 * @param index the index of the property
+	 * @return the current property value, with primitives boxed
+	 * @throws Throwable any exception thrown by the read method
+	 */
+	@Nullable
+	public abstract Object getPropertyValue(Object bean, int index) throws Throwable;
+
+	/**
+	 * Invoke the write method of the property with the given index.
+	 * @param bean the target bean instance
+	 * @param index the index of the property
+	 * @param value the new value, which needs to be of the exact property
+	 * type (or its wrapper type for a primitive property)
+	 * @throws Throwable any exception thrown by the write method
+	 */
+	public abstract void setPropertyValue(Object bean, int index, @Nullable Object value) throws Throwable;
+
+
+	void addReadableProperty(String propertyName, int index) {
+		this.readIndexes.put(propertyName, index);
+	}
+
+	void addWritableProperty(String propertyName, int index, Class<?> type) {
+		this.writeIndexes.put(propertyName, index);
+		this.writeTypes[index] = type;
+	}
+
+	/**
+	 * Return the index of the given property for reading, or -1 if the
+	 * read method of the property is not covered by this accessor.
+	 */
+	int getReadIndex(String propertyName) {
+		Integer index = this.readIndexes.get(propertyName);
+		return (index != null ? index : -1);
+	}
+
+	/**
+	 * Return the index of the given property for writing, or -1 if the
+	 * write method of the property is not covered by this accessor.
+	 */
+	int getWriteIndex(String propertyName) {
+		Integer index = this.writeIndexes.get(propertyName);
+		return (index != null ? index : -1);
+	}
+
+	/**
+	 * Determine whether the given value can be passed to the write method
+	 * of the property with the given index as-is, without the widening and
+	 * the null checks that reflective invocation would perform.
+	 */
+	boolean isAssignableValue(int index, @Nullable Object value) {
+		Class<?> type = this.writeTypes[index];
+		return (value != null ? ClassUtils.isAssignableValue(type, value) : !type.isPrimitive());
+	}
+
+}
@@ -976,7 +976,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Nullable
 	private FactoryBean<?> getSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
-		synchronized (getSingletonMutex()) {
+		return doWithSingletonLock(beanName, () -> {
 			BeanWrapper bw = this.factoryBeanInstanceCache.get(beanName);
 			if (bw != null) {
 				return (FactoryBean<?>) bw.getWrappedInstance();
@@ -1011,7 +1011,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 				this.factoryBeanInstanceCache.put(beanName, bw);
 			}
 			return fb;
-		}
+		});
 	}
 
 	/**
@@ -1960,7 +1960,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Override
 	protected void removeSingleton(String beanName) {
-		synchronized (getSingletonMutex()) {
+		synchronized (getRegistrationMutex()) {
 			super.removeSingleton(beanName);
 			this.factoryBeanInstanceCache.remove(beanName);
 		}
@@ -1971,7 +1971,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Override
 	protected void clearSingletonCache() {
-		synchronized (getSingletonMutex()) {
+		synchronized (getRegistrationMutex()) {
 			super.clearSingletonCache();
 			this.factoryBeanInstanceCache.clear();
 		}
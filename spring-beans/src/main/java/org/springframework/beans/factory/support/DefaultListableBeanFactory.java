@@ -25,12 +25,17 @@ import java.lang.annotation.Annotation;
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.lang.reflect.WildcardType;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -40,10 +45,13 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 import javax.inject.Provider;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -64,6 +72,8 @@ import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.DependencyDescriptor;
@@ -144,6 +154,16 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether to allow eager class loading even for lazy-init beans */
 	private boolean allowEagerClassLoading = true;
 
+	/** Maximum number of threads pre-instantiating singletons */
+	private int preInstantiationParallelism = 1;
+
+	/** Pool of helper threads pre-instantiating singletons, created on demand */
+	@Nullable
+	private ForkJoinPool preInstantiationExecutor;
+
+	/** Synchronization monitor for the pre-instantiation pool */
+	private final Object preInstantiationMonitor = new Object();
+
 	/** Optional OrderComparator for dependency Lists and arrays */
 	@Nullable
 	private Comparator<Object> dependencyComparator;
@@ -166,6 +186,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	// 根据类型获取的单例的beanNmaes
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
+	/** Map of singleton and non-singleton bean names, keyed by generic dependency type */
+	private final Map<ResolvableType, String[]> allBeanNamesByGenericType = new ConcurrentHashMap<>(64);
+
 	/** List of bean definition names, in registration order */
 	/** 存储我们的bd的所有bean的名字,也就是beanDefinitionMap的key值 */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
@@ -265,6 +288,49 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * Set the maximum number of threads to pre-instantiate non-lazy singletons with.
+	 * <p>Default is 1: singletons are created one after another, in registration order.
+	 * A higher value creates singletons without known dependencies on each other
+	 * concurrently, which speeds up the startup of large applications with slow
+	 * initialization callbacks. This requires
+	 * {@link #setPerBeanSingletonLocking per-bean singleton locking}; the setting
+	 * is ignored otherwise.
+	 * <p>The order of creation follows a best-effort dependency graph, derived from
+	 * the bean definitions ("depends-on", bean references, factory beans) and from
+	 * previously registered dependent beans. It does not cover dependencies that
+	 * are only resolved during creation, i.e. autowired constructor and factory
+	 * method arguments (including {@code @Bean} method parameters) and autowired
+	 * fields or methods: those are created on demand by the requesting thread,
+	 * waiting for another thread which is creating the same bean already. The graph
+	 * therefore only serves to keep threads from waiting on each other; it is
+	 * not required for correctness.
+	 * {@link SmartInitializingSingleton} callbacks are still invoked in
+	 * registration order once all singletons have been created.
+	 * <p>The calling thread creates singletons along with helper threads from
+	 * a pool owned by this factory, which is reused for every pre-instantiation
+	 * and shut down on {@link #destroySingletons()}.
+	 * @since 5.0.11
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+		Assert.isTrue(preInstantiationParallelism > 0, "Pre-instantiation parallelism must be greater than 0");
+		synchronized (this.preInstantiationMonitor) {
+			if (preInstantiationParallelism != this.preInstantiationParallelism) {
+				this.preInstantiationParallelism = preInstantiationParallelism;
+				shutdownPreInstantiationExecutor();
+			}
+		}
+	}
+
+	/**
+	 * Return the maximum number of threads to pre-instantiate non-lazy singletons with.
+	 * @since 5.0.11
+	 */
+	public int getPreInstantiationParallelism() {
+		return this.preInstantiationParallelism;
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 * @since 4.0
@@ -320,6 +386,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			DefaultListableBeanFactory otherListableFactory = (DefaultListableBeanFactory) otherFactory;
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
+			this.preInstantiationParallelism = otherListableFactory.preInstantiationParallelism;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(BeanUtils.instantiateClass(getAutowireCandidateResolver().getClass()));
@@ -380,7 +447,22 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 	@Override
 	public String[] getBeanNamesForType(ResolvableType type) {
-		return doGetBeanNamesForType(type, true, true);
+		Class<?> resolved = type.resolve();
+		if (resolved != null && isPlainClass(type)) {
+			// Plain class: share the cache with Class-based lookups
+			return getBeanNamesForType(resolved, true, true);
+		}
+		ResolvableType cacheKey = (isConfigurationFrozen() ? getByTypeCacheKey(type) : null);
+		if (cacheKey == null) {
+			return doGetBeanNamesForType(type, true, true);
+		}
+		String[] resolvedBeanNames = this.allBeanNamesByGenericType.get(cacheKey);
+		if (resolvedBeanNames != null) {
+			return resolvedBeanNames;
+		}
+		resolvedBeanNames = doGetBeanNamesForType(type, true, true);
+		this.allBeanNamesByGenericType.put(cacheKey, resolvedBeanNames);
+		return resolvedBeanNames;
 	}
 
 	@Override
@@ -491,6 +573,58 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Determine whether the given type can be matched by its raw class, i.e.
+	 * whether neither the type nor any array component type carries generics.
+	 * @param type the type to check
+	 */
+	private static boolean isPlainClass(ResolvableType type) {
+		if (type.hasUnresolvableGenerics()) {
+			return false;
+		}
+		for (ResolvableType current = type; current != ResolvableType.NONE; current = current.getComponentType()) {
+			if (current.hasGenerics()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Build the by-type cache key for the given generic type: a synthetic type
+	 * that is equal for equal type structures, independent of the source (such
+	 * as a field or method parameter) that the given type has been obtained from.
+	 * @param type the generic type to match
+	 * @return the cache key, or {@code null} if matches for the type should not
+	 * be cached (unresolvable generics, wildcards, arrays, or unsafe classes)
+	 */
+	@Nullable
+	private ResolvableType getByTypeCacheKey(ResolvableType type) {
+		Class<?> resolved = type.resolve();
+		if (resolved == null || type.isArray() || type.hasUnresolvableGenerics() ||
+				!ClassUtils.isCacheSafe(resolved, getBeanClassLoader())) {
+			return null;
+		}
+		ResolvableType[] generics = type.getGenerics();
+		if (generics.length == 0) {
+			return ResolvableType.forClass(resolved);
+		}
+		if (generics.length != resolved.getTypeParameters().length) {
+			return null;
+		}
+		ResolvableType[] genericKeys = new ResolvableType[generics.length];
+		for (int i = 0; i < generics.length; i++) {
+			if (generics[i].getType() instanceof WildcardType) {
+				return null;
+			}
+			genericKeys[i] = getByTypeCacheKey(generics[i]);
+			if (genericKeys[i] == null) {
+				return null;
+			}
+		}
+		return ResolvableType.forClassWithGenerics(resolved, genericKeys);
+	}
+
 	/**
 	 * Check whether the specified bean would need to be eagerly initialized
 	 * in order to determine its type.
@@ -740,34 +874,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 		// 触发所有非延迟加载的单例bean的初始化，主要是下面的getBean(beanName)这个方法
 		// Trigger initialization of all non-lazy singleton beans...
-		for (String beanName : beanNames) {
-			// 合并父BeanDefinition,这个只有在使用xml中会用到，不重要
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				// 这里是实例化我们通过FactoryBean创建出来的对象
-				if (isFactoryBean(beanName)) {
-					//判断是否是FactoryBean,如果是FactroyBean,则在前面加上一个&符号
-					//至于为什么要加上&符号，请自行恶补FactoryBean的类生成规则（去看源码）
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof FactoryBean) {
-						final FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
-											((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) {
-							getBean(beanName);
-						}
-					}
-				} else {
-					// getBean 这里是实例化我们bean的方法
-					getBean(beanName);
+		if (this.preInstantiationParallelism > 1 && isPerBeanSingletonLocking()) {
+			preInstantiateSingletonsInParallel(beanNames);
+		}
+		else {
+			for (String beanName : beanNames) {
+				// 合并父BeanDefinition,这个只有在使用xml中会用到，不重要
+				RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+				if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
@@ -791,6 +906,170 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 
+	/**
+	 * Pre-instantiate the given non-lazy singleton, including the object
+	 * exposed by an eager-init {@link SmartFactoryBean}.
+	 */
+	private void preInstantiateSingleton(String beanName) {
+		// 这里是实例化我们通过FactoryBean创建出来的对象
+		if (isFactoryBean(beanName)) {
+			//判断是否是FactoryBean,如果是FactroyBean,则在前面加上一个&符号
+			//至于为什么要加上&符号，请自行恶补FactoryBean的类生成规则（去看源码）
+			Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+			if (bean instanceof FactoryBean) {
+				final FactoryBean<?> factory = (FactoryBean<?>) bean;
+				boolean isEagerInit;
+				if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+					isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
+									((SmartFactoryBean<?>) factory)::isEagerInit,
+							getAccessControlContext());
+				}
+				else {
+					isEagerInit = (factory instanceof SmartFactoryBean &&
+							((SmartFactoryBean<?>) factory).isEagerInit());
+				}
+				if (isEagerInit) {
+					getBean(beanName);
+				}
+			}
+		}
+		else {
+			// getBean 这里是实例化我们bean的方法
+			getBean(beanName);
+		}
+	}
+
+	/**
+	 * Pre-instantiate the given singletons through a {@link PreInstantiationQueue},
+	 * worked off by the calling thread along with helper threads from this
+	 * factory's pre-instantiation pool.
+	 * <p>Returns once all singletons handed out have been created. If any singleton
+	 * could not be created, singletons that have not been started yet are skipped
+	 * and the first creation failure is rethrown.
+	 * @param beanNames the names of all bean definitions, in registration order
+	 * @see #setPreInstantiationParallelism
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames) {
+		Map<String, Set<String>> candidates = new LinkedHashMap<>(beanNames.size());
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				candidates.put(beanName, getPreInstantiationDependencies(beanName, bd));
+			}
+		}
+
+		PreInstantiationQueue queue = new PreInstantiationQueue(candidates);
+		int helpers = Math.min(this.preInstantiationParallelism, candidates.size()) - 1;
+		if (helpers > 0) {
+			ForkJoinPool executor = getPreInstantiationExecutor();
+			ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+			for (int i = 0; i < helpers; i++) {
+				executor.execute(() -> {
+					Thread currentThread = Thread.currentThread();
+					ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+					currentThread.setContextClassLoader(classLoader);
+					try {
+						preInstantiateQueuedSingletons(queue);
+					}
+					finally {
+						currentThread.setContextClassLoader(originalClassLoader);
+					}
+				});
+			}
+		}
+		// The calling thread takes part as well, so that all singletons get created
+		// even if none of the helpers gets started (e.g. since the pool is busy).
+		preInstantiateQueuedSingletons(queue);
+		queue.awaitCompletion();
+	}
+
+	/**
+	 * Create singletons handed out by the given queue until it is drained.
+	 */
+	private void preInstantiateQueuedSingletons(PreInstantiationQueue queue) {
+		String beanName;
+		while ((beanName = queue.take()) != null) {
+			Throwable failure = null;
+			try {
+				preInstantiateSingleton(beanName);
+			}
+			catch (RuntimeException | Error ex) {
+				failure = ex;
+			}
+			queue.complete(beanName, failure);
+		}
+	}
+
+	/**
+	 * Return the pool for helper threads in parallel pre-instantiation,
+	 * creating it on first use.
+	 */
+	private ForkJoinPool getPreInstantiationExecutor() {
+		synchronized (this.preInstantiationMonitor) {
+			if (this.preInstantiationExecutor == null) {
+				this.preInstantiationExecutor = new ForkJoinPool(this.preInstantiationParallelism - 1);
+			}
+			return this.preInstantiationExecutor;
+		}
+	}
+
+	/**
+	 * Shut down the pool for helper threads in parallel pre-instantiation, if any.
+	 */
+	private void shutdownPreInstantiationExecutor() {
+		synchronized (this.preInstantiationMonitor) {
+			if (this.preInstantiationExecutor != null) {
+				this.preInstantiationExecutor.shutdown();
+				this.preInstantiationExecutor = null;
+			}
+		}
+	}
+
+	/**
+	 * Determine the names of the beans that the given bean is known to depend on
+	 * before its creation: "depends-on" beans, its factory bean, beans referenced
+	 * by its constructor arguments and property values, and dependencies that have
+	 * been registered for it already.
+	 * <p>This is a heuristic: autowired dependencies are not known before creation
+	 * and therefore not included here.
+	 */
+	private Set<String> getPreInstantiationDependencies(String beanName, RootBeanDefinition mbd) {
+		Set<String> dependencies = new LinkedHashSet<>();
+		String[] dependsOn = mbd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependsOnBean : dependsOn) {
+				dependencies.add(canonicalName(dependsOnBean));
+			}
+		}
+		String factoryBeanName = mbd.getFactoryBeanName();
+		if (factoryBeanName != null) {
+			dependencies.add(transformedBeanName(factoryBeanName));
+		}
+		if (mbd.hasConstructorArgumentValues()) {
+			ConstructorArgumentValues cargs = mbd.getConstructorArgumentValues();
+			for (ConstructorArgumentValues.ValueHolder valueHolder : cargs.getIndexedArgumentValues().values()) {
+				addReferencedBeanName(valueHolder.getValue(), dependencies);
+			}
+			for (ConstructorArgumentValues.ValueHolder valueHolder : cargs.getGenericArgumentValues()) {
+				addReferencedBeanName(valueHolder.getValue(), dependencies);
+			}
+		}
+		if (mbd.hasPropertyValues()) {
+			for (PropertyValue pv : mbd.getPropertyValues().getPropertyValues()) {
+				addReferencedBeanName(pv.getValue(), dependencies);
+			}
+		}
+		Collections.addAll(dependencies, getDependenciesForBean(beanName));
+		dependencies.remove(beanName);
+		return dependencies;
+	}
+
+	private void addReferencedBeanName(@Nullable Object value, Set<String> beanNames) {
+		if (value instanceof BeanReference) {
+			beanNames.add(transformedBeanName(((BeanReference) value).getBeanName()));
+		}
+	}
+
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
 	//---------------------------------------------------------------------
@@ -885,6 +1164,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (existingDefinition != null || containsSingleton(beanName)) {
 			resetBeanDefinition(beanName);
 		}
+		else if (isConfigurationFrozen()) {
+			clearByTypeCache(beanName);
+		}
 	}
 
 	@Override
@@ -971,7 +1253,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			}
 		}
 
-		clearByTypeCache();
+		clearByTypeCache(beanName);
 	}
 
 	@Override
@@ -986,6 +1268,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		super.destroySingletons();
 		this.manualSingletonNames.clear();
 		clearByTypeCache();
+		shutdownPreInstantiationExecutor();
 	}
 
 	/**
@@ -994,6 +1277,61 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private void clearByTypeCache() {
 		this.allBeanNamesByType.clear();
 		this.singletonBeanNamesByType.clear();
+		this.allBeanNamesByGenericType.clear();
+	}
+
+	/**
+	 * Remove the by-type mappings that a change to the given bean may affect:
+	 * mappings that contain the bean, and mappings for types that the bean's
+	 * current type is assignable to. All other mappings remain cached.
+	 * @param beanName the name of the bean that has been registered
+	 */
+	private void clearByTypeCache(String beanName) {
+		if (this.allBeanNamesByType.isEmpty() && this.singletonBeanNamesByType.isEmpty() &&
+				this.allBeanNamesByGenericType.isEmpty()) {
+			return;
+		}
+		Class<?> beanType = null;
+		boolean beanExists = true;
+		try {
+			Object singletonInstance = getSingleton(beanName, false);
+			if (singletonInstance != null) {
+				if (!(singletonInstance instanceof FactoryBean)) {
+					beanType = singletonInstance.getClass();
+				}
+			}
+			else if (containsBeanDefinition(beanName)) {
+				RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+				if (!isFactoryBean(beanName, mbd)) {
+					beanType = predictBeanType(beanName, mbd);
+				}
+			}
+			else {
+				beanExists = false;
+			}
+		}
+		catch (BeansException ex) {
+			// Probably an invalid bean definition: no assumptions about its type.
+		}
+		if (beanExists && beanType == null) {
+			// Unknown type, or a FactoryBean which may expose any type of object
+			clearByTypeCache();
+			return;
+		}
+
+		String factoryBeanName = FACTORY_BEAN_PREFIX + beanName;
+		Class<?> currentType = beanType;
+		Predicate<String[]> containsBean = beanNames ->
+				(ObjectUtils.containsElement(beanNames, beanName) ||
+						ObjectUtils.containsElement(beanNames, factoryBeanName));
+		Predicate<Class<?>> matchesBean = type -> (currentType != null && ClassUtils.isAssignable(type, currentType));
+		this.allBeanNamesByType.entrySet().removeIf(entry ->
+				containsBean.test(entry.getValue()) || matchesBean.test(entry.getKey()));
+		this.singletonBeanNamesByType.entrySet().removeIf(entry ->
+				containsBean.test(entry.getValue()) || matchesBean.test(entry.getKey()));
+		// Generic types: compare raw classes, since generics of the bean type may be unknown yet
+		this.allBeanNamesByGenericType.entrySet().removeIf(entry ->
+				containsBean.test(entry.getValue()) || matchesBean.test(entry.getKey().resolve(Object.class)));
 	}
 
 
@@ -1640,6 +1978,146 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 
+	/**
+	 * Work queue for parallel pre-instantiation, handing out each singleton once
+	 * its known dependencies among the candidates have been created.
+	 */
+	private static class PreInstantiationQueue {
+
+		/** Names of the singletons not handed out yet, in registration order */
+		private final Set<String> pendingBeans;
+
+		/** Singletons waiting for known dependencies: bean name to number of dependencies */
+		private final Map<String, Integer> dependencyCounts = new HashMap<>();
+
+		/** Map between candidates: bean name to names of candidates depending on it */
+		private final Map<String, List<String>> dependentBeans = new HashMap<>();
+
+		/** Names of the singletons ready for creation */
+		private final Deque<String> readyBeans = new ArrayDeque<>();
+
+		private int beansInCreation;
+
+		@Nullable
+		private Throwable failure;
+
+		public PreInstantiationQueue(Map<String, Set<String>> candidates) {
+			this.pendingBeans = new LinkedHashSet<>(candidates.keySet());
+			candidates.forEach((beanName, dependencies) -> {
+				int dependencyCount = 0;
+				for (String dependency : dependencies) {
+					if (candidates.containsKey(dependency)) {
+						this.dependentBeans.computeIfAbsent(dependency, key -> new ArrayList<>()).add(beanName);
+						dependencyCount++;
+					}
+				}
+				if (dependencyCount > 0) {
+					this.dependencyCounts.put(beanName, dependencyCount);
+				}
+				else {
+					this.readyBeans.add(beanName);
+				}
+			});
+		}
+
+		/**
+		 * Hand out the next singleton to create, waiting for dependencies in
+		 * creation by other threads if necessary.
+		 * @return the name of the singleton, or {@code null} if all singletons
+		 * have been handed out already or a creation failure has occurred
+		 */
+		@Nullable
+		public synchronized String take() {
+			boolean interrupted = false;
+			try {
+				while (this.failure == null && !this.pendingBeans.isEmpty()) {
+					String beanName = this.readyBeans.poll();
+					if (beanName == null && this.beansInCreation == 0) {
+						// Circular references only: simply create the first remaining singleton,
+						// with its dependencies created on demand as in sequential pre-instantiation.
+						beanName = this.pendingBeans.iterator().next();
+					}
+					if (beanName != null) {
+						this.pendingBeans.remove(beanName);
+						this.beansInCreation++;
+						return beanName;
+					}
+					interrupted |= awaitChange();
+				}
+				return null;
+			}
+			finally {
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		/**
+		 * Record the completed creation of the given singleton, releasing its
+		 * dependent singletons unless the creation has failed.
+		 */
+		public synchronized void complete(String beanName, @Nullable Throwable ex) {
+			this.beansInCreation--;
+			if (ex != null) {
+				if (this.failure == null) {
+					this.failure = ex;
+				}
+			}
+			else {
+				List<String> dependents = this.dependentBeans.get(beanName);
+				if (dependents != null) {
+					for (String dependent : dependents) {
+						if (this.dependencyCounts.merge(dependent, -1, Integer::sum) == 0 &&
+								this.pendingBeans.contains(dependent)) {
+							this.readyBeans.add(dependent);
+						}
+					}
+				}
+			}
+			notifyAll();
+		}
+
+		/**
+		 * Wait for all singletons handed out to be created, rethrowing the
+		 * first creation failure, if any.
+		 */
+		public synchronized void awaitCompletion() {
+			boolean interrupted = false;
+			try {
+				while (this.beansInCreation > 0) {
+					interrupted |= awaitChange();
+				}
+			}
+			finally {
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (this.failure instanceof Error) {
+				throw (Error) this.failure;
+			}
+			if (this.failure != null) {
+				throw (RuntimeException) this.failure;
+			}
+		}
+
+		/**
+		 * Wait for a change of this queue's state, to be called while holding its monitor.
+		 * @return whether the current thread has been interrupted while waiting
+		 */
+		private boolean awaitChange() {
+			try {
+				wait();
+				return false;
+			}
+			catch (InterruptedException ex) {
+				return true;
+			}
+		}
+	}
+
+
 	/**
 	 * A dependency descriptor marker for nested elements.
 	 */
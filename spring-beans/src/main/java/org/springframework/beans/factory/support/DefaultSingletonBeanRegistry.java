@@ -16,15 +16,19 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCreationNotAllowedException;
@@ -32,6 +36,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -61,6 +66,11 @@ import org.springframework.util.StringUtils;
  * (which inherit from it). Can alternatively also be used as a nested
  * helper to delegate to.
  *
+ * <p>By default, singleton creation is serialized on a single registry-wide
+ * mutex. {@link #setPerBeanSingletonLocking "Per-bean singleton locking"}
+ * switches to a lock per bean name, with lock-free reads of the singleton
+ * caches, so that independent lazy singletons can be created concurrently.
+ *
  * @author Juergen Hoeller
  * @since 2.0
  * @see #registerSingleton
@@ -75,11 +85,11 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
 	/** Cache of singleton factories: bean name --> ObjectFactory */
-	private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
+	private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
 
 	/** Cache of early singleton objects: bean name --> bean instance */
 	// 早期单例缓存对象
-	private final Map<String, Object> earlySingletonObjects = new HashMap<>(16);
+	private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
 
 	/** Set of registered singletons, containing the bean names in registration order */
 	private final Set<String> registeredSingletons = new LinkedHashSet<>(256);
@@ -95,11 +105,24 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
 	/** List of suppressed Exceptions, available for associating related causes */
-	@Nullable
-	private Set<Exception> suppressedExceptions;
+	private final ThreadLocal<Set<Exception>> suppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions during singleton creation");
 
 	/** Flag that indicates whether we're currently within destroySingletons */
-	private boolean singletonsCurrentlyInDestruction = false;
+	private volatile boolean singletonsCurrentlyInDestruction = false;
+
+	/** Whether to lock singleton creation per bean name instead of on the singleton mutex */
+	private boolean perBeanSingletonLocking = false;
+
+	/** Creation locks in per-bean locking mode, while held: bean name --> lock */
+	private final Map<String, SingletonLock> singletonLocks = new ConcurrentHashMap<>(256);
+
+	/** Threads waiting for another thread's singleton lock: thread --> lock being waited for */
+	private final Map<Thread, SingletonLockWait> singletonLockWaits = new HashMap<>(16);
+
+	/** Number of singleton locks held by the current thread in per-bean locking mode */
+	private final ThreadLocal<Integer> singletonLocksHeld =
+			new NamedThreadLocal<>("Singleton locks held by current thread");
 
 	/** Disposable bean instances: bean name --> disposable instance */
 	private final Map<String, Object> disposableBeans = new LinkedHashMap<>();
@@ -113,12 +136,46 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Map between depending bean names: bean name --> Set of bean names for the bean's dependencies */
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
+	/** Lock-free view of dependentBeanMap for repeated registrations in per-bean locking mode */
+	private final Map<String, Set<String>> dependentBeanLookup = new ConcurrentHashMap<>(64);
+
+
+	/**
+	 * Set whether to lock singleton creation per bean name rather than on the
+	 * registry-wide {@link #getSingletonMutex() singleton mutex}.
+	 * <p>Default is "false": all singleton creation is serialized on one mutex.
+	 * Switch this to "true" to let different threads create unrelated singletons
+	 * concurrently, e.g. lazy-init singletons requested at runtime. Reads of the
+	 * singleton caches remain lock-free in either mode.
+	 * <p>In this mode, early singleton references (for circular reference
+	 * resolution) are only exposed to the thread creating the singleton; other
+	 * threads wait for the fully initialized instance, unless waiting would lead
+	 * to a deadlock between threads that are creating circularly dependent beans.
+	 * <p>The {@link #getSingletonMutex() singleton mutex} does not guard singleton
+	 * creation in this mode, and must not be held while obtaining beans from
+	 * the factory: see {@link #getSingletonMutex()}.
+	 * <p>Needs to be set before any singleton has been created.
+	 * @since 5.0.11
+	 */
+	public void setPerBeanSingletonLocking(boolean perBeanSingletonLocking) {
+		this.perBeanSingletonLocking = perBeanSingletonLocking;
+	}
+
+	/**
+	 * Return whether singleton creation is locked per bean name.
+	 * @since 5.0.11
+	 * @see #setPerBeanSingletonLocking
+	 */
+	public boolean isPerBeanSingletonLocking() {
+		return this.perBeanSingletonLocking;
+	}
+
 
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		Assert.notNull(beanName, "Bean name must not be null");
 		Assert.notNull(singletonObject, "Singleton object must not be null");
-		synchronized (this.singletonObjects) {
+		synchronized (getRegistrationMutex()) {
 			Object oldObject = this.singletonObjects.get(beanName);
 			if (oldObject != null) {
 				throw new IllegalStateException("Could not register object [" + singletonObject +
@@ -135,7 +192,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param singletonObject the singleton object
 	 */
 	protected void addSingleton(String beanName, Object singletonObject) {
-		synchronized (this.singletonObjects) {
+		synchronized (getRegistrationMutex()) {
 			this.singletonObjects.put(beanName, singletonObject);
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
@@ -153,7 +210,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(singletonFactory, "Singleton factory must not be null");
-		synchronized (this.singletonObjects) {
+		synchronized (getRegistrationMutex()) {
 			if (!this.singletonObjects.containsKey(beanName)) {
 				this.singletonFactories.put(beanName, singletonFactory);
 				this.earlySingletonObjects.remove(beanName);
@@ -188,26 +245,54 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		// 这里得到的实际上一些spring的特殊类，以及我们自己定义的内置处理类会在这个地方得到
 		// 这个地方并不是我们普通类真正要创建实例的地方，后面还有一个getBean()的方法
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
-			synchronized (this.singletonObjects) {
-				singletonObject = this.earlySingletonObjects.get(beanName);
-				if (singletonObject == null && allowEarlyReference) {
-					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-					if (singletonFactory != null) {
-						/**
-						 * addSingletonFactory(beanName, () -> getEarlyBeanReference(beanName, mbd, bean));
-						 * 调用getEarlyBeanReference方法执行后置处理器获取早期单例对象放到earlySingletonObjects二级缓存中
-						 */
-						singletonObject = singletonFactory.getObject();
-						this.earlySingletonObjects.put(beanName, singletonObject);
-						this.singletonFactories.remove(beanName);
-					}
+			if (this.perBeanSingletonLocking) {
+				// Early references are only exposed to the thread creating the singleton:
+				// any other thread is supposed to wait for the fully initialized instance.
+				SingletonLock lock = this.singletonLocks.get(beanName);
+				if (lock != null && lock.isHeldByCurrentThread()) {
+					singletonObject = getEarlySingleton(beanName, allowEarlyReference, lock.earlyReferenceMutex);
 				}
 			}
+			else {
+				singletonObject = getEarlySingleton(beanName, allowEarlyReference, this.singletonObjects);
+			}
 		}
 		//直接返回
 		return singletonObject;
 	}
 
+	/**
+	 * Return the early reference to a singleton currently in creation,
+	 * obtaining it from its singleton factory if necessary.
+	 * @param beanName the name of the bean to look for
+	 * @param allowEarlyReference whether early references should be created or not
+	 * @param mutex the mutex guarding the creation of the early reference
+	 * @return the early singleton reference, or {@code null} if none available
+	 */
+	@Nullable
+	private Object getEarlySingleton(String beanName, boolean allowEarlyReference, Object mutex) {
+		Object singletonObject = this.earlySingletonObjects.get(beanName);
+		if (singletonObject != null || !allowEarlyReference) {
+			return singletonObject;
+		}
+		synchronized (mutex) {
+			singletonObject = this.earlySingletonObjects.get(beanName);
+			if (singletonObject == null) {
+				ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+				if (singletonFactory != null) {
+					/**
+					 * addSingletonFactory(beanName, () -> getEarlyBeanReference(beanName, mbd, bean));
+					 * 调用getEarlyBeanReference方法执行后置处理器获取早期单例对象放到earlySingletonObjects二级缓存中
+					 */
+					singletonObject = singletonFactory.getObject();
+					this.earlySingletonObjects.put(beanName, singletonObject);
+					this.singletonFactories.remove(beanName);
+				}
+			}
+			return singletonObject;
+		}
+	}
+
 	/**
 	 * Return the (raw) singleton object registered under the given name,
 	 * creating and registering a new one if none registered yet.
@@ -218,64 +303,292 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		if (this.perBeanSingletonLocking) {
+			return getSingletonWithBeanLock(beanName, singletonFactory);
+		}
 		// 做一些线程安全判断
 		synchronized (this.singletonObjects) {
-			Object singletonObject = this.singletonObjects.get(beanName);
-			if (singletonObject == null) {
-				if (this.singletonsCurrentlyInDestruction) {
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
-							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			return createSingletonIfNecessary(beanName, singletonFactory);
+		}
+	}
+
+	/**
+	 * Per-bean locking variant of {@link #getSingleton(String, ObjectFactory)}.
+	 */
+	private Object getSingletonWithBeanLock(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		while (singletonObject == null) {
+			SingletonLock lock = obtainSingletonLock(beanName);
+			if (acquireSingletonLock(beanName, lock, true)) {
+				try {
+					// The lock may have been retired by its previous holder in the meantime
+					if (this.singletonLocks.get(beanName) == lock) {
+						return createSingletonIfNecessary(beanName, singletonFactory);
+					}
 				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+				finally {
+					releaseSingletonLock(beanName, lock);
 				}
+			}
+			else {
+				// Circular reference between singletons created by different threads:
+				// resolve it through the early reference, as within a single thread.
+				singletonObject = getEarlySingleton(beanName, true, lock.earlyReferenceMutex);
+			}
+			if (singletonObject == null) {
+				singletonObject = this.singletonObjects.get(beanName);
+			}
+		}
+		return singletonObject;
+	}
 
-				// 这行代码是将我们正在创建的bean的beanName放到一个Set集合当中去，
-				// 这个集合的名字就是singletonsCurrentlyInCreation,后面会根据
-				// 这个集合去做一些逻辑判断
-				beforeSingletonCreation(beanName);
+	/**
+	 * Create and register the singleton through the given factory, unless
+	 * it has been registered in the meantime. To be called under the
+	 * singleton mutex or the bean's singleton lock.
+	 */
+	private Object createSingletonIfNecessary(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject == null) {
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+						"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
 
-				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
-				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
-				}
-				try {
+			// 这行代码是将我们正在创建的bean的beanName放到一个Set集合当中去，
+			// 这个集合的名字就是singletonsCurrentlyInCreation,后面会根据
+			// 这个集合去做一些逻辑判断
+			beforeSingletonCreation(beanName);
 
-					// 最终会执行这个方法，去getObject()
-					singletonObject = singletonFactory.getObject();
-					newSingleton = true;
+			boolean newSingleton = false;
+			Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+			boolean recordSuppressedExceptions = (suppressedExceptions == null);
+			if (recordSuppressedExceptions) {
+				suppressedExceptions = new LinkedHashSet<>();
+				this.suppressedExceptions.set(suppressedExceptions);
+			}
+			try {
+
+				// 最终会执行这个方法，去getObject()
+				singletonObject = singletonFactory.getObject();
+				newSingleton = true;
+			}
+			catch (IllegalStateException ex) {
+				// Has the singleton object implicitly appeared in the meantime ->
+				// if yes, proceed with it since the exception indicates that state.
+				singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject == null) {
+					throw ex;
 				}
-				catch (IllegalStateException ex) {
-					// Has the singleton object implicitly appeared in the meantime ->
-					// if yes, proceed with it since the exception indicates that state.
-					singletonObject = this.singletonObjects.get(beanName);
-					if (singletonObject == null) {
-						throw ex;
+			}
+			catch (BeanCreationException ex) {
+				if (recordSuppressedExceptions) {
+					for (Exception suppressedException : suppressedExceptions) {
+						ex.addRelatedCause(suppressedException);
 					}
 				}
-				catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
-							ex.addRelatedCause(suppressedException);
+				throw ex;
+			}
+			finally {
+				if (recordSuppressedExceptions) {
+					this.suppressedExceptions.remove();
+				}
+				// 单例对象创建之后
+				afterSingletonCreation(beanName);
+			}
+			if (newSingleton) {
+				addSingleton(beanName, singletonObject);
+			}
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Execute the given action under the creation lock for the specified singleton:
+	 * the bean's own lock in {@link #setPerBeanSingletonLocking per-bean locking} mode,
+	 * or the registry-wide {@link #getSingletonMutex() singleton mutex} otherwise.
+	 * <p>Subclasses should use this for any extended singleton creation phase
+	 * that may trigger the creation of other beans.
+	 * @param beanName the name of the singleton
+	 * @param action the action to execute
+	 * @return the result of the action
+	 * @since 5.0.11
+	 */
+	protected <T> T doWithSingletonLock(String beanName, Supplier<T> action) {
+		if (!this.perBeanSingletonLocking) {
+			synchronized (this.singletonObjects) {
+				return action.get();
+			}
+		}
+		while (true) {
+			SingletonLock lock = obtainSingletonLock(beanName);
+			acquireSingletonLock(beanName, lock, false);
+			try {
+				// The lock may have been retired by its previous holder in the meantime
+				if (this.singletonLocks.get(beanName) == lock) {
+					return action.get();
+				}
+			}
+			finally {
+				releaseSingletonLock(beanName, lock);
+			}
+		}
+	}
+
+	private SingletonLock obtainSingletonLock(String beanName) {
+		SingletonLock lock = this.singletonLocks.get(beanName);
+		if (lock == null) {
+			lock = this.singletonLocks.computeIfAbsent(beanName, name -> new SingletonLock());
+		}
+		return lock;
+	}
+
+	/**
+	 * Acquire the given singleton lock, detecting deadlocks between threads that
+	 * hold singleton locks themselves while waiting for each other's singletons.
+	 * @param beanName the name of the singleton
+	 * @param lock the lock for that singleton
+	 * @param earlyReferenceAllowed whether the caller can proceed with an early
+	 * reference to the singleton instead of the lock
+	 * @return {@code true} if the lock has been acquired, or {@code false} if the
+	 * caller should resolve a cross-thread circular reference through the early
+	 * reference to the singleton
+	 * @throws BeanCurrentlyInCreationException in case of an unresolvable
+	 * circular reference between threads
+	 */
+	private boolean acquireSingletonLock(String beanName, SingletonLock lock, boolean earlyReferenceAllowed) {
+		Integer held = this.singletonLocksHeld.get();
+		if (!lock.tryLock()) {
+			if (held == null) {
+				// Not holding any other singleton lock -> cannot be part of a deadlock.
+				lock.lock();
+			}
+			else if (!awaitSingletonLock(beanName, lock, earlyReferenceAllowed)) {
+				return false;
+			}
+		}
+		this.singletonLocksHeld.set(held != null ? held + 1 : 1);
+		return true;
+	}
+
+	/**
+	 * Wait for the given singleton lock while holding other singleton locks.
+	 * <p>The waiting thread is registered in the waits-for graph of singleton lock
+	 * owners first, and checks whether its wait closes a cycle: since every thread
+	 * checks for a cycle when registering its own wait, the thread completing a
+	 * cycle always detects it. The cycle is broken by the first waiting thread that
+	 * can proceed with an early reference to the singleton it is waiting for.
+	 */
+	private boolean awaitSingletonLock(String beanName, SingletonLock lock, boolean earlyReferenceAllowed) {
+		Thread currentThread = Thread.currentThread();
+		SingletonLockWait wait = new SingletonLockWait(beanName, lock, earlyReferenceAllowed);
+		lock.waits.add(wait);
+		try {
+			synchronized (this.singletonLockWaits) {
+				this.singletonLockWaits.put(currentThread, wait);
+				List<SingletonLockWait> cycle = findSingletonLockCycle(currentThread);
+				if (cycle != null) {
+					SingletonLockWait waitToResolve = null;
+					for (SingletonLockWait waitInCycle : cycle) {
+						if (isEarlyReferenceAvailable(waitInCycle)) {
+							waitToResolve = waitInCycle;
+							break;
 						}
 					}
-					throw ex;
-				}
-				finally {
-					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
+					if (waitToResolve == null) {
+						throw new BeanCurrentlyInCreationException(beanName,
+								"Requested bean is currently in creation by another thread which in turn waits for " +
+								"singletons in creation by this thread: Is there an unresolvable circular reference?");
 					}
-					// 单例对象创建之后
-					afterSingletonCreation(beanName);
-				}
-				if (newSingleton) {
-					addSingleton(beanName, singletonObject);
+					waitToResolve.resolveThroughEarlyReference();
 				}
 			}
-			return singletonObject;
+			return wait.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanCreationException(beanName, "Interrupted while waiting for singleton creation lock", ex);
+		}
+		finally {
+			synchronized (this.singletonLockWaits) {
+				this.singletonLockWaits.remove(currentThread);
+			}
+			lock.waits.remove(wait);
+		}
+	}
+
+	/**
+	 * Follow the chain of singleton lock owners and the locks they are waiting for.
+	 * To be called while synchronized on the waits-for graph.
+	 * @return the waits forming a cycle back to the given thread, or {@code null} if
+	 * none, or if the cycle is already being resolved through an early reference
+	 */
+	@Nullable
+	private List<SingletonLockWait> findSingletonLockCycle(Thread currentThread) {
+		List<SingletonLockWait> cycle = new ArrayList<>();
+		Thread thread = currentThread;
+		while (cycle.size() <= this.singletonLockWaits.size()) {
+			SingletonLockWait wait = this.singletonLockWaits.get(thread);
+			if (wait == null || wait.isResolvingThroughEarlyReference()) {
+				return null;
+			}
+			cycle.add(wait);
+			thread = wait.lock.getOwnerThread();
+			if (thread == null) {
+				return null;
+			}
+			if (thread == currentThread) {
+				return cycle;
+			}
 		}
+		return null;
+	}
+
+	private boolean isEarlyReferenceAvailable(SingletonLockWait wait) {
+		return (wait.earlyReferenceAllowed && (this.earlySingletonObjects.containsKey(wait.beanName) ||
+				this.singletonFactories.containsKey(wait.beanName)));
+	}
+
+	/**
+	 * Release the given singleton lock. On release of its outermost hold, the lock
+	 * is retired first: creation state such as the in-creation marker has been
+	 * cleaned up at that point, so the next thread may start over with a new lock,
+	 * while threads still waiting for the retired lock retry with the current one.
+	 * Threads waiting for the lock in the waits-for graph are signalled then.
+	 */
+	private void releaseSingletonLock(String beanName, SingletonLock lock) {
+		if (lock.getHoldCount() == 1) {
+			this.singletonLocks.remove(beanName, lock);
+		}
+		Integer held = this.singletonLocksHeld.get();
+		if (held == null || held <= 1) {
+			this.singletonLocksHeld.remove();
+		}
+		else {
+			this.singletonLocksHeld.set(held - 1);
+		}
+		lock.unlock();
+		if (!lock.waits.isEmpty() && !lock.isHeldByCurrentThread()) {
+			for (SingletonLockWait wait : lock.waits) {
+				wait.signal();
+			}
+		}
+	}
+
+	/**
+	 * Return the mutex guarding the registration state of singletons: the singleton
+	 * mutex by default, or a registration-only mutex in per-bean locking mode which
+	 * is never held while creating beans.
+	 * <p>Subclasses in this package use this for their own singleton caches, so that
+	 * the registry does not acquire the {@link #getSingletonMutex() singleton mutex}
+	 * while holding a singleton lock in per-bean locking mode.
+	 */
+	final Object getRegistrationMutex() {
+		return (this.perBeanSingletonLocking ? this.registeredSingletons : this.singletonObjects);
 	}
 
 	/**
@@ -284,10 +597,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param ex the Exception to register
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (this.singletonObjects) {
-			if (this.suppressedExceptions != null) {
-				this.suppressedExceptions.add(ex);
-			}
+		Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+		if (suppressedExceptions != null) {
+			suppressedExceptions.add(ex);
 		}
 	}
 
@@ -299,7 +611,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected void removeSingleton(String beanName) {
 		// 销毁 Bean
-		synchronized (this.singletonObjects) {
+		synchronized (getRegistrationMutex()) {
 			this.singletonObjects.remove(beanName);
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
@@ -314,14 +626,14 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
 	@Override
 	public String[] getSingletonNames() {
-		synchronized (this.singletonObjects) {
+		synchronized (getRegistrationMutex()) {
 			return StringUtils.toStringArray(this.registeredSingletons);
 		}
 	}
 
 	@Override
 	public int getSingletonCount() {
-		synchronized (this.singletonObjects) {
+		synchronized (getRegistrationMutex()) {
 			return this.registeredSingletons.size();
 		}
 	}
@@ -428,12 +740,24 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	public void registerDependentBean(String beanName, String dependentBeanName) {
 		String canonicalName = canonicalName(beanName);
 
+		if (this.perBeanSingletonLocking) {
+			// Repeated registration, e.g. for every prototype instance: no locking.
+			Set<String> registeredBeans = this.dependentBeanLookup.get(canonicalName);
+			if (registeredBeans != null && registeredBeans.contains(dependentBeanName)) {
+				return;
+			}
+		}
+
 		synchronized (this.dependentBeanMap) {
 			Set<String> dependentBeans =
 					this.dependentBeanMap.computeIfAbsent(canonicalName, k -> new LinkedHashSet<>(8));
 			if (!dependentBeans.add(dependentBeanName)) {
 				return;
 			}
+			if (this.perBeanSingletonLocking) {
+				this.dependentBeanLookup.computeIfAbsent(canonicalName, k -> ConcurrentHashMap.newKeySet(8))
+						.add(dependentBeanName);
+			}
 		}
 
 		synchronized (this.dependenciesForBeanMap) {
@@ -523,7 +847,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (logger.isDebugEnabled()) {
 			logger.debug("Destroying singletons in " + this);
 		}
-		synchronized (this.singletonObjects) {
+		synchronized (getRegistrationMutex()) {
 			this.singletonsCurrentlyInDestruction = true;
 		}
 
@@ -540,6 +864,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		this.containedBeanMap.clear();
 		this.dependentBeanMap.clear();
 		this.dependenciesForBeanMap.clear();
+		this.dependentBeanLookup.clear();
 
 		clearSingletonCache();
 	}
@@ -549,7 +874,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @since 4.3.15
 	 */
 	protected void clearSingletonCache() {
-		synchronized (this.singletonObjects) {
+		synchronized (getRegistrationMutex()) {
 			this.singletonObjects.clear();
 			this.singletonFactories.clear();
 			this.earlySingletonObjects.clear();
@@ -588,6 +913,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		synchronized (this.dependentBeanMap) {
 			// Within full synchronization in order to guarantee a disconnected Set
 			dependencies = this.dependentBeanMap.remove(beanName);
+			this.dependentBeanLookup.remove(beanName);
 		}
 		if (dependencies != null) {
 			if (logger.isDebugEnabled()) {
@@ -630,6 +956,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 					it.remove();
 				}
 			}
+			for (Set<String> dependenciesToClean : this.dependentBeanLookup.values()) {
+				dependenciesToClean.remove(beanName);
+			}
 		}
 
 		// Remove destroyed bean's prepared dependency information.
@@ -642,9 +971,87 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * any sort of extended singleton creation phase. In particular, subclasses
 	 * should <i>not</i> have their own mutexes involved in singleton creation,
 	 * to avoid the potential for deadlocks in lazy-init situations.
+	 * <p>In {@link #setPerBeanSingletonLocking per-bean locking} mode, the registry
+	 * itself never acquires this mutex, so it does not guard singleton creation.
+	 * External collaborators may still use it to guard their own state, but
+	 * must not hold it while obtaining beans from the factory: another thread
+	 * holding the lock for such a bean may be waiting for the mutex.
 	 */
 	public final Object getSingletonMutex() {
 		return this.singletonObjects;
 	}
 
+
+	/**
+	 * Creation lock for a singleton in per-bean locking mode,
+	 * exposing its owner thread for deadlock detection.
+	 */
+	@SuppressWarnings("serial")
+	private static class SingletonLock extends ReentrantLock {
+
+		/**
+		 * Guards the creation of the early reference, which the lock owner and a
+		 * thread waiting for the lock in a circular reference may both request.
+		 */
+		final Object earlyReferenceMutex = new Object();
+
+		/** Threads with other singleton locks waiting for this lock */
+		final Set<SingletonLockWait> waits = ConcurrentHashMap.newKeySet(4);
+
+		@Nullable
+		public Thread getOwnerThread() {
+			return getOwner();
+		}
+	}
+
+
+	/**
+	 * A thread's pending acquisition of another thread's singleton lock,
+	 * signalled whenever the lock is released.
+	 */
+	private static class SingletonLockWait {
+
+		final String beanName;
+
+		final SingletonLock lock;
+
+		final boolean earlyReferenceAllowed;
+
+		private boolean resolveThroughEarlyReference;
+
+		SingletonLockWait(String beanName, SingletonLock lock, boolean earlyReferenceAllowed) {
+			this.beanName = beanName;
+			this.lock = lock;
+			this.earlyReferenceAllowed = earlyReferenceAllowed;
+		}
+
+		/**
+		 * Wait until the lock has been acquired, or until the waiting thread
+		 * is supposed to resolve a circular reference through the early reference.
+		 * @return {@code true} if the lock has been acquired
+		 */
+		public synchronized boolean await() throws InterruptedException {
+			while (!this.lock.tryLock()) {
+				if (this.resolveThroughEarlyReference) {
+					return false;
+				}
+				wait();
+			}
+			return true;
+		}
+
+		public synchronized void signal() {
+			notifyAll();
+		}
+
+		public synchronized void resolveThroughEarlyReference() {
+			this.resolveThroughEarlyReference = true;
+			notifyAll();
+		}
+
+		public synchronized boolean isResolvingThroughEarlyReference() {
+			return this.resolveThroughEarlyReference;
+		}
+	}
+
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.junit.Test;
+
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link BeanWrapperImpl} tests with compiled property access,
+ * running all {@link BeanWrapperTests} against generated accessors.
+ */
+public class CompiledBeanWrapperTests extends BeanWrapperTests {
+
+	@Override
+	protected BeanWrapperImpl createAccessor(Object target) {
+		BeanWrapperImpl accessor = new BeanWrapperImpl(target);
+		accessor.setCompiledPropertyAccess(true);
+		return accessor;
+	}
+
+
+	@Test
+	public void compiledAccessorForPublicProperties() throws Throwable {
+		CompiledPropertyAccessor accessor =
+				CachedIntrospectionResults.forClass(TestBean.class).getCompiledPropertyAccessor();
+		assertNotNull(accessor);
+		int nameIndex = accessor.getWriteIndex("name");
+		int ageIndex = accessor.getWriteIndex("age");
+		assertEquals(nameIndex, accessor.getReadIndex("name"));
+		assertEquals(ageIndex, accessor.getReadIndex("age"));
+
+		TestBean target = new TestBean();
+		accessor.setPropertyValue(target, nameIndex, "tom");
+		accessor.setPropertyValue(target, ageIndex, 42);
+		assertEquals("tom", accessor.getPropertyValue(target, nameIndex));
+		assertEquals(42, accessor.getPropertyValue(target, ageIndex));
+		assertTrue(accessor.isAssignableValue(ageIndex, 42));
+		assertFalse(accessor.isAssignableValue(ageIndex, null));
+		assertFalse(accessor.isAssignableValue(ageIndex, 42L));
+	}
+
+	@Test
+	public void nestedAccessorInheritsCompiledPropertyAccess() {
+		TestBean target = new TestBean();
+		target.setSpouse(new TestBean());
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("spouse.name", "kerry");
+		assertEquals("kerry", target.getSpouse().getName());
+		assertTrue(((BeanWrapperImpl) accessor.getPropertyAccessorForPropertyPath("spouse.name"))
+				.isCompiledPropertyAccess());
+	}
+
+	@Test
+	public void fluentSetterWithWideReturnValue() {
+		FluentBean target = new FluentBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("count", "5");
+		accessor.setPropertyValue("total", "7");
+		assertEquals(5, target.getCount());
+		assertEquals(7L, accessor.getPropertyValue("total"));
+		assertNotNull(CachedIntrospectionResults.forClass(FluentBean.class).getCompiledPropertyAccessor());
+	}
+
+	@Test
+	public void nonPublicPropertyTypeFallsBackToReflection() {
+		HiddenTypeBean target = new HiddenTypeBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("hidden", new HiddenType());
+		accessor.setPropertyValue("name", "tom");
+		assertNotNull(accessor.getPropertyValue("hidden"));
+		assertEquals("tom", accessor.getPropertyValue("name"));
+
+		CompiledPropertyAccessor compiledAccessor =
+				CachedIntrospectionResults.forClass(HiddenTypeBean.class).getCompiledPropertyAccessor();
+		assertNotNull(compiledAccessor);
+		assertEquals(-1, compiledAccessor.getWriteIndex("hidden"));
+		assertNotEquals(-1, compiledAccessor.getWriteIndex("name"));
+	}
+
+	@Test
+	public void exceptionFromCompiledSetterIsWrapped() {
+		TestBean target = new TestBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		try {
+			accessor.setPropertyValue("touchy", "1,2");
+			fail("Should have thrown MethodInvocationException");
+		}
+		catch (MethodInvocationException ex) {
+			assertTrue(ex.getCause() instanceof NumberFormatException);
+		}
+	}
+
+
+	public static class FluentBean {
+
+		private int count;
+
+		private long total;
+
+		public int getCount() {
+			return this.count;
+		}
+
+		public FluentBean setCount(int count) {
+			this.count = count;
+			return this;
+		}
+
+		public long getTotal() {
+			return this.total;
+		}
+
+		public long setTotal(long total) {
+			this.total = total;
+			return total;
+		}
+	}
+
+
+	public static class HiddenTypeBean {
+
+		private HiddenType hidden;
+
+		private String name;
+
+		public HiddenType getHidden() {
+			return this.hidden;
+		}
+
+		public void setHidden(HiddenType hidden) {
+			this.hidden = hidden;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+
+	static class HiddenType {
+	}
+
+}
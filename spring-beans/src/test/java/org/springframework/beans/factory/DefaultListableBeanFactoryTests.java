@@ -35,6 +35,9 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Priority;
 import javax.security.auth.Subject;
 
@@ -2767,6 +2770,195 @@ public class DefaultListableBeanFactoryTests {
 		assertEquals(NonPublicEnum.VALUE_1, holder.getNonPublicEnum());
 	}
 
+	@Test
+	public void testGetBeanNamesForGenericTypeWithFrozenConfiguration() throws Exception {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("testBeanRepository", new RootBeanDefinition(TestBeanRepository.class));
+		lbf.registerBeanDefinition("stringRepository", new RootBeanDefinition(StringRepository.class));
+		ResolvableType type = ResolvableType.forClassWithGenerics(Repository.class, TestBean.class, Long.class);
+		assertArrayEquals(new String[] {"testBeanRepository"}, lbf.getBeanNamesForType(type));
+		assertNotSame(lbf.getBeanNamesForType(type), lbf.getBeanNamesForType(type));
+
+		lbf.freezeConfiguration();
+		String[] beanNames = lbf.getBeanNamesForType(type);
+		assertArrayEquals(new String[] {"testBeanRepository"}, beanNames);
+		assertSame(beanNames, lbf.getBeanNamesForType(
+				ResolvableType.forClassWithGenerics(Repository.class, TestBean.class, Long.class)));
+		assertSame(beanNames, lbf.getBeanNamesForType(
+				ResolvableType.forField(RepositoryHolder.class.getDeclaredField("repository"))));
+		assertArrayEquals(new String[] {"stringRepository"},
+				lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(Repository.class, String.class, Long.class)));
+
+		lbf.registerSingleton("otherRepository", new TestBeanRepository());
+		assertArrayEquals(new String[] {"testBeanRepository", "otherRepository"}, lbf.getBeanNamesForType(type));
+		lbf.destroySingleton("otherRepository");
+		assertArrayEquals(new String[] {"testBeanRepository"}, lbf.getBeanNamesForType(type));
+		lbf.registerBeanDefinition("anotherRepository", new RootBeanDefinition(TestBeanRepository.class));
+		assertArrayEquals(new String[] {"testBeanRepository", "anotherRepository"}, lbf.getBeanNamesForType(type));
+		lbf.removeBeanDefinition("testBeanRepository");
+		assertArrayEquals(new String[] {"anotherRepository"}, lbf.getBeanNamesForType(type));
+	}
+
+	@Test
+	public void testGetBeanNamesForGenericArrayType() throws Exception {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		RootBeanDefinition stringLists = new RootBeanDefinition(GenericArrayFactory.class);
+		stringLists.setFactoryMethodName("stringLists");
+		lbf.registerBeanDefinition("stringLists", stringLists);
+		RootBeanDefinition integerLists = new RootBeanDefinition(GenericArrayFactory.class);
+		integerLists.setFactoryMethodName("integerLists");
+		lbf.registerBeanDefinition("integerLists", integerLists);
+		lbf.freezeConfiguration();
+
+		ResolvableType type = ResolvableType.forField(GenericArrayFactory.class.getDeclaredField("stringListsField"));
+		assertFalse(type.hasGenerics());
+		assertArrayEquals(new String[] {"stringLists"}, lbf.getBeanNamesForType(type));
+		assertArrayEquals(new String[] {"integerLists"}, lbf.getBeanNamesForType(ResolvableType.forMethodReturnType(
+				GenericArrayFactory.class.getMethod("integerLists"))));
+	}
+
+	@Test
+	public void testByTypeCacheInvalidationOnlyAffectsMatchingTypes() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("a", new RootBeanDefinition(A.class));
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		lbf.freezeConfiguration();
+		String[] aNames = lbf.getBeanNamesForType(A.class);
+		String[] testBeanNames = lbf.getBeanNamesForType(TestBean.class);
+		String[] bNames = lbf.getBeanNamesForType(B.class);
+		assertEquals(0, bNames.length);
+
+		lbf.registerSingleton("b", new B());
+		assertSame(aNames, lbf.getBeanNamesForType(A.class));
+		assertSame(testBeanNames, lbf.getBeanNamesForType(TestBean.class));
+		assertArrayEquals(new String[] {"b"}, lbf.getBeanNamesForType(B.class));
+
+		lbf.registerSingleton("derived", new DerivedTestBean());
+		assertSame(aNames, lbf.getBeanNamesForType(A.class));
+		assertArrayEquals(new String[] {"tb", "derived"}, lbf.getBeanNamesForType(TestBean.class));
+		assertArrayEquals(new String[] {"tb", "derived"}, lbf.getBeanNamesForType(ITestBean.class));
+
+		lbf.destroySingleton("b");
+		assertArrayEquals(aNames, lbf.getBeanNamesForType(A.class));
+		assertEquals(0, lbf.getBeanNamesForType(B.class).length);
+	}
+
+	@Test
+	public void testParallelPreInstantiation() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPerBeanSingletonLocking(true);
+		lbf.setPreInstantiationParallelism(4);
+		CountDownLatch bothInCreation = new CountDownLatch(2);
+		lbf.registerBeanDefinition("dependent", new RootBeanDefinition(TestBean.class, () -> {
+			assertTrue(lbf.containsSingleton("slow1"));
+			assertTrue(lbf.containsSingleton("slow2"));
+			return new TestBean("dependent");
+		}));
+		lbf.getBeanDefinition("dependent").setDependsOn("slow1", "slow2");
+		lbf.registerBeanDefinition("slow1", new RootBeanDefinition(TestBean.class, () -> awaitCreation(bothInCreation)));
+		lbf.registerBeanDefinition("slow2", new RootBeanDefinition(TestBean.class, () -> awaitCreation(bothInCreation)));
+		RootBeanDefinition lazy = new RootBeanDefinition(TestBean.class);
+		lazy.setLazyInit(true);
+		lbf.registerBeanDefinition("lazy", lazy);
+
+		lbf.preInstantiateSingletons();
+		assertTrue(lbf.containsSingleton("dependent"));
+		assertTrue(lbf.containsSingleton("slow1"));
+		assertTrue(lbf.containsSingleton("slow2"));
+		assertFalse(lbf.containsSingleton("lazy"));
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithCircularReferences() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPerBeanSingletonLocking(true);
+		lbf.setPreInstantiationParallelism(4);
+		for (int i = 0; i < 10; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.getPropertyValues().add("spouse", new RuntimeBeanReference("tb" + ((i + 1) % 10)));
+			lbf.registerBeanDefinition("tb" + i, bd);
+		}
+
+		lbf.preInstantiateSingletons();
+		for (int i = 0; i < 10; i++) {
+			assertSame(lbf.getBean("tb" + ((i + 1) % 10)), lbf.getBean("tb" + i, TestBean.class).getSpouse());
+		}
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithLongDependencyChain() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPerBeanSingletonLocking(true);
+		lbf.setPreInstantiationParallelism(4);
+		for (int i = 0; i < 10000; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			if (i > 0) {
+				bd.setDependsOn("tb" + (i - 1));
+			}
+			lbf.registerBeanDefinition("tb" + i, bd);
+		}
+
+		lbf.preInstantiateSingletons();
+		assertEquals(10000, lbf.getSingletonCount());
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithSmartInitializingSingletons() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPerBeanSingletonLocking(true);
+		lbf.setPreInstantiationParallelism(4);
+		List<String> callbacks = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			String beanName = "bean" + i;
+			lbf.registerBeanDefinition(beanName, new RootBeanDefinition(SmartInitializingSingleton.class, () -> () -> {
+				assertEquals(10, lbf.getSingletonCount());
+				callbacks.add(beanName);
+			}));
+		}
+
+		lbf.preInstantiateSingletons();
+		assertEquals(Arrays.asList(lbf.getBeanDefinitionNames()), callbacks);
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithFailure() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPerBeanSingletonLocking(true);
+		lbf.setPreInstantiationParallelism(4);
+		lbf.registerBeanDefinition("broken", new RootBeanDefinition(TestBean.class, () -> {
+			throw new IllegalStateException("broken");
+		}));
+		RootBeanDefinition dependent = new RootBeanDefinition(TestBean.class);
+		dependent.setDependsOn("broken");
+		lbf.registerBeanDefinition("dependent", dependent);
+
+		try {
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertEquals("broken", ex.getBeanName());
+		}
+		assertFalse(lbf.containsSingleton("dependent"));
+	}
+
+	@Test
+	public void testParallelPreInstantiationRequiresPerBeanSingletonLocking() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		List<String> threads = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			lbf.registerBeanDefinition("tb" + i, new RootBeanDefinition(TestBean.class, () -> {
+				threads.add(Thread.currentThread().getName());
+				return new TestBean();
+			}));
+		}
+
+		lbf.preInstantiateSingletons();
+		assertEquals(10, threads.size());
+		assertTrue(threads.stream().allMatch(Thread.currentThread().getName()::equals));
+	}
+
 	/**
 	 * Test that by-type bean lookup caching is working effectively by searching for a
 	 * bean of type B 10K times within a container having 1K additional beans of type A.
@@ -2819,6 +3011,18 @@ public class DefaultListableBeanFactoryTests {
 	}
 
 
+	private static TestBean awaitCreation(CountDownLatch latch) {
+		latch.countDown();
+		try {
+			assertTrue("Singletons not created concurrently", latch.await(10, TimeUnit.SECONDS));
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+		return new TestBean();
+	}
+
+
 	static class A { }
 
 	static class B { }
@@ -2981,6 +3185,36 @@ public class DefaultListableBeanFactoryTests {
 	}
 
 
+	public static class TestBeanRepository implements Repository<TestBean, Long> {
+	}
+
+
+	public static class StringRepository implements Repository<String, Long> {
+	}
+
+
+	public static class RepositoryHolder {
+
+		public Repository<TestBean, Long> repository;
+	}
+
+
+	public static class GenericArrayFactory {
+
+		public List<String>[] stringListsField;
+
+		@SuppressWarnings("unchecked")
+		public static List<String>[] stringLists() {
+			return new List[0];
+		}
+
+		@SuppressWarnings("unchecked")
+		public static List<Integer>[] integerLists() {
+			return new List[0];
+		}
+	}
+
+
 	public interface RepositoryFactoryInformation<T, ID extends Serializable> {
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,23 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.Test;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.tests.sample.beans.DerivedTestBean;
 import org.springframework.tests.sample.beans.TestBean;
@@ -101,4 +115,287 @@ public class DefaultSingletonBeanRegistryTests {
 		assertTrue(beanRegistry.isDependent("c", "c"));
 	}
 
+	@Test
+	public void testPerBeanSingletonLocking() {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanSingletonLocking(true);
+		assertTrue(beanRegistry.isPerBeanSingletonLocking());
+
+		TestBean tb = new TestBean();
+		beanRegistry.registerSingleton("tb", tb);
+		assertSame(tb, beanRegistry.getSingleton("tb"));
+
+		TestBean tb2 = (TestBean) beanRegistry.getSingleton("tb2", TestBean::new);
+		assertSame(tb2, beanRegistry.getSingleton("tb2"));
+		assertSame(tb2, beanRegistry.getSingleton("tb2", TestBean::new));
+		assertEquals(2, beanRegistry.getSingletonCount());
+		String[] names = beanRegistry.getSingletonNames();
+		assertEquals(2, names.length);
+		assertEquals("tb", names[0]);
+		assertEquals("tb2", names[1]);
+
+		beanRegistry.destroySingletons();
+		assertEquals(0, beanRegistry.getSingletonCount());
+	}
+
+	@Test
+	public void testPerBeanSingletonLockingWithIndependentSingletons() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanSingletonLocking(true);
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> slow = executor.submit(() -> beanRegistry.getSingleton("slow", () -> {
+				inCreation.countDown();
+				await(release);
+				return new TestBean("slow");
+			}));
+			assertTrue(inCreation.await(10, TimeUnit.SECONDS));
+
+			// Not blocked by the singleton in creation on the other thread
+			TestBean fast = (TestBean) beanRegistry.getSingleton("fast", () -> new TestBean("fast"));
+			assertEquals("fast", fast.getName());
+			assertTrue(beanRegistry.isSingletonCurrentlyInCreation("slow"));
+			assertNull(beanRegistry.getSingleton("slow"));
+
+			release.countDown();
+			TestBean tb = (TestBean) slow.get(10, TimeUnit.SECONDS);
+			assertSame(tb, beanRegistry.getSingleton("slow"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPerBeanSingletonLockingWithConcurrentRequests() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanSingletonLocking(true);
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> first = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				inCreation.countDown();
+				await(release);
+				return new TestBean();
+			}));
+			assertTrue(inCreation.await(10, TimeUnit.SECONDS));
+			Future<Object> second = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				throw new IllegalStateException("Singleton created twice");
+			}));
+
+			release.countDown();
+			assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+			assertEquals(1, beanRegistry.getSingletonCount());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPerBeanSingletonLockingWithConcurrentRequestDuringFailedCreation() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanSingletonLocking(true);
+		CountDownLatch removed = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> first = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				// Cleanup of a failed creation, as in AbstractBeanFactory.doGetBean
+				beanRegistry.destroySingleton("tb");
+				removed.countDown();
+				await(release);
+				throw new BeanCreationException("tb", "Creation failed");
+			}));
+			assertTrue(removed.await(10, TimeUnit.SECONDS));
+			AtomicReference<Thread> secondThread = new AtomicReference<>();
+			Future<Object> second = executor.submit(() -> {
+				secondThread.set(Thread.currentThread());
+				return beanRegistry.getSingleton("tb", TestBean::new);
+			});
+			while (secondThread.get() == null || secondThread.get().getState() != Thread.State.WAITING) {
+				assertFalse("Creation not awaited", second.isDone());
+				Thread.sleep(1);
+			}
+
+			release.countDown();
+			try {
+				first.get(10, TimeUnit.SECONDS);
+				fail("Should have thrown BeanCreationException");
+			}
+			catch (ExecutionException ex) {
+				assertTrue(ex.getCause() instanceof BeanCreationException);
+			}
+			assertTrue(second.get(10, TimeUnit.SECONDS) instanceof TestBean);
+			assertSame(second.get(), beanRegistry.getSingleton("tb"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPerBeanSingletonLockingWithCircularReferenceAcrossThreads() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanSingletonLocking(true);
+		CountDownLatch bothInCreation = new CountDownLatch(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> a = executor.submit(() -> createCircularSingleton(beanRegistry, "a", "b", bothInCreation));
+			Future<Object> b = executor.submit(() -> createCircularSingleton(beanRegistry, "b", "a", bothInCreation));
+
+			TestBean tbA = (TestBean) a.get(10, TimeUnit.SECONDS);
+			TestBean tbB = (TestBean) b.get(10, TimeUnit.SECONDS);
+			assertSame(tbB, tbA.getSpouse());
+			assertSame(tbA, tbB.getSpouse());
+			assertSame(tbA, beanRegistry.getSingleton("a"));
+			assertSame(tbB, beanRegistry.getSingleton("b"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPerBeanSingletonLockingWithUnresolvableCircularReferenceAcrossThreads() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanSingletonLocking(true);
+		CountDownLatch bothInCreation = new CountDownLatch(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> a = executor.submit(() -> beanRegistry.getSingleton("a", () -> {
+				bothInCreation.countDown();
+				await(bothInCreation);
+				return new TestBean((TestBean) beanRegistry.getSingleton("b", TestBean::new));
+			}));
+			Future<Object> b = executor.submit(() -> beanRegistry.getSingleton("b", () -> {
+				bothInCreation.countDown();
+				await(bothInCreation);
+				return new TestBean((TestBean) beanRegistry.getSingleton("a", TestBean::new));
+			}));
+
+			int failures = 0;
+			for (Future<?> future : Arrays.asList(a, b)) {
+				try {
+					future.get(10, TimeUnit.SECONDS);
+				}
+				catch (ExecutionException ex) {
+					assertTrue(ex.getCause() instanceof BeanCurrentlyInCreationException);
+					failures++;
+				}
+			}
+			assertTrue("Deadlock should have been detected", failures > 0);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPerBeanSingletonLockingAfterUse() {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanSingletonLocking(true);
+
+		Object tb = beanRegistry.getSingleton("tb", TestBean::new);
+		assertEquals("value", beanRegistry.doWithSingletonLock("tb", () -> "value"));
+		assertSame(tb, beanRegistry.getSingleton("tb", TestBean::new));
+
+		try {
+			beanRegistry.getSingleton("failing", () -> {
+				throw new BeanCreationException("failing", "Creation failed");
+			});
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			// expected
+		}
+		assertFalse(beanRegistry.isSingletonCurrentlyInCreation("failing"));
+		assertTrue(beanRegistry.getSingleton("failing", TestBean::new) instanceof TestBean);
+
+		Object nested = beanRegistry.doWithSingletonLock("nested", () -> {
+			Object singleton = beanRegistry.getSingleton("nested", TestBean::new);
+			assertSame(singleton, beanRegistry.getSingleton("nested", TestBean::new));
+			return singleton;
+		});
+		assertSame(nested, beanRegistry.getSingleton("nested"));
+	}
+
+	@Test
+	public void testPerBeanSingletonLockingWithManyConcurrentRequests() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanSingletonLocking(true);
+		int threads = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger creations = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int i = 0; i < threads * 50; i++) {
+				String beanName = "tb" + (i % 10);
+				results.add(executor.submit(() -> {
+					await(start);
+					return beanRegistry.getSingleton(beanName, () -> {
+						creations.incrementAndGet();
+						return new TestBean(beanName);
+					});
+				}));
+			}
+			start.countDown();
+			for (Future<Object> result : results) {
+				TestBean tb = (TestBean) result.get(10, TimeUnit.SECONDS);
+				assertSame(tb, beanRegistry.getSingleton(tb.getName()));
+			}
+			assertEquals(10, creations.get());
+			assertEquals(10, beanRegistry.getSingletonCount());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testDependentRegistrationWithPerBeanSingletonLocking() {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanSingletonLocking(true);
+
+		beanRegistry.registerDependentBean("a", "b");
+		beanRegistry.registerDependentBean("a", "b");
+		beanRegistry.registerDependentBean("b", "c");
+		assertTrue(beanRegistry.isDependent("a", "b"));
+		assertTrue(beanRegistry.isDependent("a", "c"));
+		assertEquals(1, beanRegistry.getDependentBeans("a").length);
+
+		beanRegistry.destroySingleton("b");
+		assertFalse(beanRegistry.isDependent("a", "b"));
+		beanRegistry.registerDependentBean("a", "b");
+		assertTrue(beanRegistry.isDependent("a", "b"));
+	}
+
+
+	private static Object createCircularSingleton(DefaultSingletonBeanRegistry beanRegistry,
+			String beanName, String spouseName, CountDownLatch bothInCreation) {
+
+		return beanRegistry.getSingleton(beanName, () -> {
+			TestBean tb = new TestBean(beanName);
+			beanRegistry.addSingletonFactory(beanName, () -> tb);
+			bothInCreation.countDown();
+			await(bothInCreation);
+			tb.setSpouse((TestBean) beanRegistry.getSingleton(spouseName,
+					() -> createCircularSingleton(beanRegistry, spouseName, beanName, bothInCreation)));
+			return tb;
+		});
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * Benchmarks for {@link DefaultListableBeanFactory#getBean} lookups by name and by type,
+ * against a factory holding a configurable number of unrelated bean definitions.
+ */
+@State(Scope.Benchmark)
+public class DefaultListableBeanFactoryBenchmark {
+
+	@Param({"100", "2000"})
+	public int beanCount;
+
+	@Param({"singleton", "prototype"})
+	public String scope;
+
+	private DefaultListableBeanFactory beanFactory;
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.beanFactory = new DefaultListableBeanFactory();
+		for (int i = 0; i < this.beanCount; i++) {
+			RootBeanDefinition filler = new RootBeanDefinition(FillerBean.class);
+			this.beanFactory.registerBeanDefinition("filler" + i, filler);
+		}
+		RootBeanDefinition repository = new RootBeanDefinition(Repository.class);
+		repository.setScope(this.scope);
+		this.beanFactory.registerBeanDefinition("repository", repository);
+		RootBeanDefinition service = new RootBeanDefinition(Service.class);
+		service.setScope(this.scope);
+		service.getPropertyValues().add("repository", new RuntimeBeanReference("repository"));
+		this.beanFactory.registerBeanDefinition("service", service);
+		if (BeanDefinition.SCOPE_SINGLETON.equals(this.scope)) {
+			this.beanFactory.freezeConfiguration();
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+	@Benchmark
+	public void getBeanByName(Blackhole bh) {
+		bh.consume(this.beanFactory.getBean("service"));
+	}
+
+	@Benchmark
+	public void getBeanByType(Blackhole bh) {
+		bh.consume(this.beanFactory.getBean(Service.class));
+	}
+
+	@Benchmark
+	public void getBeanNamesForType(Blackhole bh) {
+		bh.consume(this.beanFactory.getBeanNamesForType(Repository.class));
+	}
+
+
+	public static class FillerBean {
+	}
+
+
+	public static class Repository {
+	}
+
+
+	public static class Service {
+
+		private Repository repository;
+
+		public void setRepository(Repository repository) {
+			this.repository = repository;
+		}
+
+		public Repository getRepository() {
+			return this.repository;
+		}
+	}
+
+}
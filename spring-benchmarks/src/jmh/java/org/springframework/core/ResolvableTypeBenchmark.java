@@ -0,0 +1,98 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the {@link ResolvableType} factory methods and generic resolution
+ * as used by autowiring, conversion and event dispatch.
+ */
+@State(Scope.Benchmark)
+public class ResolvableTypeBenchmark {
+
+	private Field field;
+
+	private MethodParameter methodParameter;
+
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		this.field = Holder.class.getDeclaredField("values");
+		Method method = Holder.class.getMethod("process", Map.class);
+		this.methodParameter = new MethodParameter(method, 0);
+	}
+
+	@Benchmark
+	public void forClass(Blackhole bh) {
+		bh.consume(ResolvableType.forClass(StringRepository.class));
+	}
+
+	@Benchmark
+	public void forClassAsGenericSupertype(Blackhole bh) {
+		bh.consume(ResolvableType.forClass(StringRepository.class).as(Repository.class).resolveGeneric(0));
+	}
+
+	@Benchmark
+	public void forClassWithGenerics(Blackhole bh) {
+		bh.consume(ResolvableType.forClassWithGenerics(Repository.class, String.class));
+	}
+
+	@Benchmark
+	public void forField(Blackhole bh) {
+		bh.consume(ResolvableType.forField(this.field).resolveGeneric(0));
+	}
+
+	@Benchmark
+	public void forMethodParameter(Blackhole bh) {
+		bh.consume(ResolvableType.forMethodParameter(this.methodParameter).resolveGeneric(1, 0));
+	}
+
+	@Benchmark
+	public void isAssignableFrom(Blackhole bh) {
+		ResolvableType target = ResolvableType.forClassWithGenerics(Repository.class, String.class);
+		bh.consume(target.isAssignableFrom(ResolvableType.forClass(StringRepository.class)));
+	}
+
+
+	public interface Repository<T> {
+	}
+
+
+	public static class StringRepository implements Repository<String> {
+	}
+
+
+	public static class Holder {
+
+		public List<String> values;
+
+		public void process(Map<String, List<Integer>> input) {
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.RetentionPolicy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.time.DayOfWeek;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link GenericConversionService#convert(Object, Class)} with a
+ * warm converter cache, optionally after converting {@code String} values to a
+ * range of other target types first, as is common for {@code String} sources
+ * in an application (enums, numbers, bound field types).
+ */
+@State(Scope.Benchmark)
+public class GenericConversionServiceBenchmark {
+
+	private static final Class<?>[] OTHER_TARGET_TYPES = new Class<?>[] {
+			Long.class, Short.class, Byte.class, Float.class, Double.class, BigDecimal.class, BigInteger.class,
+			Boolean.class, Character.class, Locale.class, Charset.class, Currency.class, UUID.class,
+			long.class, short.class, byte.class, float.class, double.class, boolean.class, char.class,
+			ElementType.class, RetentionPolicy.class, RoundingMode.class, DayOfWeek.class, Month.class,
+			TextStyle.class, Thread.State.class, StringBuilder.class, Number.class, CharSequence.class,
+			Comparable.class, Runnable.class, Thread.class, Class.class, Object.class, Integer[].class};
+
+	@Param({"false", "true"})
+	public boolean manyTargetTypes;
+
+	private GenericConversionService conversionService;
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.conversionService = new DefaultConversionService();
+		if (this.manyTargetTypes) {
+			for (Class<?> targetType : OTHER_TARGET_TYPES) {
+				this.conversionService.canConvert(String.class, targetType);
+			}
+		}
+		this.conversionService.convert("123", Integer.class);
+		this.conversionService.convert("SECONDS", TimeUnit.class);
+	}
+
+	@Benchmark
+	public void convertStringToInteger(Blackhole bh) {
+		bh.consume(this.conversionService.convert("123", Integer.class));
+	}
+
+	@Benchmark
+	public void convertStringToEnum(Blackhole bh) {
+		bh.consume(this.conversionService.convert("SECONDS", TimeUnit.class));
+	}
+
+	@Benchmark
+	public void convertIntegerToString(Blackhole bh) {
+		bh.consume(this.conversionService.convert(123, String.class));
+	}
+
+}
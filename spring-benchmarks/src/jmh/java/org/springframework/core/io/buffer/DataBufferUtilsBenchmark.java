@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+/**
+ * Benchmarks for {@link DataBufferUtils} reading, joining and writing of buffer streams.
+ */
+@State(Scope.Benchmark)
+public class DataBufferUtilsBenchmark {
+
+	@Param({"1024", "65536"})
+	public int contentLength;
+
+	private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+	private byte[] content;
+
+	private List<byte[]> chunks;
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		StringBuilder builder = new StringBuilder(this.contentLength);
+		while (builder.length() < this.contentLength) {
+			builder.append("{\"id\":42,\"name\":\"benchmark\"}\n");
+		}
+		this.content = builder.substring(0, this.contentLength).getBytes(StandardCharsets.UTF_8);
+		this.chunks = new ArrayList<>();
+		for (int offset = 0; offset < this.content.length; offset += 256) {
+			byte[] chunk = new byte[Math.min(256, this.content.length - offset)];
+			System.arraycopy(this.content, offset, chunk, 0, chunk.length);
+			this.chunks.add(chunk);
+		}
+	}
+
+	@Benchmark
+	public void readInputStream(Blackhole bh) {
+		DataBufferUtils.readInputStream(() -> new ByteArrayInputStream(this.content), this.bufferFactory, 4096)
+				.doOnNext(buffer -> {
+					bh.consume(buffer.readableByteCount());
+					DataBufferUtils.release(buffer);
+				})
+				.blockLast();
+	}
+
+	@Benchmark
+	public void join(Blackhole bh) {
+		DataBuffer joined = DataBufferUtils.join(chunkFlux()).block();
+		bh.consume(joined);
+		DataBufferUtils.release(joined);
+	}
+
+	@Benchmark
+	public void takeUntilByteCount(Blackhole bh) {
+		DataBufferUtils.takeUntilByteCount(chunkFlux(), this.contentLength / 2)
+				.doOnNext(buffer -> {
+					bh.consume(buffer);
+					DataBufferUtils.release(buffer);
+				})
+				.blockLast();
+	}
+
+	@Benchmark
+	public void writeOutputStream(Blackhole bh) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(this.contentLength);
+		DataBufferUtils.write(chunkFlux(), out).doOnNext(DataBufferUtils::release).blockLast();
+		bh.consume(out);
+	}
+
+	private Flux<DataBuffer> chunkFlux() {
+		return Flux.fromIterable(this.chunks).map(this.bufferFactory::wrap);
+	}
+
+}
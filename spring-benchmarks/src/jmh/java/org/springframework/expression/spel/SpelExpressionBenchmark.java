@@ -0,0 +1,144 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for {@code SpelExpression.getValue} in interpreted and compiled mode,
+ * covering property navigation, method invocation, operators and collection selection.
+ */
+@State(Scope.Benchmark)
+public class SpelExpressionBenchmark {
+
+	@Param({"OFF", "IMMEDIATE"})
+	public String compilerMode;
+
+	private final Customer root = new Customer();
+
+	private StandardEvaluationContext context;
+
+	private Expression propertyAccess;
+
+	private Expression methodInvocation;
+
+	private Expression arithmetic;
+
+	private Expression comparison;
+
+	private Expression selection;
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		SpelParserConfiguration configuration = new SpelParserConfiguration(
+				SpelCompilerMode.valueOf(this.compilerMode), getClass().getClassLoader());
+		SpelExpressionParser parser = new SpelExpressionParser(configuration);
+		this.context = new StandardEvaluationContext(this.root);
+		this.propertyAccess = parser.parseExpression("address.city");
+		this.methodInvocation = parser.parseExpression("name.toUpperCase()");
+		this.arithmetic = parser.parseExpression("age * 2 + 10");
+		this.comparison = parser.parseExpression("age > 18 and name == 'Alice'");
+		this.selection = parser.parseExpression("orders.?[#this > 100]");
+		// Warm up so that compiled mode has generated its classes before measuring
+		for (int i = 0; i < 3; i++) {
+			this.propertyAccess.getValue(this.context);
+			this.methodInvocation.getValue(this.context);
+			this.arithmetic.getValue(this.context);
+			this.comparison.getValue(this.context);
+			this.selection.getValue(this.context);
+		}
+	}
+
+	@Benchmark
+	public void propertyAccess(Blackhole bh) {
+		bh.consume(this.propertyAccess.getValue(this.context));
+	}
+
+	@Benchmark
+	public void methodInvocation(Blackhole bh) {
+		bh.consume(this.methodInvocation.getValue(this.context));
+	}
+
+	@Benchmark
+	public void arithmetic(Blackhole bh) {
+		bh.consume(this.arithmetic.getValue(this.context));
+	}
+
+	@Benchmark
+	public void comparison(Blackhole bh) {
+		bh.consume(this.comparison.getValue(this.context, Boolean.class));
+	}
+
+	@Benchmark
+	public void selection(Blackhole bh) {
+		bh.consume(this.selection.getValue(this.context));
+	}
+
+
+
+	public static class Customer {
+
+		public String name = "Alice";
+
+		public int age = 42;
+
+		public Address address = new Address();
+
+		public List<Integer> orders = Arrays.asList(50, 150, 250, 75);
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+
+		public List<Integer> getOrders() {
+			return this.orders;
+		}
+	}
+
+
+	public static class Address {
+
+		public String city = "Berlin";
+
+		public String getCity() {
+			return this.city;
+		}
+	}
+
+}
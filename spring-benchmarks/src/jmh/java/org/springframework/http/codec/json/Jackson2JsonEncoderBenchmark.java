@@ -0,0 +1,126 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Benchmarks for {@link Jackson2JsonEncoder} encoding single values, arrays and
+ * newline-delimited streams.
+ */
+@State(Scope.Benchmark)
+public class Jackson2JsonEncoderBenchmark {
+
+	private static final ResolvableType PERSON_TYPE = ResolvableType.forClass(Person.class);
+
+	private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+	private final Jackson2JsonEncoder encoder = new Jackson2JsonEncoder();
+
+	private Person person;
+
+	private List<Person> people;
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.person = new Person("Jane", "Doe", 42);
+		this.people = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			this.people.add(new Person("Jane" + i, "Doe" + i, i));
+		}
+	}
+
+	@Benchmark
+	public void encodeMono(Blackhole bh) {
+		this.encoder.encode(Mono.just(this.person), this.bufferFactory, PERSON_TYPE,
+				MediaType.APPLICATION_JSON, Collections.emptyMap())
+				.doOnNext(buffer -> {
+					bh.consume(buffer);
+					DataBufferUtils.release(buffer);
+				})
+				.blockLast();
+	}
+
+	@Benchmark
+	public void encodeFluxAsArray(Blackhole bh) {
+		this.encoder.encode(Flux.fromIterable(this.people), this.bufferFactory, PERSON_TYPE,
+				MediaType.APPLICATION_JSON, Collections.emptyMap())
+				.doOnNext(buffer -> {
+					bh.consume(buffer);
+					DataBufferUtils.release(buffer);
+				})
+				.blockLast();
+	}
+
+	@Benchmark
+	public void encodeFluxAsStream(Blackhole bh) {
+		this.encoder.encode(Flux.fromIterable(this.people), this.bufferFactory, PERSON_TYPE,
+				MediaType.APPLICATION_STREAM_JSON, Collections.emptyMap())
+				.doOnNext(buffer -> {
+					bh.consume(buffer);
+					DataBufferUtils.release(buffer);
+				})
+				.blockLast();
+	}
+
+
+	public static class Person {
+
+		private final String firstName;
+
+		private final String lastName;
+
+		private final int age;
+
+		public Person(String firstName, String lastName, int age) {
+			this.firstName = firstName;
+			this.lastName = lastName;
+			this.age = age;
+		}
+
+		public String getFirstName() {
+			return this.firstName;
+		}
+
+		public String getLastName() {
+			return this.lastName;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Benchmarks for {@link JdbcTemplate} row mapping against an embedded HSQL database,
+ * comparing a hand-written {@link RowMapper}, {@link BeanPropertyRowMapper},
+ * {@link ColumnMapRowMapper} and {@link SingleColumnRowMapper}.
+ */
+@State(Scope.Benchmark)
+public class JdbcTemplateRowMappingBenchmark {
+
+	private static final String QUERY = "SELECT id, first_name, last_name, email, age, balance FROM customer";
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private final RowMapper<Customer> customRowMapper = (rs, rowNum) -> {
+		Customer customer = new Customer();
+		customer.setId(rs.getLong(1));
+		customer.setFirstName(rs.getString(2));
+		customer.setLastName(rs.getString(3));
+		customer.setEmail(rs.getString(4));
+		customer.setAge(rs.getInt(5));
+		customer.setBalance(rs.getDouble(6));
+		return customer;
+	};
+
+	private final RowMapper<Customer> beanPropertyRowMapper = BeanPropertyRowMapper.newInstance(Customer.class);
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true).setType(EmbeddedDatabaseType.HSQL).build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("CREATE TABLE customer (id BIGINT PRIMARY KEY, first_name VARCHAR(50), " +
+				"last_name VARCHAR(50), email VARCHAR(100), age INTEGER, balance DOUBLE)");
+		for (int i = 0; i < 500; i++) {
+			this.jdbcTemplate.update("INSERT INTO customer VALUES (?, ?, ?, ?, ?, ?)",
+					i, "First" + i, "Last" + i, "customer" + i + "@example.com", 20 + (i % 50), i * 1.5d);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.database.shutdown();
+	}
+
+	@Benchmark
+	public void customRowMapper(Blackhole bh) {
+		bh.consume(this.jdbcTemplate.query(QUERY, this.customRowMapper));
+	}
+
+	@Benchmark
+	public void beanPropertyRowMapper(Blackhole bh) {
+		bh.consume(this.jdbcTemplate.query(QUERY, this.beanPropertyRowMapper));
+	}
+
+	@Benchmark
+	public void columnMapRowMapper(Blackhole bh) {
+		bh.consume(this.jdbcTemplate.queryForList(QUERY));
+	}
+
+	@Benchmark
+	public void singleColumnRowMapper(Blackhole bh) {
+		bh.consume(this.jdbcTemplate.queryForList("SELECT email FROM customer", String.class));
+	}
+
+
+	public static class Customer {
+
+		private long id;
+
+		private String firstName;
+
+		private String lastName;
+
+		private String email;
+
+		private int age;
+
+		private double balance;
+
+		public long getId() {
+			return this.id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getFirstName() {
+			return this.firstName;
+		}
+
+		public void setFirstName(String firstName) {
+			this.firstName = firstName;
+		}
+
+		public String getLastName() {
+			return this.lastName;
+		}
+
+		public void setLastName(String lastName) {
+			this.lastName = lastName;
+		}
+
+		public String getEmail() {
+			return this.email;
+		}
+
+		public void setEmail(String email) {
+			this.email = email;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public double getBalance() {
+			return this.balance;
+		}
+
+		public void setBalance(double balance) {
+			this.balance = balance;
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.simp.stomp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link StompDecoder} decoding single frames, batched frames
+ * and frames with escaped headers.
+ */
+@State(Scope.Benchmark)
+public class StompDecoderBenchmark {
+
+	private final StompDecoder decoder = new StompDecoder();
+
+	private byte[] sendFrame;
+
+	private byte[] batchedFrames;
+
+	private byte[] escapedHeadersFrame;
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		String send = "SEND\ndestination:/app/orders\ncontent-type:application/json\ncontent-length:28\n\n" +
+				"{\"id\":42,\"item\":\"benchmark\"}\0";
+		this.sendFrame = send.getBytes(StandardCharsets.UTF_8);
+		StringBuilder batch = new StringBuilder();
+		for (int i = 0; i < 20; i++) {
+			batch.append(send).append('\n');
+		}
+		this.batchedFrames = batch.toString().getBytes(StandardCharsets.UTF_8);
+		this.escapedHeadersFrame = ("MESSAGE\nsubscription:sub-0\nmessage-id:007\ndestination:/topic/a\\cb\n" +
+				"custom:line1\\nline2\\\\end\n\nbody\0").getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public void decodeSingleFrame(Blackhole bh) {
+		bh.consume(this.decoder.decode(ByteBuffer.wrap(this.sendFrame)));
+	}
+
+	@Benchmark
+	public void decodeBatchedFrames(Blackhole bh) {
+		bh.consume(this.decoder.decode(ByteBuffer.wrap(this.batchedFrames)));
+	}
+
+	@Benchmark
+	public void decodeEscapedHeaders(Blackhole bh) {
+		bh.consume(this.decoder.decode(ByteBuffer.wrap(this.escapedHeadersFrame)));
+	}
+
+}
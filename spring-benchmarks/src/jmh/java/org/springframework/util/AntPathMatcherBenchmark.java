@@ -0,0 +1,72 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link AntPathMatcher#match} and {@link AntPathMatcher#extractUriTemplateVariables}
+ * with a representative mix of literal, wildcard and URI template patterns.
+ */
+@State(Scope.Benchmark)
+public class AntPathMatcherBenchmark {
+
+	private static final String[] PATTERNS = {
+			"/", "/static/**", "/api/orders", "/api/orders/{id}", "/api/orders/{id}/items/{itemId}",
+			"/api/customers/*/addresses", "/resources/**/*.css", "/api/{version:v[0-9]+}/products/{sku}",
+			"/admin/**", "/api/orders/{id}.json"
+	};
+
+	private static final String[] PATHS = {
+			"/", "/static/js/app/main.js", "/api/orders", "/api/orders/42", "/api/orders/42/items/7",
+			"/api/customers/12/addresses", "/resources/css/theme/site.css", "/api/v2/products/ABC-123",
+			"/admin/users/list", "/api/orders/42.json", "/not/matching/anything"
+	};
+
+	private AntPathMatcher pathMatcher;
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.pathMatcher = new AntPathMatcher();
+	}
+
+	@Benchmark
+	public void matchAll(Blackhole bh) {
+		for (String pattern : PATTERNS) {
+			for (String path : PATHS) {
+				bh.consume(this.pathMatcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void extractUriTemplateVariables(Blackhole bh) {
+		bh.consume(this.pathMatcher.extractUriTemplateVariables("/api/orders/{id}/items/{itemId}", "/api/orders/42/items/7"));
+	}
+
+	@Benchmark
+	public void comparePatterns(Blackhole bh) {
+		bh.consume(this.pathMatcher.getPatternComparator("/api/orders/42").compare("/api/orders/{id}", "/api/**"));
+	}
+
+}
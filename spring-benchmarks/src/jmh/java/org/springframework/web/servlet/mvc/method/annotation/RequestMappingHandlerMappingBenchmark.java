@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+/**
+ * Benchmarks for {@code AbstractHandlerMethodMapping.lookupHandlerMethod} through
+ * {@link RequestMappingHandlerMapping#getHandler}, for literal and URI template mappings
+ * with a configurable number of registered endpoints.
+ */
+@State(Scope.Benchmark)
+public class RequestMappingHandlerMappingBenchmark {
+
+	@Param({"100", "2000"})
+	public int mappingCount;
+
+	private RequestMappingHandlerMapping handlerMapping;
+
+	private MockHttpServletRequest literalRequest;
+
+	private MockHttpServletRequest patternRequest;
+
+	private MockHttpServletRequest unmatchedRequest;
+
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		StaticWebApplicationContext context = new StaticWebApplicationContext();
+		context.setServletContext(new MockServletContext());
+		context.refresh();
+
+		this.handlerMapping = new RequestMappingHandlerMapping();
+		this.handlerMapping.setApplicationContext(context);
+		this.handlerMapping.afterPropertiesSet();
+
+		Handler handler = new Handler();
+		Method method = Handler.class.getMethod("handle");
+		for (int i = 0; i < this.mappingCount; i++) {
+			this.handlerMapping.registerMapping(RequestMappingInfo.paths("/api/resource" + i)
+					.methods(RequestMethod.GET).build(), handler, method);
+			this.handlerMapping.registerMapping(RequestMappingInfo.paths("/api/resource" + i + "/{id}")
+					.methods(RequestMethod.GET, RequestMethod.PUT).produces("application/json").build(), handler, method);
+		}
+
+		int target = this.mappingCount / 2;
+		this.literalRequest = createRequest("/api/resource" + target);
+		this.patternRequest = createRequest("/api/resource" + target + "/42");
+		this.unmatchedRequest = createRequest("/api/unknown/42");
+	}
+
+	private static MockHttpServletRequest createRequest(String uri) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		request.addHeader("Accept", "application/json, text/plain;q=0.8, */*;q=0.5");
+		return request;
+	}
+
+	@Benchmark
+	public void literalPath(Blackhole bh) throws Exception {
+		bh.consume(this.handlerMapping.getHandler(this.literalRequest));
+	}
+
+	@Benchmark
+	public void patternPath(Blackhole bh) throws Exception {
+		bh.consume(this.handlerMapping.getHandler(this.patternRequest));
+	}
+
+	@Benchmark
+	public void noMatch(Blackhole bh) throws Exception {
+		bh.consume(this.handlerMapping.getHandler(this.unmatchedRequest));
+	}
+
+
+	public static class Handler {
+
+		public String handle() {
+			return "handled";
+		}
+	}
+
+}
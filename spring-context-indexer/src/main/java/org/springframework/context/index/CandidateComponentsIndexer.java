@@ -54,6 +54,8 @@ public class CandidateComponentsIndexer implements Processor {
 
 	private TypeHelper typeHelper;
 
+	private TypeMetadataProvider typeMetadataProvider;
+
 	private List<StereotypesProvider> stereotypesProviders;
 
 
@@ -76,6 +78,7 @@ public class CandidateComponentsIndexer implements Processor {
 	public synchronized void init(ProcessingEnvironment env) {
 		this.stereotypesProviders = getStereotypesProviders(env);
 		this.typeHelper = new TypeHelper(env);
+		this.typeMetadataProvider = new TypeMetadataProvider(env);
 		this.metadataStore = new MetadataStore(env);
 		this.metadataCollector = new MetadataCollector(env, this.metadataStore.readMetadata());
 	}
@@ -116,7 +119,8 @@ public class CandidateComponentsIndexer implements Processor {
 		Set<String> stereotypes = new LinkedHashSet<>();
 		this.stereotypesProviders.forEach(p -> stereotypes.addAll(p.getStereotypes(element)));
 		if (!stereotypes.isEmpty()) {
-			this.metadataCollector.add(new ItemMetadata(this.typeHelper.getType(element), stereotypes));
+			this.metadataCollector.add(new ItemMetadata(this.typeHelper.getType(element), stereotypes,
+					this.typeMetadataProvider.getTypeMetadata(element)));
 		}
 	}
 
@@ -16,7 +16,10 @@
 
 package org.springframework.context.index;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -25,6 +28,9 @@ import java.util.Set;
  * be used to retrieve the candidates. A typical use case is the presence of a given
  * annotation on the candidate.
  *
+ * <p>An entry may also hold the type metadata of the candidate, keyed by property
+ * name, so that it can be inspected without reading the class file.
+ *
  * @author Stephane Nicoll
  * @since 5.0
  */
@@ -34,10 +40,17 @@ class ItemMetadata {
 
 	private final Set<String> stereotypes;
 
+	private final Map<String, String> typeMetadata;
+
 
 	public ItemMetadata(String type, Set<String> stereotypes) {
+		this(type, stereotypes, Collections.emptyMap());
+	}
+
+	public ItemMetadata(String type, Set<String> stereotypes, Map<String, String> typeMetadata) {
 		this.type = type;
 		this.stereotypes = new HashSet<>(stereotypes);
+		this.typeMetadata = new LinkedHashMap<>(typeMetadata);
 	}
 
 
@@ -49,4 +62,14 @@ class ItemMetadata {
 		return this.stereotypes;
 	}
 
+	/**
+	 * Return the type metadata of the candidate, keyed by property name,
+	 * or an empty map if none has been recorded.
+	 * @since 5.0.11
+	 * @see TypeMetadataProvider
+	 */
+	public Map<String, String> getTypeMetadata() {
+		return this.typeMetadata;
+	}
+
 }
@@ -33,6 +33,8 @@ class MetadataStore {
 
 	static final String METADATA_PATH = "META-INF/spring.components";
 
+	static final String TYPE_METADATA_PATH = "META-INF/spring.components.metadata";
+
 	private final ProcessingEnvironment environment;
 
 
@@ -42,20 +44,33 @@ class MetadataStore {
 
 
 	public CandidateComponentsMetadata readMetadata() {
+		CandidateComponentsMetadata metadata;
 		try {
-			return readMetadata(getMetadataResource().openInputStream());
+			metadata = readMetadata(getMetadataResource(METADATA_PATH).openInputStream());
 		}
 		catch (IOException ex) {
 			// Failed to read metadata -> ignore.
 			return null;
 		}
+		try (InputStream in = getMetadataResource(TYPE_METADATA_PATH).openInputStream()) {
+			return PropertiesMarshaller.readTypeMetadata(metadata, in);
+		}
+		catch (IOException ex) {
+			// Failed to read type metadata -> keep the stereotypes only.
+			return metadata;
+		}
 	}
 
 	public void writeMetadata(CandidateComponentsMetadata metadata) throws IOException {
 		if (!metadata.getItems().isEmpty()) {
-			try (OutputStream outputStream = createMetadataResource().openOutputStream()) {
+			try (OutputStream outputStream = createMetadataResource(METADATA_PATH).openOutputStream()) {
 				PropertiesMarshaller.write(metadata, outputStream);
 			}
+			if (metadata.getItems().stream().anyMatch(item -> !item.getTypeMetadata().isEmpty())) {
+				try (OutputStream outputStream = createMetadataResource(TYPE_METADATA_PATH).openOutputStream()) {
+					PropertiesMarshaller.writeTypeMetadata(metadata, outputStream);
+				}
+			}
 		}
 	}
 
@@ -69,12 +84,12 @@ class MetadataStore {
 		}
 	}
 
-	private FileObject getMetadataResource() throws IOException {
-		return this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+	private FileObject getMetadataResource(String path) throws IOException {
+		return this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", path);
 	}
 
-	private FileObject createMetadataResource() throws IOException {
-		return this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+	private FileObject createMetadataResource(String path) throws IOException {
+		return this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path);
 	}
 
 }
@@ -20,7 +20,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -32,6 +36,13 @@ import java.util.Set;
  */
 abstract class PropertiesMarshaller {
 
+	/**
+	 * The separator between the type and the property name in the keys
+	 * of the type metadata.
+	 */
+	static final char TYPE_METADATA_SEPARATOR = '#';
+
+
 	public static void write(CandidateComponentsMetadata metadata, OutputStream out) throws IOException {
 		Properties props = new Properties();
 		metadata.getItems().forEach(m -> props.put(m.getType(), String.join(",", m.getStereotypes())));
@@ -49,4 +60,31 @@ abstract class PropertiesMarshaller {
 		return result;
 	}
 
+	public static void writeTypeMetadata(CandidateComponentsMetadata metadata, OutputStream out) throws IOException {
+		Properties props = new Properties();
+		metadata.getItems().forEach(m -> m.getTypeMetadata().forEach((name, value) ->
+				props.put(m.getType() + TYPE_METADATA_SEPARATOR + name, value)));
+		props.store(out, "");
+	}
+
+	public static CandidateComponentsMetadata readTypeMetadata(CandidateComponentsMetadata metadata, InputStream in)
+			throws IOException {
+
+		Properties props = new Properties();
+		props.load(in);
+		Map<String, Map<String, String>> typeMetadata = new HashMap<>();
+		props.forEach((key, value) -> {
+			String name = (String) key;
+			int separatorIndex = name.indexOf(TYPE_METADATA_SEPARATOR);
+			if (separatorIndex > 0) {
+				typeMetadata.computeIfAbsent(name.substring(0, separatorIndex), type -> new LinkedHashMap<>())
+						.put(name.substring(separatorIndex + 1), (String) value);
+			}
+		});
+		CandidateComponentsMetadata result = new CandidateComponentsMetadata();
+		metadata.getItems().forEach(item -> result.add(new ItemMetadata(item.getType(), item.getStereotypes(),
+				typeMetadata.getOrDefault(item.getType(), Collections.emptyMap()))));
+		return result;
+	}
+
 }
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.SimpleAnnotationValueVisitor8;
+import javax.lang.model.util.Types;
+
+/**
+ * Extract the type metadata of a candidate, i.e. the information that
+ * {@code ClassPathScanningCandidateComponentProvider} would otherwise read from
+ * its class file: modifiers, enclosing and member classes, super class and
+ * interfaces, the declared annotations with their explicit attribute values,
+ * as well as the annotated methods.
+ *
+ * <p>The resolved generic super types of the candidate are recorded as well,
+ * allowing for assignability checks without walking the class hierarchy.
+ *
+ * <p>Annotations are written in a source-like notation, for instance
+ * {@code @com.example.Qualifier(value="main",type=com.example.Type.class)},
+ * using binary names and an explicit cast for {@code byte}, {@code short},
+ * {@code long}, {@code float} and {@code double} values.
+ *
+ * @since 5.0.11
+ */
+class TypeMetadataProvider {
+
+	static final String MODIFIERS = "modifiers";
+
+	static final String SUPER_CLASS = "superClass";
+
+	static final String INTERFACES = "interfaces";
+
+	static final String ENCLOSING_CLASS = "enclosingClass";
+
+	static final String MEMBER_CLASSES = "memberClasses";
+
+	static final String SUPER_TYPES = "superTypes";
+
+	static final String ANNOTATIONS = "annotations";
+
+	static final String METHODS = "methods";
+
+
+	private final Elements elements;
+
+	private final Types types;
+
+
+	TypeMetadataProvider(ProcessingEnvironment env) {
+		this.elements = env.getElementUtils();
+		this.types = env.getTypeUtils();
+	}
+
+
+	/**
+	 * Return the type metadata of the specified element, keyed by property name,
+	 * or an empty map if the element is not a type.
+	 */
+	public Map<String, String> getTypeMetadata(Element element) {
+		Map<String, String> metadata = new LinkedHashMap<>();
+		if (!(element instanceof TypeElement)) {
+			return metadata;
+		}
+		TypeElement type = (TypeElement) element;
+		metadata.put(MODIFIERS, getModifiers(type));
+		TypeMirror superClass = type.getSuperclass();
+		if (superClass.getKind() == TypeKind.DECLARED) {
+			metadata.put(SUPER_CLASS, getTypeName(superClass));
+		}
+		List<String> interfaces = new ArrayList<>();
+		type.getInterfaces().forEach(i -> interfaces.add(getTypeName(i)));
+		putIfNotEmpty(metadata, INTERFACES, String.join(",", interfaces));
+		Element enclosingElement = type.getEnclosingElement();
+		if (enclosingElement instanceof TypeElement) {
+			metadata.put(ENCLOSING_CLASS, getTypeName(enclosingElement.asType()));
+		}
+		List<String> memberClasses = new ArrayList<>();
+		for (Element enclosed : type.getEnclosedElements()) {
+			if (enclosed instanceof TypeElement) {
+				memberClasses.add(getTypeName(enclosed.asType()));
+			}
+		}
+		putIfNotEmpty(metadata, MEMBER_CLASSES, String.join(",", memberClasses));
+		Set<String> superTypes = new LinkedHashSet<>();
+		collectSuperTypes(type.asType(), superTypes);
+		putIfNotEmpty(metadata, SUPER_TYPES, String.join(";", superTypes));
+		putIfNotEmpty(metadata, ANNOTATIONS, getAnnotations(type));
+		putIfNotEmpty(metadata, METHODS, getMethods(type));
+		return metadata;
+	}
+
+	private void putIfNotEmpty(Map<String, String> metadata, String key, String value) {
+		if (!value.isEmpty()) {
+			metadata.put(key, value);
+		}
+	}
+
+	private String getModifiers(TypeElement type) {
+		StringJoiner modifiers = new StringJoiner(",");
+		boolean isInterface = type.getKind().isInterface();
+		if (isInterface) {
+			modifiers.add("interface");
+		}
+		if (type.getKind() == ElementKind.ANNOTATION_TYPE) {
+			modifiers.add("annotation");
+		}
+		if (isInterface || type.getModifiers().contains(Modifier.ABSTRACT)) {
+			modifiers.add("abstract");
+		}
+		if (type.getModifiers().contains(Modifier.FINAL)) {
+			modifiers.add("final");
+		}
+		Element enclosingElement = type.getEnclosingElement();
+		if (enclosingElement instanceof TypeElement && (type.getModifiers().contains(Modifier.STATIC) ||
+				type.getKind() != ElementKind.CLASS || enclosingElement.getKind().isInterface())) {
+			modifiers.add("static");
+		}
+		return modifiers.toString();
+	}
+
+	private void collectSuperTypes(TypeMirror type, Set<String> superTypes) {
+		for (TypeMirror superType : this.types.directSupertypes(type)) {
+			String typeName = getGenericTypeName(superType);
+			if (!Object.class.getName().equals(typeName) && superTypes.add(typeName)) {
+				collectSuperTypes(superType, superTypes);
+			}
+		}
+	}
+
+	private String getAnnotations(Element element) {
+		StringBuilder sb = new StringBuilder();
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (!isSourceRetention(annotation)) {
+				appendAnnotation(annotation, sb);
+			}
+		}
+		return sb.toString();
+	}
+
+	private String getMethods(TypeElement type) {
+		StringJoiner methods = new StringJoiner(";");
+		for (Element enclosed : type.getEnclosedElements()) {
+			if (enclosed.getKind() != ElementKind.METHOD && enclosed.getKind() != ElementKind.CONSTRUCTOR) {
+				continue;
+			}
+			String annotations = getAnnotations(enclosed);
+			if (!annotations.isEmpty()) {
+				ExecutableElement method = (ExecutableElement) enclosed;
+				methods.add(method.getSimpleName() + "," + getTypeName(method.getReturnType()) + "," +
+						getMethodModifiers(type, method) + annotations);
+			}
+		}
+		return methods.toString();
+	}
+
+	private String getMethodModifiers(TypeElement type, ExecutableElement method) {
+		Set<Modifier> modifiers = method.getModifiers();
+		StringJoiner result = new StringJoiner("+");
+		if (modifiers.contains(Modifier.ABSTRACT) || (type.getKind().isInterface() &&
+				!modifiers.contains(Modifier.DEFAULT) && !modifiers.contains(Modifier.STATIC) &&
+				!modifiers.contains(Modifier.PRIVATE))) {
+			result.add("abstract");
+		}
+		if (modifiers.contains(Modifier.STATIC)) {
+			result.add("static");
+		}
+		if (modifiers.contains(Modifier.FINAL)) {
+			result.add("final");
+		}
+		if (modifiers.contains(Modifier.PRIVATE)) {
+			result.add("private");
+		}
+		return result.toString();
+	}
+
+	private boolean isSourceRetention(AnnotationMirror annotation) {
+		Retention retention = annotation.getAnnotationType().asElement().getAnnotation(Retention.class);
+		return (retention != null && retention.value() == RetentionPolicy.SOURCE);
+	}
+
+	private void appendAnnotation(AnnotationMirror annotation, StringBuilder sb) {
+		sb.append('@').append(getTypeName(annotation.getAnnotationType())).append('(');
+		boolean first = true;
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+				annotation.getElementValues().entrySet()) {
+			if (!first) {
+				sb.append(',');
+			}
+			sb.append(entry.getKey().getSimpleName()).append('=');
+			entry.getValue().accept(new AnnotationValueWriter(), sb);
+			first = false;
+		}
+		sb.append(')');
+	}
+
+	/**
+	 * Return the binary name of the erasure of the specified type, using a
+	 * {@code []} suffix for array types.
+	 */
+	private String getTypeName(TypeMirror type) {
+		switch (type.getKind()) {
+			case ARRAY:
+				return getTypeName(((ArrayType) type).getComponentType()) + "[]";
+			case DECLARED:
+				return this.elements.getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+			case TYPEVAR:
+				return getTypeName(this.types.erasure(type));
+			default:
+				return type.toString();
+		}
+	}
+
+	private String getGenericTypeName(TypeMirror type) {
+		switch (type.getKind()) {
+			case ARRAY:
+				return getGenericTypeName(((ArrayType) type).getComponentType()) + "[]";
+			case DECLARED:
+				List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+				if (typeArguments.isEmpty()) {
+					return getTypeName(type);
+				}
+				StringJoiner arguments = new StringJoiner(",", "<", ">");
+				typeArguments.forEach(argument -> arguments.add(getGenericTypeName(argument)));
+				return getTypeName(type) + arguments;
+			case WILDCARD:
+				WildcardType wildcard = (WildcardType) type;
+				if (wildcard.getExtendsBound() != null) {
+					return "? extends " + getGenericTypeName(wildcard.getExtendsBound());
+				}
+				if (wildcard.getSuperBound() != null) {
+					return "? super " + getGenericTypeName(wildcard.getSuperBound());
+				}
+				return "?";
+			default:
+				return type.toString();
+		}
+	}
+
+
+	/**
+	 * Write an annotation value in source-like notation.
+	 */
+	private class AnnotationValueWriter extends SimpleAnnotationValueVisitor8<Void, StringBuilder> {
+
+		@Override
+		public Void visitBoolean(boolean b, StringBuilder sb) {
+			sb.append(b);
+			return null;
+		}
+
+		@Override
+		public Void visitByte(byte b, StringBuilder sb) {
+			sb.append("(byte)").append(b);
+			return null;
+		}
+
+		@Override
+		public Void visitChar(char c, StringBuilder sb) {
+			sb.append('\'');
+			appendEscaped(c, sb);
+			sb.append('\'');
+			return null;
+		}
+
+		@Override
+		public Void visitDouble(double d, StringBuilder sb) {
+			sb.append("(double)").append(d);
+			return null;
+		}
+
+		@Override
+		public Void visitFloat(float f, StringBuilder sb) {
+			sb.append("(float)").append(f);
+			return null;
+		}
+
+		@Override
+		public Void visitInt(int i, StringBuilder sb) {
+			sb.append(i);
+			return null;
+		}
+
+		@Override
+		public Void visitLong(long i, StringBuilder sb) {
+			sb.append("(long)").append(i);
+			return null;
+		}
+
+		@Override
+		public Void visitShort(short s, StringBuilder sb) {
+			sb.append("(short)").append(s);
+			return null;
+		}
+
+		@Override
+		public Void visitString(String s, StringBuilder sb) {
+			sb.append('"');
+			for (int i = 0; i < s.length(); i++) {
+				appendEscaped(s.charAt(i), sb);
+			}
+			sb.append('"');
+			return null;
+		}
+
+		@Override
+		public Void visitType(TypeMirror t, StringBuilder sb) {
+			sb.append(getTypeName(t)).append(".class");
+			return null;
+		}
+
+		@Override
+		public Void visitEnumConstant(VariableElement c, StringBuilder sb) {
+			sb.append(getTypeName(c.asType())).append('.').append(c.getSimpleName());
+			return null;
+		}
+
+		@Override
+		public Void visitAnnotation(AnnotationMirror a, StringBuilder sb) {
+			appendAnnotation(a, sb);
+			return null;
+		}
+
+		@Override
+		public Void visitArray(List<? extends AnnotationValue> values, StringBuilder sb) {
+			sb.append('{');
+			for (int i = 0; i < values.size(); i++) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				values.get(i).accept(this, sb);
+			}
+			sb.append('}');
+			return null;
+		}
+
+		private void appendEscaped(char c, StringBuilder sb) {
+			if (c == '"' || c == '\'' || c == '\\') {
+				sb.append('\\').append(c);
+			}
+			else if (c < 0x20 || c > 0x7e) {
+				sb.append(String.format("\\u%04x", (int) c));
+			}
+			else {
+				sb.append(c);
+			}
+		}
+	}
+
+}
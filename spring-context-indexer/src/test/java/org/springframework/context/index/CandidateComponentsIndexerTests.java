@@ -19,6 +19,7 @@ package org.springframework.context.index;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.Map;
 import javax.annotation.ManagedBean;
 import javax.inject.Named;
 import javax.persistence.Converter;
@@ -236,6 +237,27 @@ public class CandidateComponentsIndexerTests {
 		assertThat(metadata.getItems(), hasSize(1));
 	}
 
+	@Test
+	public void typeMetadataIsRecorded() throws IOException {
+		CandidateComponentsMetadata metadata = compile(SampleComponent.class, SampleSmartRepo.class);
+		Map<String, String> componentMetadata = getItem(metadata, SampleComponent.class).getTypeMetadata();
+		assertThat(componentMetadata, hasEntry(TypeMetadataProvider.MODIFIERS, ""));
+		assertThat(componentMetadata, hasEntry(TypeMetadataProvider.SUPER_CLASS, Object.class.getName()));
+		assertThat(componentMetadata, hasEntry(TypeMetadataProvider.ANNOTATIONS,
+				"@" + Component.class.getName() + "()"));
+		Map<String, String> repoMetadata = getItem(metadata, SampleSmartRepo.class).getTypeMetadata();
+		assertThat(repoMetadata, hasEntry(TypeMetadataProvider.INTERFACES,
+				SmartRepo.class.getName() + "," + Repo.class.getName()));
+		String typeArguments = "<org.springframework.context.index.sample.type.SampleEntity,java.lang.Long>";
+		assertThat(repoMetadata, hasEntry(TypeMetadataProvider.SUPER_TYPES,
+				SmartRepo.class.getName() + typeArguments + ";" + Repo.class.getName() + typeArguments));
+	}
+
+	private ItemMetadata getItem(CandidateComponentsMetadata metadata, Class<?> type) {
+		return metadata.getItems().stream().filter(item -> item.getType().equals(type.getName()))
+				.findFirst().orElseThrow(() -> new AssertionError("No item for " + type.getName()));
+	}
+
 	private CandidateComponentsMetadata compile(Class<?>... types) throws IOException {
 		CandidateComponentsIndexer processor = new CandidateComponentsIndexer();
 		this.compiler.getTask(types).call(processor);
@@ -253,7 +275,12 @@ public class CandidateComponentsIndexerTests {
 			File metadataFile = new File(outputLocation,
 					MetadataStore.METADATA_PATH);
 			if (metadataFile.isFile()) {
-				return PropertiesMarshaller.read(new FileInputStream(metadataFile));
+				CandidateComponentsMetadata metadata = PropertiesMarshaller.read(new FileInputStream(metadataFile));
+				File typeMetadataFile = new File(outputLocation, MetadataStore.TYPE_METADATA_PATH);
+				if (typeMetadataFile.isFile()) {
+					metadata = PropertiesMarshaller.readTypeMetadata(metadata, new FileInputStream(typeMetadataFile));
+				}
+				return metadata;
 			}
 			else {
 				return new CandidateComponentsMetadata();
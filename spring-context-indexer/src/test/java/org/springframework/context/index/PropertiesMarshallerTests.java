@@ -20,7 +20,10 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -50,6 +53,30 @@ public class PropertiesMarshallerTests {
 		assertThat(readMetadata.getItems(), hasSize(2));
 	}
 
+	@Test
+	public void readWriteTypeMetadata() throws IOException {
+		CandidateComponentsMetadata metadata = new CandidateComponentsMetadata();
+		Map<String, String> typeMetadata = new LinkedHashMap<>();
+		typeMetadata.put("modifiers", "abstract");
+		typeMetadata.put("annotations", "@com.example.Named(value=\"a#b\")");
+		metadata.add(new ItemMetadata("com.foo", Collections.singleton("first"), typeMetadata));
+		metadata.add(createItem("com.bar", "first"));
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		PropertiesMarshaller.writeTypeMetadata(metadata, outputStream);
+		CandidateComponentsMetadata readMetadata = PropertiesMarshaller.readTypeMetadata(
+				metadata, new ByteArrayInputStream(outputStream.toByteArray()));
+		assertThat(readMetadata.getItems(), hasSize(2));
+		for (ItemMetadata item : readMetadata.getItems()) {
+			if (item.getType().equals("com.foo")) {
+				assertEquals(typeMetadata, item.getTypeMetadata());
+			}
+			else {
+				assertTrue(item.getTypeMetadata().isEmpty());
+			}
+		}
+	}
+
 	private static ItemMetadata createItem(String type, String... stereotypes) {
 		return new ItemMetadata(type, new HashSet<>(Arrays.asList(stereotypes)));
 	}
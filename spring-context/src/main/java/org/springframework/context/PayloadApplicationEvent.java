@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,12 @@
 
 package org.springframework.context;
 
+import java.util.Map;
+
 import org.springframework.core.ResolvableType;
 import org.springframework.core.ResolvableTypeProvider;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * An {@link ApplicationEvent} that carries an arbitrary payload.
@@ -32,6 +35,10 @@ import org.springframework.util.Assert;
 @SuppressWarnings("serial")
 public class PayloadApplicationEvent<T> extends ApplicationEvent implements ResolvableTypeProvider {
 
+	/** Cache of event types per payload class, for payloads without their own type information */
+	private static final Map<Class<?>, ResolvableType> eventTypeCache = new ConcurrentReferenceHashMap<>(64);
+
+
 	private final T payload;
 
 
@@ -47,9 +54,26 @@ public class PayloadApplicationEvent<T> extends ApplicationEvent implements Reso
 	}
 
 
+	/**
+	 * Return the type of this event, with the payload type as its generic.
+	 * <p>As of 5.0.11, the type of a plain {@code PayloadApplicationEvent} is
+	 * shared per payload class (unless the payload is a {@link ResolvableTypeProvider}),
+	 * allowing for identity checks against previously resolved event types.
+	 */
 	@Override
 	public ResolvableType getResolvableType() {
-		return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forInstance(getPayload()));
+		Object payload = getPayload();
+		if (getClass() == PayloadApplicationEvent.class && !(payload instanceof ResolvableTypeProvider)) {
+			Class<?> payloadClass = payload.getClass();
+			ResolvableType eventType = eventTypeCache.get(payloadClass);
+			if (eventType == null) {
+				eventType = ResolvableType.forClassWithGenerics(
+						PayloadApplicationEvent.class, ResolvableType.forClass(payloadClass));
+				eventTypeCache.put(payloadClass, eventType);
+			}
+			return eventType;
+		}
+		return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forInstance(payload));
 	}
 
 	/**
@@ -16,6 +16,7 @@
 
 package org.springframework.context.annotation;
 
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import org.springframework.beans.factory.config.BeanDefinitionCustomizer;
 import org.springframework.beans.factory.support.BeanNameGenerator;
@@ -200,6 +201,18 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 		this.scanner.setScopeMetadataResolver(scopeMetadataResolver);
 	}
 
+	/**
+	 * Set the {@link Executor} to scan the classpath with in {@link #scan(String...)}.
+	 * <p>Default is none, scanning on the calling thread. Note that this does not
+	 * apply to {@link ComponentScan @ComponentScan} declarations, which specify
+	 * their own {@link ComponentScan#parallelism() parallelism}.
+	 * @since 5.0.11
+	 * @see ClassPathBeanDefinitionScanner#setTaskExecutor
+	 */
+	public void setScanTaskExecutor(@Nullable Executor scanTaskExecutor) {
+		this.scanner.setTaskExecutor(scanTaskExecutor);
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of AnnotationConfigRegistry
@@ -0,0 +1,605 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Build-time snapshot of the bean definitions derived from a set of
+ * {@link Configuration @Configuration} classes, allowing
+ * {@link ConfigurationClassPostProcessor} to register them directly instead of
+ * scanning the class path, parsing configuration classes and evaluating
+ * conditions on every startup.
+ *
+ * <p>A snapshot captures the bean definitions and aliases registered during
+ * configuration class processing, the {@link PropertySource @PropertySource}
+ * declarations to apply to the environment, and the import relationships
+ * needed for {@link ImportAware} beans. It is only used if it is valid for the
+ * current context: the same root configuration classes under the same bean names,
+ * the same active and default profiles, unchanged content of all parsed
+ * configuration classes (including their superclasses), registrars and
+ * imported resources, and the same class file names in all packages scanned
+ * through {@link ComponentScan @ComponentScan}: any class file added to or
+ * removed from a scanned package invalidates the snapshot.
+ *
+ * <p>Scanned packages are only listed, not read, so that validation stays far
+ * cheaper than the scan it replaces. Changes to the content of existing scanned
+ * classes, e.g. a stereotype annotation added to or removed from a class, are
+ * therefore not detected. Likewise, conditions are evaluated once at build time,
+ * and conditions depending on anything other than the active profiles are not
+ * reevaluated. Either requires the snapshot to be regenerated, which is
+ * typically done as part of every build.
+ *
+ * <p>Snapshots are created by {@link BeanDefinitionSnapshotGenerator} and loaded
+ * through {@link BeanDefinitionSnapshotLoader}.
+ *
+ * @since 5.0.11
+ * @see BeanDefinitionSnapshotGenerator
+ * @see BeanDefinitionSnapshotLoader
+ */
+public class BeanDefinitionSnapshot {
+
+	private static final int MAGIC = 0x53424453;
+
+	private static final int FORMAT_VERSION = 3;
+
+	private static final Log logger = LogFactory.getLog(BeanDefinitionSnapshot.class);
+
+
+	private final Map<String, String> rootClasses;
+
+	private final String[] activeProfiles;
+
+	private final String[] defaultProfiles;
+
+	private final Map<String, Long> checksums;
+
+	private final Map<String, Long> scanChecksums;
+
+	private final List<PropertySourceDescriptor> propertySources;
+
+	private final Map<String, String> aliases;
+
+	private final Map<String, String> imports;
+
+	private final byte[] beanDefinitions;
+
+
+	private BeanDefinitionSnapshot(Map<String, String> rootClasses, String[] activeProfiles, String[] defaultProfiles,
+			Map<String, Long> checksums, Map<String, Long> scanChecksums,
+			List<PropertySourceDescriptor> propertySources, Map<String, String> aliases,
+			Map<String, String> imports, byte[] beanDefinitions) {
+
+		this.rootClasses = rootClasses;
+		this.activeProfiles = activeProfiles;
+		this.defaultProfiles = defaultProfiles;
+		this.checksums = checksums;
+		this.scanChecksums = scanChecksums;
+		this.propertySources = propertySources;
+		this.aliases = aliases;
+		this.imports = imports;
+		this.beanDefinitions = beanDefinitions;
+	}
+
+
+	/**
+	 * Return the root configuration classes that this snapshot was created for,
+	 * as a map from bean name to class name.
+	 */
+	public Map<String, String> getRootClasses() {
+		return Collections.unmodifiableMap(this.rootClasses);
+	}
+
+	/**
+	 * Return the profiles that were active when this snapshot was created.
+	 */
+	public String[] getActiveProfiles() {
+		return this.activeProfiles.clone();
+	}
+
+	/**
+	 * Write this snapshot to the given stream, leaving the stream open.
+	 * @param outputStream the stream to write to
+	 * @throws IOException in case of I/O errors
+	 */
+	public void writeTo(OutputStream outputStream) throws IOException {
+		DataOutputStream out = new DataOutputStream(outputStream);
+		out.writeInt(MAGIC);
+		out.writeInt(FORMAT_VERSION);
+		writeStringMap(out, this.rootClasses);
+		BeanDefinitionSnapshotCodec.writeStringArray(out, this.activeProfiles);
+		BeanDefinitionSnapshotCodec.writeStringArray(out, this.defaultProfiles);
+		writeChecksums(out, this.checksums);
+		writeChecksums(out, this.scanChecksums);
+		out.writeInt(this.propertySources.size());
+		for (PropertySourceDescriptor propertySource : this.propertySources) {
+			propertySource.writeTo(out);
+		}
+		writeStringMap(out, this.aliases);
+		writeStringMap(out, this.imports);
+		out.writeInt(this.beanDefinitions.length);
+		out.write(this.beanDefinitions);
+		out.flush();
+	}
+
+	/**
+	 * Read a snapshot from the given stream, leaving the stream open.
+	 * <p>Bean definitions are only decoded once the snapshot gets registered.
+	 * @param inputStream the stream to read from
+	 * @return the snapshot
+	 * @throws IOException in case of I/O errors or if the content is not a
+	 * snapshot in a supported format
+	 */
+	public static BeanDefinitionSnapshot readFrom(InputStream inputStream) throws IOException {
+		DataInputStream in = new DataInputStream(inputStream);
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a bean definition snapshot");
+		}
+		int version = in.readInt();
+		if (version != FORMAT_VERSION) {
+			throw new IOException("Unsupported bean definition snapshot version " + version +
+					" (expected " + FORMAT_VERSION + ")");
+		}
+		Map<String, String> rootClasses = readStringMap(in);
+		String[] activeProfiles = readProfiles(in);
+		String[] defaultProfiles = readProfiles(in);
+		Map<String, Long> checksums = readChecksums(in);
+		Map<String, Long> scanChecksums = readChecksums(in);
+		int propertySourceCount = in.readInt();
+		List<PropertySourceDescriptor> propertySources = new ArrayList<>(propertySourceCount);
+		for (int i = 0; i < propertySourceCount; i++) {
+			propertySources.add(PropertySourceDescriptor.readFrom(in));
+		}
+		Map<String, String> aliases = readStringMap(in);
+		Map<String, String> imports = readStringMap(in);
+		byte[] beanDefinitions = new byte[in.readInt()];
+		in.readFully(beanDefinitions);
+		return new BeanDefinitionSnapshot(rootClasses, activeProfiles, defaultProfiles,
+				checksums, scanChecksums, propertySources, aliases, imports, beanDefinitions);
+	}
+
+
+	/**
+	 * Determine whether this snapshot applies to the given configuration
+	 * candidates in the given environment.
+	 */
+	boolean isValidFor(List<BeanDefinitionHolder> configCandidates, Environment environment,
+			ResourceLoader resourceLoader) {
+
+		if (!this.rootClasses.equals(getRootClasses(configCandidates))) {
+			return false;
+		}
+		if (!Arrays.equals(this.activeProfiles, sortedProfiles(environment.getActiveProfiles())) ||
+				!Arrays.equals(this.defaultProfiles, sortedProfiles(environment.getDefaultProfiles()))) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Ignoring bean definition snapshot for " + this.rootClasses.values() +
+						": created for different profiles " + Arrays.toString(this.activeProfiles));
+			}
+			return false;
+		}
+		ResourcePatternResolver resolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+		return (checksumsMatch(this.checksums, resolver, false) && checksumsMatch(this.scanChecksums, resolver, true));
+	}
+
+	private boolean checksumsMatch(Map<String, Long> checksums, ResourcePatternResolver resolver, boolean scan) {
+		for (Map.Entry<String, Long> entry : checksums.entrySet()) {
+			Long checksum;
+			try {
+				checksum = (scan ? scanChecksum(resolver, entry.getKey()) : checksum(resolver, entry.getKey()));
+			}
+			catch (IOException ex) {
+				checksum = null;
+			}
+			if (!entry.getValue().equals(checksum)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring bean definition snapshot for " + this.rootClasses.values() +
+							": [" + entry.getKey() + "] has changed");
+				}
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the {@code @PropertySource} declarations to process, in their original order.
+	 */
+	List<AnnotationAttributes> getPropertySources(@Nullable ClassLoader classLoader) {
+		List<AnnotationAttributes> result = new ArrayList<>(this.propertySources.size());
+		for (PropertySourceDescriptor propertySource : this.propertySources) {
+			result.add(propertySource.toAttributes(classLoader));
+		}
+		return result;
+	}
+
+	/**
+	 * Register the captured bean definitions and aliases with the given registry.
+	 * @return the number of bean definitions registered
+	 */
+	int registerWith(BeanDefinitionRegistry registry, @Nullable ClassLoader classLoader) {
+		int[] count = new int[1];
+		try {
+			BeanDefinitionSnapshotCodec.decodeBeanDefinitions(this.beanDefinitions, classLoader,
+					(beanName, beanDefinition) -> {
+						registry.registerBeanDefinition(beanName, beanDefinition);
+						count[0]++;
+					});
+		}
+		catch (IOException | ClassNotFoundException ex) {
+			throw new BeanDefinitionStoreException("Failed to restore bean definitions from snapshot for " +
+					this.rootClasses.values(), ex);
+		}
+		this.aliases.forEach((alias, beanName) -> registry.registerAlias(beanName, alias));
+		return count[0];
+	}
+
+	/**
+	 * Create an {@link ImportRegistry} for the captured import relationships.
+	 */
+	ImportRegistry createImportRegistry(MetadataReaderFactory metadataReaderFactory) {
+		return new SnapshotImportRegistry(this.imports, metadataReaderFactory);
+	}
+
+
+	private static Map<String, String> getRootClasses(List<BeanDefinitionHolder> configCandidates) {
+		Map<String, String> rootClasses = new LinkedHashMap<>(configCandidates.size());
+		for (BeanDefinitionHolder holder : configCandidates) {
+			rootClasses.put(holder.getBeanName(), String.valueOf(holder.getBeanDefinition().getBeanClassName()));
+		}
+		return rootClasses;
+	}
+
+	private static String[] sortedProfiles(String[] profiles) {
+		String[] sorted = profiles.clone();
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	private static long checksum(ResourcePatternResolver resolver, String location) throws IOException {
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[4096];
+		for (Resource resource : resolver.getResources(location)) {
+			updateChecksum(crc, resource, buffer);
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Calculate a checksum for the names of the resources matching the given scan
+	 * pattern, independent of their order and of the location of the class path roots.
+	 * <p>Only lists the matching resources without reading any of them.
+	 */
+	private static long scanChecksum(ResourcePatternResolver resolver, String packageSearchPath) throws IOException {
+		String path = packageSearchPath.substring(packageSearchPath.indexOf(':') + 1);
+		String rootDirPath = path.substring(0, path.lastIndexOf('/', path.indexOf('*')) + 1);
+		Resource[] resources = resolver.getResources(packageSearchPath);
+		String[] names = new String[resources.length];
+		for (int i = 0; i < resources.length; i++) {
+			String url = resources[i].getURL().toString();
+			int rootIndex = (!rootDirPath.isEmpty() ? url.lastIndexOf(rootDirPath) : -1);
+			names[i] = (rootIndex != -1 ? url.substring(rootIndex + rootDirPath.length()) :
+					String.valueOf(resources[i].getFilename()));
+		}
+		Arrays.sort(names);
+		CRC32 crc = new CRC32();
+		for (String name : names) {
+			crc.update(name.getBytes(StandardCharsets.UTF_8));
+			crc.update(0);
+		}
+		crc.update(resources.length);
+		return crc.getValue();
+	}
+
+	private static void updateChecksum(CRC32 crc, Resource resource, byte[] buffer) throws IOException {
+		try (InputStream is = resource.getInputStream()) {
+			int read;
+			while ((read = is.read(buffer)) != -1) {
+				crc.update(buffer, 0, read);
+			}
+		}
+	}
+
+	private static void writeChecksums(DataOutputStream out, Map<String, Long> checksums) throws IOException {
+		out.writeInt(checksums.size());
+		for (Map.Entry<String, Long> entry : checksums.entrySet()) {
+			BeanDefinitionSnapshotCodec.writeString(out, entry.getKey());
+			out.writeLong(entry.getValue());
+		}
+	}
+
+	private static Map<String, Long> readChecksums(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		Map<String, Long> checksums = new LinkedHashMap<>(size);
+		for (int i = 0; i < size; i++) {
+			checksums.put(BeanDefinitionSnapshotCodec.readRequiredString(in), in.readLong());
+		}
+		return checksums;
+	}
+
+	private static void writeStringMap(DataOutputStream out, Map<String, String> map) throws IOException {
+		out.writeInt(map.size());
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			BeanDefinitionSnapshotCodec.writeString(out, entry.getKey());
+			BeanDefinitionSnapshotCodec.writeString(out, entry.getValue());
+		}
+	}
+
+	private static Map<String, String> readStringMap(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		Map<String, String> map = new LinkedHashMap<>(size);
+		for (int i = 0; i < size; i++) {
+			map.put(BeanDefinitionSnapshotCodec.readRequiredString(in),
+					BeanDefinitionSnapshotCodec.readRequiredString(in));
+		}
+		return map;
+	}
+
+	private static String[] readProfiles(DataInputStream in) throws IOException {
+		String[] profiles = BeanDefinitionSnapshotCodec.readStringArray(in);
+		return (profiles != null ? profiles : new String[0]);
+	}
+
+
+	/**
+	 * Records the outcome of configuration class processing against a registry.
+	 * Created before parsing in order to remember the pre-existing bean definitions.
+	 */
+	static class Recorder {
+
+		private final BeanDefinitionRegistry registry;
+
+		private final Map<String, BeanDefinition> existingDefinitions = new LinkedHashMap<>();
+
+		private final Set<String> existingAliases = new LinkedHashSet<>();
+
+		public Recorder(BeanDefinitionRegistry registry) {
+			this.registry = registry;
+			for (String beanName : registry.getBeanDefinitionNames()) {
+				this.existingDefinitions.put(beanName, registry.getBeanDefinition(beanName));
+				this.existingAliases.addAll(Arrays.asList(registry.getAliases(beanName)));
+			}
+		}
+
+		/**
+		 * Create a snapshot from the state of the registry after parsing.
+		 * @throws IllegalStateException if any of the derived bean definitions
+		 * cannot be captured
+		 */
+		public BeanDefinitionSnapshot complete(List<BeanDefinitionHolder> configCandidates, Environment environment,
+				ResourceLoader resourceLoader, MetadataReaderFactory metadataReaderFactory,
+				ConfigurationClassParser parser) {
+
+			Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>();
+			Map<String, String> aliases = new LinkedHashMap<>();
+			for (String beanName : this.registry.getBeanDefinitionNames()) {
+				BeanDefinition beanDefinition = this.registry.getBeanDefinition(beanName);
+				if (this.existingDefinitions.get(beanName) != beanDefinition) {
+					beanDefinitions.put(beanName, beanDefinition);
+				}
+				for (String alias : this.registry.getAliases(beanName)) {
+					if (!this.existingAliases.contains(alias)) {
+						aliases.put(alias, beanName);
+					}
+				}
+			}
+
+			Map<String, String> imports = new LinkedHashMap<>();
+			Set<String> classNames = new LinkedHashSet<>();
+			Set<String> resourceLocations = new LinkedHashSet<>();
+			ImportRegistry importRegistry = parser.getImportRegistry();
+			for (ConfigurationClass configClass : parser.getConfigurationClasses()) {
+				String className = configClass.getMetadata().getClassName();
+				AnnotationMetadata importingClass = importRegistry.getImportingClassFor(className);
+				if (importingClass != null) {
+					imports.put(className, importingClass.getClassName());
+				}
+				addClassHierarchy(className, metadataReaderFactory, classNames);
+				configClass.getImportBeanDefinitionRegistrars().keySet().forEach(registrar ->
+						addClassHierarchy(registrar.getClass().getName(), metadataReaderFactory, classNames));
+				for (String location : configClass.getImportedResources().keySet()) {
+					resourceLocations.add(environment.resolveRequiredPlaceholders(location));
+				}
+			}
+
+			Map<String, Long> checksums = new LinkedHashMap<>();
+			ResourcePatternResolver resolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+			try {
+				for (String className : classNames) {
+					String location = ResourceLoader.CLASSPATH_URL_PREFIX +
+							ClassUtils.convertClassNameToResourcePath(className) + ClassUtils.CLASS_FILE_SUFFIX;
+					checksums.put(location, checksum(resolver, location));
+				}
+				for (String location : resourceLocations) {
+					checksums.put(location, checksum(resolver, location));
+				}
+				// Detect components added to scanned packages without any parsed class changing
+				Map<String, Long> scanChecksums = new LinkedHashMap<>();
+				for (String packageSearchPath : parser.getPackageSearchPaths()) {
+					scanChecksums.put(packageSearchPath, scanChecksum(resolver, packageSearchPath));
+				}
+				List<PropertySourceDescriptor> propertySources = new ArrayList<>();
+				for (AnnotationAttributes attributes : parser.getProcessedPropertySources()) {
+					propertySources.add(new PropertySourceDescriptor(attributes));
+				}
+				return new BeanDefinitionSnapshot(getRootClasses(configCandidates),
+						sortedProfiles(environment.getActiveProfiles()), sortedProfiles(environment.getDefaultProfiles()),
+						checksums, scanChecksums, propertySources, aliases, imports,
+						BeanDefinitionSnapshotCodec.encodeBeanDefinitions(beanDefinitions));
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Failed to create bean definition snapshot", ex);
+			}
+		}
+
+		private static void addClassHierarchy(String className, MetadataReaderFactory metadataReaderFactory,
+				Set<String> classNames) {
+
+			String current = className;
+			while (current != null && !current.startsWith("java.") && classNames.add(current)) {
+				try {
+					current = metadataReaderFactory.getMetadataReader(current).getClassMetadata().getSuperClassName();
+				}
+				catch (IOException ex) {
+					throw new IllegalStateException("Failed to introspect class [" + current + "]", ex);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Serializable form of a processed {@code @PropertySource} declaration.
+	 */
+	private static class PropertySourceDescriptor {
+
+		@Nullable
+		private final String name;
+
+		private final String[] locations;
+
+		private final boolean ignoreResourceNotFound;
+
+		@Nullable
+		private final String encoding;
+
+		private final String factoryClassName;
+
+		public PropertySourceDescriptor(AnnotationAttributes attributes) {
+			this(attributes.getString("name"), attributes.getStringArray("value"),
+					attributes.getBoolean("ignoreResourceNotFound"), attributes.getString("encoding"),
+					attributes.getClass("factory").getName());
+		}
+
+		private PropertySourceDescriptor(@Nullable String name, String[] locations, boolean ignoreResourceNotFound,
+				@Nullable String encoding, String factoryClassName) {
+
+			this.name = name;
+			this.locations = locations;
+			this.ignoreResourceNotFound = ignoreResourceNotFound;
+			this.encoding = encoding;
+			this.factoryClassName = factoryClassName;
+		}
+
+		public AnnotationAttributes toAttributes(@Nullable ClassLoader classLoader) {
+			AnnotationAttributes attributes = new AnnotationAttributes(PropertySource.class);
+			attributes.put("name", (this.name != null ? this.name : ""));
+			attributes.put("value", this.locations);
+			attributes.put("ignoreResourceNotFound", this.ignoreResourceNotFound);
+			attributes.put("encoding", (this.encoding != null ? this.encoding : ""));
+			attributes.put("factory", ClassUtils.resolveClassName(this.factoryClassName, classLoader));
+			return attributes;
+		}
+
+		public void writeTo(DataOutputStream out) throws IOException {
+			BeanDefinitionSnapshotCodec.writeString(out, this.name);
+			BeanDefinitionSnapshotCodec.writeStringArray(out, this.locations);
+			out.writeBoolean(this.ignoreResourceNotFound);
+			BeanDefinitionSnapshotCodec.writeString(out, this.encoding);
+			BeanDefinitionSnapshotCodec.writeString(out, this.factoryClassName);
+		}
+
+		public static PropertySourceDescriptor readFrom(DataInputStream in) throws IOException {
+			String name = BeanDefinitionSnapshotCodec.readString(in);
+			String[] locations = BeanDefinitionSnapshotCodec.readStringArray(in);
+			boolean ignoreResourceNotFound = in.readBoolean();
+			String encoding = BeanDefinitionSnapshotCodec.readString(in);
+			String factoryClassName = BeanDefinitionSnapshotCodec.readRequiredString(in);
+			return new PropertySourceDescriptor(name, (locations != null ? locations : new String[0]),
+					ignoreResourceNotFound, encoding, factoryClassName);
+		}
+	}
+
+
+	/**
+	 * {@link ImportRegistry} backed by captured import relationships,
+	 * reading the metadata of importing classes on demand.
+	 */
+	private static class SnapshotImportRegistry implements ImportRegistry {
+
+		private final Map<String, String> imports;
+
+		private final MetadataReaderFactory metadataReaderFactory;
+
+		private final Map<String, AnnotationMetadata> metadataCache = new HashMap<>();
+
+		public SnapshotImportRegistry(Map<String, String> imports, MetadataReaderFactory metadataReaderFactory) {
+			this.imports = new LinkedHashMap<>(imports);
+			this.metadataReaderFactory = metadataReaderFactory;
+		}
+
+		@Override
+		@Nullable
+		public synchronized AnnotationMetadata getImportingClassFor(String importedClass) {
+			String importingClass = this.imports.get(importedClass);
+			if (importingClass == null) {
+				return null;
+			}
+			AnnotationMetadata metadata = this.metadataCache.get(importingClass);
+			if (metadata == null) {
+				try {
+					metadata = this.metadataReaderFactory.getMetadataReader(importingClass).getAnnotationMetadata();
+				}
+				catch (IOException ex) {
+					throw new IllegalStateException("Failed to read metadata of importing class [" +
+							importingClass + "]", ex);
+				}
+				this.metadataCache.put(importingClass, metadata);
+			}
+			return metadata;
+		}
+
+		@Override
+		public synchronized void removeImportingClass(String importingClass) {
+			this.imports.values().removeIf(candidate -> ObjectUtils.nullSafeEquals(candidate, importingClass));
+		}
+	}
+
+}
@@ -0,0 +1,816 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.LookupOverride;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.support.ManagedProperties;
+import org.springframework.beans.factory.support.ManagedSet;
+import org.springframework.beans.factory.support.MethodOverride;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.StandardAnnotationMetadata;
+import org.springframework.core.type.StandardMethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Binary encoding of bean definitions and their metadata values for a
+ * {@link BeanDefinitionSnapshot}.
+ *
+ * <p>Supports the bean definition variants and value types produced by
+ * configuration class processing and XML parsing: plain, annotated and
+ * {@code @Bean} method definitions; bean references, inner beans, typed
+ * string values and managed collections. Definitions with any other value,
+ * with an instance supplier or with replaced methods cannot be captured:
+ * snapshots never fall back to Java serialization, so that restoring a
+ * snapshot does not deserialize arbitrary objects on startup.
+ *
+ * @since 5.0.11
+ */
+class BeanDefinitionSnapshotCodec {
+
+	private static final byte GENERIC_DEFINITION = 1;
+
+	private static final byte ROOT_DEFINITION = 2;
+
+	private static final byte ANNOTATED_DEFINITION = 3;
+
+	private static final byte BEAN_METHOD_DEFINITION = 4;
+
+	private static final byte NULL_VALUE = 0;
+
+	private static final byte STRING_VALUE = 1;
+
+	private static final byte BOOLEAN_VALUE = 2;
+
+	private static final byte INTEGER_VALUE = 3;
+
+	private static final byte LONG_VALUE = 4;
+
+	private static final byte CLASS_VALUE = 5;
+
+	private static final byte ENUM_VALUE = 6;
+
+	private static final byte STRING_ARRAY_VALUE = 7;
+
+	private static final byte TYPED_STRING_VALUE = 8;
+
+	private static final byte BEAN_REFERENCE_VALUE = 9;
+
+	private static final byte BEAN_NAME_REFERENCE_VALUE = 10;
+
+	private static final byte BEAN_DEFINITION_HOLDER_VALUE = 11;
+
+	private static final byte BEAN_DEFINITION_VALUE = 12;
+
+	private static final byte LIST_VALUE = 13;
+
+	private static final byte SET_VALUE = 14;
+
+	private static final byte MAP_VALUE = 15;
+
+	private static final byte PROPERTIES_VALUE = 16;
+
+
+	private BeanDefinitionSnapshotCodec() {
+	}
+
+
+	/**
+	 * Write the given bean definition.
+	 * @throws IllegalStateException if the bean definition cannot be captured
+	 */
+	static void writeBeanDefinition(DataOutputStream out, BeanDefinition beanDefinition) throws IOException {
+		if (!(beanDefinition instanceof AbstractBeanDefinition)) {
+			throw new IllegalStateException("Cannot capture bean definition of type [" +
+					beanDefinition.getClass().getName() + "]: " + beanDefinition);
+		}
+		AbstractBeanDefinition bd = (AbstractBeanDefinition) beanDefinition;
+		if (bd.getInstanceSupplier() != null) {
+			throw new IllegalStateException("Cannot capture bean definition with instance supplier: " + bd);
+		}
+		if (bd instanceof RootBeanDefinition) {
+			MethodMetadata factoryMethodMetadata = (bd instanceof AnnotatedBeanDefinition ?
+					((AnnotatedBeanDefinition) bd).getFactoryMethodMetadata() : null);
+			if (factoryMethodMetadata != null) {
+				out.writeByte(BEAN_METHOD_DEFINITION);
+				writeString(out, ((AnnotatedBeanDefinition) bd).getMetadata().getClassName());
+			}
+			else {
+				out.writeByte(ROOT_DEFINITION);
+			}
+		}
+		else {
+			out.writeByte(bd instanceof AnnotatedBeanDefinition ? ANNOTATED_DEFINITION : GENERIC_DEFINITION);
+		}
+
+		writeString(out, bd.getParentName());
+		writeString(out, bd.getBeanClassName());
+		writeString(out, bd.getScope());
+		out.writeBoolean(bd.isAbstract());
+		out.writeBoolean(bd.isLazyInit());
+		out.writeInt(bd.getAutowireMode());
+		out.writeInt(bd.getDependencyCheck());
+		writeStringArray(out, bd.getDependsOn());
+		out.writeBoolean(bd.isAutowireCandidate());
+		out.writeBoolean(bd.isPrimary());
+		Set<AutowireCandidateQualifier> qualifiers = bd.getQualifiers();
+		out.writeInt(qualifiers.size());
+		for (AutowireCandidateQualifier qualifier : qualifiers) {
+			writeString(out, qualifier.getTypeName());
+			writeAttributes(out, qualifier.attributeNames(), qualifier::getAttribute);
+		}
+		out.writeBoolean(bd.isNonPublicAccessAllowed());
+		out.writeBoolean(bd.isLenientConstructorResolution());
+		writeString(out, bd.getFactoryBeanName());
+		writeString(out, bd.getFactoryMethodName());
+
+		// Avoid the has/get accessors initializing empty holders on the given definition
+		ConstructorArgumentValues args = (bd.hasConstructorArgumentValues() ?
+				bd.getConstructorArgumentValues() : new ConstructorArgumentValues());
+		Map<Integer, ValueHolder> indexedArgs = args.getIndexedArgumentValues();
+		out.writeInt(indexedArgs.size());
+		for (Map.Entry<Integer, ValueHolder> entry : indexedArgs.entrySet()) {
+			out.writeInt(entry.getKey());
+			writeValueHolder(out, entry.getValue());
+		}
+		List<ValueHolder> genericArgs = args.getGenericArgumentValues();
+		out.writeInt(genericArgs.size());
+		for (ValueHolder valueHolder : genericArgs) {
+			writeValueHolder(out, valueHolder);
+		}
+
+		List<PropertyValue> pvs = (bd.hasPropertyValues() ?
+				bd.getPropertyValues().getPropertyValueList() : Collections.emptyList());
+		out.writeInt(pvs.size());
+		for (PropertyValue pv : pvs) {
+			writeString(out, pv.getName());
+			writeValue(out, pv.getValue());
+			out.writeBoolean(pv.isOptional());
+		}
+
+		Set<MethodOverride> overrides = (bd.hasMethodOverrides() ?
+				bd.getMethodOverrides().getOverrides() : Collections.emptySet());
+		out.writeInt(overrides.size());
+		for (MethodOverride override : overrides) {
+			if (!(override instanceof LookupOverride)) {
+				throw new IllegalStateException("Cannot capture bean definition with method override [" +
+						override + "]: " + bd);
+			}
+			writeString(out, override.getMethodName());
+			writeString(out, ((LookupOverride) override).getBeanName());
+		}
+
+		writeString(out, bd.getInitMethodName());
+		out.writeBoolean(bd.isEnforceInitMethod());
+		writeString(out, bd.getDestroyMethodName());
+		out.writeBoolean(bd.isEnforceDestroyMethod());
+		out.writeBoolean(bd.isSynthetic());
+		out.writeInt(bd.getRole());
+		writeString(out, bd.getDescription());
+		BeanDefinition originatingDefinition = bd.getOriginatingBeanDefinition();
+		if (originatingDefinition != null) {
+			out.writeBoolean(true);
+			writeBeanDefinition(out, originatingDefinition);
+		}
+		else {
+			out.writeBoolean(false);
+			writeString(out, bd.getResourceDescription());
+		}
+		writeAttributes(out, bd.attributeNames(), bd::getAttribute);
+
+		if (bd instanceof RootBeanDefinition) {
+			RootBeanDefinition rbd = (RootBeanDefinition) bd;
+			BeanDefinitionHolder decoratedDefinition = rbd.getDecoratedDefinition();
+			out.writeBoolean(decoratedDefinition != null);
+			if (decoratedDefinition != null) {
+				writeBeanDefinitionHolder(out, decoratedDefinition);
+			}
+			Class<?> targetType = rbd.getTargetType();
+			writeString(out, (targetType != null ? targetType.getName() : null));
+		}
+	}
+
+	/**
+	 * Read a bean definition written by {@link #writeBeanDefinition}.
+	 */
+	static AbstractBeanDefinition readBeanDefinition(DataInputStream in, @Nullable ClassLoader classLoader)
+			throws IOException, ClassNotFoundException {
+
+		AbstractBeanDefinition bd;
+		byte kind = in.readByte();
+		switch (kind) {
+			case GENERIC_DEFINITION:
+				bd = new GenericBeanDefinition();
+				break;
+			case ROOT_DEFINITION:
+				bd = new RootBeanDefinition();
+				break;
+			case ANNOTATED_DEFINITION:
+				bd = new SnapshotAnnotatedBeanDefinition(classLoader);
+				break;
+			case BEAN_METHOD_DEFINITION:
+				bd = new SnapshotBeanMethodDefinition(readRequiredString(in), classLoader);
+				break;
+			default:
+				throw new IOException("Unknown bean definition kind: " + kind);
+		}
+
+		bd.setParentName(readString(in));
+		bd.setBeanClassName(readString(in));
+		bd.setScope(readString(in));
+		bd.setAbstract(in.readBoolean());
+		bd.setLazyInit(in.readBoolean());
+		bd.setAutowireMode(in.readInt());
+		bd.setDependencyCheck(in.readInt());
+		bd.setDependsOn(readStringArray(in));
+		bd.setAutowireCandidate(in.readBoolean());
+		bd.setPrimary(in.readBoolean());
+		int qualifierCount = in.readInt();
+		for (int i = 0; i < qualifierCount; i++) {
+			AutowireCandidateQualifier qualifier = new AutowireCandidateQualifier(readRequiredString(in));
+			readAttributes(in, classLoader, qualifier::setAttribute);
+			bd.addQualifier(qualifier);
+		}
+		bd.setNonPublicAccessAllowed(in.readBoolean());
+		bd.setLenientConstructorResolution(in.readBoolean());
+		bd.setFactoryBeanName(readString(in));
+		bd.setFactoryMethodName(readString(in));
+
+		int indexedArgCount = in.readInt();
+		for (int i = 0; i < indexedArgCount; i++) {
+			int index = in.readInt();
+			bd.getConstructorArgumentValues().addIndexedArgumentValue(index, readValueHolder(in, classLoader));
+		}
+		int genericArgCount = in.readInt();
+		for (int i = 0; i < genericArgCount; i++) {
+			bd.getConstructorArgumentValues().addGenericArgumentValue(readValueHolder(in, classLoader));
+		}
+
+		int pvCount = in.readInt();
+		for (int i = 0; i < pvCount; i++) {
+			PropertyValue pv = new PropertyValue(readRequiredString(in), readValue(in, classLoader));
+			pv.setOptional(in.readBoolean());
+			bd.getPropertyValues().addPropertyValue(pv);
+		}
+
+		int overrideCount = in.readInt();
+		for (int i = 0; i < overrideCount; i++) {
+			bd.getMethodOverrides().addOverride(new LookupOverride(readRequiredString(in), readString(in)));
+		}
+
+		bd.setInitMethodName(readString(in));
+		bd.setEnforceInitMethod(in.readBoolean());
+		bd.setDestroyMethodName(readString(in));
+		bd.setEnforceDestroyMethod(in.readBoolean());
+		bd.setSynthetic(in.readBoolean());
+		bd.setRole(in.readInt());
+		bd.setDescription(readString(in));
+		if (in.readBoolean()) {
+			bd.setOriginatingBeanDefinition(readBeanDefinition(in, classLoader));
+		}
+		else {
+			bd.setResourceDescription(readString(in));
+		}
+		readAttributes(in, classLoader, bd::setAttribute);
+
+		if (bd instanceof RootBeanDefinition) {
+			RootBeanDefinition rbd = (RootBeanDefinition) bd;
+			if (in.readBoolean()) {
+				rbd.setDecoratedDefinition(readBeanDefinitionHolder(in, classLoader));
+			}
+			String targetType = readString(in);
+			if (targetType != null) {
+				rbd.setTargetType(ClassUtils.forName(targetType, classLoader));
+			}
+			if (kind == BEAN_METHOD_DEFINITION && rbd.getFactoryBeanName() != null &&
+					rbd.getFactoryMethodName() != null) {
+				// instance @Bean method: no overloading, as with ConfigurationClassBeanDefinitionReader
+				rbd.setUniqueFactoryMethodName(rbd.getFactoryMethodName());
+			}
+		}
+		return bd;
+	}
+
+	/**
+	 * Encode the given bean definitions into a standalone byte array.
+	 */
+	static byte[] encodeBeanDefinitions(Map<String, BeanDefinition> beanDefinitions) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
+		DataOutputStream out = new DataOutputStream(bos);
+		out.writeInt(beanDefinitions.size());
+		for (Map.Entry<String, BeanDefinition> entry : beanDefinitions.entrySet()) {
+			writeString(out, entry.getKey());
+			writeBeanDefinition(out, entry.getValue());
+		}
+		out.flush();
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Decode bean definitions from a byte array written by {@link #encodeBeanDefinitions},
+	 * passing each of them to the given callback in their original order.
+	 */
+	static void decodeBeanDefinitions(byte[] content, @Nullable ClassLoader classLoader,
+			BeanDefinitionCallback callback) throws IOException, ClassNotFoundException {
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String beanName = readRequiredString(in);
+			callback.accept(beanName, readBeanDefinition(in, classLoader));
+		}
+	}
+
+
+	private static void writeValueHolder(DataOutputStream out, ValueHolder valueHolder) throws IOException {
+		writeValue(out, valueHolder.getValue());
+		writeString(out, valueHolder.getType());
+		writeString(out, valueHolder.getName());
+	}
+
+	private static ValueHolder readValueHolder(DataInputStream in, @Nullable ClassLoader classLoader)
+			throws IOException, ClassNotFoundException {
+
+		return new ValueHolder(readValue(in, classLoader), readString(in), readString(in));
+	}
+
+	private static void writeBeanDefinitionHolder(DataOutputStream out, BeanDefinitionHolder holder) throws IOException {
+		writeString(out, holder.getBeanName());
+		writeStringArray(out, holder.getAliases());
+		writeBeanDefinition(out, holder.getBeanDefinition());
+	}
+
+	private static BeanDefinitionHolder readBeanDefinitionHolder(DataInputStream in, @Nullable ClassLoader classLoader)
+			throws IOException, ClassNotFoundException {
+
+		String beanName = readRequiredString(in);
+		String[] aliases = readStringArray(in);
+		return new BeanDefinitionHolder(readBeanDefinition(in, classLoader), beanName, aliases);
+	}
+
+	private static void writeAttributes(DataOutputStream out, String[] names, AttributeSource source)
+			throws IOException {
+
+		out.writeInt(names.length);
+		for (String name : names) {
+			writeString(out, name);
+			writeValue(out, source.getAttribute(name));
+		}
+	}
+
+	private static void readAttributes(DataInputStream in, @Nullable ClassLoader classLoader, AttributeTarget target)
+			throws IOException, ClassNotFoundException {
+
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			target.setAttribute(readRequiredString(in), readValue(in, classLoader));
+		}
+	}
+
+	private static void writeValue(DataOutputStream out, @Nullable Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL_VALUE);
+		}
+		else if (value instanceof String) {
+			out.writeByte(STRING_VALUE);
+			writeString(out, (String) value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN_VALUE);
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Integer) {
+			out.writeByte(INTEGER_VALUE);
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			out.writeByte(LONG_VALUE);
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Class) {
+			out.writeByte(CLASS_VALUE);
+			writeString(out, ((Class<?>) value).getName());
+		}
+		else if (value instanceof Enum) {
+			out.writeByte(ENUM_VALUE);
+			writeString(out, ((Enum<?>) value).getDeclaringClass().getName());
+			writeString(out, ((Enum<?>) value).name());
+		}
+		else if (value instanceof String[]) {
+			out.writeByte(STRING_ARRAY_VALUE);
+			writeStringArray(out, (String[]) value);
+		}
+		else if (value instanceof TypedStringValue) {
+			TypedStringValue typedStringValue = (TypedStringValue) value;
+			out.writeByte(TYPED_STRING_VALUE);
+			writeString(out, typedStringValue.getValue());
+			writeString(out, typedStringValue.getTargetTypeName());
+			writeString(out, typedStringValue.getSpecifiedTypeName());
+			out.writeBoolean(typedStringValue.isDynamic());
+		}
+		else if (value instanceof RuntimeBeanReference) {
+			out.writeByte(BEAN_REFERENCE_VALUE);
+			writeString(out, ((RuntimeBeanReference) value).getBeanName());
+			out.writeBoolean(((RuntimeBeanReference) value).isToParent());
+		}
+		else if (value instanceof RuntimeBeanNameReference) {
+			out.writeByte(BEAN_NAME_REFERENCE_VALUE);
+			writeString(out, ((RuntimeBeanNameReference) value).getBeanName());
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			out.writeByte(BEAN_DEFINITION_HOLDER_VALUE);
+			writeBeanDefinitionHolder(out, (BeanDefinitionHolder) value);
+		}
+		else if (value instanceof BeanDefinition) {
+			out.writeByte(BEAN_DEFINITION_VALUE);
+			writeBeanDefinition(out, (BeanDefinition) value);
+		}
+		else if (value instanceof ManagedList) {
+			ManagedList<?> list = (ManagedList<?>) value;
+			out.writeByte(LIST_VALUE);
+			writeString(out, list.getElementTypeName());
+			out.writeBoolean(list.isMergeEnabled());
+			out.writeInt(list.size());
+			for (Object element : list) {
+				writeValue(out, element);
+			}
+		}
+		else if (value instanceof ManagedSet) {
+			ManagedSet<?> set = (ManagedSet<?>) value;
+			out.writeByte(SET_VALUE);
+			writeString(out, set.getElementTypeName());
+			out.writeBoolean(set.isMergeEnabled());
+			out.writeInt(set.size());
+			for (Object element : set) {
+				writeValue(out, element);
+			}
+		}
+		else if (value instanceof ManagedMap) {
+			ManagedMap<?, ?> map = (ManagedMap<?, ?>) value;
+			out.writeByte(MAP_VALUE);
+			writeString(out, map.getKeyTypeName());
+			writeString(out, map.getValueTypeName());
+			out.writeBoolean(map.isMergeEnabled());
+			writeEntries(out, map);
+		}
+		else if (value instanceof ManagedProperties) {
+			ManagedProperties props = (ManagedProperties) value;
+			out.writeByte(PROPERTIES_VALUE);
+			out.writeBoolean(props.isMergeEnabled());
+			writeEntries(out, props);
+		}
+		else {
+			throw new IllegalStateException("Cannot capture bean metadata value of type [" +
+					value.getClass().getName() + "]: " + value);
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	@Nullable
+	private static Object readValue(DataInputStream in, @Nullable ClassLoader classLoader)
+			throws IOException, ClassNotFoundException {
+
+		byte type = in.readByte();
+		switch (type) {
+			case NULL_VALUE:
+				return null;
+			case STRING_VALUE:
+				return readString(in);
+			case BOOLEAN_VALUE:
+				return in.readBoolean();
+			case INTEGER_VALUE:
+				return in.readInt();
+			case LONG_VALUE:
+				return in.readLong();
+			case CLASS_VALUE:
+				return ClassUtils.forName(readRequiredString(in), classLoader);
+			case ENUM_VALUE:
+				Class enumType = ClassUtils.forName(readRequiredString(in), classLoader);
+				return Enum.valueOf(enumType, readRequiredString(in));
+			case STRING_ARRAY_VALUE:
+				return readStringArray(in);
+			case TYPED_STRING_VALUE:
+				TypedStringValue typedStringValue = new TypedStringValue(readString(in));
+				typedStringValue.setTargetTypeName(readString(in));
+				typedStringValue.setSpecifiedTypeName(readString(in));
+				if (in.readBoolean()) {
+					typedStringValue.setDynamic();
+				}
+				return typedStringValue;
+			case BEAN_REFERENCE_VALUE:
+				return new RuntimeBeanReference(readRequiredString(in), in.readBoolean());
+			case BEAN_NAME_REFERENCE_VALUE:
+				return new RuntimeBeanNameReference(readRequiredString(in));
+			case BEAN_DEFINITION_HOLDER_VALUE:
+				return readBeanDefinitionHolder(in, classLoader);
+			case BEAN_DEFINITION_VALUE:
+				return readBeanDefinition(in, classLoader);
+			case LIST_VALUE: {
+				String elementTypeName = readString(in);
+				boolean mergeEnabled = in.readBoolean();
+				int size = in.readInt();
+				ManagedList<Object> list = new ManagedList<>(size);
+				if (elementTypeName != null) {
+					list.setElementTypeName(elementTypeName);
+				}
+				list.setMergeEnabled(mergeEnabled);
+				for (int i = 0; i < size; i++) {
+					list.add(readValue(in, classLoader));
+				}
+				return list;
+			}
+			case SET_VALUE: {
+				String elementTypeName = readString(in);
+				boolean mergeEnabled = in.readBoolean();
+				int size = in.readInt();
+				ManagedSet<Object> set = new ManagedSet<>(size);
+				set.setElementTypeName(elementTypeName);
+				set.setMergeEnabled(mergeEnabled);
+				for (int i = 0; i < size; i++) {
+					set.add(readValue(in, classLoader));
+				}
+				return set;
+			}
+			case MAP_VALUE: {
+				ManagedMap<Object, Object> map = new ManagedMap<>();
+				map.setKeyTypeName(readString(in));
+				map.setValueTypeName(readString(in));
+				map.setMergeEnabled(in.readBoolean());
+				readEntries(in, classLoader, map);
+				return map;
+			}
+			case PROPERTIES_VALUE: {
+				ManagedProperties props = new ManagedProperties();
+				props.setMergeEnabled(in.readBoolean());
+				readEntries(in, classLoader, props);
+				return props;
+			}
+			default:
+				throw new IOException("Unknown bean metadata value type: " + type);
+		}
+	}
+
+	private static void writeEntries(DataOutputStream out, Map<?, ?> map) throws IOException {
+		out.writeInt(map.size());
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			writeValue(out, entry.getKey());
+			writeValue(out, entry.getValue());
+		}
+	}
+
+	private static void readEntries(DataInputStream in, @Nullable ClassLoader classLoader, Map<Object, Object> map)
+			throws IOException, ClassNotFoundException {
+
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			map.put(readValue(in, classLoader), readValue(in, classLoader));
+		}
+	}
+
+	static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+		}
+		else {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	@Nullable
+	static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	static String readRequiredString(DataInputStream in) throws IOException {
+		String value = readString(in);
+		if (value == null) {
+			throw new IOException("Unexpected null value in bean definition snapshot");
+		}
+		return value;
+	}
+
+	static void writeStringArray(DataOutputStream out, @Nullable String[] values) throws IOException {
+		if (values == null) {
+			out.writeInt(-1);
+		}
+		else {
+			out.writeInt(values.length);
+			for (String value : values) {
+				writeString(out, value);
+			}
+		}
+	}
+
+	@Nullable
+	static String[] readStringArray(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		String[] values = new String[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = readString(in);
+		}
+		return values;
+	}
+
+
+	/**
+	 * Callback for decoded bean definitions.
+	 */
+	@FunctionalInterface
+	interface BeanDefinitionCallback {
+
+		void accept(String beanName, AbstractBeanDefinition beanDefinition);
+	}
+
+
+	@FunctionalInterface
+	private interface AttributeSource {
+
+		@Nullable
+		Object getAttribute(String name);
+	}
+
+
+	@FunctionalInterface
+	private interface AttributeTarget {
+
+		void setAttribute(String name, @Nullable Object value);
+	}
+
+
+	/**
+	 * Restored variant of a scanned or registered annotated class definition,
+	 * introspecting the bean class on demand.
+	 */
+	@SuppressWarnings("serial")
+	private static class SnapshotAnnotatedBeanDefinition extends GenericBeanDefinition
+			implements AnnotatedBeanDefinition {
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		@Nullable
+		private volatile AnnotationMetadata metadata;
+
+		public SnapshotAnnotatedBeanDefinition(@Nullable ClassLoader classLoader) {
+			this.classLoader = classLoader;
+		}
+
+		private SnapshotAnnotatedBeanDefinition(SnapshotAnnotatedBeanDefinition original) {
+			super(original);
+			this.classLoader = original.classLoader;
+			this.metadata = original.metadata;
+		}
+
+		@Override
+		public AnnotationMetadata getMetadata() {
+			AnnotationMetadata metadata = this.metadata;
+			if (metadata == null) {
+				Class<?> beanClass = (hasBeanClass() ? getBeanClass() :
+						ClassUtils.resolveClassName(String.valueOf(getBeanClassName()), this.classLoader));
+				metadata = new StandardAnnotationMetadata(beanClass, true);
+				this.metadata = metadata;
+			}
+			return metadata;
+		}
+
+		@Override
+		@Nullable
+		public MethodMetadata getFactoryMethodMetadata() {
+			return null;
+		}
+
+		@Override
+		public AbstractBeanDefinition cloneBeanDefinition() {
+			return new SnapshotAnnotatedBeanDefinition(this);
+		}
+	}
+
+
+	/**
+	 * Restored variant of a {@code @Bean} method definition, introspecting
+	 * the declaring configuration class on demand.
+	 * @see ConfigurationClassBeanDefinitionReader
+	 */
+	@SuppressWarnings("serial")
+	private static class SnapshotBeanMethodDefinition extends RootBeanDefinition implements AnnotatedBeanDefinition {
+
+		private final String configClassName;
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		@Nullable
+		private volatile AnnotationMetadata metadata;
+
+		@Nullable
+		private volatile MethodMetadata factoryMethodMetadata;
+
+		public SnapshotBeanMethodDefinition(String configClassName, @Nullable ClassLoader classLoader) {
+			this.configClassName = configClassName;
+			this.classLoader = classLoader;
+		}
+
+		private SnapshotBeanMethodDefinition(SnapshotBeanMethodDefinition original) {
+			super(original);
+			this.configClassName = original.configClassName;
+			this.classLoader = original.classLoader;
+			this.metadata = original.metadata;
+			this.factoryMethodMetadata = original.factoryMethodMetadata;
+		}
+
+		@Override
+		public AnnotationMetadata getMetadata() {
+			AnnotationMetadata metadata = this.metadata;
+			if (metadata == null) {
+				metadata = new StandardAnnotationMetadata(getConfigClass(), true);
+				this.metadata = metadata;
+			}
+			return metadata;
+		}
+
+		@Override
+		@Nullable
+		public MethodMetadata getFactoryMethodMetadata() {
+			MethodMetadata factoryMethodMetadata = this.factoryMethodMetadata;
+			if (factoryMethodMetadata == null) {
+				for (Method candidate : ReflectionUtils.getUniqueDeclaredMethods(getConfigClass())) {
+					if (isFactoryMethod(candidate)) {
+						factoryMethodMetadata = new StandardMethodMetadata(candidate, true);
+						this.factoryMethodMetadata = factoryMethodMetadata;
+						break;
+					}
+				}
+			}
+			return factoryMethodMetadata;
+		}
+
+		private Class<?> getConfigClass() {
+			return ClassUtils.resolveClassName(this.configClassName, this.classLoader);
+		}
+
+		@Override
+		public boolean isFactoryMethod(Method candidate) {
+			return (super.isFactoryMethod(candidate) && BeanAnnotationHelper.isBeanAnnotated(candidate));
+		}
+
+		@Override
+		public SnapshotBeanMethodDefinition cloneBeanDefinition() {
+			return new SnapshotBeanMethodDefinition(this);
+		}
+	}
+
+}
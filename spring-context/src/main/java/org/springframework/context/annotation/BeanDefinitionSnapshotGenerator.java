@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Build-time generator for a {@link BeanDefinitionSnapshot}: processes the given
+ * root configuration classes the same way as an {@link AnnotationConfigApplicationContext}
+ * would, and captures the resulting bean definitions.
+ *
+ * <p>Typically invoked from the build once the application classes have been
+ * compiled, writing the snapshot to
+ * {@value BeanDefinitionSnapshotLoader#SNAPSHOT_RESOURCE_LOCATION} in the
+ * output directory through {@link #generate(File, String...)}, for example
+ * as a Gradle task:
+ *
+ * <pre class="code">
+ * task beanDefinitionSnapshot {
+ *     dependsOn classes
+ *     doLast {
+ *         def urls = sourceSets.main.runtimeClasspath.collect { it.toURI().toURL() } as URL[]
+ *         def classLoader = new URLClassLoader(urls, (ClassLoader) null)
+ *         def generatorClass = classLoader.loadClass(
+ *                 "org.springframework.context.annotation.BeanDefinitionSnapshotGenerator")
+ *         def generator = generatorClass.getConstructor(ClassLoader).newInstance(classLoader)
+ *         generator.setActiveProfiles("cloud")
+ *         generator.generate(sourceSets.main.output.resourcesDir, "com.example.AppConfig")
+ *     }
+ * }
+ * classes.finalizedBy beanDefinitionSnapshot
+ * </pre>
+ *
+ * <p>This is deliberately not an annotation processor: an annotation processor
+ * only sees the sources of the current compilation, whereas generating a snapshot
+ * requires the compiled classes of the entire class path, with registrars being
+ * instantiated, conditions being evaluated and scanned packages possibly residing
+ * in dependency jars. The generator therefore runs as a build step after
+ * compilation, with the application's runtime class path.
+ *
+ * <p>Snapshots are only used at runtime if enabled through
+ * {@value BeanDefinitionSnapshotLoader#ENABLE_SNAPSHOT} or
+ * {@link ConfigurationClassPostProcessor#setUseBeanDefinitionSnapshots}.
+ *
+ * <p>Application-specific {@code BeanFactoryPostProcessors} and programmatically
+ * registered beans are not taken into account; the snapshot only covers what
+ * {@link ConfigurationClassPostProcessor} derives from the root classes.
+ *
+ * @since 5.0.11
+ * @see BeanDefinitionSnapshot
+ */
+public class BeanDefinitionSnapshotGenerator {
+
+	private static final Log logger = LogFactory.getLog(BeanDefinitionSnapshotGenerator.class);
+
+
+	@Nullable
+	private final ClassLoader classLoader;
+
+	private String[] activeProfiles = new String[0];
+
+
+	/**
+	 * Create a new generator for the given class loader.
+	 * @param classLoader the ClassLoader to load configuration classes with
+	 * (can be {@code null} to use the default)
+	 */
+	public BeanDefinitionSnapshotGenerator(@Nullable ClassLoader classLoader) {
+		this.classLoader = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
+	}
+
+
+	/**
+	 * Specify the profiles to activate while processing configuration classes.
+	 * <p>A snapshot is only used for a context with the same active profiles.
+	 */
+	public void setActiveProfiles(String... activeProfiles) {
+		Assert.notNull(activeProfiles, "Active profiles must not be null");
+		this.activeProfiles = activeProfiles;
+	}
+
+	/**
+	 * Process the given root configuration classes and capture the resulting
+	 * bean definitions.
+	 * @param configClassNames the names of the root configuration classes,
+	 * in registration order
+	 * @return the snapshot
+	 * @throws ClassNotFoundException if a root class cannot be loaded
+	 * @throws IllegalStateException if any of the derived bean definitions
+	 * cannot be captured
+	 */
+	public BeanDefinitionSnapshot generate(String... configClassNames) throws ClassNotFoundException {
+		Assert.notEmpty(configClassNames, "At least one configuration class is required");
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setBeanClassLoader(this.classLoader);
+		StandardEnvironment environment = new StandardEnvironment();
+		environment.setActiveProfiles(this.activeProfiles);
+
+		AnnotatedBeanDefinitionReader reader = new AnnotatedBeanDefinitionReader(beanFactory, environment);
+		for (String configClassName : configClassNames) {
+			reader.registerBean(ClassUtils.forName(configClassName, this.classLoader));
+		}
+
+		ConfigurationClassPostProcessor postProcessor = new ConfigurationClassPostProcessor();
+		postProcessor.setEnvironment(environment);
+		postProcessor.setResourceLoader(new DefaultResourceLoader(this.classLoader));
+		if (this.classLoader != null) {
+			postProcessor.setBeanClassLoader(this.classLoader);
+		}
+		postProcessor.setRecordBeanDefinitionSnapshot(true);
+		postProcessor.processConfigBeanDefinitions(beanFactory);
+		BeanDefinitionSnapshot snapshot = postProcessor.getRecordedBeanDefinitionSnapshot();
+		Assert.state(snapshot != null, "No configuration classes found");
+		return snapshot;
+	}
+
+	/**
+	 * Generate a snapshot and write it to
+	 * {@value BeanDefinitionSnapshotLoader#SNAPSHOT_RESOURCE_LOCATION}
+	 * in the given output directory.
+	 * @param outputDirectory the output directory, e.g. for class path resources
+	 * @param configClassNames the names of the root configuration classes
+	 * @return the file written
+	 */
+	public File generate(File outputDirectory, String... configClassNames) throws ClassNotFoundException, IOException {
+		BeanDefinitionSnapshot snapshot = generate(configClassNames);
+		File file = new File(outputDirectory, BeanDefinitionSnapshotLoader.SNAPSHOT_RESOURCE_LOCATION);
+		Files.createDirectories(file.getParentFile().toPath());
+		try (OutputStream out = Files.newOutputStream(file.toPath())) {
+			snapshot.writeTo(out);
+		}
+		if (logger.isInfoEnabled()) {
+			logger.info("Wrote bean definition snapshot for " + Arrays.toString(configClassNames) + " to " + file);
+		}
+		return file;
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.UrlResource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Bean definition snapshot loading mechanism for internal use within the framework.
+ *
+ * @since 5.0.11
+ * @see BeanDefinitionSnapshot
+ * @see org.springframework.context.index.CandidateComponentsIndexLoader
+ */
+public class BeanDefinitionSnapshotLoader {
+
+	/**
+	 * The location to look for snapshots.
+	 * <p>Can be present in multiple JAR files, e.g. for different applications
+	 * sharing a class path; a snapshot is only used for the configuration
+	 * classes that it has been created for.
+	 */
+	public static final String SNAPSHOT_RESOURCE_LOCATION = "META-INF/spring.snapshot";
+
+	/**
+	 * System property that instructs Spring to use bean definition snapshots
+	 * instead of parsing configuration classes, if a valid one is found.
+	 * <p>The default is "false", enforcing regular configuration class processing.
+	 * Switching this flag to {@code true} applies snapshots to every context whose
+	 * {@link ConfigurationClassPostProcessor} has not been configured otherwise.
+	 * @see ConfigurationClassPostProcessor#setUseBeanDefinitionSnapshots
+	 */
+	public static final String ENABLE_SNAPSHOT = "spring.snapshot.enabled";
+
+	private static final Log logger = LogFactory.getLog(BeanDefinitionSnapshotLoader.class);
+
+	private static final ConcurrentMap<ClassLoader, List<BeanDefinitionSnapshot>> cache =
+			new ConcurrentReferenceHashMap<>();
+
+
+	/**
+	 * Load the {@link BeanDefinitionSnapshot snapshots} from
+	 * {@value #SNAPSHOT_RESOURCE_LOCATION}, using the given class loader.
+	 * @param classLoader the ClassLoader to use for loading (can be {@code null} to use the default)
+	 * @return the snapshots found (may be empty)
+	 * @throws IllegalStateException if any snapshot cannot be loaded
+	 */
+	public static List<BeanDefinitionSnapshot> loadSnapshots(@Nullable ClassLoader classLoader) {
+		ClassLoader classLoaderToUse = classLoader;
+		if (classLoaderToUse == null) {
+			classLoaderToUse = BeanDefinitionSnapshotLoader.class.getClassLoader();
+		}
+		return cache.computeIfAbsent(classLoaderToUse, BeanDefinitionSnapshotLoader::doLoadSnapshots);
+	}
+
+	private static List<BeanDefinitionSnapshot> doLoadSnapshots(ClassLoader classLoader) {
+		try {
+			Enumeration<URL> urls = classLoader.getResources(SNAPSHOT_RESOURCE_LOCATION);
+			if (!urls.hasMoreElements()) {
+				return Collections.emptyList();
+			}
+			List<BeanDefinitionSnapshot> result = new ArrayList<>();
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				try (InputStream is = new UrlResource(url).getInputStream()) {
+					result.add(BeanDefinitionSnapshot.readFrom(is));
+				}
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Loaded " + result.size() + " bean definition snapshot(s)");
+			}
+			return Collections.unmodifiableList(result);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to load bean definition snapshots from location [" +
+					SNAPSHOT_RESOURCE_LOCATION + "]", ex);
+		}
+	}
+
+}
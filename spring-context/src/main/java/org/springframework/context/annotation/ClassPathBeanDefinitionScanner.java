@@ -18,6 +18,8 @@ package org.springframework.context.annotation;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
@@ -263,6 +265,31 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
 		return (this.registry.getBeanDefinitionCount() - beanCountAtScanStart);
 	}
 
+	/**
+	 * Perform a scan within the specified base packages, scanning the classpath
+	 * with a pool of the given number of threads for the duration of this scan.
+	 * @param parallelism the number of threads to scan the classpath with
+	 * (1 or below for scanning on the calling thread)
+	 * @param basePackages the packages to check for annotated classes
+	 * @return set of beans registered if any for tooling registration purposes
+	 * @since 5.0.11
+	 * @see #setTaskExecutor
+	 */
+	Set<BeanDefinitionHolder> doScan(int parallelism, String... basePackages) {
+		if (parallelism <= 1) {
+			return doScan(basePackages);
+		}
+		ForkJoinPool executor = new ForkJoinPool(parallelism);
+		setTaskExecutor(executor);
+		try {
+			return doScan(basePackages);
+		}
+		finally {
+			setTaskExecutor(null);
+			executor.shutdown();
+		}
+	}
+
 	/**
 	 * Perform a scan within the specified base packages,
 	 * returning the registered bean definitions.
@@ -17,12 +17,18 @@
 package org.springframework.context.annotation;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -58,8 +64,10 @@ import org.springframework.stereotype.Controller;
 import org.springframework.stereotype.Indexed;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.PathMatcher;
 
 /**
  * A component provider that provides candidate components from a base package. Can
@@ -68,7 +76,12 @@ import org.springframework.util.ClassUtils;
  * include filters. {@link AnnotationTypeFilter}, {@link AssignableTypeFilter} include
  * filters on an annotation/superclass that are annotated with {@link Indexed} are
  * supported: if any other include filter is specified, the index is ignored and
- * classpath scanning is used instead.
+ * classpath scanning is used instead. If the index holds the type metadata of a
+ * candidate, its class file is not read at all.
+ *
+ * <p>Classpath scanning may be parallelized through a {@link #setTaskExecutor
+ * task executor}, with the candidates returned in the same order as for
+ * sequential scanning.
  *
  * <p>This implementation is based on Spring's
  * {@link org.springframework.core.type.classreading.MetadataReader MetadataReader}
@@ -89,6 +102,8 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	static final String DEFAULT_RESOURCE_PATTERN = "**/*.class";
 
+	private static final PathMatcher pathMatcher = new AntPathMatcher();
+
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -113,6 +128,9 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	@Nullable
 	private CandidateComponentsIndex componentsIndex;
 
+	@Nullable
+	private Executor taskExecutor;
+
 
 	/**
 	 * Protected constructor for flexible subclass initialization.
@@ -298,6 +316,21 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		this.metadataReaderFactory = metadataReaderFactory;
 	}
 
+	/**
+	 * Set the {@link Executor} to scan the classpath with.
+	 * <p>Default is none, scanning each root directory and reading each class
+	 * file in turn on the calling thread. With an executor, the root directories
+	 * of the base package are traversed and the class files are read concurrently;
+	 * the candidates are still returned in the order of a sequential scan.
+	 * <p>Note that the {@link #setMetadataReaderFactory MetadataReaderFactory},
+	 * the type filters and any {@link Conditional @Conditional} conditions are
+	 * invoked from the executor's threads and need to be thread-safe then.
+	 * @since 5.0.11
+	 */
+	public void setTaskExecutor(@Nullable Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
 	/**
 	 * Return the MetadataReaderFactory used by this component provider.
 	 */
@@ -391,7 +424,11 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 			boolean traceEnabled = logger.isTraceEnabled();
 			boolean debugEnabled = logger.isDebugEnabled();
 			for (String type : types) {
-				MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(type);
+				// Prefer the type metadata recorded in the index over reading the class file
+				MetadataReader metadataReader = index.getMetadataReader(type);
+				if (metadataReader == null) {
+					metadataReader = getMetadataReaderFactory().getMetadataReader(type);
+				}
 				if (isCandidateComponent(metadataReader)) {
 					AnnotatedGenericBeanDefinition sbd = new AnnotatedGenericBeanDefinition(
 							metadataReader.getAnnotationMetadata());
@@ -421,64 +458,169 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	}
 
 	private Set<BeanDefinition> scanCandidateComponents(String basePackage) {
+		if (this.taskExecutor != null) {
+			return scanCandidateComponentsInParallel(basePackage, this.taskExecutor);
+		}
 		Set<BeanDefinition> candidates = new LinkedHashSet<>();
 		try {
-			String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
-					resolveBasePackage(basePackage) + '/' + this.resourcePattern;
+			String packageSearchPath = getPackageSearchPath(basePackage);
 			//asm 读取class文件
 			Resource[] resources = getResourcePatternResolver().getResources(packageSearchPath);
 			boolean traceEnabled = logger.isTraceEnabled();
 			boolean debugEnabled = logger.isDebugEnabled();
 			for (Resource resource : resources) {
-				if (traceEnabled) {
-					logger.trace("Scanning " + resource);
+				ScannedGenericBeanDefinition sbd = scanCandidateComponent(resource, traceEnabled, debugEnabled);
+				if (sbd != null) {
+					candidates.add(sbd);
 				}
-				if (resource.isReadable()) {
-					try {
-						MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
-						// 确定给定的类是否不匹配任何排除筛选器
-						// 并且匹配至少一个包含过滤器
-						if (isCandidateComponent(metadataReader)) {
-							ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
-							sbd.setResource(resource);
-							sbd.setSource(resource);
-							if (isCandidateComponent(sbd)) {
-								if (debugEnabled) {
-									logger.debug("Identified candidate component class: " + resource);
-								}
-								candidates.add(sbd);
-							}
-							else {
-								if (debugEnabled) {
-									logger.debug("Ignored because not a concrete top-level class: " + resource);
-								}
+			}
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Scan the class path for candidate components on the given executor:
+	 * each root directory of the base package is traversed in a separate task,
+	 * and each class file found is read in a separate task, while the candidates
+	 * are collected in the order of the sequential scan.
+	 * @param basePackage the package to check for annotated classes
+	 * @param executor the executor to run the tasks on
+	 * @return a corresponding Set of autodetected bean definitions
+	 * @since 5.0.11
+	 * @see #setTaskExecutor
+	 */
+	private Set<BeanDefinition> scanCandidateComponentsInParallel(String basePackage, Executor executor) {
+		Set<BeanDefinition> candidates = new LinkedHashSet<>();
+		try {
+			ResourcePatternResolver resolver = getResourcePatternResolver();
+			String packagePath = resolveBasePackage(basePackage);
+			boolean traceEnabled = logger.isTraceEnabled();
+			boolean debugEnabled = logger.isDebugEnabled();
+			List<CompletableFuture<List<Resource>>> traversals = new ArrayList<>();
+			if (packagePath.isEmpty() || pathMatcher.isPattern(packagePath)) {
+				// Root directories not determinable upfront: let the resolver traverse them all
+				traversals.add(CompletableFuture.completedFuture(Arrays.asList(resolver.getResources(
+						ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + packagePath + '/' + this.resourcePattern))));
+			}
+			else {
+				Resource[] rootDirResources = resolver.getResources(
+						ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + packagePath + '/');
+				for (Resource rootDirResource : rootDirResources) {
+					traversals.add(CompletableFuture.supplyAsync(() -> {
+						try {
+							String rootDirUrl = rootDirResource.getURL().toString();
+							if (!rootDirUrl.endsWith("/")) {
+								rootDirUrl += "/";
 							}
+							return Arrays.asList(resolver.getResources(rootDirUrl + this.resourcePattern));
 						}
-						else {
-							if (traceEnabled) {
-								logger.trace("Ignored because not matching any filter: " + resource);
-							}
+						catch (IOException ex) {
+							throw new UncheckedIOException(ex);
 						}
+					}, executor));
+				}
+			}
+			List<CompletableFuture<ScannedGenericBeanDefinition>> reads = new ArrayList<>();
+			for (CompletableFuture<List<Resource>> traversal : traversals) {
+				for (Resource resource : traversal.join()) {
+					reads.add(CompletableFuture.supplyAsync(
+							() -> scanCandidateComponent(resource, traceEnabled, debugEnabled), executor));
+				}
+			}
+			for (CompletableFuture<ScannedGenericBeanDefinition> read : reads) {
+				ScannedGenericBeanDefinition sbd = read.join();
+				if (sbd != null) {
+					candidates.add(sbd);
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+		}
+		catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof UncheckedIOException) {
+				throw new BeanDefinitionStoreException("I/O failure during classpath scanning", cause.getCause());
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw ex;
+		}
+		return candidates;
+	}
+
+	/**
+	 * Read the given class file and check whether it holds a candidate component.
+	 * @param resource the class file to check
+	 * @param traceEnabled whether trace logging is enabled
+	 * @param debugEnabled whether debug logging is enabled
+	 * @return the bean definition for the candidate component,
+	 * or {@code null} if the class does not qualify
+	 * @since 5.0.11
+	 */
+	@Nullable
+	private ScannedGenericBeanDefinition scanCandidateComponent(
+			Resource resource, boolean traceEnabled, boolean debugEnabled) {
+
+		if (traceEnabled) {
+			logger.trace("Scanning " + resource);
+		}
+		if (resource.isReadable()) {
+			try {
+				MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+				// 确定给定的类是否不匹配任何排除筛选器
+				// 并且匹配至少一个包含过滤器
+				if (isCandidateComponent(metadataReader)) {
+					ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
+					sbd.setResource(resource);
+					sbd.setSource(resource);
+					if (isCandidateComponent(sbd)) {
+						if (debugEnabled) {
+							logger.debug("Identified candidate component class: " + resource);
+						}
+						return sbd;
 					}
-					catch (Throwable ex) {
-						throw new BeanDefinitionStoreException(
-								"Failed to read candidate component class: " + resource, ex);
+					else {
+						if (debugEnabled) {
+							logger.debug("Ignored because not a concrete top-level class: " + resource);
+						}
 					}
 				}
 				else {
 					if (traceEnabled) {
-						logger.trace("Ignored because not readable: " + resource);
+						logger.trace("Ignored because not matching any filter: " + resource);
 					}
 				}
 			}
+			catch (Throwable ex) {
+				throw new BeanDefinitionStoreException(
+						"Failed to read candidate component class: " + resource, ex);
+			}
 		}
-		catch (IOException ex) {
-			throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+		else {
+			if (traceEnabled) {
+				logger.trace("Ignored because not readable: " + resource);
+			}
 		}
-		return candidates;
+		return null;
 	}
 
 
+	/**
+	 * Return the resource pattern that the given base package is scanned with,
+	 * unless the components index applies.
+	 * @param basePackage the base package as specified by the user
+	 * @since 5.0.11
+	 */
+	String getPackageSearchPath(String basePackage) {
+		return ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + resolveBasePackage(basePackage) +
+				'/' + this.resourcePattern;
+	}
+
 	/**
 	 * Resolve the specified base package into a pattern specification for
 	 * the package search path.
@@ -503,18 +645,47 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	 */
 	protected boolean isCandidateComponent(MetadataReader metadataReader) throws IOException {
 		for (TypeFilter tf : this.excludeFilters) {
-			if (tf.match(metadataReader, getMetadataReaderFactory())) {
+			if (matchFilter(tf, metadataReader)) {
 				return false;
 			}
 		}
 		for (TypeFilter tf : this.includeFilters) {
-			if (tf.match(metadataReader, getMetadataReaderFactory())) {
+			if (matchFilter(tf, metadataReader)) {
 				return isConditionMatch(metadataReader);
 			}
 		}
 		return false;
 	}
 
+	/**
+	 * Determine whether the given filter matches the given class, resolving an
+	 * {@link AssignableTypeFilter} against the super types recorded in the index
+	 * (if any) rather than reading the class files of the type hierarchy.
+	 * @param filter the filter to check
+	 * @param metadataReader the ASM ClassReader for the class
+	 * @return whether the filter matches
+	 * @since 5.0.11
+	 */
+	private boolean matchFilter(TypeFilter filter, MetadataReader metadataReader) throws IOException {
+		if (this.componentsIndex != null && filter.getClass() == AssignableTypeFilter.class) {
+			String className = metadataReader.getClassMetadata().getClassName();
+			Set<String> superTypes = this.componentsIndex.getSuperTypes(className);
+			if (superTypes != null) {
+				String targetType = ((AssignableTypeFilter) filter).getTargetType().getName();
+				if (className.equals(targetType) || Object.class.getName().equals(targetType)) {
+					return true;
+				}
+				for (String superType : superTypes) {
+					if (superType.equals(targetType) || superType.startsWith(targetType + "<")) {
+						return true;
+					}
+				}
+				return false;
+			}
+		}
+		return filter.match(metadataReader, getMetadataReaderFactory());
+	}
+
 	/**
 	 * Determine whether the given class is a candidate component based on any
 	 * {@code @Conditional} annotations.
@@ -150,6 +150,16 @@ public @interface ComponentScan {
 	 */
 	boolean lazyInit() default false;
 
+	/**
+	 * Specify the number of threads to scan the classpath with.
+	 * <p>Default is 1, scanning on the calling thread. With a higher value, the
+	 * class files are read concurrently on a pool of threads for the duration of
+	 * the scan; custom type filters and conditions need to be thread-safe then.
+	 * @since 5.0.11
+	 * @see ClassPathScanningCandidateComponentProvider#setTaskExecutor
+	 */
+	int parallelism() default 1;
+
 
 	/**
 	 * Declares the type filter to be used as an {@linkplain ComponentScan#includeFilters
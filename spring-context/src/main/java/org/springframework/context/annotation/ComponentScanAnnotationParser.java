@@ -62,6 +62,8 @@ class ComponentScanAnnotationParser {
 
 	private final BeanDefinitionRegistry registry;
 
+	private final Set<String> packageSearchPaths = new LinkedHashSet<>();
+
 
 	public ComponentScanAnnotationParser(Environment environment, ResourceLoader resourceLoader,
 			BeanNameGenerator beanNameGenerator, BeanDefinitionRegistry registry) {
@@ -141,8 +143,20 @@ class ComponentScanAnnotationParser {
 				return declaringClass.equals(className);
 			}
 		});
+		for (String basePackage : basePackages) {
+			this.packageSearchPaths.add(scanner.getPackageSearchPath(basePackage));
+		}
 		//这里是重点，进去看看
-		return scanner.doScan(StringUtils.toStringArray(basePackages));
+		int parallelism = componentScan.getNumber("parallelism");
+		return scanner.doScan(parallelism, StringUtils.toStringArray(basePackages));
+	}
+
+	/**
+	 * Return the resource patterns of all packages scanned so far.
+	 * @since 5.0.11
+	 */
+	Set<String> getPackageSearchPaths() {
+		return this.packageSearchPaths;
 	}
 
 	private List<TypeFilter> typeFiltersFor(AnnotationAttributes filterAttributes) {
@@ -68,6 +68,8 @@ public class ComponentScanBeanDefinitionParser implements BeanDefinitionParser {
 
 	private static final String SCOPED_PROXY_ATTRIBUTE = "scoped-proxy";
 
+	private static final String PARALLELISM_ATTRIBUTE = "parallelism";
+
 	private static final String EXCLUDE_FILTER_ELEMENT = "exclude-filter";
 
 	private static final String INCLUDE_FILTER_ELEMENT = "include-filter";
@@ -87,7 +89,11 @@ public class ComponentScanBeanDefinitionParser implements BeanDefinitionParser {
 
 		// Actually scan for bean definitions and register them.
 		ClassPathBeanDefinitionScanner scanner = configureScanner(parserContext, element);
-		Set<BeanDefinitionHolder> beanDefinitions = scanner.doScan(basePackages);
+		int parallelism = 1;
+		if (element.hasAttribute(PARALLELISM_ATTRIBUTE)) {
+			parallelism = Integer.parseInt(element.getAttribute(PARALLELISM_ATTRIBUTE));
+		}
+		Set<BeanDefinitionHolder> beanDefinitions = scanner.doScan(parallelism, basePackages);
 		registerComponents(parserContext.getReaderContext(), beanDefinitions, element);
 
 		return null;
@@ -137,6 +137,8 @@ class ConfigurationClassParser {
 	// 这里存储我们configuration类引入的配置文件信息
 	private final List<String> propertySourceNames = new ArrayList<>();
 
+	private final List<AnnotationAttributes> processedPropertySources = new ArrayList<>();
+
 	// 保存我们@import进来的类
 	private final ImportStack importStack = new ImportStack();
 
@@ -521,7 +523,8 @@ class ConfigurationClassParser {
 	 * @param propertySource metadata for the <code>@PropertySource</code> annotation found
 	 * @throws IOException if loading a property source failed
 	 */
-	private void processPropertySource(AnnotationAttributes propertySource) throws IOException {
+	void processPropertySource(AnnotationAttributes propertySource) throws IOException {
+		this.processedPropertySources.add(propertySource);
 		String name = propertySource.getString("name");
 		if (!StringUtils.hasLength(name)) {
 			name = null;
@@ -788,6 +791,24 @@ class ConfigurationClassParser {
 		return this.importStack;
 	}
 
+	/**
+	 * Return the <code>@PropertySource</code> annotation metadata processed so far,
+	 * in processing order.
+	 * @since 5.0.11
+	 */
+	List<AnnotationAttributes> getProcessedPropertySources() {
+		return this.processedPropertySources;
+	}
+
+	/**
+	 * Return the resource patterns of the packages scanned through
+	 * <code>@ComponentScan</code> so far.
+	 * @since 5.0.11
+	 */
+	Set<String> getPackageSearchPaths() {
+		return this.componentScanParser.getPackageSearchPaths();
+	}
+
 
 	/**
 	 * Factory method to obtain a {@link SourceClass} from a {@link ConfigurationClass}.
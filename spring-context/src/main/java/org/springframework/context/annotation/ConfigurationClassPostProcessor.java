@@ -17,6 +17,7 @@
 package org.springframework.context.annotation;
 
 import java.beans.PropertyDescriptor;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -53,6 +54,9 @@ import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.ConfigurationClassEnhancer.EnhancedConfiguration;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.DefaultResourceLoader;
@@ -119,6 +123,13 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 
 	private boolean localBeanNameGeneratorSet = false;
 
+	private boolean useBeanDefinitionSnapshots = SpringProperties.getFlag(BeanDefinitionSnapshotLoader.ENABLE_SNAPSHOT);
+
+	private boolean recordBeanDefinitionSnapshot = false;
+
+	@Nullable
+	private BeanDefinitionSnapshot recordedBeanDefinitionSnapshot;
+
 	/* Using short class names as default bean names */
 	private BeanNameGenerator componentScanBeanNameGenerator = new AnnotationBeanNameGenerator();
 
@@ -191,6 +202,44 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		this.importBeanNameGenerator = beanNameGenerator;
 	}
 
+	/**
+	 * Set whether to register the bean definitions from a valid
+	 * {@link BeanDefinitionSnapshot} on the class path instead of parsing the
+	 * configuration classes.
+	 * <p>Default is "false", unless the {@value BeanDefinitionSnapshotLoader#ENABLE_SNAPSHOT}
+	 * property has been set to "true". Note that a snapshot captures the outcome
+	 * of conditions and property-driven registrations at build time: only enable
+	 * this for applications whose configuration does not depend on runtime state
+	 * other than the active profiles.
+	 * @since 5.0.11
+	 * @see BeanDefinitionSnapshotLoader#ENABLE_SNAPSHOT
+	 */
+	public void setUseBeanDefinitionSnapshots(boolean useBeanDefinitionSnapshots) {
+		this.useBeanDefinitionSnapshots = useBeanDefinitionSnapshots;
+	}
+
+	/**
+	 * Set whether to record a {@link BeanDefinitionSnapshot} of the bean definitions
+	 * derived from the configuration classes, instead of using an existing snapshot.
+	 * @since 5.0.11
+	 * @see #getRecordedBeanDefinitionSnapshot()
+	 * @see BeanDefinitionSnapshotGenerator
+	 */
+	void setRecordBeanDefinitionSnapshot(boolean recordBeanDefinitionSnapshot) {
+		this.recordBeanDefinitionSnapshot = recordBeanDefinitionSnapshot;
+	}
+
+	/**
+	 * Return the snapshot recorded by the last {@link #processConfigBeanDefinitions}
+	 * call, if any.
+	 * @since 5.0.11
+	 * @see #setRecordBeanDefinitionSnapshot
+	 */
+	@Nullable
+	BeanDefinitionSnapshot getRecordedBeanDefinitionSnapshot() {
+		return this.recordedBeanDefinitionSnapshot;
+	}
+
 	@Override
 	public void setEnvironment(Environment environment) {
 		Assert.notNull(environment, "Environment must not be null");
@@ -334,6 +383,13 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			this.environment = new StandardEnvironment();
 		}
 
+		// Use a valid build-time snapshot of the derived bean definitions, if any
+		if (this.useBeanDefinitionSnapshots && !this.recordBeanDefinitionSnapshot &&
+				registerSnapshotBeanDefinitions(registry, configCandidates, sbr)) {
+			return;
+		}
+		BeanDefinitionSnapshot.Recorder snapshotRecorder =
+				(this.recordBeanDefinitionSnapshot ? new BeanDefinitionSnapshot.Recorder(registry) : null);
 
 		// 初始化一个解析器，主要是解析我们上面扫描出来的加了@Configuration注解以及
 		// @Component、@ComponentScan、@Import、@ImportResource
@@ -418,6 +474,11 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			sbr.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, parser.getImportRegistry());
 		}
 
+		if (snapshotRecorder != null) {
+			this.recordedBeanDefinitionSnapshot = snapshotRecorder.complete(configCandidates, this.environment,
+					this.resourceLoader, this.metadataReaderFactory, parser);
+		}
+
 		if (this.metadataReaderFactory instanceof CachingMetadataReaderFactory) {
 			// Clear cache in externally provided MetadataReaderFactory; this is a no-op
 			// for a shared cache since it'll be cleared by the ApplicationContext.
@@ -425,6 +486,46 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 	}
 
+	/**
+	 * Register the bean definitions from the first {@link BeanDefinitionSnapshot}
+	 * that is valid for the given configuration candidates, if any.
+	 * @return {@code true} if a snapshot has been applied, {@code false} if the
+	 * configuration classes need to be parsed
+	 */
+	private boolean registerSnapshotBeanDefinitions(BeanDefinitionRegistry registry,
+			List<BeanDefinitionHolder> configCandidates, @Nullable SingletonBeanRegistry sbr) {
+
+		Assert.state(this.environment != null, "No Environment set");
+		for (BeanDefinitionSnapshot snapshot : BeanDefinitionSnapshotLoader.loadSnapshots(this.beanClassLoader)) {
+			if (snapshot.isValidFor(configCandidates, this.environment, this.resourceLoader)) {
+				if (this.environment instanceof ConfigurableEnvironment) {
+					ConfigurationClassParser parser = new ConfigurationClassParser(
+							this.metadataReaderFactory, this.problemReporter, this.environment,
+							this.resourceLoader, this.componentScanBeanNameGenerator, registry);
+					for (AnnotationAttributes propertySource : snapshot.getPropertySources(this.beanClassLoader)) {
+						try {
+							parser.processPropertySource(propertySource);
+						}
+						catch (IOException ex) {
+							throw new BeanDefinitionStoreException(
+									"Failed to process @PropertySource from bean definition snapshot", ex);
+						}
+					}
+				}
+				int count = snapshot.registerWith(registry, this.beanClassLoader);
+				if (sbr != null && !sbr.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
+					sbr.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, snapshot.createImportRegistry(this.metadataReaderFactory));
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Registered " + count + " bean definitions from snapshot for " +
+							snapshot.getRootClasses().values());
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Post-processes a BeanFactory in search of Configuration class BeanDefinitions;
 	 * any candidates are then enhanced by a {@link ConfigurationClassEnhancer}.
@@ -18,6 +18,7 @@ package org.springframework.context.event;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.ResolvableType;
@@ -66,6 +68,8 @@ public abstract class AbstractApplicationEventMulticaster
 
 	final Map<ListenerCacheKey, ListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
 
+	final Map<ResolvableType, ListenerDispatch> dispatchCache = new ConcurrentHashMap<>(64);
+
 	@Nullable
 	private ClassLoader beanClassLoader;
 
@@ -74,6 +78,9 @@ public abstract class AbstractApplicationEventMulticaster
 
 	private Object retrievalMutex = this.defaultRetriever;
 
+	/** Number of listener changes, for detecting changes during listener retrieval */
+	private volatile int listenerChangeCount;
+
 
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
@@ -88,7 +95,12 @@ public abstract class AbstractApplicationEventMulticaster
 			if (this.beanClassLoader == null) {
 				this.beanClassLoader = cbf.getBeanClassLoader();
 			}
-			this.retrievalMutex = cbf.getSingletonMutex();
+			// With per-bean singleton locking, the singleton mutex does not guard
+			// singleton creation: keep our own mutex in that case.
+			if (!(cbf instanceof DefaultSingletonBeanRegistry &&
+					((DefaultSingletonBeanRegistry) cbf).isPerBeanSingletonLocking())) {
+				this.retrievalMutex = cbf.getSingletonMutex();
+			}
 		}
 	}
 
@@ -111,7 +123,7 @@ public abstract class AbstractApplicationEventMulticaster
 				this.defaultRetriever.applicationListeners.remove(singletonTarget);
 			}
 			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			clearListenerCaches();
 		}
 	}
 
@@ -119,7 +131,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void addApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+			clearListenerCaches();
 		}
 	}
 
@@ -127,7 +139,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			clearListenerCaches();
 		}
 	}
 
@@ -135,7 +147,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+			clearListenerCaches();
 		}
 	}
 
@@ -144,20 +156,31 @@ public abstract class AbstractApplicationEventMulticaster
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListeners.clear();
 			this.defaultRetriever.applicationListenerBeans.clear();
-			this.retrieverCache.clear();
+			clearListenerCaches();
 		}
 	}
 
 
+	private void clearListenerCaches() {
+		this.listenerChangeCount++;
+		this.retrieverCache.clear();
+		this.dispatchCache.clear();
+	}
+
+
 	/**
 	 * Return a Collection containing all ApplicationListeners.
 	 * @return a Collection of ApplicationListeners
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners() {
+		ListenerRetriever retriever = new ListenerRetriever(false);
 		synchronized (this.retrievalMutex) {
-			return this.defaultRetriever.getApplicationListeners();
+			retriever.applicationListeners.addAll(this.defaultRetriever.applicationListeners);
+			retriever.applicationListenerBeans.addAll(this.defaultRetriever.applicationListenerBeans);
 		}
+		// Obtain listener beans outside of the retrieval mutex (possibly the singleton mutex)
+		return retriever.getApplicationListeners();
 	}
 
 	/**
@@ -166,7 +189,8 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @param event the event to be propagated. Allows for excluding
 	 * non-matching listeners early, based on cached matching information.
 	 * @param eventType the event type
-	 * @return a Collection of ApplicationListeners
+	 * @return a Collection of ApplicationListeners (not to be modified,
+	 * since it may be shared for subsequent events of the same type)
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners(
@@ -174,29 +198,51 @@ public abstract class AbstractApplicationEventMulticaster
 
 		Object source = event.getSource();
 		Class<?> sourceType = (source != null ? source.getClass() : null);
+
+		// Quick check for a dispatch entry per event type and source type, without any allocation...
+		ListenerDispatch dispatch = this.dispatchCache.get(eventType);
+		if (dispatch != null) {
+			Collection<ApplicationListener<?>> listeners = dispatch.getListeners(sourceType);
+			if (listeners != null) {
+				return listeners;
+			}
+		}
+
 		ListenerCacheKey cacheKey = new ListenerCacheKey(eventType, sourceType);
 
 		// Quick check for existing entry on ConcurrentHashMap...
 		ListenerRetriever retriever = this.retrieverCache.get(cacheKey);
 		if (retriever != null) {
+			if (retriever.applicationListenerBeans.isEmpty()) {
+				synchronized (this.retrievalMutex) {
+					// Only register a dispatch entry for a retriever that is still current
+					if (this.retrieverCache.get(cacheKey) == retriever) {
+						return registerDispatch(eventType, sourceType, retriever.getApplicationListeners());
+					}
+				}
+			}
 			return retriever.getApplicationListeners();
 		}
 
 		if (this.beanClassLoader == null ||
 				(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
 						(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
-			// Fully synchronized building and caching of a ListenerRetriever
+			// Build the ListenerRetriever outside of the retrieval mutex: that may be the
+			// singleton mutex, which must not be held while obtaining listener beans
+			// in case of per-bean singleton locking. Only cache it if the listeners
+			// have not changed in the meantime.
+			int listenerChangeCount = this.listenerChangeCount;
+			retriever = new ListenerRetriever(true);
+			Collection<ApplicationListener<?>> listeners =
+					retrieveApplicationListeners(eventType, sourceType, retriever);
 			synchronized (this.retrievalMutex) {
-				retriever = this.retrieverCache.get(cacheKey);
-				if (retriever != null) {
-					return retriever.getApplicationListeners();
+				if (this.listenerChangeCount == listenerChangeCount &&
+						this.retrieverCache.putIfAbsent(cacheKey, retriever) == null &&
+						retriever.applicationListenerBeans.isEmpty()) {
+					return registerDispatch(eventType, sourceType, listeners);
 				}
-				retriever = new ListenerRetriever(true);
-				Collection<ApplicationListener<?>> listeners =
-						retrieveApplicationListeners(eventType, sourceType, retriever);
-				this.retrieverCache.put(cacheKey, retriever);
-				return listeners;
 			}
+			return listeners;
 		}
 		else {
 			// No ListenerRetriever caching -> no synchronization necessary
@@ -204,6 +250,18 @@ public abstract class AbstractApplicationEventMulticaster
 		}
 	}
 
+	/**
+	 * Register the given pre-filtered listeners for dispatching events of the given
+	 * event type and source type. To be called under the retrieval mutex.
+	 * @return the registered listeners
+	 */
+	private Collection<ApplicationListener<?>> registerDispatch(ResolvableType eventType,
+			@Nullable Class<?> sourceType, Collection<ApplicationListener<?>> listeners) {
+
+		return this.dispatchCache.computeIfAbsent(eventType, key -> new ListenerDispatch())
+				.register(sourceType, listeners);
+	}
+
 	/**
 	 * Actually retrieve the application listeners for the given event and source type.
 	 * @param eventType the event type
@@ -358,6 +416,34 @@ public abstract class AbstractApplicationEventMulticaster
 	}
 
 
+	/**
+	 * Pre-filtered listeners for an event type, per source type, as a shortcut
+	 * for the ListenerCacheKey lookup. Only registered for listener sets that
+	 * do not require any bean lookups, i.e. without non-singleton listener beans.
+	 */
+	private static final class ListenerDispatch {
+
+		/** Key for events without a source, which no source instance can be of */
+		private static final Class<?> NO_SOURCE_TYPE = Void.class;
+
+		private final Map<Class<?>, Collection<ApplicationListener<?>>> listenersBySourceType =
+				new ConcurrentHashMap<>(4);
+
+		@Nullable
+		public Collection<ApplicationListener<?>> getListeners(@Nullable Class<?> sourceType) {
+			return this.listenersBySourceType.get(sourceType != null ? sourceType : NO_SOURCE_TYPE);
+		}
+
+		public Collection<ApplicationListener<?>> register(
+				@Nullable Class<?> sourceType, Collection<ApplicationListener<?>> listeners) {
+
+			Collection<ApplicationListener<?>> listenersToUse = Collections.unmodifiableList(new ArrayList<>(listeners));
+			this.listenersBySourceType.put(sourceType != null ? sourceType : NO_SOURCE_TYPE, listenersToUse);
+			return listenersToUse;
+		}
+	}
+
+
 	/**
 	 * Helper class that encapsulates a specific set of target listeners,
 	 * allowing for efficient retrieval of pre-filtered listeners.
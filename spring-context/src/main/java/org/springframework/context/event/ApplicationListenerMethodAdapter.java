@@ -16,8 +16,11 @@
 
 package org.springframework.context.event;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
@@ -39,6 +42,7 @@ import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
@@ -60,6 +64,9 @@ import org.springframework.util.StringUtils;
  */
 public class ApplicationListenerMethodAdapter implements GenericApplicationListener {
 
+	private static final Object[] EMPTY_ARGS = new Object[0];
+
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final String beanName;
@@ -68,6 +75,8 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final Method targetMethod;
 
+	private final Class<?>[] parameterTypes;
+
 	private final AnnotatedElementKey methodKey;
 
 	private final List<ResolvableType> declaredEventTypes;
@@ -83,12 +92,16 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	@Nullable
 	private EventExpressionEvaluator evaluator;
 
+	@Nullable
+	private volatile MethodHandle methodHandle;
+
 
 	public ApplicationListenerMethodAdapter(String beanName, Class<?> targetClass, Method method) {
 		this.beanName = beanName;
 		this.method = BridgeMethodResolver.findBridgedMethod(method);
 		this.targetMethod = (!Proxy.isProxyClass(targetClass) ?
 				AopUtils.getMostSpecificMethod(method, targetClass) : this.method);
+		this.parameterTypes = this.method.getParameterTypes();
 		this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
 
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(this.targetMethod, EventListener.class);
@@ -200,7 +213,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 			return null;
 		}
 		if (this.method.getParameterCount() == 0) {
-			return new Object[0];
+			return EMPTY_ARGS;
 		}
 		Class<?> eventClass = declaredEventType.getRawClass();
 		if ((eventClass == null || !ApplicationEvent.class.isAssignableFrom(eventClass)) &&
@@ -256,26 +269,63 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	@Nullable
 	protected Object doInvoke(Object... args) {
 		Object bean = getTargetBean();
-		ReflectionUtils.makeAccessible(this.method);
+		MethodHandle methodHandle;
 		try {
-			return this.method.invoke(bean, args);
-		}
-		catch (IllegalArgumentException ex) {
-			assertTargetBean(this.method, bean, args);
-			throw new IllegalStateException(getInvocationErrorMessage(bean, ex.getMessage(), args), ex);
+			methodHandle = getMethodHandle();
 		}
 		catch (IllegalAccessException ex) {
 			throw new IllegalStateException(getInvocationErrorMessage(bean, ex.getMessage(), args), ex);
 		}
-		catch (InvocationTargetException ex) {
+		assertArguments(bean, args);
+		try {
+			return methodHandle.invokeExact(bean, args);
+		}
+		catch (RuntimeException ex) {
 			// Throw underlying exception
-			Throwable targetException = ex.getTargetException();
-			if (targetException instanceof RuntimeException) {
-				throw (RuntimeException) targetException;
+			throw ex;
+		}
+		catch (Throwable ex) {
+			String msg = getInvocationErrorMessage(bean, "Failed to invoke event listener method", args);
+			throw new UndeclaredThrowableException(ex, msg);
+		}
+	}
+
+	/**
+	 * Return the method handle to invoke the listener method with, adapted to
+	 * {@code (Object bean, Object[] args)Object} and created on first use.
+	 */
+	private MethodHandle getMethodHandle() throws IllegalAccessException {
+		MethodHandle methodHandle = this.methodHandle;
+		if (methodHandle == null) {
+			ReflectionUtils.makeAccessible(this.method);
+			int parameterCount = this.method.getParameterCount();
+			methodHandle = MethodHandles.lookup().unreflect(this.method);
+			if (Modifier.isStatic(this.method.getModifiers())) {
+				methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
 			}
-			else {
-				String msg = getInvocationErrorMessage(bean, "Failed to invoke event listener method", args);
-				throw new UndeclaredThrowableException(targetException, msg);
+			methodHandle = methodHandle.asType(MethodType.genericMethodType(parameterCount + 1))
+					.asSpreader(Object[].class, parameterCount);
+			this.methodHandle = methodHandle;
+		}
+		return methodHandle;
+	}
+
+	/**
+	 * Check the target bean and the given arguments against the listener method
+	 * upfront, so that any exception from the method handle invocation is known
+	 * to originate from the listener method itself.
+	 */
+	private void assertArguments(Object bean, Object[] args) {
+		if (!Modifier.isStatic(this.method.getModifiers())) {
+			assertTargetBean(this.method, bean, args);
+		}
+		Class<?>[] parameterTypes = this.parameterTypes;
+		if (args.length != parameterTypes.length) {
+			throw new IllegalStateException(getInvocationErrorMessage(bean, "wrong number of arguments", args));
+		}
+		for (int i = 0; i < args.length; i++) {
+			if (!ClassUtils.isAssignableValue(parameterTypes[i], args[i])) {
+				throw new IllegalStateException(getInvocationErrorMessage(bean, "argument type mismatch", args));
 			}
 		}
 	}
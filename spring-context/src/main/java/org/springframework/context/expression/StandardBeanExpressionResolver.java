@@ -27,6 +27,7 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.CachingExpressionParser;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
@@ -62,8 +63,6 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 
 	private ExpressionParser expressionParser;
 
-	private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>(256);
-
 	private final Map<BeanExpressionContext, StandardEvaluationContext> evaluationCache = new ConcurrentHashMap<>(8);
 
 	private final ParserContext beanExpressionParserContext = new ParserContext() {
@@ -86,7 +85,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	 * Create a new {@code StandardBeanExpressionResolver} with default settings.
 	 */
 	public StandardBeanExpressionResolver() {
-		this.expressionParser = new SpelExpressionParser();
+		this.expressionParser = new CachingExpressionParser(new SpelExpressionParser());
 	}
 
 	/**
@@ -95,7 +94,8 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	 * @param beanClassLoader the factory's bean class loader
 	 */
 	public StandardBeanExpressionResolver(@Nullable ClassLoader beanClassLoader) {
-		this.expressionParser = new SpelExpressionParser(new SpelParserConfiguration(null, beanClassLoader));
+		this.expressionParser = new CachingExpressionParser(
+				new SpelExpressionParser(new SpelParserConfiguration(null, beanClassLoader)));
 	}
 
 
@@ -123,10 +123,14 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	 * Specify the EL parser to use for expression parsing.
 	 * <p>Default is a {@link org.springframework.expression.spel.standard.SpelExpressionParser},
 	 * compatible with standard Unified EL style expression syntax.
+	 * <p>Parsed expressions are cached in a bounded cache of recently used
+	 * expressions. A given {@link CachingExpressionParser} is used as-is,
+	 * e.g. with a custom cache limit or for monitoring its cache statistics.
 	 */
 	public void setExpressionParser(ExpressionParser expressionParser) {
 		Assert.notNull(expressionParser, "ExpressionParser must not be null");
-		this.expressionParser = expressionParser;
+		this.expressionParser = (expressionParser instanceof CachingExpressionParser ? expressionParser :
+				new CachingExpressionParser(expressionParser));
 	}
 
 
@@ -137,11 +141,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 			return value;
 		}
 		try {
-			Expression expr = this.expressionCache.get(value);
-			if (expr == null) {
-				expr = this.expressionParser.parseExpression(value, this.beanExpressionParserContext);
-				this.expressionCache.put(value, expr);
-			}
+			Expression expr = this.expressionParser.parseExpression(value, this.beanExpressionParserContext);
 			StandardEvaluationContext sec = this.evaluationCache.get(evalContext);
 			if (sec == null) {
 				sec = new StandardEvaluationContext(evalContext);
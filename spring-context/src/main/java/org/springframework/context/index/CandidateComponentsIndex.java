@@ -16,16 +16,24 @@
 
 package org.springframework.context.index;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
 
 /**
  * Provide access to the candidates that are defined in {@code META-INF/spring.components}.
@@ -43,6 +51,10 @@ import org.springframework.util.MultiValueMap;
  * not a rule. Similarly, the {@code stereotype} is usually the fully qualified name of
  * a target type but it can be any marker really.
  *
+ * <p>If available, the index also exposes the type metadata of the candidates
+ * recorded in {@code META-INF/spring.components.metadata}, so that they can be
+ * introspected without reading their class file.
+ *
  * @author Stephane Nicoll
  * @since 5.0
  */
@@ -50,11 +62,27 @@ public class CandidateComponentsIndex {
 
 	private static final AntPathMatcher pathMatcher = new AntPathMatcher(".");
 
+	private static final char TYPE_METADATA_SEPARATOR = '#';
+
+
 	private final MultiValueMap<String, Entry> index;
 
+	private final Map<String, Map<String, String>> typeMetadata;
+
+	@Nullable
+	private final ClassLoader classLoader;
+
 
 	CandidateComponentsIndex(List<Properties> content) {
+		this(content, Collections.emptyList(), null);
+	}
+
+	CandidateComponentsIndex(List<Properties> content, List<Properties> typeMetadata,
+			@Nullable ClassLoader classLoader) {
+
 		this.index = parseIndex(content);
+		this.typeMetadata = parseTypeMetadata(typeMetadata);
+		this.classLoader = classLoader;
 	}
 
 
@@ -76,6 +104,50 @@ public class CandidateComponentsIndex {
 		return Collections.emptySet();
 	}
 
+	/**
+	 * Return a {@link MetadataReader} for the specified candidate type, based on
+	 * the type metadata recorded in the index.
+	 * <p>The returned reader exposes the same class and annotation metadata as a
+	 * reader obtained from a {@code MetadataReaderFactory}, without reading the
+	 * class file.
+	 * @param type the fully qualified name of the candidate type
+	 * @return the metadata reader, or {@code null} if no type metadata
+	 * has been recorded for the specified {@code type}
+	 * @throws IllegalStateException if the recorded type metadata is invalid
+	 * @since 5.0.11
+	 */
+	@Nullable
+	public MetadataReader getMetadataReader(String type) {
+		Map<String, String> metadata = this.typeMetadata.get(type);
+		if (metadata == null || !metadata.containsKey(IndexedMetadataReader.MODIFIERS)) {
+			return null;
+		}
+		return new IndexedMetadataReader(type, metadata, this.classLoader);
+	}
+
+	/**
+	 * Return all super classes and interfaces of the specified candidate type,
+	 * as recorded in the index.
+	 * <p>Generic super types are exposed with their resolved type arguments,
+	 * for instance {@code com.example.Repository<com.example.Person>}.
+	 * {@code java.lang.Object} is not included.
+	 * @param type the fully qualified name of the candidate type
+	 * @return the super types, or {@code null} if no type metadata
+	 * has been recorded for the specified {@code type}
+	 * @since 5.0.11
+	 */
+	@Nullable
+	public Set<String> getSuperTypes(String type) {
+		Map<String, String> metadata = this.typeMetadata.get(type);
+		if (metadata == null || !metadata.containsKey(IndexedMetadataReader.MODIFIERS)) {
+			return null;
+		}
+		String superTypes = metadata.get(IndexedMetadataReader.SUPER_TYPES);
+		return (superTypes != null ?
+				new LinkedHashSet<>(Arrays.asList(StringUtils.delimitedListToStringArray(superTypes, ";"))) :
+				Collections.emptySet());
+	}
+
 	private static MultiValueMap<String, Entry> parseIndex(List<Properties> content) {
 		MultiValueMap<String, Entry> index = new LinkedMultiValueMap<>();
 		for (Properties entry : content) {
@@ -89,6 +161,21 @@ public class CandidateComponentsIndex {
 		return index;
 	}
 
+	private static Map<String, Map<String, String>> parseTypeMetadata(List<Properties> content) {
+		Map<String, Map<String, String>> typeMetadata = new HashMap<>();
+		for (Properties entry : content) {
+			entry.forEach((key, value) -> {
+				String name = (String) key;
+				int separatorIndex = name.indexOf(TYPE_METADATA_SEPARATOR);
+				if (separatorIndex > 0) {
+					typeMetadata.computeIfAbsent(name.substring(0, separatorIndex), type -> new LinkedHashMap<>())
+							.put(name.substring(separatorIndex + 1), (String) value);
+				}
+			});
+		}
+		return typeMetadata;
+	}
+
 	private static class Entry {
 		private final String type;
 		private final String packageName;
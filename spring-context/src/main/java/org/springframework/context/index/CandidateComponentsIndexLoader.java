@@ -47,6 +47,14 @@ public class CandidateComponentsIndexLoader {
 	 */
 	public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
 
+	/**
+	 * The location to look for the type metadata of the components.
+	 * <p>Optional: the index falls back to reading the class file of
+	 * components without type metadata.
+	 * @since 5.0.11
+	 */
+	public static final String COMPONENTS_METADATA_RESOURCE_LOCATION = "META-INF/spring.components.metadata";
+
 	/**
 	 * System property that instructs Spring to ignore the index, i.e.
 	 * to always return {@code null} from {@link #loadIndex(ClassLoader)}.
@@ -106,7 +114,16 @@ public class CandidateComponentsIndexLoader {
 				logger.debug("Loaded " + result.size() + "] index(es)");
 			}
 			int totalCount = result.stream().mapToInt(Properties::size).sum();
-			return (totalCount > 0 ? new CandidateComponentsIndex(result) : null);
+			if (totalCount == 0) {
+				return null;
+			}
+			List<Properties> typeMetadata = new ArrayList<>();
+			Enumeration<URL> metadataUrls = classLoader.getResources(COMPONENTS_METADATA_RESOURCE_LOCATION);
+			while (metadataUrls.hasMoreElements()) {
+				URL url = metadataUrls.nextElement();
+				typeMetadata.add(PropertiesLoaderUtils.loadProperties(new UrlResource(url)));
+			}
+			return new CandidateComponentsIndex(result, typeMetadata, classLoader);
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException("Unable to load indexes from location [" +
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.classreading.AnnotationMetadataReadingVisitor;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link MetadataReader} implementation based on the type metadata recorded in
+ * {@code META-INF/spring.components.metadata}, avoiding to read the class file.
+ *
+ * <p>The recorded metadata is replayed onto an {@link AnnotationMetadataReadingVisitor},
+ * exposing the same metadata as a reader obtained from a
+ * {@link org.springframework.core.type.classreading.MetadataReaderFactory}.
+ *
+ * @since 5.0.11
+ * @see CandidateComponentsIndex#getMetadataReader(String)
+ */
+final class IndexedMetadataReader implements MetadataReader {
+
+	static final String MODIFIERS = "modifiers";
+
+	static final String SUPER_CLASS = "superClass";
+
+	static final String INTERFACES = "interfaces";
+
+	static final String ENCLOSING_CLASS = "enclosingClass";
+
+	static final String MEMBER_CLASSES = "memberClasses";
+
+	static final String SUPER_TYPES = "superTypes";
+
+	static final String ANNOTATIONS = "annotations";
+
+	static final String METHODS = "methods";
+
+
+	private final Resource resource;
+
+	private final AnnotationMetadata annotationMetadata;
+
+
+	IndexedMetadataReader(String type, Map<String, String> typeMetadata, @Nullable ClassLoader classLoader) {
+		this.resource = new ClassPathResource(
+				ClassUtils.convertClassNameToResourcePath(type) + ClassUtils.CLASS_FILE_SUFFIX, classLoader);
+		AnnotationMetadataReadingVisitor visitor = new AnnotationMetadataReadingVisitor(classLoader);
+		try {
+			accept(type, typeMetadata, visitor);
+		}
+		catch (RuntimeException ex) {
+			throw new IllegalStateException("Invalid metadata for type [" + type + "] in index", ex);
+		}
+		this.annotationMetadata = visitor;
+	}
+
+
+	@Override
+	public Resource getResource() {
+		return this.resource;
+	}
+
+	@Override
+	public ClassMetadata getClassMetadata() {
+		return this.annotationMetadata;
+	}
+
+	@Override
+	public AnnotationMetadata getAnnotationMetadata() {
+		return this.annotationMetadata;
+	}
+
+
+	private static void accept(String type, Map<String, String> typeMetadata, AnnotationMetadataReadingVisitor visitor) {
+		Set<String> modifiers = StringUtils.commaDelimitedListToSet(typeMetadata.get(MODIFIERS));
+		int access = 0;
+		if (modifiers.contains("interface")) {
+			access |= Opcodes.ACC_INTERFACE;
+		}
+		if (modifiers.contains("annotation")) {
+			access |= Opcodes.ACC_ANNOTATION;
+		}
+		if (modifiers.contains("abstract")) {
+			access |= Opcodes.ACC_ABSTRACT;
+		}
+		if (modifiers.contains("final")) {
+			access |= Opcodes.ACC_FINAL;
+		}
+		String superClass = typeMetadata.get(SUPER_CLASS);
+		String[] interfaces = StringUtils.commaDelimitedListToStringArray(typeMetadata.get(INTERFACES));
+		for (int i = 0; i < interfaces.length; i++) {
+			interfaces[i] = getInternalName(interfaces[i]);
+		}
+		visitor.visit(Opcodes.V1_8, access, getInternalName(type), null,
+				(superClass != null ? getInternalName(superClass) : null), interfaces);
+
+		String enclosingClass = typeMetadata.get(ENCLOSING_CLASS);
+		if (enclosingClass != null) {
+			visitor.visitInnerClass(getInternalName(type), getInternalName(enclosingClass),
+					getInnerName(type), (modifiers.contains("static") ? Opcodes.ACC_STATIC : 0));
+		}
+		for (String memberClass : StringUtils.commaDelimitedListToStringArray(typeMetadata.get(MEMBER_CLASSES))) {
+			visitor.visitInnerClass(getInternalName(memberClass), getInternalName(type), getInnerName(memberClass), 0);
+		}
+
+		String annotations = typeMetadata.get(ANNOTATIONS);
+		if (annotations != null) {
+			Parser parser = new Parser(annotations);
+			while (parser.hasMore()) {
+				parser.readAnnotation().accept(descriptor -> visitor.visitAnnotation(descriptor, true));
+			}
+		}
+
+		String methods = typeMetadata.get(METHODS);
+		if (methods != null) {
+			Parser parser = new Parser(methods);
+			do {
+				String methodName = parser.readToken();
+				parser.expect(',');
+				String returnType = parser.readToken();
+				parser.expect(',');
+				MethodVisitor methodVisitor = visitor.visitMethod(getMethodAccess(parser.readToken()), methodName,
+						"()" + getDescriptor(returnType), null, null);
+				while (parser.peek('@')) {
+					parser.readAnnotation().accept(descriptor -> methodVisitor.visitAnnotation(descriptor, true));
+				}
+				methodVisitor.visitEnd();
+			}
+			while (parser.skip(';'));
+		}
+		visitor.visitEnd();
+	}
+
+	private static int getMethodAccess(String modifiers) {
+		int access = 0;
+		for (String modifier : StringUtils.delimitedListToStringArray(modifiers, "+")) {
+			switch (modifier) {
+				case "abstract":
+					access |= Opcodes.ACC_ABSTRACT;
+					break;
+				case "static":
+					access |= Opcodes.ACC_STATIC;
+					break;
+				case "final":
+					access |= Opcodes.ACC_FINAL;
+					break;
+				case "private":
+					access |= Opcodes.ACC_PRIVATE;
+					break;
+			}
+		}
+		return access;
+	}
+
+	private static String getInternalName(String typeName) {
+		return typeName.replace('.', '/');
+	}
+
+	private static String getInnerName(String typeName) {
+		return typeName.substring(typeName.lastIndexOf('$') + 1);
+	}
+
+	private static String getDescriptor(String typeName) {
+		StringBuilder descriptor = new StringBuilder();
+		String componentTypeName = typeName;
+		while (componentTypeName.endsWith("[]")) {
+			descriptor.append('[');
+			componentTypeName = componentTypeName.substring(0, componentTypeName.length() - 2);
+		}
+		switch (componentTypeName) {
+			case "boolean":
+				return descriptor.append('Z').toString();
+			case "byte":
+				return descriptor.append('B').toString();
+			case "char":
+				return descriptor.append('C').toString();
+			case "short":
+				return descriptor.append('S').toString();
+			case "int":
+				return descriptor.append('I').toString();
+			case "long":
+				return descriptor.append('J').toString();
+			case "float":
+				return descriptor.append('F').toString();
+			case "double":
+				return descriptor.append('D').toString();
+			case "void":
+				return descriptor.append('V').toString();
+			default:
+				return descriptor.append('L').append(getInternalName(componentTypeName)).append(';').toString();
+		}
+	}
+
+
+	/**
+	 * Parser for annotations written in source-like notation, e.g.
+	 * {@code @com.example.Qualifier(value="main",type=com.example.Type.class)}.
+	 */
+	private static class Parser {
+
+		private static final String DELIMITERS = ",;=(){}@\"'";
+
+		private final String source;
+
+		private int position;
+
+		Parser(String source) {
+			this.source = source;
+		}
+
+		public boolean hasMore() {
+			return (this.position < this.source.length());
+		}
+
+		public boolean peek(char c) {
+			return (hasMore() && this.source.charAt(this.position) == c);
+		}
+
+		public boolean skip(char c) {
+			if (peek(c)) {
+				this.position++;
+				return true;
+			}
+			return false;
+		}
+
+		public void expect(char c) {
+			if (!skip(c)) {
+				throw new IllegalArgumentException(
+						"Expected '" + c + "' at position " + this.position + " in [" + this.source + "]");
+			}
+		}
+
+		public String readToken() {
+			int start = this.position;
+			while (hasMore() && DELIMITERS.indexOf(this.source.charAt(this.position)) == -1) {
+				this.position++;
+			}
+			return this.source.substring(start, this.position).trim();
+		}
+
+		public RecordedAnnotation readAnnotation() {
+			expect('@');
+			String typeName = readToken();
+			Map<String, Object> attributes = new LinkedHashMap<>();
+			if (skip('(') && !skip(')')) {
+				do {
+					String attributeName = readToken();
+					expect('=');
+					attributes.put(attributeName, readValue());
+				}
+				while (skip(','));
+				expect(')');
+			}
+			return new RecordedAnnotation(getDescriptor(typeName), attributes);
+		}
+
+		private Object readValue() {
+			if (peek('@')) {
+				return readAnnotation();
+			}
+			if (skip('{')) {
+				List<Object> values = new ArrayList<>();
+				if (!skip('}')) {
+					do {
+						values.add(readValue());
+					}
+					while (skip(','));
+					expect('}');
+				}
+				return values;
+			}
+			if (peek('"')) {
+				return readQuoted('"');
+			}
+			if (peek('\'')) {
+				return readQuoted('\'').charAt(0);
+			}
+			if (skip('(')) {
+				String cast = readToken();
+				expect(')');
+				String literal = readToken();
+				switch (cast) {
+					case "byte":
+						return Byte.valueOf(literal);
+					case "short":
+						return Short.valueOf(literal);
+					case "long":
+						return Long.valueOf(literal);
+					case "float":
+						return Float.valueOf(literal);
+					case "double":
+						return Double.valueOf(literal);
+					default:
+						throw new IllegalArgumentException("Unsupported cast '" + cast + "' in [" + this.source + "]");
+				}
+			}
+			String token = readToken();
+			if ("true".equals(token) || "false".equals(token)) {
+				return Boolean.valueOf(token);
+			}
+			if (token.endsWith(".class")) {
+				return Type.getType(getDescriptor(token.substring(0, token.length() - 6)));
+			}
+			if (!token.isEmpty() && (Character.isDigit(token.charAt(0)) || token.charAt(0) == '-')) {
+				return Integer.valueOf(token);
+			}
+			int separatorIndex = token.lastIndexOf('.');
+			if (separatorIndex <= 0) {
+				throw new IllegalArgumentException("Invalid value '" + token + "' in [" + this.source + "]");
+			}
+			return new EnumValue(getDescriptor(token.substring(0, separatorIndex)), token.substring(separatorIndex + 1));
+		}
+
+		private String readQuoted(char quote) {
+			expect(quote);
+			StringBuilder sb = new StringBuilder();
+			while (true) {
+				char c = this.source.charAt(this.position++);
+				if (c == quote) {
+					return sb.toString();
+				}
+				if (c == '\\') {
+					c = this.source.charAt(this.position++);
+					if (c == 'u') {
+						c = (char) Integer.parseInt(this.source.substring(this.position, this.position + 4), 16);
+						this.position += 4;
+					}
+				}
+				sb.append(c);
+			}
+		}
+	}
+
+
+	/**
+	 * An annotation read from the index, replayable onto an {@link AnnotationVisitor}.
+	 */
+	private static class RecordedAnnotation {
+
+		private final String descriptor;
+
+		private final Map<String, Object> attributes;
+
+		RecordedAnnotation(String descriptor, Map<String, Object> attributes) {
+			this.descriptor = descriptor;
+			this.attributes = attributes;
+		}
+
+		public void accept(Function<String, AnnotationVisitor> visitorFactory) {
+			AnnotationVisitor visitor = visitorFactory.apply(this.descriptor);
+			this.attributes.forEach((name, value) -> acceptValue(visitor, name, value));
+			visitor.visitEnd();
+		}
+
+		private static void acceptValue(AnnotationVisitor visitor, @Nullable String name, Object value) {
+			if (value instanceof RecordedAnnotation) {
+				((RecordedAnnotation) value).accept(descriptor -> visitor.visitAnnotation(name, descriptor));
+			}
+			else if (value instanceof EnumValue) {
+				visitor.visitEnum(name, ((EnumValue) value).descriptor, ((EnumValue) value).name);
+			}
+			else if (value instanceof List) {
+				List<?> values = (List<?>) value;
+				Class<?> primitiveType = (!values.isEmpty() ? getPrimitiveType(values.get(0)) : null);
+				if (primitiveType != null) {
+					// Like the class file reader, expose primitive arrays as a single value
+					Object array = Array.newInstance(primitiveType, values.size());
+					for (int i = 0; i < values.size(); i++) {
+						Array.set(array, i, values.get(i));
+					}
+					visitor.visit(name, array);
+				}
+				else {
+					AnnotationVisitor arrayVisitor = visitor.visitArray(name);
+					for (Object element : values) {
+						acceptValue(arrayVisitor, null, element);
+					}
+					arrayVisitor.visitEnd();
+				}
+			}
+			else {
+				visitor.visit(name, value);
+			}
+		}
+
+		@Nullable
+		private static Class<?> getPrimitiveType(Object value) {
+			if (value instanceof Boolean) {
+				return boolean.class;
+			}
+			if (value instanceof Byte) {
+				return byte.class;
+			}
+			if (value instanceof Character) {
+				return char.class;
+			}
+			if (value instanceof Short) {
+				return short.class;
+			}
+			if (value instanceof Integer) {
+				return int.class;
+			}
+			if (value instanceof Long) {
+				return long.class;
+			}
+			if (value instanceof Float) {
+				return float.class;
+			}
+			if (value instanceof Double) {
+				return double.class;
+			}
+			return null;
+		}
+	}
+
+
+	private static class EnumValue {
+
+		private final String descriptor;
+
+		private final String name;
+
+		EnumValue(String descriptor, String name) {
+			this.descriptor = descriptor;
+			this.name = name;
+		}
+	}
+
+}
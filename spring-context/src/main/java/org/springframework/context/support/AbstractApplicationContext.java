@@ -982,18 +982,23 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	/**
 	 * Reset Spring's common reflection metadata caches, in particular the
 	 * {@link ReflectionUtils}, {@link AnnotationUtils}, {@link ResolvableType}
-	 * and {@link CachedIntrospectionResults} caches.
+	 * and {@link CachedIntrospectionResults} caches, as well as the jar entry
+	 * indexes of this context's {@link PathMatchingResourcePatternResolver}.
 	 * @since 4.2
 	 * @see ReflectionUtils#clearCache()
 	 * @see AnnotationUtils#clearCache()
 	 * @see ResolvableType#clearCache()
 	 * @see CachedIntrospectionResults#clearClassLoader(ClassLoader)
+	 * @see PathMatchingResourcePatternResolver#clearCache()
 	 */
 	protected void resetCommonCaches() {
 		ReflectionUtils.clearCache();
 		AnnotationUtils.clearCache();
 		ResolvableType.clearCache();
 		CachedIntrospectionResults.clearClassLoader(getClassLoader());
+		if (this.resourcePatternResolver instanceof PathMatchingResourcePatternResolver) {
+			((PathMatchingResourcePatternResolver) this.resourcePatternResolver).clearCache();
+		}
 	}
 
 
@@ -16,16 +16,23 @@
 
 package org.springframework.context.annotation;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Pattern;
 
 import org.junit.Test;
 
+import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.context.annotation6.ComponentForScanning;
 import org.springframework.context.annotation6.ConfigForScanning;
 import org.springframework.context.annotation6.Jsr330NamedForScanning;
@@ -325,6 +332,32 @@ public class AnnotationConfigApplicationContextTests {
 	}
 
 
+	@Test(timeout = 30000)
+	public void parallelPreInstantiationWithAutowiredDependenciesAndListeners() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getDefaultListableBeanFactory().setPerBeanSingletonLocking(true);
+		context.getDefaultListableBeanFactory().setPreInstantiationParallelism(4);
+		context.register(ListenerConfig.class);
+		for (int i = 0; i < 10; i++) {
+			context.registerBean("listener" + i, CollectingListener.class);
+			context.registerBean("publisher" + i, PublishingBean.class);
+		}
+		context.refresh();
+
+		Map<String, CollectingListener> listeners = context.getBeansOfType(CollectingListener.class);
+		assertEquals(11, listeners.size());
+		for (CollectingListener listener : listeners.values()) {
+			assertEquals(10, listener.payloads.size());
+			for (int i = 0; i < 10; i++) {
+				assertThat(listener.payloads, hasItem("publisher" + i));
+			}
+		}
+		assertEquals(110, context.getBean(EventCollector.class).payloads.size());
+		for (PublishingBean publisher : context.getBeansOfType(PublishingBean.class).values()) {
+			assertSame(context.getBean(EventCollector.class), publisher.eventCollector);
+		}
+	}
+
 	@Configuration
 	static class Config {
 
@@ -397,6 +430,62 @@ public class AnnotationConfigApplicationContextTests {
 
 	static class BeanC {}
 
+	@Configuration
+	static class ListenerConfig {
+
+		@Bean EventCollector eventCollector() {
+			return new EventCollector();
+		}
+
+		@Bean CollectingListener beanMethodListener(EventCollector eventCollector) throws InterruptedException {
+			return new CollectingListener(eventCollector);
+		}
+	}
+
+	static class EventCollector {
+
+		final List<String> payloads = new CopyOnWriteArrayList<>();
+	}
+
+	static class CollectingListener implements ApplicationListener<PayloadApplicationEvent<String>> {
+
+		final EventCollector eventCollector;
+
+		final List<String> payloads = new CopyOnWriteArrayList<>();
+
+		@Autowired
+		public CollectingListener(EventCollector eventCollector) throws InterruptedException {
+			this.eventCollector = eventCollector;
+			// Give publishers a chance to retrieve this listener while in creation
+			Thread.sleep(10);
+		}
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<String> event) {
+			this.payloads.add(event.getPayload());
+			this.eventCollector.payloads.add(event.getPayload());
+		}
+	}
+
+	static class PublishingBean implements BeanNameAware, InitializingBean {
+
+		@Autowired ApplicationEventPublisher publisher;
+
+		@Autowired EventCollector eventCollector;
+
+		String beanName;
+
+		@Override
+		public void setBeanName(String beanName) {
+			this.beanName = beanName;
+		}
+
+		@Override
+		public void afterPropertiesSet() {
+			this.publisher.publishEvent(this.beanName);
+		}
+	}
+
 	static class UntypedFactoryBean implements FactoryBean<Object> {
 
 		@Override
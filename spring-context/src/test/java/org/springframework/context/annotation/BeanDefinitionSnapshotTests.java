@@ -0,0 +1,333 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.componentscan.simple.SimpleComponent;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.tests.sample.beans.TestBean;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.FileSystemUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BeanDefinitionSnapshot} generation and registration.
+ */
+public class BeanDefinitionSnapshotTests {
+
+	private File snapshotDirectory;
+
+
+	@Before
+	public void setup() throws IOException {
+		this.snapshotDirectory = Files.createTempDirectory("snapshot").toFile();
+		CountingCondition.evaluations.set(0);
+		System.setProperty(BeanDefinitionSnapshotLoader.ENABLE_SNAPSHOT, "true");
+	}
+
+	@After
+	public void cleanup() {
+		System.clearProperty(BeanDefinitionSnapshotLoader.ENABLE_SNAPSHOT);
+		FileSystemUtils.deleteRecursively(this.snapshotDirectory);
+	}
+
+
+	@Test
+	public void snapshotMatchesParsedBeanDefinitions() throws Exception {
+		generateSnapshot(SnapshotConfig.class);
+		DefaultListableBeanFactory parsed = processConfigurationClasses(getClass().getClassLoader(), SnapshotConfig.class);
+		int evaluations = CountingCondition.evaluations.get();
+		assertTrue(evaluations > 0);
+
+		DefaultListableBeanFactory restored = processConfigurationClasses(snapshotClassLoader(), SnapshotConfig.class);
+		assertEquals(evaluations, CountingCondition.evaluations.get());
+		assertEquals(Arrays.asList(parsed.getBeanDefinitionNames()), Arrays.asList(restored.getBeanDefinitionNames()));
+		for (String beanName : parsed.getBeanDefinitionNames()) {
+			AbstractBeanDefinition parsedDefinition = (AbstractBeanDefinition) parsed.getBeanDefinition(beanName);
+			AbstractBeanDefinition restoredDefinition = (AbstractBeanDefinition) restored.getBeanDefinition(beanName);
+			// equals compares the lazily initialized holders as they are
+			initializeHolders(parsedDefinition);
+			initializeHolders(restoredDefinition);
+			assertEquals(beanName, parsedDefinition, restoredDefinition);
+			assertEquals(beanName, parsedDefinition instanceof AnnotatedBeanDefinition,
+					restoredDefinition instanceof AnnotatedBeanDefinition);
+			assertEquals(beanName, Arrays.asList(parsed.getAliases(beanName)),
+					Arrays.asList(restored.getAliases(beanName)));
+		}
+
+		AnnotatedBeanDefinition beanMethodDefinition = (AnnotatedBeanDefinition) restored.getBeanDefinition("lazyBean");
+		assertEquals(SnapshotConfig.class.getName(), beanMethodDefinition.getMetadata().getClassName());
+		assertEquals("lazyBean", beanMethodDefinition.getFactoryMethodMetadata().getMethodName());
+		AnnotatedBeanDefinition scannedDefinition = (AnnotatedBeanDefinition) restored.getBeanDefinition("simpleComponent");
+		assertTrue(scannedDefinition.getMetadata().hasAnnotatedMethods(Bean.class.getName()));
+	}
+
+	@Test
+	public void contextWithSnapshot() throws Exception {
+		generateSnapshot(SnapshotConfig.class);
+		int evaluations = CountingCondition.evaluations.get();
+
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.setClassLoader(snapshotClassLoader());
+		ctx.register(SnapshotConfig.class);
+		ctx.refresh();
+		assertEquals(evaluations, CountingCondition.evaluations.get());
+		assertEquals("p2TestBean", ctx.getBean("testBean", TestBean.class).getName());
+		assertSame(ctx.getBean("testBean"), ctx.getBean("testBeanAlias"));
+		assertSame(ctx.getBean("lazyBean"), ctx.getBean(TestBean.class));
+		assertEquals("conditional", ctx.getBean("conditionalBean", TestBean.class).getName());
+		assertNotSame(ctx.getBean("importedBean"), ctx.getBean("importedBean"));
+		assertEquals("xml.declared", ctx.getBean("xmlDeclaredBean", TestBean.class).getName());
+		assertEquals("example", ctx.getBean("exampleBean"));
+		assertEquals("p2Value", ctx.getEnvironment().getProperty("from.p2"));
+		ctx.close();
+	}
+
+	@Test
+	public void importAwareWithSnapshot() throws Exception {
+		generateSnapshot(SnapshotConfig.class);
+
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.setClassLoader(snapshotClassLoader());
+		ctx.register(SnapshotConfig.class);
+		ctx.refresh();
+		AnnotationMetadata importMetadata = ctx.getBean(ImportedConfig.class).importMetadata;
+		assertNotNull(importMetadata);
+		assertEquals(SnapshotConfig.class.getName(), importMetadata.getClassName());
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotIgnoredUnlessEnabled() throws Exception {
+		generateSnapshot(SnapshotConfig.class);
+		int evaluations = CountingCondition.evaluations.get();
+		System.clearProperty(BeanDefinitionSnapshotLoader.ENABLE_SNAPSHOT);
+
+		processConfigurationClasses(snapshotClassLoader(), SnapshotConfig.class);
+		assertTrue(CountingCondition.evaluations.get() > evaluations);
+	}
+
+	@Test
+	public void snapshotIgnoredForDifferentProfiles() throws Exception {
+		BeanDefinitionSnapshotGenerator generator = new BeanDefinitionSnapshotGenerator(getClass().getClassLoader());
+		generator.setActiveProfiles("other");
+		generator.generate(this.snapshotDirectory, SnapshotConfig.class.getName());
+		int evaluations = CountingCondition.evaluations.get();
+
+		processConfigurationClasses(snapshotClassLoader(), SnapshotConfig.class);
+		assertTrue(CountingCondition.evaluations.get() > evaluations);
+	}
+
+	@Test
+	public void snapshotIgnoredForClassAddedToScannedPackage() throws Exception {
+		generateSnapshot(SnapshotConfig.class);
+		int evaluations = CountingCondition.evaluations.get();
+
+		File packageDirectory = new File(this.snapshotDirectory,
+				ClassUtils.convertClassNameToResourcePath(ClassUtils.getPackageName(SimpleComponent.class)));
+		assertTrue(packageDirectory.mkdirs());
+		try (InputStream is = new ClassPathResource("TestBean.class", TestBean.class).getInputStream()) {
+			Files.copy(is, new File(packageDirectory, "TestBean.class").toPath());
+		}
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.setClassLoader(snapshotClassLoader());
+		ctx.register(SnapshotConfig.class);
+		ctx.refresh();
+		assertTrue(CountingCondition.evaluations.get() > evaluations);
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotIgnoredForDifferentRootClasses() throws Exception {
+		generateSnapshot(SnapshotConfig.class);
+
+		DefaultListableBeanFactory bf = processConfigurationClasses(snapshotClassLoader(), ImportedConfig.class);
+		assertTrue(bf.containsBeanDefinition("importedBean"));
+		assertFalse(bf.containsBeanDefinition("testBean"));
+	}
+
+	@Test
+	public void snapshotWriteAndRead() throws Exception {
+		BeanDefinitionSnapshot snapshot = new BeanDefinitionSnapshotGenerator(getClass().getClassLoader())
+				.generate(SnapshotConfig.class.getName());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.writeTo(out);
+		BeanDefinitionSnapshot read = BeanDefinitionSnapshot.readFrom(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(snapshot.getRootClasses(), read.getRootClasses());
+		assertArrayEquals(snapshot.getActiveProfiles(), read.getActiveProfiles());
+	}
+
+	@Test(expected = IOException.class)
+	public void readInvalidSnapshot() throws Exception {
+		BeanDefinitionSnapshot.readFrom(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void snapshotWithInstanceSupplier() throws Exception {
+		new BeanDefinitionSnapshotGenerator(getClass().getClassLoader()).generate(InstanceSupplierConfig.class.getName());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void snapshotWithNonRepresentableValue() throws Exception {
+		new BeanDefinitionSnapshotGenerator(getClass().getClassLoader()).generate(SerializableValueConfig.class.getName());
+	}
+
+
+	private void generateSnapshot(Class<?> configClass) throws Exception {
+		File file = new BeanDefinitionSnapshotGenerator(getClass().getClassLoader())
+				.generate(this.snapshotDirectory, configClass.getName());
+		assertTrue(file.exists());
+	}
+
+	private void initializeHolders(AbstractBeanDefinition beanDefinition) {
+		beanDefinition.getConstructorArgumentValues();
+		beanDefinition.getPropertyValues();
+		beanDefinition.getMethodOverrides();
+	}
+
+	private ClassLoader snapshotClassLoader() throws IOException {
+		return new URLClassLoader(new URL[] {this.snapshotDirectory.toURI().toURL()}, getClass().getClassLoader());
+	}
+
+	private DefaultListableBeanFactory processConfigurationClasses(ClassLoader classLoader, Class<?> configClass) {
+		DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+		bf.setBeanClassLoader(classLoader);
+		StandardEnvironment environment = new StandardEnvironment();
+		new AnnotatedBeanDefinitionReader(bf, environment).registerBean(configClass);
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setEnvironment(environment);
+		pp.setBeanClassLoader(classLoader);
+		pp.postProcessBeanDefinitionRegistry(bf);
+		return bf;
+	}
+
+
+	@Configuration
+	@Import(ImportedConfig.class)
+	@ImportResource("classpath:org/springframework/context/annotation/configuration/ImportXmlConfig-context.xml")
+	@ComponentScan(basePackageClasses = SimpleComponent.class)
+	@PropertySource("classpath:org/springframework/context/annotation/p2.properties")
+	static class SnapshotConfig {
+
+		@Bean(name = {"testBean", "testBeanAlias"})
+		public TestBean testBean(Environment environment) {
+			return new TestBean(environment.getProperty("testbean.name"));
+		}
+
+		@Bean
+		@Lazy
+		@Primary
+		@Description("lazy bean")
+		public TestBean lazyBean() {
+			return new TestBean("lazy");
+		}
+
+		@Bean
+		@Conditional(CountingCondition.class)
+		public static TestBean conditionalBean() {
+			return new TestBean("conditional");
+		}
+	}
+
+
+	@Configuration
+	static class ImportedConfig implements ImportAware {
+
+		AnnotationMetadata importMetadata;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importMetadata = importMetadata;
+		}
+
+		@Bean
+		@Scope("prototype")
+		public TestBean importedBean() {
+			return new TestBean("imported");
+		}
+	}
+
+
+	@Configuration
+	@Import(InstanceSupplierRegistrar.class)
+	static class InstanceSupplierConfig {
+	}
+
+
+	static class InstanceSupplierRegistrar implements ImportBeanDefinitionRegistrar {
+
+		@Override
+		public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+			registry.registerBeanDefinition("suppliedBean", new RootBeanDefinition(TestBean.class, TestBean::new));
+		}
+	}
+
+
+	@Configuration
+	@Import(SerializableValueRegistrar.class)
+	static class SerializableValueConfig {
+	}
+
+
+	static class SerializableValueRegistrar implements ImportBeanDefinitionRegistrar {
+
+		@Override
+		public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.getPropertyValues().add("date", new Date());
+			registry.registerBeanDefinition("serializableValueBean", bd);
+		}
+	}
+
+
+	static class CountingCondition implements Condition {
+
+		static final AtomicInteger evaluations = new AtomicInteger();
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			evaluations.incrementAndGet();
+			return true;
+		}
+	}
+
+}
@@ -18,7 +18,13 @@ package org.springframework.context.annotation;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import java.util.regex.Pattern;
 
 import example.profilescan.DevComponent;
@@ -47,6 +53,8 @@ import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.RegexPatternTypeFilter;
@@ -90,6 +98,77 @@ public class ClassPathScanningCandidateComponentProviderTests {
 		testDefault(provider, AnnotatedGenericBeanDefinition.class);
 	}
 
+	@Test
+	public void defaultsWithIndexMetadata() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(createIndexWithMetadataClassLoader()));
+		RecordingMetadataReaderFactory metadataReaderFactory = new RecordingMetadataReaderFactory();
+		provider.setMetadataReaderFactory(metadataReaderFactory);
+		testDefault(provider, AnnotatedGenericBeanDefinition.class);
+		assertFalse(metadataReaderFactory.classNames.contains(FooServiceImpl.class.getName()));
+		assertFalse(metadataReaderFactory.classNames.contains(NamedComponent.class.getName()));
+		assertTrue(metadataReaderFactory.classNames.contains(StubFooDao.class.getName()));
+	}
+
+	@Test
+	public void assignableTypeExcludeFilterWithIndexMetadata() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(createIndexWithMetadataClassLoader()));
+		RecordingMetadataReaderFactory metadataReaderFactory = new RecordingMetadataReaderFactory();
+		provider.setMetadataReaderFactory(metadataReaderFactory);
+		provider.addExcludeFilter(new AssignableTypeFilter(FooService.class));
+		Set<BeanDefinition> candidates = provider.findCandidateComponents(TEST_BASE_PACKAGE);
+		assertFalse(containsBeanClass(candidates, FooServiceImpl.class));
+		assertTrue(containsBeanClass(candidates, NamedComponent.class));
+		assertEquals(6, candidates.size());
+		assertFalse(metadataReaderFactory.classNames.contains(FooServiceImpl.class.getName()));
+	}
+
+	private ClassLoader createIndexWithMetadataClassLoader() {
+		return CandidateComponentsTestClassLoader.indexWithMetadata(getClass().getClassLoader(),
+				new ClassPathResource("spring.components", NamedComponent.class),
+				new ClassPathResource("spring.components.metadata", NamedComponent.class));
+	}
+
+	@Test
+	public void defaultsWithParallelScan() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+			provider.setResourceLoader(new DefaultResourceLoader(
+					CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+			provider.setTaskExecutor(executor);
+			testDefault(provider, ScannedGenericBeanDefinition.class);
+			testAntStyle(provider, ScannedGenericBeanDefinition.class);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void parallelScanKeepsSequentialOrder() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+			provider.setResourceLoader(new DefaultResourceLoader(
+					CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+			provider.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+			List<String> sequential = getBeanClassNames(provider.findCandidateComponents(TEST_BASE_PACKAGE));
+			provider.setTaskExecutor(executor);
+			List<String> parallel = getBeanClassNames(provider.findCandidateComponents(TEST_BASE_PACKAGE));
+			assertTrue(sequential.size() > 7);
+			assertEquals(sequential, parallel);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private List<String> getBeanClassNames(Set<BeanDefinition> candidates) {
+		return candidates.stream().map(BeanDefinition::getBeanClassName).collect(Collectors.toList());
+	}
+
 	private void testDefault(ClassPathScanningCandidateComponentProvider provider,
 			Class<? extends BeanDefinition> expectedBeanDefinitionType) {
 		Set<BeanDefinition> candidates = provider.findCandidateComponents(TEST_BASE_PACKAGE);
@@ -546,4 +625,16 @@ public class ClassPathScanningCandidateComponentProviderTests {
 	public @interface DevProfile {
 	}
 
+
+	private static class RecordingMetadataReaderFactory extends CachingMetadataReaderFactory {
+
+		private final Set<String> classNames = new HashSet<>();
+
+		@Override
+		public MetadataReader getMetadataReader(String className) throws IOException {
+			this.classNames.add(className);
+			return super.getMetadataReader(className);
+		}
+	}
+
 }
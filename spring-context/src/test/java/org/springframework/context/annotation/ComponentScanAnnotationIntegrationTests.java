@@ -22,6 +22,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
 
 import example.scannable.CustomComponent;
 import example.scannable.CustomStereotype;
@@ -111,6 +112,32 @@ public class ComponentScanAnnotationIntegrationTests {
 				ctx.containsBean("fooServiceImpl"), is(true));
 	}
 
+	@Test
+	public void controlScan_WithScanTaskExecutor() {
+		ForkJoinPool executor = new ForkJoinPool(4);
+		try {
+			AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+			ctx.setScanTaskExecutor(executor);
+			ctx.scan(example.scannable._package.class.getPackage().getName());
+			ctx.refresh();
+			assertThat("parallel scan for example.scannable package failed to register FooServiceImpl bean",
+					ctx.containsBean("fooServiceImpl"), is(true));
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void viaContextRegistration_WithParallelism() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(ComponentScanAnnotatedConfig_WithParallelism.class);
+		ctx.refresh();
+		ctx.getBean(TestBean.class);
+		assertThat("@ComponentScan with parallelism did not trigger component scanning as expected",
+				ctx.containsBean("fooServiceImpl"), is(true));
+	}
+
 	@Test
 	public void viaContextRegistration_FromPackageOfConfigClass() {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
@@ -341,6 +368,16 @@ class ComponentScanAnnotatedConfig_WithValueAttribute {
 	}
 }
 
+@Configuration
+@ComponentScan(basePackages = "example.scannable", parallelism = 4)
+class ComponentScanAnnotatedConfig_WithParallelism {
+
+	@Bean
+	public TestBean testBean() {
+		return new TestBean();
+	}
+}
+
 @Configuration
 @ComponentScan
 class ComponentScanWithNoPackagesConfig {
@@ -91,6 +91,14 @@ public class ComponentScanParserTests {
 		context.close();
 	}
 
+	@Test
+	public void parallelScan() {
+		ClassPathXmlApplicationContext context = loadContext("parallelScanTests.xml");
+		assertTrue(context.containsBean("fooServiceImpl"));
+		assertTrue(context.containsBean("stubFooDao"));
+		context.close();
+	}
+
 	@Test
 	public void componentScanWithAutowiredQualifier() {
 		ClassPathXmlApplicationContext context = loadContext("componentScanWithAutowiredQualifierTests.xml");
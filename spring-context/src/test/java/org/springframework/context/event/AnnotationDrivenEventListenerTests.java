@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,12 @@
 
 package org.springframework.context.event;
 
+import java.io.IOException;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
@@ -404,6 +406,24 @@ public class AnnotationDrivenEventListenerTests {
 		}
 	}
 
+	@Test
+	public void checkedExceptionPropagated() {
+		load(CheckedExceptionEventListener.class);
+		CheckedExceptionEventListener listener = this.context.getBean(CheckedExceptionEventListener.class);
+		this.context.publishEvent("test");
+		this.eventCollector.assertEvent(listener, "test");
+		try {
+			this.context.publishEvent("fail");
+			fail("An exception should have thrown");
+		}
+		catch (UndeclaredThrowableException e) {
+			assertThat(e.getCause(), instanceOf(IOException.class));
+			assertEquals("Wrong exception", "Test exception", e.getCause().getMessage());
+			this.eventCollector.assertEvent(listener, "test", "fail");
+			this.eventCollector.assertTotalEventsCount(2);
+		}
+	}
+
 	@Test
 	public void exceptionNotPropagatedWithAsync() throws InterruptedException {
 		loadAsync(ExceptionEventListener.class);
@@ -738,6 +758,19 @@ public class AnnotationDrivenEventListenerTests {
 	}
 
 
+	@Component
+	static class CheckedExceptionEventListener extends AbstractTestEventListener {
+
+		@EventListener
+		void handle(String content) throws IOException {
+			collectEvent(content);
+			if ("fail".equals(content)) {
+				throw new IOException("Test exception");
+			}
+		}
+	}
+
+
 	@Component
 	static class AsyncEventListener extends AbstractTestEventListener {
 
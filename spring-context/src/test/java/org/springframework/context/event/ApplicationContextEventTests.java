@@ -16,11 +16,17 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.Test;
@@ -240,6 +246,85 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertEquals(2, listener1.seenEvents.size());
 	}
 
+	@Test
+	public void dispatchedListenersPerEventTypeAndSourceType() {
+		StringEventListener listener = new StringEventListener();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener);
+		SmartGenericTestEvent<String> stringEvent = new SmartGenericTestEvent<>(this, "test");
+		SmartGenericTestEvent<Long> longEvent = new SmartGenericTestEvent<>(this, 123L);
+		SmartGenericTestEvent<String> otherSourceEvent = new SmartGenericTestEvent<>("source", "test");
+
+		Collection<ApplicationListener<?>> stringListeners = getApplicationListeners(smc, stringEvent);
+		Collection<ApplicationListener<?>> longListeners = getApplicationListeners(smc, longEvent);
+		assertEquals(Collections.singletonList(listener), new ArrayList<>(stringListeners));
+		assertTrue(longListeners.isEmpty());
+		assertSame(stringListeners, getApplicationListeners(smc, stringEvent));
+		assertSame(longListeners, getApplicationListeners(smc, longEvent));
+		assertEquals(2, smc.dispatchCache.size());
+
+		// Events from several sources alternating: each source type keeps its entry
+		Collection<ApplicationListener<?>> otherSourceListeners = getApplicationListeners(smc, otherSourceEvent);
+		assertEquals(Collections.singletonList(listener), new ArrayList<>(otherSourceListeners));
+		assertSame(otherSourceListeners, getApplicationListeners(smc, otherSourceEvent));
+		assertSame(stringListeners, getApplicationListeners(smc, stringEvent));
+		assertSame(otherSourceListeners, getApplicationListeners(smc, otherSourceEvent));
+		assertEquals(2, smc.dispatchCache.size());
+	}
+
+	private Collection<ApplicationListener<?>> getApplicationListeners(
+			AbstractApplicationEventMulticaster multicaster, SmartGenericTestEvent<?> event) {
+
+		return multicaster.getApplicationListeners(event, event.getResolvableType());
+	}
+
+	@Test
+	public void dispatchedListenersUpdatedOnListenerChange() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener3 listener2 = new MyOrderedListener3();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener1);
+		smc.multicastEvent(new MyEvent(this));
+		smc.multicastEvent(new MyEvent(this));
+		assertEquals(2, listener1.seenEvents.size());
+		assertEquals(1, smc.dispatchCache.size());
+
+		smc.addApplicationListener(listener2);
+		assertEquals(0, smc.dispatchCache.size());
+		smc.multicastEvent(new MyEvent(this));
+		assertEquals(3, listener1.seenEvents.size());
+		assertEquals(1, listener2.seenEvents.size());
+
+		smc.removeApplicationListener(listener1);
+		smc.multicastEvent(new MyEvent(this));
+		assertEquals(3, listener1.seenEvents.size());
+		assertEquals(2, listener2.seenEvents.size());
+	}
+
+	@Test
+	public void dispatchedListenersPerSourceType() {
+		MyOrderedListener1 listener = new MyOrderedListener1();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener);
+		smc.addApplicationListener(new SourceTypeListener());
+		smc.multicastEvent(new MyEvent(this));
+		smc.multicastEvent(new MyEvent("source"));
+		smc.multicastEvent(new MyEvent(this));
+		assertEquals(3, listener.seenEvents.size());
+		assertEquals(1, SourceTypeListener.seenEvents.size());
+		SourceTypeListener.seenEvents.clear();
+	}
+
+	@Test
+	public void payloadEventTypeSharedPerPayloadClass() {
+		ResolvableType eventType = new PayloadApplicationEvent<>(this, "event1").getResolvableType();
+		assertSame(eventType, new PayloadApplicationEvent<>(this, "event2").getResolvableType());
+		assertEquals(ResolvableType.forClassWithGenerics(PayloadApplicationEvent.class, String.class), eventType);
+		assertNotEquals(eventType, new PayloadApplicationEvent<>(this, 1).getResolvableType());
+	}
+
 	@Test
 	public void testEventPublicationInterceptor() throws Throwable {
 		MethodInvocation invocation = mock(MethodInvocation.class);
@@ -317,6 +402,7 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 
 		AbstractApplicationEventMulticaster multicaster = context.getBean(AbstractApplicationEventMulticaster.class);
 		assertEquals(2, multicaster.retrieverCache.size());
+		assertEquals(2, multicaster.dispatchCache.size());
 
 		context.close();
 	}
@@ -511,6 +597,69 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		context.close();
 	}
 
+	@Test
+	public void listenerBeanCreatedWhilePublishingWithPerBeanSingletonLocking() throws Exception {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.getDefaultListableBeanFactory().setPerBeanSingletonLocking(true);
+		CountDownLatch listenerInCreation = new CountDownLatch(1);
+		CountDownLatch publishing = new CountDownLatch(1);
+		AtomicReference<Thread> publisher = new AtomicReference<>();
+		RootBeanDefinition bd = new RootBeanDefinition(MyEventListener.class, () -> {
+			listenerInCreation.countDown();
+			// Let the publisher wait for this listener bean before its registration as a listener
+			awaitWaiting(publisher.get(), publishing);
+			return new MyEventListener();
+		});
+		bd.setLazyInit(true);
+		context.registerBeanDefinition("listener", bd);
+		context.refresh();
+
+		MyEvent event = new MyEvent(this);
+		List<Throwable> failures = new CopyOnWriteArrayList<>();
+		publisher.set(new Thread(() -> {
+			try {
+				listenerInCreation.await();
+				publishing.countDown();
+				context.publishEvent(event);
+			}
+			catch (Throwable ex) {
+				failures.add(ex);
+			}
+		}));
+		Thread creator = new Thread(() -> {
+			try {
+				context.getBean("listener");
+			}
+			catch (Throwable ex) {
+				failures.add(ex);
+			}
+		});
+		publisher.get().start();
+		creator.start();
+		creator.join(10000);
+		publisher.get().join(10000);
+
+		assertFalse("Deadlock between listener creation and event publication", creator.isAlive());
+		assertFalse("Deadlock between listener creation and event publication", publisher.get().isAlive());
+		assertTrue(failures.toString(), failures.isEmpty());
+		assertEquals(Collections.singletonList(event), context.getBean("listener", MyEventListener.class).seenEvents);
+		context.close();
+	}
+
+	private static void awaitWaiting(Thread thread, CountDownLatch started) {
+		try {
+			started.await();
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+		long deadline = System.currentTimeMillis() + 5000;
+		while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.BLOCKED &&
+				System.currentTimeMillis() < deadline) {
+			Thread.yield();
+		}
+	}
+
 
 	@SuppressWarnings("serial")
 	public static class MyEvent extends ApplicationEvent {
@@ -530,6 +679,17 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 	}
 
 
+	public static class MyEventListener implements ApplicationListener<MyEvent> {
+
+		public final List<MyEvent> seenEvents = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void onApplicationEvent(MyEvent event) {
+			this.seenEvents.add(event);
+		}
+	}
+
+
 	public static class MyOrderedListener1 implements ApplicationListener<ApplicationEvent>, Ordered {
 
 		public final List<ApplicationEvent> seenEvents = new LinkedList<>();
@@ -585,6 +745,32 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 	}
 
 
+	public static class SourceTypeListener implements SmartApplicationListener {
+
+		public static final Set<ApplicationEvent> seenEvents = new HashSet<>();
+
+		@Override
+		public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+			return true;
+		}
+
+		@Override
+		public boolean supportsSourceType(Class<?> sourceType) {
+			return String.class == sourceType;
+		}
+
+		@Override
+		public int getOrder() {
+			return 0;
+		}
+
+		@Override
+		public void onApplicationEvent(ApplicationEvent event) {
+			seenEvents.add(event);
+		}
+	}
+
+
 	public static class MyNonSingletonListener implements ApplicationListener<ApplicationEvent> {
 
 		public static final Set<ApplicationEvent> seenEvents = new HashSet<>();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,8 +64,21 @@ public class CachedExpressionEvaluatorTests {
 		assertEquals("Cached expression should be based on type", 2, expressionEvaluator.testCache.size());
 	}
 
+	@Test
+	public void parseExpressionPerElement() {
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		Expression expression = expressionEvaluator.getTestExpression("true", method, getClass());
+		// Compiled SpEL expressions depend on the types seen, so must not be shared
+		assertNotSame(expression, expressionEvaluator.getTestExpression("true", method, Object.class));
+		hasParsedExpression("true", 2);
+	}
+
 	private void hasParsedExpression(String expression) {
-		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
+		hasParsedExpression(expression, 1);
+	}
+
+	private void hasParsedExpression(String expression, int times) {
+		verify(expressionEvaluator.getParser(), times(times)).parseExpression(expression);
 	}
 
 	private static class TestExpressionEvaluator extends CachedExpressionEvaluator {
@@ -16,13 +16,28 @@
 
 package org.springframework.context.index;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Properties;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import example.scannable.FooServiceImpl;
+import example.scannable.NamedComponent;
 import org.junit.Test;
 
+import org.springframework.beans.factory.annotation.Lookup;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
@@ -77,6 +92,66 @@ public class CandidateComponentsIndexTests {
 				contains("com.example.Foo"));
 	}
 
+	@Test
+	public void getMetadataReaderMatchesClassFile() throws IOException {
+		CandidateComponentsIndex index = createIndexWithMetadata();
+		MetadataReader indexed = index.getMetadataReader(FooServiceImpl.class.getName());
+		MetadataReader read = new SimpleMetadataReaderFactory().getMetadataReader(FooServiceImpl.class.getName());
+		assertNotNull(indexed);
+		assertEquals(read.getResource(), indexed.getResource());
+
+		AnnotationMetadata expected = read.getAnnotationMetadata();
+		AnnotationMetadata actual = indexed.getAnnotationMetadata();
+		assertEquals(expected.getClassName(), actual.getClassName());
+		assertEquals(expected.isAbstract(), actual.isAbstract());
+		assertEquals(expected.isIndependent(), actual.isIndependent());
+		assertEquals(expected.getSuperClassName(), actual.getSuperClassName());
+		assertArrayEquals(expected.getInterfaceNames(), actual.getInterfaceNames());
+		assertEquals(expected.getAnnotationTypes(), actual.getAnnotationTypes());
+		assertEquals(expected.getMetaAnnotationTypes(Service.class.getName()),
+				actual.getMetaAnnotationTypes(Service.class.getName()));
+		assertArrayEquals((String[]) expected.getAnnotationAttributes(DependsOn.class.getName()).get("value"),
+				(String[]) actual.getAnnotationAttributes(DependsOn.class.getName()).get("value"));
+		assertEquals(expected.getAnnotationAttributes(Component.class.getName()),
+				actual.getAnnotationAttributes(Component.class.getName()));
+		assertEquals(getMethodNames(expected, Lookup.class.getName()), getMethodNames(actual, Lookup.class.getName()));
+		assertTrue(actual.getAnnotatedMethods(Lookup.class.getName()).iterator().next().isAbstract());
+	}
+
+	@Test
+	public void getMetadataReaderWithExplicitValue() throws IOException {
+		CandidateComponentsIndex index = createIndexWithMetadata();
+		AnnotationMetadata metadata = index.getMetadataReader(NamedComponent.class.getName()).getAnnotationMetadata();
+		assertTrue(metadata.isConcrete());
+		assertEquals("myNamedComponent", metadata.getAnnotationAttributes(Component.class.getName()).get("value"));
+	}
+
+	@Test
+	public void getMetadataReaderWithoutMetadata() throws IOException {
+		CandidateComponentsIndex index = createIndexWithMetadata();
+		assertNull(index.getMetadataReader("example.scannable.ServiceInvocationCounter"));
+		assertNull(index.getSuperTypes("example.scannable.ServiceInvocationCounter"));
+	}
+
+	@Test
+	public void getSuperTypes() throws IOException {
+		CandidateComponentsIndex index = createIndexWithMetadata();
+		assertThat(index.getSuperTypes(FooServiceImpl.class.getName()), contains("example.scannable.FooService"));
+	}
+
+	private static CandidateComponentsIndex createIndexWithMetadata() throws IOException {
+		Properties metadata = PropertiesLoaderUtils.loadProperties(
+				new ClassPathResource("spring.components.metadata", FooServiceImpl.class));
+		return new CandidateComponentsIndex(Collections.singletonList(
+				createProperties(FooServiceImpl.class.getName(), Component.class.getName())),
+				Collections.singletonList(metadata), CandidateComponentsIndexTests.class.getClassLoader());
+	}
+
+	private static Set<String> getMethodNames(AnnotationMetadata metadata, String annotationType) {
+		return metadata.getAnnotatedMethods(annotationType).stream()
+				.map(MethodMetadata::getMethodName).collect(Collectors.toSet());
+	}
+
 	private static Properties createProperties(String key, String stereotypes) {
 		Properties properties = new Properties();
 		properties.put(key, String.join(",", stereotypes));
@@ -54,31 +54,58 @@ public class CandidateComponentsTestClassLoader extends ClassLoader {
 	 * specified resources.
 	 */
 	public static ClassLoader index(ClassLoader classLoader, Resource... resources) {
-		return new CandidateComponentsTestClassLoader(classLoader,
-				Collections.enumeration(Stream.of(resources).map(r -> {
-					try {
-						return r.getURL();
-					}
-					catch (Exception ex) {
-						throw new IllegalArgumentException("Invalid resource " + r, ex);
-					}
-				}).collect(Collectors.toList())));
+		return new CandidateComponentsTestClassLoader(classLoader, toUrls(resources));
+	}
+
+	/**
+	 * Create a test {@link ClassLoader} that creates an index with the
+	 * specified {@link Resource} and the corresponding type metadata.
+	 * @param classLoader the classloader to use for all other operations
+	 * @param resource the index resource
+	 * @param metadataResource the type metadata resource
+	 * @return a test {@link ClassLoader} with an index built based on the
+	 * specified resources.
+	 * @see CandidateComponentsIndexLoader#COMPONENTS_METADATA_RESOURCE_LOCATION
+	 */
+	public static ClassLoader indexWithMetadata(ClassLoader classLoader, Resource resource, Resource metadataResource) {
+		return new CandidateComponentsTestClassLoader(classLoader, toUrls(resource), toUrls(metadataResource));
+	}
+
+	private static Enumeration<URL> toUrls(Resource... resources) {
+		return Collections.enumeration(Stream.of(resources).map(r -> {
+			try {
+				return r.getURL();
+			}
+			catch (Exception ex) {
+				throw new IllegalArgumentException("Invalid resource " + r, ex);
+			}
+		}).collect(Collectors.toList()));
 	}
 
 
 	private final Enumeration<URL> resourceUrls;
 
+	private final Enumeration<URL> metadataUrls;
+
 	private final IOException cause;
 
 	public CandidateComponentsTestClassLoader(ClassLoader classLoader, Enumeration<URL> resourceUrls) {
+		this(classLoader, resourceUrls, Collections.emptyEnumeration());
+	}
+
+	public CandidateComponentsTestClassLoader(ClassLoader classLoader, Enumeration<URL> resourceUrls,
+			Enumeration<URL> metadataUrls) {
+
 		super(classLoader);
 		this.resourceUrls = resourceUrls;
+		this.metadataUrls = metadataUrls;
 		this.cause = null;
 	}
 
 	public CandidateComponentsTestClassLoader(ClassLoader parent, IOException cause) {
 		super(parent);
 		this.resourceUrls = null;
+		this.metadataUrls = null;
 		this.cause = cause;
 	}
 
@@ -90,6 +117,10 @@ public class CandidateComponentsTestClassLoader extends ClassLoader {
 			}
 			throw this.cause;
 		}
+		if (CandidateComponentsIndexLoader.COMPONENTS_METADATA_RESOURCE_LOCATION.equals(name) &&
+				this.metadataUrls != null) {
+			return this.metadataUrls;
+		}
 		return super.getResources(name);
 	}
 
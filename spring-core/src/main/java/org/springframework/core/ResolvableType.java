@@ -19,8 +19,10 @@ package org.springframework.core;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -66,6 +68,11 @@ import org.springframework.util.StringUtils;
  * }
  * </pre>
  *
+ * <p>As of 5.0.11, the factory methods for classes, fields, method parameters and
+ * method return types without an implementation type return canonical instances,
+ * so that repeated lookups (e.g. for generic event or converter matching) neither
+ * allocate nor repeat the resolution of supertypes and generics.
+ *
  * @author Phillip Webb
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -93,6 +100,18 @@ public class ResolvableType implements Serializable {
 	private static final ConcurrentReferenceHashMap<ResolvableType, ResolvableType> cache =
 			new ConcurrentReferenceHashMap<>(256);
 
+	/** Canonical instances for Class references and other Types without owner */
+	private static final ConcurrentReferenceHashMap<Type, ResolvableType> typeCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+	/** Canonical instances for Field types and Method return types */
+	private static final ConcurrentReferenceHashMap<Member, ResolvableType> memberCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+	/** Canonical instances for Method and Constructor parameter types */
+	private static final ConcurrentReferenceHashMap<Executable, ResolvableType[]> parameterCache =
+			new ConcurrentReferenceHashMap<>(256);
+
 
 	/**
 	 * The underlying Java type being managed.
@@ -957,6 +976,8 @@ public class ResolvableType implements Serializable {
 	 * Return a {@link ResolvableType} for the specified {@link Class},
 	 * using the full generic type information for assignability checks.
 	 * For example: {@code ResolvableType.forClass(MyArrayList.class)}.
+	 * <p>As of 5.0.11, this returns a canonical instance per class, sharing
+	 * its lazily resolved super type, interfaces and generics across callers.
 	 * @param clazz the class to introspect ({@code null} is semantically
 	 * equivalent to {@code Object.class} for typical use cases here}
 	 * @return a {@link ResolvableType} for the specified class
@@ -964,7 +985,7 @@ public class ResolvableType implements Serializable {
 	 * @see #forClassWithGenerics(Class, Class...)
 	 */
 	public static ResolvableType forClass(@Nullable Class<?> clazz) {
-		return new ResolvableType(clazz);
+		return forType(clazz != null ? clazz : Object.class, null, null);
 	}
 
 	/**
@@ -1078,13 +1099,20 @@ public class ResolvableType implements Serializable {
 
 	/**
 	 * Return a {@link ResolvableType} for the specified {@link Field}.
+	 * <p>As of 5.0.11, repeated calls for equal {@code Field} instances return a
+	 * canonical instance, exposing the field passed in on first resolution as its
+	 * {@link #getSource() source}: an equal but not necessarily identical field.
 	 * @param field the source field
 	 * @return a {@link ResolvableType} for the specified field
 	 * @see #forField(Field, Class)
 	 */
 	public static ResolvableType forField(Field field) {
 		Assert.notNull(field, "Field must not be null");
-		return forType(null, new FieldTypeProvider(field), null);
+		ResolvableType resolvableType = memberCache.get(field);
+		if (resolvableType == null) {
+			resolvableType = canonicalize(memberCache, field, forType(null, new FieldTypeProvider(field), null));
+		}
+		return resolvableType;
 	}
 
 	/**
@@ -1129,8 +1157,7 @@ public class ResolvableType implements Serializable {
 	 * @see #forField(Field)
 	 */
 	public static ResolvableType forField(Field field, int nestingLevel) {
-		Assert.notNull(field, "Field must not be null");
-		return forType(null, new FieldTypeProvider(field), null).getNested(nestingLevel);
+		return forField(field).getNested(nestingLevel);
 	}
 
 	/**
@@ -1160,7 +1187,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forConstructorParameter(Constructor<?> constructor, int parameterIndex) {
 		Assert.notNull(constructor, "Constructor must not be null");
-		return forMethodParameter(new MethodParameter(constructor, parameterIndex));
+		return forExecutableParameter(constructor, parameterIndex);
 	}
 
 	/**
@@ -1191,7 +1218,11 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forMethodReturnType(Method method) {
 		Assert.notNull(method, "Method must not be null");
-		return forMethodParameter(new MethodParameter(method, -1));
+		ResolvableType resolvableType = memberCache.get(method);
+		if (resolvableType == null) {
+			resolvableType = canonicalize(memberCache, method, forMethodParameter(new MethodParameter(method, -1)));
+		}
+		return resolvableType;
 	}
 
 	/**
@@ -1220,7 +1251,30 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forMethodParameter(Method method, int parameterIndex) {
 		Assert.notNull(method, "Method must not be null");
-		return forMethodParameter(new MethodParameter(method, parameterIndex));
+		return (parameterIndex == -1 ? forMethodReturnType(method) : forExecutableParameter(method, parameterIndex));
+	}
+
+	/**
+	 * Return the canonical {@link ResolvableType} for the specified parameter,
+	 * resolving all parameters of the given {@link Executable} on first access.
+	 */
+	private static ResolvableType forExecutableParameter(Executable executable, int parameterIndex) {
+		if (parameterIndex < 0 || parameterIndex >= executable.getParameterCount()) {
+			// Let MethodParameter handle (or reject) any special index
+			return forMethodParameter(MethodParameter.forExecutable(executable, parameterIndex));
+		}
+		ResolvableType[] parameterTypes = parameterCache.get(executable);
+		if (parameterTypes == null) {
+			parameterTypes = new ResolvableType[executable.getParameterCount()];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				parameterTypes[i] = forMethodParameter(MethodParameter.forExecutable(executable, i));
+			}
+			ResolvableType[] existing = parameterCache.putIfAbsent(executable, parameterTypes);
+			if (existing != null) {
+				parameterTypes = existing;
+			}
+		}
+		return parameterTypes[parameterIndex];
 	}
 
 	/**
@@ -1387,6 +1441,17 @@ public class ResolvableType implements Serializable {
 			return NONE;
 		}
 
+		// Without a type provider or owner, the type itself identifies the
+		// canonical instance, so it can be looked up without any allocation...
+		if (typeProvider == null && variableResolver == null) {
+			ResolvableType resolvableType = typeCache.get(type);
+			if (resolvableType == null) {
+				resolvableType = canonicalize(typeCache, type, (type instanceof Class ?
+						new ResolvableType((Class<?>) type) : new ResolvableType(type, null, null, type.hashCode())));
+			}
+			return resolvableType;
+		}
+
 		// For simple Class references, build the wrapper right away -
 		// no expensive resolution necessary, so not worth caching...
 		if (type instanceof Class) {
@@ -1407,12 +1472,23 @@ public class ResolvableType implements Serializable {
 		return resultType;
 	}
 
+	private static <K> ResolvableType canonicalize(
+			ConcurrentReferenceHashMap<K, ResolvableType> cache, K key, ResolvableType resolvableType) {
+
+		ResolvableType existing = cache.putIfAbsent(key, resolvableType);
+		return (existing != null ? existing : resolvableType);
+	}
+
 	/**
-	 * Clear the internal {@code ResolvableType}/{@code SerializableTypeWrapper} cache.
+	 * Clear the internal {@code ResolvableType}/{@code SerializableTypeWrapper} cache,
+	 * including the canonical instances for classes, fields and method parameters.
 	 * @since 4.2
 	 */
 	public static void clearCache() {
 		cache.clear();
+		typeCache.clear();
+		memberCache.clear();
+		parameterCache.clear();
 		SerializableTypeWrapper.cache.clear();
 	}
 
@@ -19,18 +19,19 @@ package org.springframework.core;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedType;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.GenericDeclaration;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 
 import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
@@ -45,21 +46,21 @@ import org.springframework.util.ReflectionUtils;
  * {@link #forGenericInterfaces(Class) interfaces} or {@link #forTypeParameters(Class)
  * type parameters} or a regular {@link Class} can also be used as source.
  *
- * <p>The returned type will either be a {@link Class} or a serializable proxy of
+ * <p>The returned type will either be a {@link Class} or a serializable wrapper of
  * {@link GenericArrayType}, {@link ParameterizedType}, {@link TypeVariable} or
  * {@link WildcardType}. With the exception of {@link Class} (which is final) calls
  * to methods that return further {@link Type}s (for example
  * {@link GenericArrayType#getGenericComponentType()}) will be automatically wrapped.
  *
+ * <p>As of 5.0.11, the wrappers are plain classes delegating to the underlying
+ * type directly, rather than JDK proxies dispatching each call via reflection.
+ *
  * @author Phillip Webb
  * @author Juergen Hoeller
  * @since 4.0
  */
 abstract class SerializableTypeWrapper {
 
-	private static final Class<?>[] SUPPORTED_SERIALIZABLE_TYPES = {
-			GenericArrayType.class, ParameterizedType.class, TypeVariable.class, WildcardType.class};
-
 	static final ConcurrentReferenceHashMap<Type, Type> cache = new ConcurrentReferenceHashMap<>(256);
 
 
@@ -140,27 +141,33 @@ abstract class SerializableTypeWrapper {
 			return providedType;
 		}
 
-		// Obtain a serializable type proxy for the given provider...
+		// Obtain a serializable type wrapper for the given provider...
 		Type cached = cache.get(providedType);
 		if (cached != null) {
 			return cached;
 		}
-		for (Class<?> type : SUPPORTED_SERIALIZABLE_TYPES) {
-			if (type.isInstance(providedType)) {
-				ClassLoader classLoader = provider.getClass().getClassLoader();
-				Class<?>[] interfaces = new Class<?>[] {type, SerializableTypeProxy.class, Serializable.class};
-				InvocationHandler handler = new TypeProxyInvocationHandler(provider);
-				cached = (Type) Proxy.newProxyInstance(classLoader, interfaces, handler);
-				cache.put(providedType, cached);
-				return cached;
-			}
+		if (providedType instanceof ParameterizedType) {
+			cached = new SerializableParameterizedType(provider);
+		}
+		else if (providedType instanceof GenericArrayType) {
+			cached = new SerializableGenericArrayType(provider);
 		}
-		throw new IllegalArgumentException("Unsupported Type class: " + providedType.getClass().getName());
+		else if (providedType instanceof TypeVariable) {
+			cached = new SerializableTypeVariable(provider);
+		}
+		else if (providedType instanceof WildcardType) {
+			cached = new SerializableWildcardType(provider);
+		}
+		else {
+			throw new IllegalArgumentException("Unsupported Type class: " + providedType.getClass().getName());
+		}
+		cache.put(providedType, cached);
+		return cached;
 	}
 
 
 	/**
-	 * Additional interface implemented by the type proxy.
+	 * Additional interface implemented by the type wrappers.
 	 */
 	interface SerializableTypeProxy {
 
@@ -195,54 +202,204 @@ abstract class SerializableTypeWrapper {
 
 
 	/**
-	 * {@link Serializable} {@link InvocationHandler} used by the proxied {@link Type}.
-	 * Provides serialization support and enhances any methods that return {@code Type}
-	 * or {@code Type[]}.
+	 * Base class for the {@link Serializable} {@link Type} wrappers, delegating
+	 * to the type obtained from the {@link TypeProvider} and wrapping any
+	 * further {@code Type} or {@code Type[]} returned from it.
 	 */
 	@SuppressWarnings("serial")
-	private static class TypeProxyInvocationHandler implements InvocationHandler, Serializable {
+	private abstract static class SerializableTypeHandle<T extends Type>
+			implements Type, SerializableTypeProxy, Serializable {
 
 		private final TypeProvider provider;
 
-		public TypeProxyInvocationHandler(TypeProvider provider) {
+		protected SerializableTypeHandle(TypeProvider provider) {
 			this.provider = provider;
 		}
 
 		@Override
+		public TypeProvider getTypeProvider() {
+			return this.provider;
+		}
+
+		@SuppressWarnings("unchecked")
+		protected final T getWrappedType() {
+			return (T) this.provider.getType();
+		}
+
 		@Nullable
-		public Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
-			if (method.getName().equals("equals") && args != null) {
-				Object other = args[0];
-				// Unwrap proxies for speed
-				if (other instanceof Type) {
-					other = unwrap((Type) other);
-				}
-				return ObjectUtils.nullSafeEquals(this.provider.getType(), other);
-			}
-			else if (method.getName().equals("hashCode")) {
-				return ObjectUtils.nullSafeHashCode(this.provider.getType());
-			}
-			else if (method.getName().equals("getTypeProvider")) {
-				return this.provider;
+		protected final Type wrap(Method method, @Nullable Type type) {
+			if (type == null || type instanceof Serializable) {
+				return type;
 			}
+			return forTypeProvider(new MethodInvokeTypeProvider(this.provider, method, -1, type));
+		}
 
-			if (Type.class == method.getReturnType() && args == null) {
-				return forTypeProvider(new MethodInvokeTypeProvider(this.provider, method, -1));
-			}
-			else if (Type[].class == method.getReturnType() && args == null) {
-				Type[] result = new Type[((Type[]) method.invoke(this.provider.getType())).length];
-				for (int i = 0; i < result.length; i++) {
-					result[i] = forTypeProvider(new MethodInvokeTypeProvider(this.provider, method, i));
-				}
-				return result;
+		protected final Type[] wrap(Method method, Type[] types) {
+			Type[] result = new Type[types.length];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = (types[i] instanceof Serializable ? types[i] :
+						forTypeProvider(new MethodInvokeTypeProvider(this.provider, method, i, types)));
 			}
+			return result;
+		}
 
-			try {
-				return method.invoke(this.provider.getType(), args);
-			}
-			catch (InvocationTargetException ex) {
-				throw ex.getTargetException();
+		@Override
+		public String getTypeName() {
+			return getWrappedType().getTypeName();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			// Unwrap other wrappers for speed
+			if (other instanceof Type) {
+				other = unwrap((Type) other);
 			}
+			return ObjectUtils.nullSafeEquals(this.provider.getType(), other);
+		}
+
+		@Override
+		public int hashCode() {
+			return ObjectUtils.nullSafeHashCode(this.provider.getType());
+		}
+
+		@Override
+		public String toString() {
+			return getWrappedType().toString();
+		}
+	}
+
+
+	/**
+	 * {@link Serializable} wrapper for a {@link ParameterizedType}.
+	 */
+	@SuppressWarnings("serial")
+	private static final class SerializableParameterizedType
+			extends SerializableTypeHandle<ParameterizedType> implements ParameterizedType {
+
+		private static final Method GET_ACTUAL_TYPE_ARGUMENTS =
+				ClassUtils.getMethod(ParameterizedType.class, "getActualTypeArguments");
+
+		private static final Method GET_RAW_TYPE = ClassUtils.getMethod(ParameterizedType.class, "getRawType");
+
+		private static final Method GET_OWNER_TYPE = ClassUtils.getMethod(ParameterizedType.class, "getOwnerType");
+
+		public SerializableParameterizedType(TypeProvider provider) {
+			super(provider);
+		}
+
+		@Override
+		public Type[] getActualTypeArguments() {
+			return wrap(GET_ACTUAL_TYPE_ARGUMENTS, getWrappedType().getActualTypeArguments());
+		}
+
+		@Override
+		public Type getRawType() {
+			return wrap(GET_RAW_TYPE, getWrappedType().getRawType());
+		}
+
+		@Override
+		@Nullable
+		public Type getOwnerType() {
+			return wrap(GET_OWNER_TYPE, getWrappedType().getOwnerType());
+		}
+	}
+
+
+	/**
+	 * {@link Serializable} wrapper for a {@link GenericArrayType}.
+	 */
+	@SuppressWarnings("serial")
+	private static final class SerializableGenericArrayType
+			extends SerializableTypeHandle<GenericArrayType> implements GenericArrayType {
+
+		private static final Method GET_GENERIC_COMPONENT_TYPE =
+				ClassUtils.getMethod(GenericArrayType.class, "getGenericComponentType");
+
+		public SerializableGenericArrayType(TypeProvider provider) {
+			super(provider);
+		}
+
+		@Override
+		public Type getGenericComponentType() {
+			return wrap(GET_GENERIC_COMPONENT_TYPE, getWrappedType().getGenericComponentType());
+		}
+	}
+
+
+	/**
+	 * {@link Serializable} wrapper for a {@link WildcardType}.
+	 */
+	@SuppressWarnings("serial")
+	private static final class SerializableWildcardType
+			extends SerializableTypeHandle<WildcardType> implements WildcardType {
+
+		private static final Method GET_UPPER_BOUNDS = ClassUtils.getMethod(WildcardType.class, "getUpperBounds");
+
+		private static final Method GET_LOWER_BOUNDS = ClassUtils.getMethod(WildcardType.class, "getLowerBounds");
+
+		public SerializableWildcardType(TypeProvider provider) {
+			super(provider);
+		}
+
+		@Override
+		public Type[] getUpperBounds() {
+			return wrap(GET_UPPER_BOUNDS, getWrappedType().getUpperBounds());
+		}
+
+		@Override
+		public Type[] getLowerBounds() {
+			return wrap(GET_LOWER_BOUNDS, getWrappedType().getLowerBounds());
+		}
+	}
+
+
+	/**
+	 * {@link Serializable} wrapper for a {@link TypeVariable}.
+	 */
+	@SuppressWarnings("serial")
+	private static final class SerializableTypeVariable
+			extends SerializableTypeHandle<TypeVariable<?>> implements TypeVariable<GenericDeclaration> {
+
+		private static final Method GET_BOUNDS = ClassUtils.getMethod(TypeVariable.class, "getBounds");
+
+		public SerializableTypeVariable(TypeProvider provider) {
+			super(provider);
+		}
+
+		@Override
+		public Type[] getBounds() {
+			return wrap(GET_BOUNDS, getWrappedType().getBounds());
+		}
+
+		@Override
+		public GenericDeclaration getGenericDeclaration() {
+			return getWrappedType().getGenericDeclaration();
+		}
+
+		@Override
+		public String getName() {
+			return getWrappedType().getName();
+		}
+
+		@Override
+		public AnnotatedType[] getAnnotatedBounds() {
+			return getWrappedType().getAnnotatedBounds();
+		}
+
+		@Override
+		@Nullable
+		public <A extends Annotation> A getAnnotation(Class<A> annotationClass) {
+			return getWrappedType().getAnnotation(annotationClass);
+		}
+
+		@Override
+		public Annotation[] getAnnotations() {
+			return getWrappedType().getAnnotations();
+		}
+
+		@Override
+		public Annotation[] getDeclaredAnnotations() {
+			return getWrappedType().getDeclaredAnnotations();
 		}
 	}
 
@@ -368,6 +525,16 @@ abstract class SerializableTypeWrapper {
 			this.method = method;
 		}
 
+		/**
+		 * Create a new {@code MethodInvokeTypeProvider} for an already known
+		 * result of invoking the given method on the provided type.
+		 * @since 5.0.11
+		 */
+		public MethodInvokeTypeProvider(TypeProvider provider, Method method, int index, @Nullable Object result) {
+			this(provider, method, index);
+			this.result = result;
+		}
+
 		@Override
 		@Nullable
 		public Type getType() {
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Base class for synthesized annotations that are generated as classes,
+ * holding their resolved attribute values in final fields. Generated
+ * subclasses implement the annotation type's attribute methods as well
+ * as {@link #annotationType()}; this class provides {@link #equals},
+ * {@link #hashCode} and {@link #toString} as defined by {@link Annotation}.
+ *
+ * <p><b>NOTE: This is an internal class.</b> It is just public in order to
+ * allow for access from generated subclasses in a different ClassLoader.
+ *
+ * @since 5.0.11
+ * @see SynthesizedAnnotationGenerator
+ * @see SynthesizedAnnotationInvocationHandler
+ */
+public abstract class AbstractSynthesizedAnnotation implements Annotation, SynthesizedAnnotation {
+
+	private int hashCode;
+
+
+	/**
+	 * See {@link Annotation#equals(Object)} for a definition of the required algorithm.
+	 * @param other the other object to compare against
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!annotationType().isInstance(other)) {
+			return false;
+		}
+
+		for (Method attributeMethod : AnnotationUtils.getAttributeMethods(annotationType())) {
+			Object thisValue = ReflectionUtils.invokeMethod(attributeMethod, this);
+			Object otherValue = ReflectionUtils.invokeMethod(attributeMethod, other);
+			if (!ObjectUtils.nullSafeEquals(thisValue, otherValue)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * See {@link Annotation#hashCode()} for a definition of the required algorithm.
+	 */
+	@Override
+	public int hashCode() {
+		int result = this.hashCode;
+		if (result == 0) {
+			for (Method attributeMethod : AnnotationUtils.getAttributeMethods(annotationType())) {
+				Object value = ReflectionUtils.invokeMethod(attributeMethod, this);
+				int hashCode = (value != null && value.getClass().isArray() ?
+						SynthesizedAnnotationInvocationHandler.hashCodeForArray(value) : ObjectUtils.nullSafeHashCode(value));
+				result += (127 * attributeMethod.getName().hashCode()) ^ hashCode;
+			}
+			this.hashCode = result;
+		}
+		return result;
+	}
+
+	/**
+	 * See {@link Annotation#toString()} for guidelines on the recommended format.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("@").append(annotationType().getName()).append("(");
+
+		Iterator<Method> iterator = AnnotationUtils.getAttributeMethods(annotationType()).iterator();
+		while (iterator.hasNext()) {
+			Method attributeMethod = iterator.next();
+			sb.append(attributeMethod.getName());
+			sb.append('=');
+			sb.append(SynthesizedAnnotationInvocationHandler.attributeValueToString(
+					ReflectionUtils.invokeMethod(attributeMethod, this)));
+			sb.append(iterator.hasNext() ? ", " : "");
+		}
+
+		return sb.append(")").toString();
+	}
+
+}
@@ -18,6 +18,7 @@ package org.springframework.core.annotation;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -28,10 +29,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
@@ -86,6 +89,15 @@ import org.springframework.util.MultiValueMap;
  * search algorithm manually traverses type and method hierarchies and thereby
  * implicitly supports annotation inheritance without a need for {@code @Inherited}.
  *
+ * <h3>Merged Annotation Index</h3>
+ * <p>The results of {@code isAnnotated()}, {@code hasAnnotation()},
+ * {@code getMergedAnnotationAttributes()}, {@code getMergedAnnotation()},
+ * {@code findMergedAnnotationAttributes()} and {@code findMergedAnnotation()}
+ * for classes, methods, fields and constructors are indexed per element, so that
+ * each search is performed only once. Returned {@code AnnotationAttributes} are
+ * copies which may be modified freely. The index is released along with the
+ * other annotation caches through {@link AnnotationUtils#clearCache()}.
+ *
  * @author Phillip Webb
  * @author Juergen Hoeller
  * @author Sam Brannen
@@ -107,6 +119,9 @@ public class AnnotatedElementUtils {
 
 	private static final Processor<Boolean> alwaysTrueAnnotationProcessor = new AlwaysTrueBooleanAnnotationProcessor();
 
+	private static final Map<AnnotatedElement, MergedAnnotationIndex> mergedAnnotationIndexCache =
+			new ConcurrentReferenceHashMap<>(256);
+
 
 	/**
 	 * Build an adapted {@link AnnotatedElement} for the given annotations,
@@ -261,7 +276,8 @@ public class AnnotatedElementUtils {
 		if (element.isAnnotationPresent(annotationType)) {
 			return true;
 		}
-		return Boolean.TRUE.equals(searchWithGetSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
+		return Boolean.TRUE.equals(getIndexed(element, annotationType, MergedAnnotationIndex.IS_ANNOTATED,
+				() -> searchWithGetSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor)));
 	}
 
 	/**
@@ -277,7 +293,8 @@ public class AnnotatedElementUtils {
 	 * @return {@code true} if a matching annotation is present
 	 */
 	public static boolean isAnnotated(AnnotatedElement element, String annotationName) {
-		return Boolean.TRUE.equals(searchWithGetSemantics(element, null, annotationName, alwaysTrueAnnotationProcessor));
+		return Boolean.TRUE.equals(getIndexed(element, annotationName, MergedAnnotationIndex.IS_ANNOTATED,
+				() -> searchWithGetSemantics(element, null, annotationName, alwaysTrueAnnotationProcessor)));
 	}
 
 	/**
@@ -301,10 +318,12 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes getMergedAnnotationAttributes(
 			AnnotatedElement element, Class<? extends Annotation> annotationType) {
 
-		AnnotationAttributes attributes = searchWithGetSemantics(element, annotationType, null,
-				new MergedAnnotationAttributesProcessor());
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, false, false);
-		return attributes;
+		return MergedAnnotationIndex.copy(getIndexed(element, annotationType, MergedAnnotationIndex.GET_ATTRIBUTES, () -> {
+			AnnotationAttributes attributes = searchWithGetSemantics(element, annotationType, null,
+					new MergedAnnotationAttributesProcessor());
+			AnnotationUtils.postProcessAnnotationAttributes(element, attributes, false, false);
+			return attributes;
+		}));
 	}
 
 	/**
@@ -360,10 +379,13 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes getMergedAnnotationAttributes(AnnotatedElement element,
 			String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithGetSemantics(element, null, annotationName,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		int kind = attributesLookup(MergedAnnotationIndex.GET_ATTRIBUTES, classValuesAsString, nestedAnnotationsAsMap);
+		return MergedAnnotationIndex.copy(getIndexed(element, annotationName, kind, () -> {
+			AnnotationAttributes attributes = searchWithGetSemantics(element, null, annotationName,
+					new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
+			AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
+			return attributes;
+		}));
 	}
 
 	/**
@@ -393,8 +415,10 @@ public class AnnotatedElementUtils {
 		}
 
 		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = getMergedAnnotationAttributes(element, annotationType);
-		return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+		return getIndexed(element, annotationType, MergedAnnotationIndex.GET_ANNOTATION, () -> {
+			AnnotationAttributes attributes = getMergedAnnotationAttributes(element, annotationType);
+			return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+		});
 	}
 
 	/**
@@ -570,7 +594,8 @@ public class AnnotatedElementUtils {
 		if (element.isAnnotationPresent(annotationType)) {
 			return true;
 		}
-		return Boolean.TRUE.equals(searchWithFindSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
+		return Boolean.TRUE.equals(getIndexed(element, annotationType, MergedAnnotationIndex.HAS_ANNOTATION,
+				() -> searchWithFindSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor)));
 	}
 
 	/**
@@ -604,10 +629,13 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			Class<? extends Annotation> annotationType, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithFindSemantics(element, annotationType, null,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		int kind = attributesLookup(MergedAnnotationIndex.FIND_ATTRIBUTES, classValuesAsString, nestedAnnotationsAsMap);
+		return MergedAnnotationIndex.copy(getIndexed(element, annotationType, kind, () -> {
+			AnnotationAttributes attributes = searchWithFindSemantics(element, annotationType, null,
+					new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
+			AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
+			return attributes;
+		}));
 	}
 
 	/**
@@ -641,10 +669,13 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithFindSemantics(element, null, annotationName,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		int kind = attributesLookup(MergedAnnotationIndex.FIND_ATTRIBUTES, classValuesAsString, nestedAnnotationsAsMap);
+		return MergedAnnotationIndex.copy(getIndexed(element, annotationName, kind, () -> {
+			AnnotationAttributes attributes = searchWithFindSemantics(element, null, annotationName,
+					new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
+			AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
+			return attributes;
+		}));
 	}
 
 	/**
@@ -674,8 +705,10 @@ public class AnnotatedElementUtils {
 		}
 
 		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = findMergedAnnotationAttributes(element, annotationType, false, false);
-		return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+		return getIndexed(element, annotationType, MergedAnnotationIndex.FIND_ANNOTATION, () -> {
+			AnnotationAttributes attributes = findMergedAnnotationAttributes(element, annotationType, false, false);
+			return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+		});
 	}
 
 	/**
@@ -774,6 +807,63 @@ public class AnnotatedElementUtils {
 		return postProcessAndSynthesizeAggregatedResults(element, annotationType, processor.getAggregatedResults());
 	}
 
+	/**
+	 * Return the estimated number of bytes retained by the merged annotation
+	 * index, i.e. by the indexed lookup results for all annotated elements.
+	 * <p>This is a rough estimate, assuming a 64-bit JVM with compressed
+	 * references, and is mainly meant for diagnostic purposes.
+	 * @since 5.0.11
+	 * @see AnnotationUtils#clearCache()
+	 */
+	public static long getMergedAnnotationIndexFootprint() {
+		long footprint = 0;
+		for (MergedAnnotationIndex index : mergedAnnotationIndexCache.values()) {
+			// Cache entry and soft reference to the index
+			footprint += 64 + index.estimateMemoryFootprint();
+		}
+		return footprint;
+	}
+
+	/**
+	 * Clear the merged annotation index.
+	 * @see AnnotationUtils#clearCache()
+	 */
+	static void clearMergedAnnotationIndex() {
+		mergedAnnotationIndexCache.clear();
+	}
+
+	/**
+	 * Return the result of the given lookup from the merged annotation index of
+	 * the given element, performing the lookup only if it has not been indexed yet.
+	 * <p>Elements other than classes and members (e.g. adapted elements from
+	 * {@link #forAnnotations}) are not indexed.
+	 * @param element the annotated element
+	 * @param annotationKey the annotation type or annotation type name
+	 * @param kind the kind of lookup, as defined by {@link MergedAnnotationIndex}
+	 * @param resolver the actual lookup
+	 * @return the (possibly indexed) lookup result
+	 */
+	@Nullable
+	private static <T> T getIndexed(AnnotatedElement element, Object annotationKey, int kind, Supplier<T> resolver) {
+		if (!(element instanceof Class || element instanceof Member)) {
+			return resolver.get();
+		}
+		MergedAnnotationIndex index = mergedAnnotationIndexCache.get(element);
+		if (index == null) {
+			index = new MergedAnnotationIndex();
+			MergedAnnotationIndex existing = mergedAnnotationIndexCache.putIfAbsent(element, index);
+			if (existing != null) {
+				index = existing;
+			}
+		}
+		return index.get(annotationKey, kind, resolver);
+	}
+
+	private static int attributesLookup(int kind, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+		return kind | (classValuesAsString ? MergedAnnotationIndex.CLASS_VALUES_AS_STRING : 0) |
+				(nestedAnnotationsAsMap ? MergedAnnotationIndex.NESTED_ANNOTATIONS_AS_MAP : 0);
+	}
+
 	/**
 	 * Search for annotations of the specified {@code annotationName} or
 	 * {@code annotationType} on the specified {@code element}, following
@@ -1513,6 +1513,9 @@ public abstract class AnnotationUtils {
 	 * by wrapping it in a dynamic proxy that transparently enforces
 	 * <em>attribute alias</em> semantics for annotation attributes that are
 	 * annotated with {@link AliasFor @AliasFor}.
+	 * <p>As of 5.0.11, public annotation types are synthesized as instances of
+	 * a generated class holding the resolved attribute values in final fields
+	 * instead, unless the attribute values cannot be resolved upfront.
 	 * @param annotation the annotation to synthesize
 	 * @param annotatedElement the element that is annotated with the supplied
 	 * annotation; may be {@code null} if unknown
@@ -1544,6 +1547,11 @@ public abstract class AnnotationUtils {
 
 		DefaultAnnotationAttributeExtractor attributeExtractor =
 				new DefaultAnnotationAttributeExtractor(annotation, annotatedElement);
+		A synthesized = SynthesizedAnnotationGenerator.synthesize(attributeExtractor);
+		if (synthesized != null) {
+			return synthesized;
+		}
+
 		InvocationHandler handler = new SynthesizedAnnotationInvocationHandler(attributeExtractor);
 
 		// Can always expose Spring's SynthesizedAnnotation marker since we explicitly check for a
@@ -1587,8 +1595,16 @@ public abstract class AnnotationUtils {
 
 		MapAnnotationAttributeExtractor attributeExtractor =
 				new MapAnnotationAttributeExtractor(attributes, annotationType, annotatedElement);
+		boolean exposeSynthesizedMarker = canExposeSynthesizedMarker(annotationType);
+		if (exposeSynthesizedMarker) {
+			A synthesized = SynthesizedAnnotationGenerator.synthesize(attributeExtractor);
+			if (synthesized != null) {
+				return synthesized;
+			}
+		}
+
 		InvocationHandler handler = new SynthesizedAnnotationInvocationHandler(attributeExtractor);
-		Class<?>[] exposedInterfaces = (canExposeSynthesizedMarker(annotationType) ?
+		Class<?>[] exposedInterfaces = (exposeSynthesizedMarker ?
 				new Class<?>[] {annotationType, SynthesizedAnnotation.class} : new Class<?>[] {annotationType});
 		return (A) Proxy.newProxyInstance(annotationType.getClassLoader(), exposedInterfaces, handler);
 	}
@@ -1951,7 +1967,8 @@ public abstract class AnnotationUtils {
 	}
 
 	/**
-	 * Clear the internal annotation metadata cache.
+	 * Clear the internal annotation metadata cache, including the merged
+	 * annotation index of {@link AnnotatedElementUtils}.
 	 * @since 4.3.15
 	 */
 	public static void clearCache() {
@@ -1962,6 +1979,7 @@ public abstract class AnnotationUtils {
 		attributeAliasesCache.clear();
 		attributeMethodsCache.clear();
 		aliasDescriptorCache.clear();
+		AnnotatedElementUtils.clearMergedAnnotationIndex();
 	}
 
 
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Index of the merged annotation lookups performed against a single
+ * {@link java.lang.reflect.AnnotatedElement}, holding the resolved and
+ * alias-processed result of each lookup so that subsequent lookups of the
+ * same kind are a plain table read.
+ *
+ * <p>Entries are kept in a single flat array of (annotation key, lookup kind,
+ * result) triples which is replaced on write, since an element is typically
+ * queried for a handful of annotation types only.
+ *
+ * @since 5.0.11
+ * @see AnnotatedElementUtils
+ */
+final class MergedAnnotationIndex {
+
+	/** Lookup kind: presence with get semantics */
+	static final int IS_ANNOTATED = 0;
+
+	/** Lookup kind: presence with find semantics */
+	static final int HAS_ANNOTATION = 1;
+
+	/** Lookup kind: merged attributes with get semantics */
+	static final int GET_ATTRIBUTES = 2;
+
+	/** Lookup kind: merged attributes with find semantics */
+	static final int FIND_ATTRIBUTES = 3;
+
+	/** Lookup kind: synthesized merged annotation with get semantics */
+	static final int GET_ANNOTATION = 4;
+
+	/** Lookup kind: synthesized merged annotation with find semantics */
+	static final int FIND_ANNOTATION = 5;
+
+	/** Flag for attribute lookups: Class references converted into Strings */
+	static final int CLASS_VALUES_AS_STRING = 8;
+
+	/** Flag for attribute lookups: nested annotations converted into maps */
+	static final int NESTED_ANNOTATIONS_AS_MAP = 16;
+
+	private static final Object[] EMPTY_TABLE = new Object[0];
+
+	/** Placeholder for a {@code null} lookup result */
+	private static final Object NO_RESULT = new Object();
+
+	/** Assumed object header and array header sizes, with compressed references */
+	private static final int OBJECT_HEADER_SIZE = 16;
+
+	private static final int REFERENCE_SIZE = 4;
+
+
+	private volatile Object[] table = EMPTY_TABLE;
+
+
+	/**
+	 * Return the result of the given lookup, resolving and indexing it if
+	 * it has not been performed against this element before.
+	 * @param annotationKey the annotation type or annotation type name
+	 * @param kind the kind of lookup, along with any flags
+	 * @param resolver the resolver for the actual result
+	 * @return the (possibly indexed) result
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	<T> T get(Object annotationKey, int kind, Supplier<T> resolver) {
+		Object result = find(this.table, annotationKey, kind);
+		if (result == null) {
+			result = resolver.get();
+			if (result == null) {
+				result = NO_RESULT;
+			}
+			synchronized (this) {
+				Object[] table = this.table;
+				Object existing = find(table, annotationKey, kind);
+				if (existing != null) {
+					result = existing;
+				}
+				else {
+					Object[] newTable = Arrays.copyOf(table, table.length + 3);
+					newTable[table.length] = annotationKey;
+					newTable[table.length + 1] = kind;
+					newTable[table.length + 2] = result;
+					this.table = newTable;
+				}
+			}
+		}
+		return (result != NO_RESULT ? (T) result : null);
+	}
+
+	@Nullable
+	private static Object find(Object[] table, Object annotationKey, int kind) {
+		for (int i = 0; i < table.length; i += 3) {
+			if ((Integer) table[i + 1] == kind && annotationKey.equals(table[i])) {
+				return table[i + 2];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return the number of lookups held in this index.
+	 */
+	int size() {
+		return this.table.length / 3;
+	}
+
+	/**
+	 * Estimate the number of bytes retained by this index, including the
+	 * indexed attribute maps and synthesized annotations but not the
+	 * annotation keys or attribute values, which are shared with the
+	 * annotation types and annotation instances themselves.
+	 */
+	long estimateMemoryFootprint() {
+		Object[] table = this.table;
+		long size = 2 * OBJECT_HEADER_SIZE + table.length * REFERENCE_SIZE;
+		for (int i = 2; i < table.length; i += 3) {
+			size += estimateMemoryFootprint(table[i]);
+		}
+		return size;
+	}
+
+	private static long estimateMemoryFootprint(Object result) {
+		if (result instanceof Map) {
+			// LinkedHashMap with its entry table and linked entries
+			Map<?, ?> map = (Map<?, ?>) result;
+			long size = 4 * OBJECT_HEADER_SIZE + map.size() * (2 * REFERENCE_SIZE + 40);
+			for (Object value : map.values()) {
+				size += estimateMemoryFootprint(value);
+			}
+			return size;
+		}
+		if (result instanceof AbstractSynthesizedAnnotation) {
+			// Generated class with one field per attribute
+			Class<? extends Annotation> annotationType = ((Annotation) result).annotationType();
+			return OBJECT_HEADER_SIZE + AnnotationUtils.getAttributeMethods(annotationType).size() * REFERENCE_SIZE;
+		}
+		if (result instanceof SynthesizedAnnotation) {
+			// JDK proxy, invocation handler, attribute extractor and value cache
+			return 8 * OBJECT_HEADER_SIZE;
+		}
+		if (result instanceof Object[]) {
+			Object[] array = (Object[]) result;
+			long size = OBJECT_HEADER_SIZE + array.length * REFERENCE_SIZE;
+			for (Object element : array) {
+				size += estimateMemoryFootprint(element);
+			}
+			return size;
+		}
+		return 0;
+	}
+
+
+	/**
+	 * Create a copy of the given indexed attributes, so that callers may modify
+	 * the returned map (including nested maps and arrays) without affecting
+	 * the index.
+	 */
+	@Nullable
+	static AnnotationAttributes copy(@Nullable AnnotationAttributes attributes) {
+		if (attributes == null) {
+			return null;
+		}
+		AnnotationAttributes copy = new AnnotationAttributes(attributes);
+		for (Map.Entry<String, Object> entry : copy.entrySet()) {
+			Object value = entry.getValue();
+			if (value instanceof AnnotationAttributes || (value != null && value.getClass().isArray())) {
+				entry.setValue(copyValue(value));
+			}
+		}
+		return copy;
+	}
+
+	private static Object copyValue(Object value) {
+		if (value instanceof AnnotationAttributes) {
+			return copy((AnnotationAttributes) value);
+		}
+		if (value instanceof Object[]) {
+			Object[] array = ((Object[]) value).clone();
+			for (int i = 0; i < array.length; i++) {
+				if (array[i] instanceof AnnotationAttributes) {
+					array[i] = copy((AnnotationAttributes) array[i]);
+				}
+			}
+			return array;
+		}
+		// Primitive array
+		int length = Array.getLength(value);
+		Object array = Array.newInstance(value.getClass().getComponentType(), length);
+		System.arraycopy(value, 0, array, 0, length);
+		return array;
+	}
+
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Generates synthesized annotations as classes which extend
+ * {@link AbstractSynthesizedAnnotation} and implement the annotation type,
+ * with one final field per attribute. Attribute values are resolved once, at
+ * synthesis time, and each attribute method simply returns its field (or a
+ * clone of it, for non-empty arrays).
+ *
+ * <p>Annotation types that cannot be implemented from generated code, i.e.
+ * non-public annotation types or attribute types and annotation types whose
+ * ClassLoader does not see Spring's {@link SynthesizedAnnotation} marker,
+ * are left to {@link SynthesizedAnnotationInvocationHandler} based proxies.
+ * The same applies to attribute values which cannot be resolved upfront, e.g.
+ * in case of conflicting alias declarations, in order to report such errors
+ * on attribute access as before.
+ *
+ * @since 5.0.11
+ * @see AnnotationUtils#synthesizeAnnotation(Annotation, java.lang.reflect.AnnotatedElement)
+ * @see AnnotationUtils#synthesizeAnnotation(Map, Class, java.lang.reflect.AnnotatedElement)
+ */
+final class SynthesizedAnnotationGenerator implements Opcodes {
+
+	private static final String SUPERCLASS_INTERNAL_NAME = Type.getInternalName(AbstractSynthesizedAnnotation.class);
+
+	/** Placeholder for annotation types that cannot be generated */
+	private static final GeneratedType NOT_GENERATED = new GeneratedType();
+
+	/**
+	 * The child ClassLoaders for generated classes, keyed by parent ClassLoader.
+	 * Softly referenced like the SpEL compiler's ChildClassLoaders: a child
+	 * references its parent, so strongly held children would never let go of
+	 * their parent ClassLoader.
+	 */
+	private static final Map<ClassLoader, ChildClassLoader> classLoaders = new ConcurrentReferenceHashMap<>();
+
+	/** Counter suffix for generated class names */
+	private static final AtomicInteger suffixId = new AtomicInteger();
+
+
+	private SynthesizedAnnotationGenerator() {
+	}
+
+
+	/**
+	 * Synthesize an annotation of the extractor's annotation type as an
+	 * instance of a generated class, if possible.
+	 * @param attributeExtractor the extractor to resolve the attribute values with
+	 * @return the synthesized annotation, or {@code null} if a dynamic proxy
+	 * needs to be used instead
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	static <A extends Annotation> A synthesize(AnnotationAttributeExtractor<?> attributeExtractor) {
+		GeneratedType generatedType = getGeneratedType(attributeExtractor.getAnnotationType());
+		if (generatedType == NOT_GENERATED) {
+			return null;
+		}
+
+		List<Method> attributeMethods = generatedType.attributeMethods;
+		Object[] values = new Object[attributeMethods.size()];
+		try {
+			for (int i = 0; i < values.length; i++) {
+				Object value = attributeExtractor.getAttributeValue(attributeMethods.get(i));
+				if (value == null) {
+					return null;
+				}
+				// Synthesize nested annotations upfront, as the proxy does on access.
+				if (value instanceof Annotation) {
+					value = AnnotationUtils.synthesizeAnnotation(
+							(Annotation) value, attributeExtractor.getAnnotatedElement());
+				}
+				else if (value instanceof Annotation[]) {
+					value = AnnotationUtils.synthesizeAnnotationArray(
+							(Annotation[]) value, attributeExtractor.getAnnotatedElement());
+				}
+				values[i] = value;
+			}
+			return (A) generatedType.constructor.newInstance(new Object[] {values});
+		}
+		catch (Throwable ex) {
+			// Invalid attribute configuration: let the proxy report it on attribute access.
+			return null;
+		}
+	}
+
+	private static GeneratedType getGeneratedType(Class<? extends Annotation> annotationType) {
+		ClassLoader classLoader = annotationType.getClassLoader();
+		if (classLoader == null) {
+			return NOT_GENERATED;
+		}
+		// Generated classes are not released along with the other annotation caches,
+		// only once the child ClassLoader's soft entry gets cleared under memory pressure.
+		// Annotation types synthesized afterwards get generated again in a new child
+		// ClassLoader, while the previous one remains in use by existing instances.
+		ChildClassLoader ccl = classLoaders.computeIfAbsent(classLoader, ChildClassLoader::new);
+		return ccl.generatedTypes.computeIfAbsent(annotationType, type -> {
+			if (!isGeneratable(type)) {
+				return NOT_GENERATED;
+			}
+			try {
+				List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(type);
+				String className = "annotation/SynthesizedAnnotation" + suffixId.incrementAndGet();
+				Class<?> generatedClass = ccl.defineClass(
+						className.replace('/', '.'), generate(className, type, attributeMethods));
+				return new GeneratedType(generatedClass.getConstructor(Object[].class), attributeMethods);
+			}
+			catch (Throwable ex) {
+				// Fall back to proxies for this annotation type
+				return NOT_GENERATED;
+			}
+		});
+	}
+
+	private static boolean isGeneratable(Class<? extends Annotation> annotationType) {
+		ClassLoader classLoader = annotationType.getClassLoader();
+		if (classLoader == null || !isPublicType(annotationType) ||
+				!ClassUtils.isVisible(AbstractSynthesizedAnnotation.class, classLoader)) {
+			return false;
+		}
+		for (Method attributeMethod : AnnotationUtils.getAttributeMethods(annotationType)) {
+			if (!isPublicType(attributeMethod.getReturnType())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isPublicType(Class<?> type) {
+		Class<?> typeToCheck = type;
+		while (typeToCheck.isArray()) {
+			typeToCheck = typeToCheck.getComponentType();
+		}
+		if (typeToCheck.isPrimitive()) {
+			return true;
+		}
+		while (typeToCheck != null) {
+			if (!Modifier.isPublic(typeToCheck.getModifiers())) {
+				return false;
+			}
+			typeToCheck = typeToCheck.getDeclaringClass();
+		}
+		return true;
+	}
+
+	/**
+	 * Generate the bytecode for a class implementing the given annotation type.
+	 * @param className the internal name of the class to generate
+	 * @param annotationType the annotation type to implement
+	 * @param attributeMethods the attribute methods of the annotation type
+	 */
+	private static byte[] generate(String className, Class<? extends Annotation> annotationType,
+			List<Method> attributeMethods) {
+
+		String annotationInternalName = Type.getInternalName(annotationType);
+
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+		cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null,
+				SUPERCLASS_INTERNAL_NAME, new String[] {annotationInternalName});
+
+		// One final field per attribute, named after the attribute method
+		for (Method attributeMethod : attributeMethods) {
+			cw.visitField(ACC_PRIVATE | ACC_FINAL, attributeMethod.getName(),
+					Type.getDescriptor(attributeMethod.getReturnType()), null, null).visitEnd();
+		}
+
+		// Constructor taking the resolved attribute values in attribute method order
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKESPECIAL, SUPERCLASS_INTERNAL_NAME, "<init>", "()V", false);
+		for (int i = 0; i < attributeMethods.size(); i++) {
+			Class<?> attributeType = attributeMethods.get(i).getReturnType();
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitVarInsn(ALOAD, 1);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(AALOAD);
+			visitUnboxing(mv, attributeType);
+			mv.visitFieldInsn(PUTFIELD, className, attributeMethods.get(i).getName(), Type.getDescriptor(attributeType));
+		}
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Attribute methods, returning a defensive copy of non-empty arrays
+		for (Method attributeMethod : attributeMethods) {
+			Class<?> attributeType = attributeMethod.getReturnType();
+			String descriptor = Type.getDescriptor(attributeType);
+			mv = cw.visitMethod(ACC_PUBLIC, attributeMethod.getName(), Type.getMethodDescriptor(attributeMethod), null, null);
+			mv.visitCode();
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitFieldInsn(GETFIELD, className, attributeMethod.getName(), descriptor);
+			if (attributeType.isArray()) {
+				Label empty = new Label();
+				mv.visitInsn(DUP);
+				mv.visitInsn(ARRAYLENGTH);
+				mv.visitJumpInsn(IFEQ, empty);
+				mv.visitMethodInsn(INVOKEVIRTUAL, descriptor, "clone", "()Ljava/lang/Object;", false);
+				mv.visitTypeInsn(CHECKCAST, descriptor);
+				mv.visitLabel(empty);
+			}
+			mv.visitInsn(Type.getType(attributeType).getOpcode(IRETURN));
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+
+		// Class<? extends Annotation> annotationType()
+		mv = cw.visitMethod(ACC_PUBLIC, "annotationType", "()Ljava/lang/Class;", null, null);
+		mv.visitCode();
+		mv.visitLdcInsn(Type.getType(annotationType));
+		mv.visitInsn(ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static void visitUnboxing(MethodVisitor mv, Class<?> type) {
+		if (type.isPrimitive()) {
+			Class<?> wrapperType = ClassUtils.resolvePrimitiveIfNecessary(type);
+			String wrapperInternalName = Type.getInternalName(wrapperType);
+			mv.visitTypeInsn(CHECKCAST, wrapperInternalName);
+			mv.visitMethodInsn(INVOKEVIRTUAL, wrapperInternalName, type.getName() + "Value",
+					"()" + Type.getDescriptor(type), false);
+		}
+		else if (type != Object.class) {
+			mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+		}
+	}
+
+
+	/**
+	 * A generated class, along with the attribute methods in the order
+	 * expected by its constructor.
+	 */
+	private static class GeneratedType {
+
+		@Nullable
+		private final Constructor<?> constructor;
+
+		private final List<Method> attributeMethods;
+
+		public GeneratedType() {
+			this.constructor = null;
+			this.attributeMethods = Collections.emptyList();
+		}
+
+		public GeneratedType(Constructor<?> constructor, List<Method> attributeMethods) {
+			this.constructor = constructor;
+			this.attributeMethods = attributeMethods;
+		}
+	}
+
+
+	/**
+	 * A ChildClassLoader that loads the generated annotation classes,
+	 * keeping track of the generated class per annotation type.
+	 */
+	private static class ChildClassLoader extends URLClassLoader {
+
+		private static final URL[] NO_URLS = new URL[0];
+
+		private final Map<Class<? extends Annotation>, GeneratedType> generatedTypes = new ConcurrentHashMap<>();
+
+		public ChildClassLoader(ClassLoader classLoader) {
+			super(NO_URLS, classLoader);
+		}
+
+		public Class<?> defineClass(String name, byte[] bytes) {
+			return super.defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
@@ -200,7 +200,7 @@ class SynthesizedAnnotationInvocationHandler implements InvocationHandler {
 	 * {@link Annotation#hashCode()}.
 	 * @param array the array to compute the hash code for
 	 */
-	private int hashCodeForArray(Object array) {
+	static int hashCodeForArray(Object array) {
 		if (array instanceof boolean[]) {
 			return Arrays.hashCode((boolean[]) array);
 		}
@@ -248,7 +248,7 @@ class SynthesizedAnnotationInvocationHandler implements InvocationHandler {
 		return sb.append(")").toString();
 	}
 
-	private String attributeValueToString(Object value) {
+	static String attributeValueToString(Object value) {
 		if (value instanceof Object[]) {
 			return "[" + StringUtils.arrayToDelimitedString((Object[]) value, ", ") + "]";
 		}
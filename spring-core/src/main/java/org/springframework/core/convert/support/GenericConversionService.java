@@ -18,6 +18,8 @@ package org.springframework.core.convert.support;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -27,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.DecoratingProxy;
 import org.springframework.core.ResolvableType;
@@ -78,6 +81,9 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+	/** Cache for plain class pairs, keyed by source class, without lookup key allocation */
+	private final Map<Class<?>, TargetTypeConverters> classPairConverterCache = new ConcurrentReferenceHashMap<>(64);
+
 
 	// ConverterRegistry implementation
 
@@ -243,6 +249,9 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 * First queries this ConversionService's converter cache.
 	 * On a cache miss, then performs an exhaustive search for a matching converter.
 	 * If no converter matches, returns the default converter.
+	 * <p>As of 5.0.11, type descriptors for plain classes, i.e. without annotations
+	 * and without element type context, are looked up by class identity without
+	 * any key allocation; the full descriptors are only used as a cache key otherwise.
 	 * @param sourceType the source type to convert from
 	 * @param targetType the target type to convert to
 	 * @return the generic converter that will perform the conversion,
@@ -251,8 +260,16 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 */
 	@Nullable
 	protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
-		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
-		GenericConverter converter = this.converterCache.get(key);
+		TargetTypeConverters targetTypeConverters = getTargetTypeConverters(sourceType, targetType);
+		ConverterCacheKey key = null;
+		GenericConverter converter;
+		if (targetTypeConverters != null) {
+			converter = targetTypeConverters.get(targetType.getType());
+		}
+		else {
+			key = new ConverterCacheKey(sourceType, targetType);
+			converter = this.converterCache.get(key);
+		}
 		if (converter != null) {
 			return (converter != NO_MATCH ? converter : null);
 		}
@@ -262,13 +279,14 @@ public class GenericConversionService implements ConfigurableConversionService {
 			converter = getDefaultConverter(sourceType, targetType);
 		}
 
-		if (converter != null) {
-			this.converterCache.put(key, converter);
-			return converter;
+		GenericConverter cacheEntry = (converter != null ? converter : NO_MATCH);
+		if (targetTypeConverters != null) {
+			targetTypeConverters.put(targetType.getType(), cacheEntry);
 		}
-
-		this.converterCache.put(key, NO_MATCH);
-		return null;
+		else {
+			this.converterCache.put(key, cacheEntry);
+		}
+		return converter;
 	}
 
 	/**
@@ -302,8 +320,25 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return generics;
 	}
 
+	/**
+	 * Return the class identity based cache for the given source type, provided that
+	 * both types are identified by their class alone, consistent with
+	 * {@link TypeDescriptor#equals}: that is, they have no annotations and are not
+	 * collection, array or map types with element type context.
+	 */
+	@Nullable
+	private TargetTypeConverters getTargetTypeConverters(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		if (sourceType.getAnnotations().length != 0 || targetType.getAnnotations().length != 0) {
+			return null;
+		}
+		TargetTypeConverters targetTypeConverters =
+				this.classPairConverterCache.computeIfAbsent(sourceType.getType(), TargetTypeConverters::new);
+		return (targetTypeConverters.isClassIdentified(targetType.getType()) ? targetTypeConverters : null);
+	}
+
 	private void invalidateCache() {
 		this.converterCache.clear();
+		this.classPairConverterCache.clear();
 	}
 
 	@Nullable
@@ -494,6 +529,110 @@ public class GenericConversionService implements ConfigurableConversionService {
 	}
 
 
+	/**
+	 * Cached converters for a given source class, keyed by target class identity.
+	 * Entries are kept in a flat array of (target class, converter) pairs which is
+	 * replaced on write, since a source class is typically converted to a handful
+	 * of target classes only. Beyond a small number of target classes, as is common
+	 * for {@code String} sources (every enum, number and bound field type in an
+	 * application), the entries move to a concurrent map instead of being scanned.
+	 * Collection, array and map types are marked as such on first encounter,
+	 * avoiding repeated (and comparatively expensive) interface assignability
+	 * checks on subsequent lookups.
+	 */
+	private static final class TargetTypeConverters {
+
+		private static final Object[] EMPTY_ENTRIES = new Object[0];
+
+		/** Maximum number of target classes kept in the entry array */
+		private static final int MAX_ARRAY_TARGET_TYPES = 8;
+
+		/** Entry for target types which are not identified by their class alone */
+		private static final Object CONTAINER_TYPE = new Object();
+
+		private final boolean sourceClassIdentified;
+
+		/** Entry array of (target class, converter) pairs, or {@code null} once moved to the entry map */
+		@Nullable
+		private volatile Object[] entries = EMPTY_ENTRIES;
+
+		@Nullable
+		private volatile Map<Class<?>, Object> entryMap;
+
+		public TargetTypeConverters(Class<?> sourceType) {
+			this.sourceClassIdentified = !isContainerType(sourceType);
+		}
+
+		public boolean isClassIdentified(Class<?> targetType) {
+			if (!this.sourceClassIdentified) {
+				return false;
+			}
+			Object entry = getEntry(targetType);
+			if (entry == null && isContainerType(targetType)) {
+				putEntry(targetType, CONTAINER_TYPE);
+				return false;
+			}
+			return (entry != CONTAINER_TYPE);
+		}
+
+		@Nullable
+		public GenericConverter get(Class<?> targetType) {
+			return (GenericConverter) getEntry(targetType);
+		}
+
+		public void put(Class<?> targetType, GenericConverter converter) {
+			putEntry(targetType, converter);
+		}
+
+		@Nullable
+		private Object getEntry(Class<?> targetType) {
+			Object[] entries = this.entries;
+			if (entries == null) {
+				Map<Class<?>, Object> entryMap = this.entryMap;
+				Assert.state(entryMap != null, "No entry map");
+				return entryMap.get(targetType);
+			}
+			for (int i = 0; i < entries.length; i += 2) {
+				if (entries[i] == targetType) {
+					return entries[i + 1];
+				}
+			}
+			return null;
+		}
+
+		private synchronized void putEntry(Class<?> targetType, Object entry) {
+			if (getEntry(targetType) != null) {
+				return;
+			}
+			Object[] entries = this.entries;
+			if (entries == null) {
+				Map<Class<?>, Object> entryMap = this.entryMap;
+				Assert.state(entryMap != null, "No entry map");
+				entryMap.put(targetType, entry);
+			}
+			else if (entries.length < MAX_ARRAY_TARGET_TYPES * 2) {
+				Object[] newEntries = Arrays.copyOf(entries, entries.length + 2);
+				newEntries[entries.length] = targetType;
+				newEntries[entries.length + 1] = entry;
+				this.entries = newEntries;
+			}
+			else {
+				Map<Class<?>, Object> entryMap = new ConcurrentHashMap<>(64);
+				for (int i = 0; i < entries.length; i += 2) {
+					entryMap.put((Class<?>) entries[i], entries[i + 1]);
+				}
+				entryMap.put(targetType, entry);
+				this.entryMap = entryMap;
+				this.entries = null;
+			}
+		}
+
+		private static boolean isContainerType(Class<?> type) {
+			return (type.isArray() || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type));
+		}
+	}
+
+
 	/**
 	 * Manages all converters registered with the service.
 	 */
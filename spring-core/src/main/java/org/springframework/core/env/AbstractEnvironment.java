@@ -109,7 +109,7 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
 
 	private final MutablePropertySources propertySources = new MutablePropertySources(this.logger);
 
-	private final ConfigurablePropertyResolver propertyResolver =
+	private final PropertySourcesPropertyResolver propertyResolver =
 			new PropertySourcesPropertyResolver(this.propertySources);
 
 
@@ -378,6 +378,29 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
 		return this.propertySources;
 	}
 
+	/**
+	 * Specify whether to resolve properties against a snapshot of this
+	 * environment's property sources, e.g. for frequent {@link #getProperty}
+	 * calls at runtime against property sources with fixed values.
+	 * <p>Default is "false". The snapshot is discarded whenever property sources
+	 * are added, removed or replaced through {@link #getPropertySources()}.
+	 * @since 5.0.11
+	 * @see PropertySourcesPropertyResolver#setSnapshotEnabled
+	 */
+	public void setPropertySnapshotEnabled(boolean propertySnapshotEnabled) {
+		this.propertyResolver.setSnapshotEnabled(propertySnapshotEnabled);
+	}
+
+	/**
+	 * Discard all property values held in the current snapshot, if any,
+	 * e.g. after changing values within this environment's property sources.
+	 * @since 5.0.11
+	 * @see #setPropertySnapshotEnabled
+	 */
+	public void clearPropertySnapshot() {
+		this.propertyResolver.clearSnapshot();
+	}
+
 	@Override
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	public Map<String, Object> getSystemProperties() {
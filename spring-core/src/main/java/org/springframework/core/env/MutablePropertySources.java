@@ -45,6 +45,8 @@ public class MutablePropertySources implements PropertySources {
 
 	private final List<PropertySource<?>> propertySourceList = new CopyOnWriteArrayList<>();
 
+	private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
 
 	/**
 	 * Create a new {@link MutablePropertySources} object.
@@ -100,6 +102,7 @@ public class MutablePropertySources implements PropertySources {
 		}
 		removeIfPresent(propertySource);
 		this.propertySourceList.add(0, propertySource);
+		notifyChangeListeners();
 	}
 
 	/**
@@ -111,6 +114,7 @@ public class MutablePropertySources implements PropertySources {
 		}
 		removeIfPresent(propertySource);
 		this.propertySourceList.add(propertySource);
+		notifyChangeListeners();
 	}
 
 	/**
@@ -160,7 +164,12 @@ public class MutablePropertySources implements PropertySources {
 			logger.debug("Removing PropertySource '" + name + "'");
 		}
 		int index = this.propertySourceList.indexOf(PropertySource.named(name));
-		return (index != -1 ? this.propertySourceList.remove(index) : null);
+		if (index == -1) {
+			return null;
+		}
+		PropertySource<?> removed = this.propertySourceList.remove(index);
+		notifyChangeListeners();
+		return removed;
 	}
 
 	/**
@@ -176,6 +185,28 @@ public class MutablePropertySources implements PropertySources {
 		}
 		int index = assertPresentAndGetIndex(name);
 		this.propertySourceList.set(index, propertySource);
+		notifyChangeListeners();
+	}
+
+	/**
+	 * Register a callback to be invoked whenever property sources are added,
+	 * removed or replaced, e.g. for invalidating state derived from the
+	 * current set of property sources.
+	 * @param listener the callback to register
+	 * @since 5.0.11
+	 * @see PropertySourcesPropertyResolver#setSnapshotEnabled
+	 */
+	public void addChangeListener(Runnable listener) {
+		this.changeListeners.add(listener);
+	}
+
+	/**
+	 * Remove a callback previously registered through {@link #addChangeListener}.
+	 * @param listener the callback to remove
+	 * @since 5.0.11
+	 */
+	public void removeChangeListener(Runnable listener) {
+		this.changeListeners.remove(listener);
 	}
 
 	/**
@@ -214,6 +245,16 @@ public class MutablePropertySources implements PropertySources {
 	private void addAtIndex(int index, PropertySource<?> propertySource) {
 		removeIfPresent(propertySource);
 		this.propertySourceList.add(index, propertySource);
+		notifyChangeListeners();
+	}
+
+	/**
+	 * Invoke all registered change listeners.
+	 */
+	private void notifyChangeListeners() {
+		for (Runnable listener : this.changeListeners) {
+			listener.run();
+		}
 	}
 
 	/**
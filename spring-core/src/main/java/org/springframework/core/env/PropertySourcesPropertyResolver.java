@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,24 @@
 
 package org.springframework.core.env;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * {@link PropertyResolver} implementation that resolves property values against
  * an underlying set of {@link PropertySources}.
  *
+ * <p>As of 5.0.11, property values may optionally be resolved against a
+ * {@linkplain #setSnapshotEnabled snapshot}: an index of resolved values per
+ * property name, turning repeated lookups of the same property into a single
+ * hash lookup. Names of properties not found in any property source are only
+ * remembered up to a fixed limit, evicting names not looked up recently. The
+ * snapshot is discarded whenever property sources are added, removed or
+ * replaced in an underlying {@link MutablePropertySources} instance.
+ *
  * @author Chris Beams
  * @author Juergen Hoeller
  * @since 3.1
@@ -31,9 +43,17 @@ import org.springframework.lang.Nullable;
  */
 public class PropertySourcesPropertyResolver extends AbstractPropertyResolver {
 
+	/** Maximum number of property names not found that a snapshot remembers */
+	private static final int MISSED_PROPERTY_CACHE_LIMIT = 256;
+
 	@Nullable
 	private final PropertySources propertySources;
 
+	private final Runnable snapshotInvalidator = this::clearSnapshot;
+
+	@Nullable
+	private volatile PropertySnapshot snapshot;
+
 
 	/**
 	 * Create a new resolver against the given property sources.
@@ -44,6 +64,50 @@ public class PropertySourcesPropertyResolver extends AbstractPropertyResolver {
 	}
 
 
+	/**
+	 * Specify whether to resolve property values against a snapshot of the
+	 * underlying property sources, holding the value found for each property
+	 * name (with nested placeholders resolved, if applicable) on first lookup.
+	 * <p>Default is "false", searching all property sources on every lookup.
+	 * Switch this to "true" for repeated lookups at runtime, provided that the
+	 * values within the property sources themselves do not change: only the
+	 * addition, removal or replacement of property sources in a
+	 * {@link MutablePropertySources} instance discards the snapshot automatically.
+	 * @since 5.0.11
+	 * @see #clearSnapshot()
+	 * @see MutablePropertySources#addChangeListener
+	 */
+	public void setSnapshotEnabled(boolean snapshotEnabled) {
+		if (this.propertySources instanceof MutablePropertySources) {
+			MutablePropertySources mutablePropertySources = (MutablePropertySources) this.propertySources;
+			mutablePropertySources.removeChangeListener(this.snapshotInvalidator);
+			if (snapshotEnabled) {
+				mutablePropertySources.addChangeListener(this.snapshotInvalidator);
+			}
+		}
+		this.snapshot = (snapshotEnabled ? new PropertySnapshot() : null);
+	}
+
+	/**
+	 * Return whether property values are resolved against a snapshot.
+	 * @since 5.0.11
+	 */
+	public boolean isSnapshotEnabled() {
+		return (this.snapshot != null);
+	}
+
+	/**
+	 * Discard all property values held in the current snapshot, if any,
+	 * e.g. after changing values within the underlying property sources.
+	 * @since 5.0.11
+	 * @see #setSnapshotEnabled
+	 */
+	public void clearSnapshot() {
+		if (this.snapshot != null) {
+			this.snapshot = new PropertySnapshot();
+		}
+	}
+
 	@Override
 	public boolean containsProperty(String key) {
 		if (this.propertySources != null) {
@@ -76,6 +140,38 @@ public class PropertySourcesPropertyResolver extends AbstractPropertyResolver {
 
 	@Nullable
 	protected <T> T getProperty(String key, Class<T> targetValueType, boolean resolveNestedPlaceholders) {
+		PropertySnapshot snapshot = this.snapshot;
+		if (snapshot == null) {
+			Object value = findPropertyValue(key, resolveNestedPlaceholders);
+			return (value != null ? convertValueIfNecessary(value, targetValueType) : null);
+		}
+
+		Map<String, Object> values = (resolveNestedPlaceholders ? snapshot.resolvedValues : snapshot.rawValues);
+		Object value = values.get(key);
+		if (value == null) {
+			if (snapshot.missedKeys.get(key) != null) {
+				return null;
+			}
+			value = findPropertyValue(key, resolveNestedPlaceholders);
+			if (value == null) {
+				snapshot.missedKeys.putIfAbsent(key, Boolean.TRUE);
+				return null;
+			}
+			values.put(key, value);
+		}
+		return convertValueIfNecessary(value, targetValueType);
+	}
+
+	/**
+	 * Search the property sources for the given key, returning the value from
+	 * the property source with the highest precedence.
+	 * @param key the property name to resolve
+	 * @param resolveNestedPlaceholders whether to resolve nested placeholders
+	 * in String values
+	 * @return the property value (not converted yet), or {@code null} if not found
+	 */
+	@Nullable
+	private Object findPropertyValue(String key, boolean resolveNestedPlaceholders) {
 		if (this.propertySources != null) {
 			for (PropertySource<?> propertySource : this.propertySources) {
 				if (logger.isTraceEnabled()) {
@@ -88,7 +184,7 @@ public class PropertySourcesPropertyResolver extends AbstractPropertyResolver {
 						value = resolveNestedPlaceholders((String) value);
 					}
 					logKeyFound(key, propertySource, value);
-					return convertValueIfNecessary(value, targetValueType);
+					return value;
 				}
 			}
 		}
@@ -117,4 +213,22 @@ public class PropertySourcesPropertyResolver extends AbstractPropertyResolver {
 		}
 	}
 
+
+	/**
+	 * Property values held for repeated lookups, with and without resolution
+	 * of nested placeholders, along with a bounded set of property names not
+	 * found in any property source (the same for both kinds of lookup).
+	 * Replaced as a whole when invalidated, so that concurrent lookups
+	 * against the previous snapshot do not leak into it.
+	 */
+	private static class PropertySnapshot {
+
+		private final Map<String, Object> resolvedValues = new ConcurrentHashMap<>(64);
+
+		private final Map<String, Object> rawValues = new ConcurrentHashMap<>(64);
+
+		private final ConcurrentLruCache<String, Boolean> missedKeys =
+				new ConcurrentLruCache<>(MISSED_PROPERTY_CACHE_LIMIT);
+	}
+
 }
@@ -132,10 +132,13 @@ public class DefaultResourceLoader implements ResourceLoader {
 
 	/**
 	 * Clear all resource caches in this resource loader.
+	 * <p>The caches are emptied as well, releasing their entries even if a
+	 * cache {@link Map} is still referenced by a long-lived user of it.
 	 * @since 5.0
 	 * @see #getResourceCache
 	 */
 	public void clearResourceCaches() {
+		this.resourceCaches.values().forEach(Map::clear);
 		this.resourceCaches.clear();
 	}
 
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Index of the entry names of a jar file, organized as a sorted trie with one
+ * node per path segment. Serves any number of pattern lookups without
+ * enumerating the jar file again, skipping entire directories that cannot
+ * match the pattern.
+ *
+ * <p>Matching entries are returned in the order of the jar file, as a plain
+ * enumeration of its entries would.
+ *
+ * @since 5.0.11
+ * @see PathMatchingResourcePatternResolver#doFindPathMatchingJarResources
+ */
+final class JarEntryIndex {
+
+	private final Node root = new Node();
+
+
+	/**
+	 * Create a new index for the entries of the given jar file.
+	 * @param jarFile the jar file to index
+	 */
+	public JarEntryIndex(JarFile jarFile) {
+		int position = 0;
+		for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+			add(entries.nextElement().getName(), position++);
+		}
+	}
+
+	private void add(String entryPath, int position) {
+		Node node = this.root;
+		int segmentStart = 0;
+		while (segmentStart < entryPath.length()) {
+			int separatorIndex = entryPath.indexOf('/', segmentStart);
+			// Directory segments keep their trailing slash, as in the entry names
+			int segmentEnd = (separatorIndex != -1 ? separatorIndex + 1 : entryPath.length());
+			node = node.getOrCreateChild(entryPath.substring(segmentStart, segmentEnd));
+			segmentStart = segmentEnd;
+		}
+		if (node.position == -1) {
+			node.position = position;
+		}
+	}
+
+
+	/**
+	 * Find the entries below the given root entry path that match the given pattern.
+	 * @param rootEntryPath the root entry path, either empty or ending with a slash
+	 * @param subPattern the pattern to match, relative to the root entry path
+	 * @param pathMatcher the PathMatcher to match with
+	 * @return the matching entry paths, relative to the root entry path
+	 */
+	public List<String> findMatchingEntries(String rootEntryPath, String subPattern, PathMatcher pathMatcher) {
+		Node rootNode = findNode(rootEntryPath);
+		if (rootNode == null) {
+			return new ArrayList<>(0);
+		}
+		List<Match> matches = new ArrayList<>();
+		if (rootNode.position != -1 && pathMatcher.match(subPattern, "")) {
+			matches.add(new Match("", rootNode.position));
+		}
+		collectMatches(rootNode, "", subPattern, pathMatcher, matches);
+		matches.sort(Comparator.comparingInt(match -> match.position));
+		List<String> result = new ArrayList<>(matches.size());
+		for (Match match : matches) {
+			result.add(match.relativePath);
+		}
+		return result;
+	}
+
+	@Nullable
+	private Node findNode(String entryPath) {
+		Node node = this.root;
+		int segmentStart = 0;
+		while (node != null && segmentStart < entryPath.length()) {
+			int separatorIndex = entryPath.indexOf('/', segmentStart);
+			int segmentEnd = (separatorIndex != -1 ? separatorIndex + 1 : entryPath.length());
+			node = node.getChild(entryPath.substring(segmentStart, segmentEnd));
+			segmentStart = segmentEnd;
+		}
+		return node;
+	}
+
+	private void collectMatches(Node node, String relativePath, String subPattern, PathMatcher pathMatcher,
+			List<Match> matches) {
+
+		if (node.children == null) {
+			return;
+		}
+		for (Map.Entry<String, Node> entry : node.children.entrySet()) {
+			String childPath = relativePath + entry.getKey();
+			Node child = entry.getValue();
+			if (child.position != -1 && pathMatcher.match(subPattern, childPath)) {
+				matches.add(new Match(childPath, child.position));
+			}
+			if (child.children != null && pathMatcher.matchStart(subPattern, childPath)) {
+				collectMatches(child, childPath, subPattern, pathMatcher, matches);
+			}
+		}
+	}
+
+
+	/**
+	 * A path segment, with the position of the corresponding jar entry (if any).
+	 */
+	private static class Node {
+
+		@Nullable
+		private TreeMap<String, Node> children;
+
+		private int position = -1;
+
+		@Nullable
+		public Node getChild(String segment) {
+			return (this.children != null ? this.children.get(segment) : null);
+		}
+
+		public Node getOrCreateChild(String segment) {
+			if (this.children == null) {
+				this.children = new TreeMap<>();
+			}
+			return this.children.computeIfAbsent(segment, key -> new Node());
+		}
+	}
+
+
+	private static class Match {
+
+		private final String relativePath;
+
+		private final int position;
+
+		public Match(String relativePath, int position) {
+			this.relativePath = relativePath;
+			this.position = position;
+		}
+	}
+
+}
@@ -30,7 +30,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.zip.ZipException;
@@ -203,6 +205,8 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	private final Map<String, JarEntryIndex> jarEntryIndexCache = new ConcurrentHashMap<>(16);
+
 
 	/**
 	 * Create a new PathMatchingResourcePatternResolver with a DefaultResourceLoader.
@@ -259,6 +263,20 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		this.pathMatcher = pathMatcher;
 	}
 
+	/**
+	 * Clear the cached jar entry indexes, releasing the memory they hold.
+	 * <p>The entries of each jar file are indexed on first pattern lookup and
+	 * the index is reused for every further lookup in the same jar file, until
+	 * this method is called (e.g. once an application context has been refreshed).
+	 * <p>Note that the index does not notice changes to a jar file: after a jar
+	 * file has been replaced or modified at the same location, this method needs
+	 * to be called explicitly for subsequent lookups to see its current entries.
+	 * @since 5.0.11
+	 */
+	public void clearCache() {
+		this.jarEntryIndexCache.clear();
+	}
+
 	/**
 	 * Return the PathMatcher that this resource pattern resolver uses.
 	 */
@@ -642,15 +660,9 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 				rootEntryPath = rootEntryPath + "/";
 			}
 			Set<Resource> result = new LinkedHashSet<>(8);
-			for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
-				JarEntry entry = entries.nextElement();
-				String entryPath = entry.getName();
-				if (entryPath.startsWith(rootEntryPath)) {
-					String relativePath = entryPath.substring(rootEntryPath.length());
-					if (getPathMatcher().match(subPattern, relativePath)) {
-						result.add(rootDirResource.createRelative(relativePath));
-					}
-				}
+			JarEntryIndex jarEntryIndex = getJarEntryIndex(jarFileUrl, jarFile);
+			for (String relativePath : jarEntryIndex.findMatchingEntries(rootEntryPath, subPattern, getPathMatcher())) {
+				result.add(rootDirResource.createRelative(relativePath));
 			}
 			return result;
 		}
@@ -661,6 +673,18 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		}
 	}
 
+	/**
+	 * Return the index of the entries of the given jar file, building it on
+	 * first access and caching it until {@link #clearCache()} is called.
+	 * Concurrent first lookups for the same jar file build a single index.
+	 * @param jarFileUrl the URL of the jar file, as cache key
+	 * @param jarFile the jar file to index
+	 * @since 5.0.11
+	 */
+	private JarEntryIndex getJarEntryIndex(String jarFileUrl, JarFile jarFile) {
+		return this.jarEntryIndexCache.computeIfAbsent(jarFileUrl, key -> new JarEntryIndex(jarFile));
+	}
+
 	/**
 	 * Resolve the given jar file URL into a JarFile object.
 	 */
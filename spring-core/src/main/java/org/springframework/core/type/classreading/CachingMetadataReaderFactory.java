@@ -17,9 +17,12 @@
 package org.springframework.core.type.classreading;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
@@ -31,6 +34,14 @@ import org.springframework.lang.Nullable;
  * caching a {@link MetadataReader} instance per Spring {@link Resource} handle
  * (i.e. per ".class" file).
  *
+ * <p>This factory is safe for concurrent use: class files are read outside of
+ * any lock, so that concurrent callers (e.g. a parallel classpath scan) do not
+ * block each other, with the first reader for a resource winning.
+ *
+ * <p>A local cache may be bounded by its number of entries as well as by the
+ * estimated number of bytes retained by the cached metadata, evicting the least
+ * recently used entries first. Hit and miss counts are available for all caches.
+ *
  * @author Juergen Hoeller
  * @author Costin Leau
  * @since 2.5
@@ -40,10 +51,21 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	/** Default maximum number of entries for a local MetadataReader cache: 256 */
 	public static final int DEFAULT_CACHE_LIMIT = 256;
 
+	/**
+	 * Estimated number of bytes retained by a cached MetadataReader whose
+	 * class file size is unknown: 4096.
+	 * @since 5.0.11
+	 */
+	public static final long DEFAULT_ESTIMATED_RETAINED_SIZE = 4096;
+
 	/** MetadataReader cache: either local or shared at the ResourceLoader level */
 	@Nullable
 	private Map<Resource, MetadataReader> metadataReaderCache;
 
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
 
 	/**
 	 * Create a new CachingMetadataReaderFactory for the default class loader,
@@ -97,7 +119,7 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 			((LocalResourceCache) this.metadataReaderCache).setCacheLimit(cacheLimit);
 		}
 		else {
-			this.metadataReaderCache = new LocalResourceCache(cacheLimit);
+			this.metadataReaderCache = new LocalResourceCache(cacheLimit, Long.MAX_VALUE);
 		}
 	}
 
@@ -113,6 +135,73 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 		}
 	}
 
+	/**
+	 * Specify the maximum number of bytes that the cached metadata may retain,
+	 * as estimated by {@link #estimateRetainedSize}.
+	 * <p>Default is none. Once the limit is exceeded, the least recently used
+	 * entries are evicted, in addition to any limit on the number of entries.
+	 * Like {@link #setCacheLimit}, this method enforces a local resource cache,
+	 * even if the {@link ResourceLoader} supports a shared resource cache; a local
+	 * cache created in place of a shared one is not limited in entries unless
+	 * {@code setCacheLimit} is called as well. A limit of 0 or below removes the
+	 * memory limit from a local cache.
+	 * @since 5.0.11
+	 */
+	public void setCacheMemoryLimit(long cacheMemoryLimit) {
+		long memoryLimit = (cacheMemoryLimit > 0 ? cacheMemoryLimit : Long.MAX_VALUE);
+		if (this.metadataReaderCache instanceof LocalResourceCache) {
+			((LocalResourceCache) this.metadataReaderCache).setMemoryLimit(memoryLimit);
+		}
+		else if (cacheMemoryLimit > 0) {
+			this.metadataReaderCache = new LocalResourceCache(Integer.MAX_VALUE, memoryLimit);
+		}
+	}
+
+	/**
+	 * Return the maximum number of bytes that the cached metadata may retain,
+	 * or {@code Long.MAX_VALUE} if not limited.
+	 * @since 5.0.11
+	 */
+	public long getCacheMemoryLimit() {
+		if (this.metadataReaderCache instanceof LocalResourceCache) {
+			return ((LocalResourceCache) this.metadataReaderCache).getMemoryLimit();
+		}
+		else {
+			return (this.metadataReaderCache != null ? Long.MAX_VALUE : 0);
+		}
+	}
+
+	/**
+	 * Return the number of requests that were served from the cache.
+	 * @since 5.0.11
+	 */
+	public long getCacheHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of requests that required reading a class file.
+	 * @since 5.0.11
+	 */
+	public long getCacheMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the estimated number of bytes retained by the local cache,
+	 * or -1 for a shared cache whose entries are not accounted for.
+	 * @since 5.0.11
+	 * @see #estimateRetainedSize
+	 */
+	public long getCacheRetainedSize() {
+		if (this.metadataReaderCache instanceof LocalResourceCache) {
+			return ((LocalResourceCache) this.metadataReaderCache).getRetainedSize();
+		}
+		else {
+			return (this.metadataReaderCache != null ? -1 : 0);
+		}
+	}
+
 
 	@Override
 	public MetadataReader getMetadataReader(Resource resource) throws IOException {
@@ -120,26 +209,59 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 			// No synchronization necessary...
 			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 			if (metadataReader == null) {
+				this.missCount.increment();
 				metadataReader = super.getMetadataReader(resource);
-				this.metadataReaderCache.put(resource, metadataReader);
+				MetadataReader existing = this.metadataReaderCache.putIfAbsent(resource, metadataReader);
+				if (existing != null) {
+					metadataReader = existing;
+				}
+			}
+			else {
+				this.hitCount.increment();
 			}
 			return metadataReader;
 		}
 		else if (this.metadataReaderCache != null) {
-			synchronized (this.metadataReaderCache) {
-				MetadataReader metadataReader = this.metadataReaderCache.get(resource);
-				if (metadataReader == null) {
-					metadataReader = super.getMetadataReader(resource);
-					this.metadataReaderCache.put(resource, metadataReader);
-				}
+			LocalResourceCache localCache = (LocalResourceCache) this.metadataReaderCache;
+			MetadataReader metadataReader;
+			synchronized (localCache) {
+				metadataReader = localCache.get(resource);
+			}
+			if (metadataReader != null) {
+				this.hitCount.increment();
 				return metadataReader;
 			}
+			this.missCount.increment();
+			// Read the class file outside of the lock, for concurrent callers to proceed...
+			metadataReader = super.getMetadataReader(resource);
+			long retainedSize = estimateRetainedSize(metadataReader);
+			synchronized (localCache) {
+				return localCache.putIfAbsent(resource, metadataReader, retainedSize);
+			}
 		}
 		else {
+			this.missCount.increment();
 			return super.getMetadataReader(resource);
 		}
 	}
 
+	/**
+	 * Estimate the number of bytes that the given MetadataReader retains when cached.
+	 * <p>The default implementation approximates it by the size of the class file
+	 * that the reader has been created from, falling back to
+	 * {@link #DEFAULT_ESTIMATED_RETAINED_SIZE} for other readers.
+	 * @param metadataReader the MetadataReader to estimate
+	 * @return the estimated number of bytes
+	 * @since 5.0.11
+	 * @see #setCacheMemoryLimit
+	 */
+	protected long estimateRetainedSize(MetadataReader metadataReader) {
+		if (metadataReader instanceof SimpleMetadataReader) {
+			return ((SimpleMetadataReader) metadataReader).getClassFileSize();
+		}
+		return DEFAULT_ESTIMATED_RETAINED_SIZE;
+	}
+
 	/**
 	 * Clear the local MetadataReader cache, if any, removing all cached class metadata.
 	 */
@@ -157,21 +279,68 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 
 		private volatile int cacheLimit;
 
-		public LocalResourceCache(int cacheLimit) {
-			super(cacheLimit, 0.75f, true);
+		private volatile long memoryLimit;
+
+		private final Map<Resource, Long> retainedSizes = new HashMap<>();
+
+		private volatile long retainedSize;
+
+		public LocalResourceCache(int cacheLimit, long memoryLimit) {
+			super(Math.min(cacheLimit, DEFAULT_CACHE_LIMIT), 0.75f, true);
+			this.cacheLimit = cacheLimit;
+			this.memoryLimit = memoryLimit;
 		}
 
-		public void setCacheLimit(int cacheLimit) {
+		public synchronized void setCacheLimit(int cacheLimit) {
 			this.cacheLimit = cacheLimit;
+			evict();
 		}
 
 		public int getCacheLimit() {
 			return this.cacheLimit;
 		}
 
+		public synchronized void setMemoryLimit(long memoryLimit) {
+			this.memoryLimit = memoryLimit;
+			evict();
+		}
+
+		public long getMemoryLimit() {
+			return this.memoryLimit;
+		}
+
+		public long getRetainedSize() {
+			return this.retainedSize;
+		}
+
+		public MetadataReader putIfAbsent(Resource resource, MetadataReader metadataReader, long size) {
+			MetadataReader existing = get(resource);
+			if (existing != null) {
+				return existing;
+			}
+			put(resource, metadataReader);
+			this.retainedSizes.put(resource, size);
+			this.retainedSize += size;
+			evict();
+			return metadataReader;
+		}
+
+		private void evict() {
+			Iterator<Resource> eldest = keySet().iterator();
+			while ((size() > this.cacheLimit || this.retainedSize > this.memoryLimit) && eldest.hasNext()) {
+				Long size = this.retainedSizes.remove(eldest.next());
+				eldest.remove();
+				if (size != null) {
+					this.retainedSize -= size;
+				}
+			}
+		}
+
 		@Override
-		protected boolean removeEldestEntry(Map.Entry<Resource, MetadataReader> eldest) {
-			return size() > this.cacheLimit;
+		public void clear() {
+			super.clear();
+			this.retainedSizes.clear();
+			this.retainedSize = 0;
 		}
 	}
 
@@ -46,6 +46,8 @@ final class SimpleMetadataReader implements MetadataReader {
 
 	private final AnnotationMetadata annotationMetadata;
 
+	private final int classFileSize;
+
 
 	SimpleMetadataReader(Resource resource, @Nullable ClassLoader classLoader) throws IOException {
 		InputStream is = new BufferedInputStream(resource.getInputStream());
@@ -68,6 +70,7 @@ final class SimpleMetadataReader implements MetadataReader {
 		// (since AnnotationMetadataReadingVisitor extends ClassMetadataReadingVisitor)
 		this.classMetadata = visitor;
 		this.resource = resource;
+		this.classFileSize = classReader.b.length;
 	}
 
 
@@ -86,4 +89,12 @@ final class SimpleMetadataReader implements MetadataReader {
 		return this.annotationMetadata;
 	}
 
+	/**
+	 * Return the size of the class file that this reader has been created from.
+	 * @since 5.0.11
+	 */
+	int getClassFileSize() {
+		return this.classFileSize;
+	}
+
 }
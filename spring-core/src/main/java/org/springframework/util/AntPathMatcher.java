@@ -16,12 +16,12 @@
 
 package org.springframework.util;
 
+import java.lang.reflect.Method;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -75,12 +75,15 @@ public class AntPathMatcher implements PathMatcher {
 	/** Default path separator: "/" */
 	public static final String DEFAULT_PATH_SEPARATOR = "/";
 
-	private static final int CACHE_TURNOFF_THRESHOLD = 65536;
+	private static final int CACHE_LIMIT = 65536;
 
 	private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{[^/]+?\\}");
 
 	private static final char[] WILDCARD_CHARS = { '*', '?', '{' };
 
+	/** Whether {@link #tokenizePath} is not overridden: AntPathMatcher subclass --> Boolean */
+	private static final Map<Class<?>, Boolean> defaultPathTokenizationCache = new ConcurrentReferenceHashMap<>(8);
+
 
 	private String pathSeparator;
 
@@ -93,9 +96,11 @@ public class AntPathMatcher implements PathMatcher {
 	@Nullable
 	private volatile Boolean cachePatterns;
 
-	private final Map<String, String[]> tokenizedPatternCache = new ConcurrentHashMap<>(256);
+	private final ConcurrentLruCache<String, String[]> tokenizedPatternCache = new ConcurrentLruCache<>(CACHE_LIMIT);
+
+	final ConcurrentLruCache<String, AntPathStringMatcher> stringMatcherCache = new ConcurrentLruCache<>(CACHE_LIMIT);
 
-	final Map<String, AntPathStringMatcher> stringMatcherCache = new ConcurrentHashMap<>(256);
+	private final boolean defaultPathTokenization = isDefaultPathTokenization(getClass());
 
 
 	/**
@@ -127,6 +132,14 @@ public class AntPathMatcher implements PathMatcher {
 		this.pathSeparatorPatternCache = new PathSeparatorPatternCache(this.pathSeparator);
 	}
 
+	/**
+	 * Return the path separator used for pattern parsing.
+	 * @since 5.0.11
+	 */
+	public String getPathSeparator() {
+		return this.pathSeparator;
+	}
+
 	/**
 	 * Specify whether to perform pattern matching in a case-sensitive fashion.
 	 * <p>Default is {@code true}. Switch this to {@code false} for case-insensitive matching.
@@ -136,6 +149,14 @@ public class AntPathMatcher implements PathMatcher {
 		this.caseSensitive = caseSensitive;
 	}
 
+	/**
+	 * Return whether pattern matching is performed in a case-sensitive fashion.
+	 * @since 5.0.11
+	 */
+	public boolean isCaseSensitive() {
+		return this.caseSensitive;
+	}
+
 	/**
 	 * Specify whether to trim tokenized paths and patterns.
 	 * <p>Default is {@code false}.
@@ -144,26 +165,31 @@ public class AntPathMatcher implements PathMatcher {
 		this.trimTokens = trimTokens;
 	}
 
+	/**
+	 * Return whether tokenized paths and patterns are trimmed.
+	 * @since 5.0.11
+	 */
+	public boolean isTrimTokens() {
+		return this.trimTokens;
+	}
+
 	/**
 	 * Specify whether to cache parsed pattern metadata for patterns passed
 	 * into this matcher's {@link #match} method. A value of {@code true}
 	 * activates an unlimited pattern cache; a value of {@code false} turns
 	 * the pattern cache off completely.
-	 * <p>Default is for the cache to be on, but with the variant to automatically
-	 * turn it off when encountering too many patterns to cache at runtime
-	 * (the threshold is 65536), assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * <p>Default is for the cache to be on, but limited to 65536 patterns:
+	 * when encountering too many patterns to cache at runtime, the oldest
+	 * cached patterns are evicted. As of 5.0.11, the cache keeps serving
+	 * recurring patterns in such a scenario, rather than turning itself off.
 	 * @since 4.0.1
 	 * @see #getStringMatcher(String)
 	 */
 	public void setCachePatterns(boolean cachePatterns) {
 		this.cachePatterns = cachePatterns;
-	}
-
-	private void deactivatePatternCache() {
-		this.cachePatterns = false;
-		this.tokenizedPatternCache.clear();
-		this.stringMatcherCache.clear();
+		int cacheLimit = (cachePatterns ? Integer.MAX_VALUE : CACHE_LIMIT);
+		this.tokenizedPatternCache.setSizeLimit(cacheLimit);
+		this.stringMatcherCache.setSizeLimit(cacheLimit);
 	}
 
 
@@ -202,12 +228,12 @@ public class AntPathMatcher implements PathMatcher {
 			return false;
 		}
 
-		String[] pathDirs = tokenizePath(path);
+		PathSegments pathDirs = tokenizePathSegments(path);
 
 		int pattIdxStart = 0;
 		int pattIdxEnd = pattDirs.length - 1;
 		int pathIdxStart = 0;
-		int pathIdxEnd = pathDirs.length - 1;
+		int pathIdxEnd = pathDirs.size() - 1;
 
 		// Match all elements up to the first **
 		while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
@@ -215,7 +241,7 @@ public class AntPathMatcher implements PathMatcher {
 			if ("**".equals(pattDir)) {
 				break;
 			}
-			if (!matchStrings(pattDir, pathDirs[pathIdxStart], uriTemplateVariables)) {
+			if (!matchStrings(pattDir, pathDirs, pathIdxStart, uriTemplateVariables)) {
 				return false;
 			}
 			pattIdxStart++;
@@ -255,7 +281,7 @@ public class AntPathMatcher implements PathMatcher {
 			if (pattDir.equals("**")) {
 				break;
 			}
-			if (!matchStrings(pattDir, pathDirs[pathIdxEnd], uriTemplateVariables)) {
+			if (!matchStrings(pattDir, pathDirs, pathIdxEnd, uriTemplateVariables)) {
 				return false;
 			}
 			pattIdxEnd--;
@@ -294,8 +320,7 @@ public class AntPathMatcher implements PathMatcher {
 			for (int i = 0; i <= strLength - patLength; i++) {
 				for (int j = 0; j < patLength; j++) {
 					String subPat = pattDirs[pattIdxStart + j + 1];
-					String subStr = pathDirs[pathIdxStart + i + j];
-					if (!matchStrings(subPat, subStr, uriTemplateVariables)) {
+					if (!matchStrings(subPat, pathDirs, pathIdxStart + i + j, uriTemplateVariables)) {
 						continue strLoop;
 					}
 				}
@@ -386,15 +411,8 @@ public class AntPathMatcher implements PathMatcher {
 		}
 		if (tokenized == null) {
 			tokenized = tokenizePath(pattern);
-			if (cachePatterns == null && this.tokenizedPatternCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return tokenized;
-			}
 			if (cachePatterns == null || cachePatterns.booleanValue()) {
-				this.tokenizedPatternCache.put(pattern, tokenized);
+				this.tokenizedPatternCache.putIfAbsent(pattern, tokenized);
 			}
 		}
 		return tokenized;
@@ -410,15 +428,54 @@ public class AntPathMatcher implements PathMatcher {
 	}
 
 	/**
-	 * Test whether or not a string matches against a pattern.
+	 * Tokenize the given path into segments for matching. With a single-character
+	 * path separator and without token trimming, the segments are determined as
+	 * offsets within the path, avoiding the creation of a String per segment.
+	 * Otherwise, this delegates to {@link #tokenizePath(String)}.
+	 */
+	private PathSegments tokenizePathSegments(String path) {
+		if (this.defaultPathTokenization && !this.trimTokens && this.pathSeparator.length() == 1) {
+			return new PathSegments(path, this.pathSeparator.charAt(0));
+		}
+		return new PathSegments(path, tokenizePath(path));
+	}
+
+	/**
+	 * Determine whether the given matcher class uses the default {@link #tokenizePath}
+	 * implementation, checking for an override once per subclass.
+	 */
+	private static boolean isDefaultPathTokenization(Class<?> matcherClass) {
+		if (matcherClass == AntPathMatcher.class) {
+			return true;
+		}
+		return defaultPathTokenizationCache.computeIfAbsent(matcherClass, clazz -> {
+			Method tokenizePath = ReflectionUtils.findMethod(clazz, "tokenizePath", String.class);
+			return (tokenizePath != null && tokenizePath.getDeclaringClass() == AntPathMatcher.class);
+		});
+	}
+
+	/**
+	 * Test whether or not a path segment matches against a pattern.
 	 * @param pattern the pattern to match against (never {@code null})
-	 * @param str the String which must be matched against the pattern (never {@code null})
-	 * @return {@code true} if the string matches against the pattern, or {@code false} otherwise
+	 * @param pathSegments the segments of the path to match
+	 * @param index the index of the segment which must be matched against the pattern
+	 * @return {@code true} if the segment matches against the pattern, or {@code false} otherwise
 	 */
-	private boolean matchStrings(String pattern, String str,
+	private boolean matchStrings(String pattern, PathSegments pathSegments, int index,
 			@Nullable Map<String, String> uriTemplateVariables) {
 
-		return getStringMatcher(pattern).matchStrings(str, uriTemplateVariables);
+		AntPathStringMatcher matcher = getStringMatcher(pattern);
+		String[] tokens = pathSegments.tokens;
+		if (tokens != null) {
+			return matcher.matchStrings(tokens[index], uriTemplateVariables);
+		}
+		int start = pathSegments.offsets[index * 2];
+		int end = pathSegments.offsets[index * 2 + 1];
+		if (matcher.getClass() != AntPathStringMatcher.class) {
+			// Custom matcher: may only override the String-based variant
+			return matcher.matchStrings(pathSegments.path.substring(start, end), uriTemplateVariables);
+		}
+		return matcher.matchStrings(pathSegments.path, start, end, uriTemplateVariables);
 	}
 
 	/**
@@ -426,9 +483,9 @@ public class AntPathMatcher implements PathMatcher {
 	 * <p>The default implementation checks this AntPathMatcher's internal cache
 	 * (see {@link #setCachePatterns}), creating a new AntPathStringMatcher instance
 	 * if no cached copy is found.
-	 * <p>When encountering too many patterns to cache at runtime (the threshold is 65536),
-	 * it turns the default cache off, assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * <p>When encountering too many patterns to cache at runtime (the limit is 65536),
+	 * the default cache evicts the patterns which have not been used recently, assuming
+	 * that arbitrary permutations of patterns are coming in along with the recurring ones.
 	 * <p>This method may be overridden to implement a custom cache strategy.
 	 * @param pattern the pattern to match against (never {@code null})
 	 * @return a corresponding AntPathStringMatcher (never {@code null})
@@ -442,15 +499,8 @@ public class AntPathMatcher implements PathMatcher {
 		}
 		if (matcher == null) {
 			matcher = new AntPathStringMatcher(pattern, this.caseSensitive);
-			if (cachePatterns == null && this.stringMatcherCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return matcher;
-			}
 			if (cachePatterns == null || cachePatterns.booleanValue()) {
-				this.stringMatcherCache.put(pattern, matcher);
+				this.stringMatcherCache.putIfAbsent(pattern, matcher);
 			}
 		}
 		return matcher;
@@ -630,6 +680,13 @@ public class AntPathMatcher implements PathMatcher {
 
 		private final Pattern pattern;
 
+		/** The pattern itself if it is to be matched literally, i.e. case-sensitive without wildcards */
+		@Nullable
+		private final String literal;
+
+		/** Whether the pattern matches any String, i.e. "*" or a single URI variable without regex */
+		private final boolean matchAll;
+
 		private final List<String> variableNames = new LinkedList<>();
 
 		public AntPathStringMatcher(String pattern) {
@@ -640,7 +697,11 @@ public class AntPathMatcher implements PathMatcher {
 			StringBuilder patternBuilder = new StringBuilder();
 			Matcher matcher = GLOB_PATTERN.matcher(pattern);
 			int end = 0;
+			int globCount = 0;
+			boolean matchAll = false;
 			while (matcher.find()) {
+				globCount++;
+				boolean wholePattern = (matcher.start() == 0 && matcher.end() == pattern.length());
 				patternBuilder.append(quote(pattern, end, matcher.start()));
 				String match = matcher.group();
 				if ("?".equals(match)) {
@@ -648,12 +709,14 @@ public class AntPathMatcher implements PathMatcher {
 				}
 				else if ("*".equals(match)) {
 					patternBuilder.append(".*");
+					matchAll = wholePattern;
 				}
 				else if (match.startsWith("{") && match.endsWith("}")) {
 					int colonIdx = match.indexOf(':');
 					if (colonIdx == -1) {
 						patternBuilder.append(DEFAULT_VARIABLE_PATTERN);
 						this.variableNames.add(matcher.group(1));
+						matchAll = wholePattern;
 					}
 					else {
 						String variablePattern = match.substring(colonIdx + 1, match.length() - 1);
@@ -669,6 +732,8 @@ public class AntPathMatcher implements PathMatcher {
 			patternBuilder.append(quote(pattern, end, pattern.length()));
 			this.pattern = (caseSensitive ? Pattern.compile(patternBuilder.toString()) :
 					Pattern.compile(patternBuilder.toString(), Pattern.CASE_INSENSITIVE));
+			this.literal = (caseSensitive && globCount == 0 ? pattern : null);
+			this.matchAll = matchAll;
 		}
 
 		private String quote(String s, int start, int end) {
@@ -683,7 +748,44 @@ public class AntPathMatcher implements PathMatcher {
 		 * @return {@code true} if the string matches against the pattern, or {@code false} otherwise.
 		 */
 		public boolean matchStrings(String str, @Nullable Map<String, String> uriTemplateVariables) {
-			Matcher matcher = this.pattern.matcher(str);
+			if (this.literal != null) {
+				return this.literal.equals(str);
+			}
+			if (this.matchAll) {
+				return matchAll(str, 0, str.length(), uriTemplateVariables);
+			}
+			return matchStrings(this.pattern.matcher(str), uriTemplateVariables);
+		}
+
+		/**
+		 * Variant of {@link #matchStrings(String, Map)} for the given region of a String.
+		 * @since 5.0.11
+		 */
+		boolean matchStrings(String str, int start, int end, @Nullable Map<String, String> uriTemplateVariables) {
+			if (this.literal != null) {
+				return (this.literal.length() == end - start && str.startsWith(this.literal, start));
+			}
+			if (this.matchAll) {
+				return matchAll(str, start, end, uriTemplateVariables);
+			}
+			return matchStrings(this.pattern.matcher(str).region(start, end), uriTemplateVariables);
+		}
+
+		private boolean matchAll(String str, int start, int end, @Nullable Map<String, String> uriTemplateVariables) {
+			for (int i = start; i < end; i++) {
+				char c = str.charAt(i);
+				if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+					// Line terminators are not matched by ".*"
+					return false;
+				}
+			}
+			if (uriTemplateVariables != null && !this.variableNames.isEmpty()) {
+				uriTemplateVariables.put(this.variableNames.get(0), str.substring(start, end));
+			}
+			return true;
+		}
+
+		private boolean matchStrings(Matcher matcher, @Nullable Map<String, String> uriTemplateVariables) {
 			if (matcher.matches()) {
 				if (uriTemplateVariables != null) {
 					// SPR-8455
@@ -918,4 +1020,56 @@ public class AntPathMatcher implements PathMatcher {
 		}
 	}
 
+
+	/**
+	 * The segments of a path to match: either tokenized Strings or start and
+	 * end offsets within the path itself.
+	 */
+	private static final class PathSegments {
+
+		private static final int[] NO_OFFSETS = new int[0];
+
+		private final String path;
+
+		@Nullable
+		private final String[] tokens;
+
+		private final int[] offsets;
+
+		public PathSegments(String path, String[] tokens) {
+			this.path = path;
+			this.tokens = tokens;
+			this.offsets = NO_OFFSETS;
+		}
+
+		public PathSegments(String path, char separator) {
+			this.path = path;
+			this.tokens = null;
+			int count = 0;
+			for (int i = 0; i < path.length(); i++) {
+				if (path.charAt(i) != separator && (i == 0 || path.charAt(i - 1) == separator)) {
+					count++;
+				}
+			}
+			this.offsets = new int[count * 2];
+			int index = 0;
+			int start = -1;
+			for (int i = 0; i <= path.length(); i++) {
+				boolean atSeparator = (i == path.length() || path.charAt(i) == separator);
+				if (start == -1 && !atSeparator) {
+					start = i;
+				}
+				else if (start != -1 && atSeparator) {
+					this.offsets[index++] = start;
+					this.offsets[index++] = i;
+					start = -1;
+				}
+			}
+		}
+
+		public int size() {
+			return (this.tokens != null ? this.tokens.length : this.offsets.length / 2);
+		}
+	}
+
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Simple cache bounded to a maximum number of entries, evicting entries which
+ * have not been used recently once the size limit has been reached.
+ *
+ * <p>Lookups do not acquire any lock: a hit merely marks the entry as used.
+ * Additions synchronize for adding the entry to an eviction queue, evicting
+ * entries in insertion order while giving the ones used since the last eviction
+ * pass a second chance (an approximation of least recently used eviction), so
+ * that recurring entries survive a spike of one-off entries.
+ *
+ * <p>This cache does not support {@code null} keys or values.
+ *
+ * @since 5.0.11
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private final Map<K, CacheEntry<V>> cache = new ConcurrentHashMap<>(64);
+
+	/** Keys of the cached entries in eviction order, guarded by itself */
+	private final Deque<K> evictionQueue = new ArrayDeque<>(64);
+
+	private volatile int sizeLimit;
+
+	private volatile long evictionCount;
+
+
+	/**
+	 * Create a new cache with the given size limit.
+	 * @param sizeLimit the maximum number of entries in the cache
+	 * (0 or below effectively disables caching)
+	 */
+	public ConcurrentLruCache(int sizeLimit) {
+		this.sizeLimit = sizeLimit;
+	}
+
+
+	/**
+	 * Specify the maximum number of entries in the cache, evicting entries
+	 * which have not been used recently if the cache currently holds more.
+	 */
+	public void setSizeLimit(int sizeLimit) {
+		synchronized (this.evictionQueue) {
+			this.sizeLimit = sizeLimit;
+			evictIfNecessary();
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache.
+	 */
+	public int getSizeLimit() {
+		return this.sizeLimit;
+	}
+
+	/**
+	 * Return the cached value for the given key, marking it as used.
+	 * @param key the key to look up
+	 * @return the cached value, or {@code null} if none
+	 */
+	@Nullable
+	public V get(K key) {
+		CacheEntry<V> entry = this.cache.get(key);
+		if (entry == null) {
+			return null;
+		}
+		entry.markUsed();
+		return entry.value;
+	}
+
+	/**
+	 * Add the given value to the cache unless a value is cached for the given
+	 * key already, evicting entries beyond the size limit.
+	 * @param key the key to cache the value under
+	 * @param value the value to cache
+	 * @return the value cached for the key, i.e. either the existing value
+	 * or the given value
+	 */
+	public V putIfAbsent(K key, V value) {
+		synchronized (this.evictionQueue) {
+			CacheEntry<V> existing = this.cache.putIfAbsent(key, new CacheEntry<>(value));
+			if (existing != null) {
+				return existing.value;
+			}
+			this.evictionQueue.add(key);
+			evictIfNecessary();
+			return value;
+		}
+	}
+
+	/**
+	 * Return the number of entries in the cache.
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return whether the cache is empty.
+	 */
+	public boolean isEmpty() {
+		return this.cache.isEmpty();
+	}
+
+	/**
+	 * Return the number of entries that were evicted due to the size limit.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Remove all entries from the cache.
+	 */
+	public void clear() {
+		synchronized (this.evictionQueue) {
+			this.cache.clear();
+			this.evictionQueue.clear();
+		}
+	}
+
+	/**
+	 * Evict entries in insertion order until the size limit is met,
+	 * giving entries used since the last pass a second chance.
+	 * <p>To be called with the eviction queue lock held.
+	 */
+	private void evictIfNecessary() {
+		int sizeLimit = Math.max(this.sizeLimit, 0);
+		int secondChances = this.evictionQueue.size();
+		while (this.cache.size() > sizeLimit) {
+			K key = this.evictionQueue.poll();
+			if (key == null) {
+				break;
+			}
+			CacheEntry<V> entry = this.cache.get(key);
+			if (entry != null && entry.used && secondChances-- > 0) {
+				entry.used = false;
+				this.evictionQueue.add(key);
+			}
+			else {
+				this.cache.remove(key);
+				this.evictionCount++;
+			}
+		}
+	}
+
+
+	/**
+	 * A cached value along with a flag whether it has been used since
+	 * the last eviction pass.
+	 */
+	private static final class CacheEntry<V> {
+
+		final V value;
+
+		volatile boolean used;
+
+		CacheEntry(V value) {
+			this.value = value;
+		}
+
+		void markUsed() {
+			// Avoid writing to the shared flag if already set
+			if (!this.used) {
+				this.used = true;
+			}
+		}
+	}
+
+}
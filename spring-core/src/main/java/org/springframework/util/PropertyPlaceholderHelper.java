@@ -16,8 +16,10 @@
 
 package org.springframework.util;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -33,6 +35,12 @@ import org.springframework.lang.Nullable;
  * user-supplied values. <p> Values for substitution can be supplied using a {@link Properties} instance or
  * using a {@link PlaceholderResolver}.
  *
+ * <p>As of 5.0.11, each helper instance keeps the parsed form of the values it has
+ * processed: a sequence of literal and placeholder segments per value, so that
+ * repeated replacement in the same value only performs the placeholder lookups
+ * and the concatenation of the results. Only values containing placeholders are
+ * kept, up to a fixed number of recently used values per helper instance.
+ *
  * @author Juergen Hoeller
  * @author Rob Harrop
  * @since 3.0
@@ -41,6 +49,9 @@ public class PropertyPlaceholderHelper {
 
 	private static final Log logger = LogFactory.getLog(PropertyPlaceholderHelper.class);
 
+	/** Maximum number of parsed values to keep per helper instance */
+	private static final int PARSED_VALUE_CACHE_LIMIT = 1024;
+
 	private static final Map<String, String> wellKnownSimplePrefixes = new HashMap<>(4);
 
 	static {
@@ -61,6 +72,9 @@ public class PropertyPlaceholderHelper {
 
 	private final boolean ignoreUnresolvablePlaceholders;
 
+	private final ConcurrentLruCache<String, ParsedValue> parsedValueCache =
+			new ConcurrentLruCache<>(PARSED_VALUE_CACHE_LIMIT);
+
 
 	/**
 	 * Creates a new {@code PropertyPlaceholderHelper} that uses the supplied prefix and suffix.
@@ -127,59 +141,132 @@ public class PropertyPlaceholderHelper {
 	protected String parseStringValue(
 			String value, PlaceholderResolver placeholderResolver, Set<String> visitedPlaceholders) {
 
-		StringBuilder result = new StringBuilder(value);
+		ParsedValue parsedValue = parse(value);
+		if (parsedValue == null) {
+			return value;
+		}
 
-		int startIndex = value.indexOf(this.placeholderPrefix);
-		while (startIndex != -1) {
-			int endIndex = findPlaceholderEndIndex(result, startIndex);
-			if (endIndex != -1) {
-				String placeholder = result.substring(startIndex + this.placeholderPrefix.length(), endIndex);
-				String originalPlaceholder = placeholder;
-				if (!visitedPlaceholders.add(originalPlaceholder)) {
-					throw new IllegalArgumentException(
-							"Circular placeholder reference '" + originalPlaceholder + "' in property definitions");
-				}
-				// Recursive invocation, parsing placeholders contained in the placeholder key.
-				placeholder = parseStringValue(placeholder, placeholderResolver, visitedPlaceholders);
-				// Now obtain the value for the fully resolved key...
-				String propVal = placeholderResolver.resolvePlaceholder(placeholder);
-				if (propVal == null && this.valueSeparator != null) {
-					int separatorIndex = placeholder.indexOf(this.valueSeparator);
-					if (separatorIndex != -1) {
-						String actualPlaceholder = placeholder.substring(0, separatorIndex);
-						String defaultValue = placeholder.substring(separatorIndex + this.valueSeparator.length());
-						propVal = placeholderResolver.resolvePlaceholder(actualPlaceholder);
-						if (propVal == null) {
-							propVal = defaultValue;
-						}
-					}
-				}
-				if (propVal != null) {
-					// Recursive invocation, parsing placeholders contained in the
-					// previously resolved placeholder value.
-					propVal = parseStringValue(propVal, placeholderResolver, visitedPlaceholders);
-					result.replace(startIndex, endIndex + this.placeholderSuffix.length(), propVal);
-					if (logger.isTraceEnabled()) {
-						logger.trace("Resolved placeholder '" + placeholder + "'");
+		Placeholder[] placeholders = parsedValue.placeholders;
+		String[] literals = parsedValue.literals;
+		if (placeholders.length == 1 && literals[0].isEmpty() && literals[1].isEmpty()) {
+			return resolvePlaceholder(value, placeholders[0], placeholderResolver, visitedPlaceholders);
+		}
+		StringBuilder result = new StringBuilder(value.length() + 16);
+		for (int i = 0; i < placeholders.length; i++) {
+			result.append(literals[i]);
+			result.append(resolvePlaceholder(value, placeholders[i], placeholderResolver, visitedPlaceholders));
+		}
+		result.append(literals[placeholders.length]);
+		return result.toString();
+	}
+
+	private String resolvePlaceholder(String value, Placeholder placeholder,
+			PlaceholderResolver placeholderResolver, Set<String> visitedPlaceholders) {
+
+		String originalPlaceholder = placeholder.name;
+		if (!visitedPlaceholders.add(originalPlaceholder)) {
+			throw new IllegalArgumentException(
+					"Circular placeholder reference '" + originalPlaceholder + "' in property definitions");
+		}
+
+		String propVal;
+		String actualPlaceholder;
+		if (placeholder.nested) {
+			// Recursive invocation, parsing placeholders contained in the placeholder key.
+			actualPlaceholder = parseStringValue(originalPlaceholder, placeholderResolver, visitedPlaceholders);
+			// Now obtain the value for the fully resolved key...
+			propVal = placeholderResolver.resolvePlaceholder(actualPlaceholder);
+			if (propVal == null && this.valueSeparator != null) {
+				int separatorIndex = actualPlaceholder.indexOf(this.valueSeparator);
+				if (separatorIndex != -1) {
+					String defaultValue = actualPlaceholder.substring(separatorIndex + this.valueSeparator.length());
+					propVal = placeholderResolver.resolvePlaceholder(actualPlaceholder.substring(0, separatorIndex));
+					if (propVal == null) {
+						propVal = defaultValue;
 					}
-					startIndex = result.indexOf(this.placeholderPrefix, startIndex + propVal.length());
-				}
-				else if (this.ignoreUnresolvablePlaceholders) {
-					// Proceed with unprocessed value.
-					startIndex = result.indexOf(this.placeholderPrefix, endIndex + this.placeholderSuffix.length());
 				}
-				else {
-					throw new IllegalArgumentException("Could not resolve placeholder '" +
-							placeholder + "'" + " in value \"" + value + "\"");
+			}
+		}
+		else {
+			actualPlaceholder = originalPlaceholder;
+			propVal = placeholderResolver.resolvePlaceholder(actualPlaceholder);
+			if (propVal == null && placeholder.defaultValue != null) {
+				propVal = placeholderResolver.resolvePlaceholder(placeholder.nameBeforeSeparator);
+				if (propVal == null) {
+					propVal = placeholder.defaultValue;
 				}
-				visitedPlaceholders.remove(originalPlaceholder);
 			}
-			else {
-				startIndex = -1;
+		}
+
+		if (propVal != null) {
+			// Recursive invocation, parsing placeholders contained in the
+			// previously resolved placeholder value.
+			propVal = parseStringValue(propVal, placeholderResolver, visitedPlaceholders);
+			if (logger.isTraceEnabled()) {
+				logger.trace("Resolved placeholder '" + actualPlaceholder + "'");
 			}
 		}
+		else if (this.ignoreUnresolvablePlaceholders) {
+			// Proceed with unprocessed value.
+			propVal = placeholder.text;
+		}
+		else {
+			throw new IllegalArgumentException("Could not resolve placeholder '" +
+					actualPlaceholder + "'" + " in value \"" + value + "\"");
+		}
 
-		return result.toString();
+		visitedPlaceholders.remove(originalPlaceholder);
+		return propVal;
+	}
+
+	/**
+	 * Return the parsed form of the given value, parsing it on first access.
+	 * @param value the value to parse
+	 * @return the parsed value, or {@code null} if the value does not contain
+	 * any placeholders
+	 */
+	@Nullable
+	private ParsedValue parse(String value) {
+		if (!value.contains(this.placeholderPrefix)) {
+			return null;
+		}
+		ParsedValue parsedValue = this.parsedValueCache.get(value);
+		if (parsedValue == null) {
+			parsedValue = this.parsedValueCache.putIfAbsent(value, doParse(value));
+		}
+		return (parsedValue.placeholders.length > 0 ? parsedValue : null);
+	}
+
+	private ParsedValue doParse(String value) {
+		List<String> literals = new ArrayList<>();
+		List<Placeholder> placeholders = new ArrayList<>();
+		int literalStart = 0;
+		int startIndex = value.indexOf(this.placeholderPrefix);
+		while (startIndex != -1) {
+			int endIndex = findPlaceholderEndIndex(value, startIndex);
+			if (endIndex == -1) {
+				break;
+			}
+			String name = value.substring(startIndex + this.placeholderPrefix.length(), endIndex);
+			literals.add(value.substring(literalStart, startIndex));
+			literalStart = endIndex + this.placeholderSuffix.length();
+			placeholders.add(createPlaceholder(name, value.substring(startIndex, literalStart)));
+			startIndex = value.indexOf(this.placeholderPrefix, literalStart);
+		}
+		literals.add(value.substring(literalStart));
+		return new ParsedValue(StringUtils.toStringArray(literals), placeholders.toArray(new Placeholder[0]));
+	}
+
+	private Placeholder createPlaceholder(String name, String text) {
+		boolean nested = (parse(name) != null);
+		if (!nested && this.valueSeparator != null) {
+			int separatorIndex = name.indexOf(this.valueSeparator);
+			if (separatorIndex != -1) {
+				return new Placeholder(name, text, false, name.substring(0, separatorIndex),
+						name.substring(separatorIndex + this.valueSeparator.length()));
+			}
+		}
+		return new Placeholder(name, text, nested, name, null);
 	}
 
 	private int findPlaceholderEndIndex(CharSequence buf, int startIndex) {
@@ -207,6 +294,55 @@ public class PropertyPlaceholderHelper {
 	}
 
 
+	/**
+	 * The parsed form of a value: the literal segments, interleaved with
+	 * one placeholder between each pair of consecutive literals.
+	 */
+	private static class ParsedValue {
+
+		private final String[] literals;
+
+		private final Placeholder[] placeholders;
+
+		public ParsedValue(String[] literals, Placeholder[] placeholders) {
+			this.literals = literals;
+			this.placeholders = placeholders;
+		}
+	}
+
+
+	/**
+	 * A placeholder within a parsed value, along with its pre-split name
+	 * and default value if its name does not contain nested placeholders.
+	 */
+	private static class Placeholder {
+
+		/** The placeholder name, i.e. the text between prefix and suffix */
+		private final String name;
+
+		/** The full placeholder text, including prefix and suffix */
+		private final String text;
+
+		/** Whether the placeholder name contains nested placeholders */
+		private final boolean nested;
+
+		private final String nameBeforeSeparator;
+
+		@Nullable
+		private final String defaultValue;
+
+		public Placeholder(String name, String text, boolean nested,
+				String nameBeforeSeparator, @Nullable String defaultValue) {
+
+			this.name = name;
+			this.text = text;
+			this.nested = nested;
+			this.nameBeforeSeparator = nameBeforeSeparator;
+			this.defaultValue = defaultValue;
+		}
+	}
+
+
 	/**
 	 * Strategy interface used to resolve replacement values for placeholders contained in Strings.
 	 */
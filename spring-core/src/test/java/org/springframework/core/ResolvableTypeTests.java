@@ -288,6 +288,63 @@ public class ResolvableTypeTests {
 		ResolvableType.forMethodReturnType(null);
 	}
 
+	@Test
+	public void forClassReturnsCanonicalInstance() throws Exception {
+		ResolvableType type = ResolvableType.forClass(ExtendsList.class);
+		assertThat(ResolvableType.forClass(ExtendsList.class), sameInstance(type));
+		assertThat(ResolvableType.forType(ExtendsList.class), sameInstance(type));
+		assertThat(ResolvableType.forClass(null), sameInstance(ResolvableType.forClass(Object.class)));
+		assertThat(ResolvableType.forClass(ExtendsList.class).getSuperType(), sameInstance(type.getSuperType()));
+		assertThat(ResolvableType.forClass(ExtendsList.class).asCollection(), sameInstance(type.asCollection()));
+	}
+
+	@Test
+	public void forTypeWithoutOwnerReturnsCanonicalInstance() throws Exception {
+		Type genericType = Fields.class.getField("stringList").getGenericType();
+		ResolvableType type = ResolvableType.forType(genericType);
+		assertThat(ResolvableType.forType(Fields.class.getField("stringList").getGenericType()), sameInstance(type));
+		assertThat(type.resolveGeneric(), equalTo((Class) String.class));
+	}
+
+	@Test
+	public void forFieldReturnsCanonicalInstancePerField() throws Exception {
+		Field field = Fields.class.getField("charSequenceList");
+		ResolvableType type = ResolvableType.forField(field);
+		assertThat(ResolvableType.forField(field), sameInstance(type));
+		assertThat(ResolvableType.forField(field).getSource(), sameInstance(field));
+
+		Field otherField = Fields.class.getField("charSequenceList");
+		assertThat(otherField, not(sameInstance(field)));
+		assertThat(ResolvableType.forField(otherField), sameInstance(type));
+		assertThat(ResolvableType.forField(otherField).getSource(), equalTo((Object) otherField));
+	}
+
+	@Test
+	public void forMethodParameterAndReturnTypeReturnCanonicalInstances() throws Exception {
+		Method method = Methods.class.getMethod("charSequenceParameter", List.class);
+		ResolvableType type = ResolvableType.forMethodParameter(method, 0);
+		assertThat(ResolvableType.forMethodParameter(method, 0), sameInstance(type));
+		assertThat(type.resolveGeneric(), equalTo((Class) CharSequence.class));
+
+		Method returnMethod = Methods.class.getMethod("charSequenceReturn");
+		ResolvableType returnType = ResolvableType.forMethodReturnType(returnMethod);
+		assertThat(ResolvableType.forMethodReturnType(returnMethod), sameInstance(returnType));
+		assertThat(ResolvableType.forMethodParameter(returnMethod, -1), sameInstance(returnType));
+
+		Constructor<Constructors> constructor = Constructors.class.getConstructor(List.class);
+		ResolvableType constructorType = ResolvableType.forConstructorParameter(constructor, 0);
+		assertThat(ResolvableType.forConstructorParameter(constructor, 0), sameInstance(constructorType));
+	}
+
+	@Test
+	public void clearCacheReleasesCanonicalInstances() throws Exception {
+		ResolvableType type = ResolvableType.forClass(ExtendsList.class);
+		ResolvableType.clearCache();
+		ResolvableType newType = ResolvableType.forClass(ExtendsList.class);
+		assertThat(newType, not(sameInstance(type)));
+		assertEquals(type, newType);
+	}
+
 	@Test
 	public void classType() throws Exception {
 		ResolvableType type = ResolvableType.forField(Fields.class.getField("classType"));
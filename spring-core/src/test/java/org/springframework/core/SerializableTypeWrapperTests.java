@@ -24,6 +24,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
@@ -130,6 +131,29 @@ public class SerializableTypeWrapperTests {
 		assertSerializable(type.getUpperBounds());
 	}
 
+	@Test
+	public void wrapperDelegatesWithoutProxy() throws Exception {
+		Type genericType = Fields.class.getField("parameterizedType").getGenericType();
+		ParameterizedType type = (ParameterizedType) SerializableTypeWrapper.forField(Fields.class.getField("parameterizedType"));
+		assertFalse(Proxy.isProxyClass(type.getClass()));
+		assertThat(SerializableTypeWrapper.unwrap(type), equalTo(genericType));
+		assertThat(type, equalTo(genericType));
+		assertThat(type.hashCode(), equalTo(genericType.hashCode()));
+		assertThat(type.getTypeName(), equalTo("java.util.List<java.lang.String>"));
+		assertThat(type.getRawType(), equalTo(List.class));
+		assertThat(type.getActualTypeArguments()[0], equalTo(String.class));
+	}
+
+	@Test
+	public void typeVariableWrapperDelegates() throws Exception {
+		TypeVariable<?> type = (TypeVariable<?>) SerializableTypeWrapper.forField(Fields.class.getField("typeVariableType"));
+		assertFalse(Proxy.isProxyClass(type.getClass()));
+		assertThat(type.getName(), equalTo("T"));
+		assertThat(type.getGenericDeclaration(), equalTo(Fields.class));
+		assertThat(type.getBounds()[0], equalTo(Object.class));
+		assertThat(type.getAnnotations().length, equalTo(0));
+	}
+
 
 	private void assertSerializable(Object source) throws Exception {
 		ByteArrayOutputStream bos = new ByteArrayOutputStream();
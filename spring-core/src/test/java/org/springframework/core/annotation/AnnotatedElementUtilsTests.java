@@ -739,6 +739,46 @@ public class AnnotatedElementUtilsTests {
 		assertNotNull(order);
 	}
 
+	@Test
+	public void indexedMergedAnnotationAttributesAreCopies() {
+		Class<?> element = ComposedImplicitAliasesContextConfigClass.class;
+		String name = ImplicitAliasesContextConfig.class.getName();
+		AnnotationAttributes attributes = getMergedAnnotationAttributes(element, name);
+		attributes.getStringArray("locations")[0] = "C.xml";
+		attributes.put("xmlFiles", asArray("D.xml"));
+
+		attributes = getMergedAnnotationAttributes(element, name);
+		assertArrayEquals(asArray("A.xml", "B.xml"), attributes.getStringArray("locations"));
+		assertArrayEquals(asArray("A.xml", "B.xml"), attributes.getStringArray("xmlFiles"));
+	}
+
+	@Test
+	public void indexedMergedAnnotationIsReused() throws Exception {
+		Method method = ExtendsBaseClassWithGenericAnnotatedMethod.class.getMethod("foo", String.class);
+		Order order = findMergedAnnotation(method, Order.class);
+		assertSame(order, findMergedAnnotation(method, Order.class));
+		assertTrue(hasAnnotation(method, Order.class));
+		assertNull(findMergedAnnotation(method, Transactional.class));
+		assertNull(findMergedAnnotation(method, Transactional.class));
+	}
+
+	@Test
+	public void mergedAnnotationIndexFootprint() {
+		AnnotationUtils.clearCache();
+		assertEquals(0, getMergedAnnotationIndexFootprint());
+
+		assertNotNull(getMergedAnnotationAttributes(ComposedImplicitAliasesContextConfigClass.class,
+				ImplicitAliasesContextConfig.class.getName()));
+		long footprint = getMergedAnnotationIndexFootprint();
+		assertTrue(footprint > 0);
+		assertNotNull(getMergedAnnotationAttributes(ComposedImplicitAliasesContextConfigClass.class,
+				ImplicitAliasesContextConfig.class.getName()));
+		assertEquals(footprint, getMergedAnnotationIndexFootprint());
+
+		AnnotationUtils.clearCache();
+		assertEquals(0, getMergedAnnotationIndexFootprint());
+	}
+
 
 	// -------------------------------------------------------------------------
 
@@ -23,6 +23,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -1540,6 +1541,60 @@ public class AnnotationUtilsTests {
 		assertArrayEquals(new char[] { 'x', 'y', 'z' }, chars);
 	}
 
+	@Test
+	public void synthesizePublicAnnotationAsGeneratedClass() throws Exception {
+		PublicMapping mapping = PublicMappingClass.class.getAnnotation(PublicMapping.class);
+		assertNotNull(mapping);
+		PublicMapping synthesizedMapping = synthesizeAnnotation(mapping);
+		assertThat(synthesizedMapping, instanceOf(AbstractSynthesizedAnnotation.class));
+		assertFalse(Proxy.isProxyClass(synthesizedMapping.getClass()));
+		assertSame(PublicMapping.class, synthesizedMapping.annotationType());
+
+		assertArrayEquals("aliased path attribute: ", asArray("/test"), synthesizedMapping.path());
+		assertArrayEquals("actual value attribute: ", asArray("/test"), synthesizedMapping.value());
+		assertEquals(5, synthesizedMapping.order());
+		assertSame(PublicMappingClass.class, synthesizedMapping.handler());
+
+		PublicMapping fullyDeclaredMapping = FullyDeclaredPublicMappingClass.class.getAnnotation(PublicMapping.class);
+		assertEquals(fullyDeclaredMapping, synthesizedMapping);
+		assertEquals(synthesizedMapping, fullyDeclaredMapping);
+		assertEquals(fullyDeclaredMapping.hashCode(), synthesizedMapping.hashCode());
+		assertThat(synthesizedMapping.toString(), startsWith("@" + PublicMapping.class.getName() + "("));
+		assertThat(synthesizedMapping.toString(), containsString("order=5"));
+	}
+
+	@Test
+	public void synthesizePublicAnnotationAsGeneratedClassWithDefensiveArrayCopies() throws Exception {
+		PublicMapping synthesizedMapping =
+				synthesizeAnnotation(PublicMappingClass.class.getAnnotation(PublicMapping.class));
+		String[] paths = synthesizedMapping.path();
+		paths[0] = "/altered";
+		assertArrayEquals(asArray("/test"), synthesizedMapping.path());
+		assertNotSame(synthesizedMapping.value(), synthesizedMapping.value());
+	}
+
+	@Test
+	public void synthesizePublicAnnotationFromMapAsGeneratedClass() throws Exception {
+		Map<String, Object> map = Collections.singletonMap("path", "/foo");
+		PublicMapping synthesizedMapping = synthesizeAnnotation(map, PublicMapping.class, null);
+		assertThat(synthesizedMapping, instanceOf(AbstractSynthesizedAnnotation.class));
+		assertArrayEquals(asArray("/foo"), synthesizedMapping.value());
+		assertEquals(0, synthesizedMapping.order());
+		assertSame(Object.class, synthesizedMapping.handler());
+	}
+
+	@Test
+	public void synthesizePublicAnnotationWithConflictingAliasesFallsBackToProxy() throws Exception {
+		PublicMapping mapping = ConflictingPublicMappingClass.class.getAnnotation(PublicMapping.class);
+		PublicMapping synthesizedMapping = synthesizeAnnotation(mapping);
+		assertTrue(Proxy.isProxyClass(synthesizedMapping.getClass()));
+		assertThat(synthesizedMapping, instanceOf(SynthesizedAnnotation.class));
+
+		exception.expect(AnnotationConfigurationException.class);
+		exception.expectMessage(containsString("but only one is permitted"));
+		synthesizedMapping.path();
+	}
+
 	@Test
 	public void interfaceWithAnnotatedMethods() {
 		assertTrue(AnnotationUtils.getAnnotatedMethodsInBaseType(NonAnnotatedInterface.class).isEmpty());
@@ -2010,6 +2065,32 @@ public class AnnotationUtilsTests {
 	static class SimpleConfigTestCase {
 	}
 
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface PublicMapping {
+
+		@AliasFor("path")
+		String[] value() default {};
+
+		@AliasFor("value")
+		String[] path() default {};
+
+		int order() default 0;
+
+		Class<?> handler() default Object.class;
+	}
+
+	@PublicMapping(path = "/test", order = 5, handler = PublicMappingClass.class)
+	static class PublicMappingClass {
+	}
+
+	@PublicMapping(value = "/test", path = "/test", order = 5, handler = PublicMappingClass.class)
+	static class FullyDeclaredPublicMappingClass {
+	}
+
+	@PublicMapping(value = "/enigma", path = "/test")
+	static class ConflictingPublicMappingClass {
+	}
+
 	@Retention(RetentionPolicy.RUNTIME)
 	@interface CharsContainer {
 
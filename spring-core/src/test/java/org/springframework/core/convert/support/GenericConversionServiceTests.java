@@ -375,6 +375,24 @@ public class GenericConversionServiceTests {
 		// System.out.println(watch.prettyPrint());
 	}
 
+	@Test
+	public void testPerformance4() throws Exception {
+		Assume.group(TestGroup.PERFORMANCE);
+		DefaultConversionService.addDefaultConverters(conversionService);
+		StopWatch watch = new StopWatch("string -> integer conversionPerformance");
+		watch.start("convert 4,000,000 with conversion service");
+		for (int i = 0; i < 4000000; i++) {
+			conversionService.convert("123", Integer.class);
+		}
+		watch.stop();
+		watch.start("convert 4,000,000 manually");
+		for (int i = 0; i < 4000000; i++) {
+			Integer.valueOf("123");
+		}
+		watch.stop();
+		// System.out.println(watch.prettyPrint());
+	}
+
 	@Test
 	public void emptyListToArray() {
 		conversionService.addConverter(new CollectionToArrayConverter(conversionService));
@@ -490,6 +508,34 @@ public class GenericConversionServiceTests {
 				new TypeDescriptor(getClass().getField("inactiveColor"))));
 	}
 
+	@Test
+	public void converterCachingForPlainClassesAndAnnotatedDescriptors() throws Exception {
+		conversionService.addConverter(new ColorConverter());
+		conversionService.addConverter(new MyConditionalColorConverter());
+
+		TypeDescriptor stringType = TypeDescriptor.valueOf(String.class);
+		GenericConverter plainConverter = conversionService.getConverter(stringType, TypeDescriptor.valueOf(Color.class));
+		GenericConverter annotatedConverter = conversionService.getConverter(
+				stringType, new TypeDescriptor(getClass().getField("activeColor")));
+		assertNotNull(plainConverter);
+		assertNotNull(annotatedConverter);
+		assertNotSame(plainConverter, annotatedConverter);
+
+		assertSame(plainConverter, conversionService.getConverter(
+				TypeDescriptor.forObject("#000000"), TypeDescriptor.valueOf(Color.class)));
+		assertSame(annotatedConverter, conversionService.getConverter(
+				stringType, new TypeDescriptor(getClass().getField("activeColor"))));
+	}
+
+	@Test
+	public void plainClassConverterCacheInvalidatedOnRegistration() {
+		assertFalse(conversionService.canConvert(String.class, Color.class));
+		assertFalse(conversionService.canConvert(int.class, Color.class));
+		conversionService.addConverter(new ColorConverter());
+		assertTrue(conversionService.canConvert(String.class, Color.class));
+		assertFalse(conversionService.canConvert(int.class, Color.class));
+	}
+
 	@Test
 	public void shouldNotSupportNullConvertibleTypesFromNonConditionalGenericConverter() {
 		GenericConverter converter = new NonConditionalGenericConverter();
@@ -16,6 +16,8 @@
 
 package org.springframework.core.env;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
 import org.springframework.mock.env.MockPropertySource;
@@ -153,4 +155,27 @@ public class MutablePropertySourcesTests {
 		assertThat(sources.get("bogus"), nullValue());
 	}
 
+	@Test
+	public void changeListenersNotifiedOnModification() {
+		MutablePropertySources sources = new MutablePropertySources();
+		AtomicInteger changes = new AtomicInteger();
+		Runnable listener = changes::incrementAndGet;
+		sources.addChangeListener(listener);
+
+		sources.addLast(new MockPropertySource("a"));
+		sources.addFirst(new MockPropertySource("b"));
+		sources.addBefore("a", new MockPropertySource("c"));
+		sources.addAfter("a", new MockPropertySource("d"));
+		sources.replace("d", new MockPropertySource("e"));
+		sources.remove("e");
+		assertThat(changes.get(), equalTo(6));
+
+		sources.remove("bogus");
+		assertThat(changes.get(), equalTo(6));
+
+		sources.removeChangeListener(listener);
+		sources.addLast(new MockPropertySource("f"));
+		assertThat(changes.get(), equalTo(6));
+	}
+
 }
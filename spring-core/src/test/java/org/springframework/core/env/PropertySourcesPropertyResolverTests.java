@@ -367,4 +367,84 @@ public class PropertySourcesPropertyResolverTests {
 		}
 	}
 
+	@Test
+	public void snapshotHoldsResolvedValues() {
+		MockPropertySource source = new MockPropertySource()
+				.withProperty("p1", "v1")
+				.withProperty("p2", "${p1}:v2")
+				.withProperty("p3", "42");
+		MutablePropertySources ps = new MutablePropertySources();
+		ps.addFirst(source);
+		PropertySourcesPropertyResolver pr = new PropertySourcesPropertyResolver(ps);
+		pr.setSnapshotEnabled(true);
+		assertThat(pr.isSnapshotEnabled(), is(true));
+		assertThat(pr.getProperty("p2"), equalTo("v1:v2"));
+		assertThat(pr.getProperty("p3", Integer.class), equalTo(42));
+		assertThat(pr.getProperty("bogus"), nullValue());
+		assertThat(pr.resolvePlaceholders("${p2}"), equalTo("v1:v2"));
+
+		source.setProperty("p2", "changed");
+		source.setProperty("bogus", "present");
+		assertThat(pr.getProperty("p2"), equalTo("v1:v2"));
+		assertThat(pr.getProperty("bogus"), nullValue());
+
+		pr.clearSnapshot();
+		assertThat(pr.getProperty("p2"), equalTo("changed"));
+		assertThat(pr.getProperty("bogus"), equalTo("present"));
+
+		pr.setSnapshotEnabled(false);
+		source.setProperty("p2", "live");
+		assertThat(pr.isSnapshotEnabled(), is(false));
+		assertThat(pr.getProperty("p2"), equalTo("live"));
+	}
+
+	@Test
+	public void snapshotBoundsMissedProperties() {
+		MockPropertySource source = new MockPropertySource();
+		MutablePropertySources ps = new MutablePropertySources();
+		ps.addFirst(source);
+		PropertySourcesPropertyResolver pr = new PropertySourcesPropertyResolver(ps);
+		pr.setSnapshotEnabled(true);
+		assertThat(pr.getProperty("bogus"), nullValue());
+
+		source.setProperty("bogus", "present");
+		assertThat(pr.getProperty("bogus"), nullValue());
+		for (int i = 0; i < 1000; i++) {
+			assertThat(pr.getProperty("missing" + i), nullValue());
+		}
+		assertThat(pr.getProperty("bogus"), equalTo("present"));
+	}
+
+	@Test
+	public void snapshotDiscardedOnPropertySourceChanges() {
+		MutablePropertySources ps = new MutablePropertySources();
+		ps.addLast(new MockPropertySource("ps1").withProperty("pName", "ps1Value"));
+		PropertySourcesPropertyResolver pr = new PropertySourcesPropertyResolver(ps);
+		pr.setSnapshotEnabled(true);
+		assertThat(pr.getProperty("pName"), equalTo("ps1Value"));
+
+		ps.addFirst(new MockPropertySource("ps2").withProperty("pName", "ps2Value"));
+		assertThat(pr.getProperty("pName"), equalTo("ps2Value"));
+
+		ps.replace("ps2", new MockPropertySource("ps3").withProperty("pName", "ps3Value"));
+		assertThat(pr.getProperty("pName"), equalTo("ps3Value"));
+
+		ps.remove("ps3");
+		assertThat(pr.getProperty("pName"), equalTo("ps1Value"));
+	}
+
+	@Test
+	public void environmentWithPropertySnapshot() {
+		StandardEnvironment env = new StandardEnvironment();
+		MockPropertySource source = new MockPropertySource().withProperty("p1", "v1");
+		env.getPropertySources().addFirst(source);
+		env.setPropertySnapshotEnabled(true);
+		assertThat(env.getProperty("p1"), equalTo("v1"));
+
+		source.setProperty("p1", "changed");
+		assertThat(env.getProperty("p1"), equalTo("v1"));
+		env.clearPropertySnapshot();
+		assertThat(env.getProperty("p1"), equalTo("changed"));
+	}
+
 }
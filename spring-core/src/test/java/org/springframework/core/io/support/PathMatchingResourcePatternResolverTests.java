@@ -16,14 +16,20 @@
 
 package org.springframework.core.io.support;
 
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import org.springframework.core.io.Resource;
 import org.springframework.util.StringUtils;
@@ -56,6 +62,9 @@ public class PathMatchingResourcePatternResolverTests {
 
 	private PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 
 	@Test(expected = FileNotFoundException.class)
 	public void invalidPrefixWithPatternElementInIt() throws IOException {
@@ -118,6 +127,47 @@ public class PathMatchingResourcePatternResolverTests {
 		assertTrue("Could not find aspectj_1_5_0.dtd in the root of the aspectjweaver jar", found);
 	}
 
+	@Test
+	public void patternInJarKeepsEntryOrder() throws IOException {
+		String jarUrl = createJar("META-INF/", "META-INF/MANIFEST.MF", "b/", "b/z.xml", "b/sub/", "b/sub/c.xml",
+				"b/a.xml", "b/sub/d.txt", "a/x.class", "ba/y.xml");
+		assertRelativePaths(jarUrl, "b/*.xml", "z.xml", "a.xml");
+		assertRelativePaths(jarUrl, "b/**/*.xml", "z.xml", "sub/c.xml", "a.xml");
+		assertRelativePaths(jarUrl, "b/**", "", "z.xml", "sub/", "sub/c.xml", "a.xml", "sub/d.txt");
+		assertRelativePaths(jarUrl, "**/*.class", "a/x.class");
+		assertRelativePaths(jarUrl, "b?/*.xml", "ba/y.xml");
+		assertRelativePaths(jarUrl, "b/**/*.json");
+	}
+
+	@Test
+	public void patternInJarAfterClearCache() throws IOException {
+		String jarUrl = createJar("b/", "b/z.xml", "b/a.xml");
+		assertRelativePaths(jarUrl, "b/*.xml", "z.xml", "a.xml");
+		assertRelativePaths(jarUrl, "b/a*.xml", "a.xml");
+		resolver.clearCache();
+		assertRelativePaths(jarUrl, "b/*.xml", "z.xml", "a.xml");
+	}
+
+	private String createJar(String... entries) throws IOException {
+		File jarFile = temporaryFolder.newFile("test.jar");
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile))) {
+			for (String entry : entries) {
+				out.putNextEntry(new JarEntry(entry));
+				out.closeEntry();
+			}
+		}
+		return "jar:" + jarFile.toURI() + "!/";
+	}
+
+	private void assertRelativePaths(String jarUrl, String pattern, String... relativePaths) throws IOException {
+		String rootDir = resolver.determineRootDir(jarUrl + pattern);
+		List<String> actual = new ArrayList<>();
+		for (Resource resource : resolver.getResources(jarUrl + pattern)) {
+			actual.add(resource.getURL().toString().substring(rootDir.length()));
+		}
+		assertEquals(Arrays.asList(relativePaths), actual);
+	}
+
 
 	private void assertProtocolAndFilenames(Resource[] resources, String protocol, String... filenames)
 			throws IOException {
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import org.junit.Test;
+
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.util.ClassUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CachingMetadataReaderFactory}.
+ */
+public class CachingMetadataReaderFactoryTests {
+
+	private final DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+
+
+	@Test
+	public void hitAndMissCounts() throws Exception {
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory();
+		MetadataReader metadataReader = factory.getMetadataReader(String.class.getName());
+		assertSame(metadataReader, factory.getMetadataReader(String.class.getName()));
+		assertEquals(1, factory.getCacheMissCount());
+		assertEquals(1, factory.getCacheHitCount());
+		assertEquals(getClassFileSize(String.class), factory.getCacheRetainedSize());
+	}
+
+	@Test
+	public void cacheMemoryLimit() throws Exception {
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory(this.resourceLoader);
+		long limit = getClassFileSize(String.class) + getClassFileSize(Integer.class);
+		factory.setCacheMemoryLimit(limit);
+		assertEquals(Integer.MAX_VALUE, factory.getCacheLimit());
+		assertEquals(limit, factory.getCacheMemoryLimit());
+
+		factory.getMetadataReader(String.class.getName());
+		factory.getMetadataReader(Integer.class.getName());
+		assertEquals(limit, factory.getCacheRetainedSize());
+		factory.getMetadataReader(Long.class.getName());
+		assertTrue(factory.getCacheRetainedSize() <= limit);
+
+		// The least recently used entry has been evicted
+		factory.getMetadataReader(String.class.getName());
+		assertEquals(4, factory.getCacheMissCount());
+		assertEquals(0, factory.getCacheHitCount());
+	}
+
+	@Test
+	public void cacheMemoryLimitWithCacheLimit() throws Exception {
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory();
+		factory.setCacheMemoryLimit(Long.MAX_VALUE - 1);
+		assertEquals(CachingMetadataReaderFactory.DEFAULT_CACHE_LIMIT, factory.getCacheLimit());
+		factory.setCacheLimit(1);
+		factory.getMetadataReader(String.class.getName());
+		factory.getMetadataReader(Integer.class.getName());
+		factory.getMetadataReader(Integer.class.getName());
+		assertEquals(getClassFileSize(Integer.class), factory.getCacheRetainedSize());
+		assertEquals(1, factory.getCacheHitCount());
+	}
+
+	@Test
+	public void clearCacheReleasesRetainedSize() throws Exception {
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory();
+		factory.getMetadataReader(String.class.getName());
+		factory.clearCache();
+		assertEquals(0, factory.getCacheRetainedSize());
+		factory.getMetadataReader(String.class.getName());
+		assertEquals(2, factory.getCacheMissCount());
+	}
+
+	@Test
+	public void sharedCacheReleasedWithResourceCaches() throws Exception {
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory(this.resourceLoader);
+		assertEquals(-1, factory.getCacheRetainedSize());
+		factory.getMetadataReader(String.class.getName());
+		factory.getMetadataReader(String.class.getName());
+		assertEquals(1, factory.getCacheHitCount());
+
+		this.resourceLoader.clearResourceCaches();
+		factory.getMetadataReader(String.class.getName());
+		assertEquals(2, factory.getCacheMissCount());
+	}
+
+
+	private long getClassFileSize(Class<?> clazz) throws Exception {
+		Resource resource = this.resourceLoader.getResource(
+				"classpath:" + ClassUtils.convertClassNameToResourcePath(clazz.getName()) + ClassUtils.CLASS_FILE_SUFFIX);
+		return resource.contentLength();
+	}
+
+}
@@ -615,11 +615,33 @@ public class AntPathMatcherTests {
 		match();
 		assertTrue(pathMatcher.stringMatcherCache.size() > 20);
 
-		for (int i = 0; i < 65536; i++) {
-			pathMatcher.match("test" + i, "test");
+		for (int i = 0; i < 70000; i++) {
+			pathMatcher.match("test" + i, "test" + i);
 		}
-		// Cache turned off because it went beyond the threshold
-		assertTrue(pathMatcher.stringMatcherCache.isEmpty());
+		// Cache bounded rather than turned off when going beyond the limit
+		assertEquals(65536, pathMatcher.stringMatcherCache.size());
+		assertNull(pathMatcher.stringMatcherCache.get("test0"));
+		assertNotNull(pathMatcher.stringMatcherCache.get("test69999"));
+
+		pathMatcher.match("/recurring/*", "/recurring/path");
+		assertNotNull(pathMatcher.stringMatcherCache.get("*"));
+	}
+
+	@Test
+	public void defaultCacheSettingKeepsRecurringPatterns() {
+		pathMatcher.match("/recurring/*", "/recurring/path");
+		Object recurringMatcher = pathMatcher.stringMatcherCache.get("*");
+		assertNotNull(recurringMatcher);
+
+		for (int i = 0; i < 140000; i++) {
+			pathMatcher.match("test" + i, "test" + i);
+			if (i % 1000 == 0) {
+				pathMatcher.match("/recurring/*", "/recurring/path");
+			}
+		}
+		assertEquals(65536, pathMatcher.stringMatcherCache.size());
+		assertNull(pathMatcher.stringMatcherCache.get("test0"));
+		assertSame(recurringMatcher, pathMatcher.stringMatcherCache.get("*"));
 	}
 
 	@Test
@@ -681,4 +703,31 @@ public class AntPathMatcherTests {
 				"/*.html.hotel.*", pathMatcher.combine("/*.html", "hotel.*"));
 	}
 
+	@Test
+	public void matchPathSegmentsWithinPath() {
+		assertTrue(pathMatcher.match("/foo/bar/*.html", "//foo//bar/baz.html"));
+		assertTrue(pathMatcher.match("/foo/**/{name}.html", "/foo/a/b//c.html"));
+		assertFalse(pathMatcher.match("/foo/bar", "/foo/barbar"));
+		assertFalse(pathMatcher.match("/foo/bar", "/foo/ba"));
+		assertFalse(pathMatcher.match("/foo/{name}", "/foo/a\nb"));
+		assertEquals(Collections.singletonMap("name", "c"),
+				pathMatcher.extractUriTemplateVariables("/foo/**/{name}.html", "/foo/a/b/c.html"));
+	}
+
+	@Test
+	public void customPathTokenization() {
+		// Second instance of the same subclass: override check cached per class
+		for (int i = 0; i < 2; i++) {
+			AntPathMatcher pathMatcher = new AntPathMatcher() {
+				@Override
+				protected String[] tokenizePath(String path) {
+					return StringUtils.tokenizeToStringArray(path, "/;");
+				}
+			};
+			assertTrue(pathMatcher.match("/foo/*", "/foo;bar"));
+		}
+		assertFalse(new AntPathMatcher().match("/foo/*", "/foo;bar"));
+		assertFalse(new AntPathMatcher() {}.match("/foo/*", "/foo;bar"));
+	}
+
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ConcurrentLruCache}.
+ */
+public class ConcurrentLruCacheTests {
+
+	private final ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2);
+
+
+	@Test
+	public void getAndPut() {
+		assertTrue(this.cache.isEmpty());
+		assertNull(this.cache.get("k1"));
+		assertEquals("v1", this.cache.putIfAbsent("k1", "v1"));
+		assertEquals("v1", this.cache.putIfAbsent("k1", "other"));
+		assertEquals("v1", this.cache.get("k1"));
+		assertEquals(1, this.cache.size());
+		assertEquals(2, this.cache.getSizeLimit());
+	}
+
+	@Test
+	public void evictsInInsertionOrder() {
+		this.cache.putIfAbsent("k1", "v1");
+		this.cache.putIfAbsent("k2", "v2");
+		this.cache.putIfAbsent("k3", "v3");
+		assertEquals(2, this.cache.size());
+		assertNull(this.cache.get("k1"));
+		assertEquals("v2", this.cache.get("k2"));
+		assertEquals("v3", this.cache.get("k3"));
+		assertEquals(1, this.cache.getEvictionCount());
+	}
+
+	@Test
+	public void givesUsedEntriesSecondChance() {
+		this.cache.putIfAbsent("k1", "v1");
+		this.cache.putIfAbsent("k2", "v2");
+		this.cache.get("k1");
+		this.cache.putIfAbsent("k3", "v3");
+		assertEquals("v1", this.cache.get("k1"));
+		assertNull(this.cache.get("k2"));
+		assertEquals("v3", this.cache.get("k3"));
+	}
+
+	@Test
+	public void keepsUsedEntriesOverUnusedOnes() {
+		this.cache.putIfAbsent("k1", "v1");
+		this.cache.putIfAbsent("k2", "v2");
+		this.cache.get("k1");
+		this.cache.get("k2");
+		assertEquals("v3", this.cache.putIfAbsent("k3", "v3"));
+		assertEquals(2, this.cache.size());
+		assertNull(this.cache.get("k3"));
+
+		// Second chance used up
+		this.cache.putIfAbsent("k4", "v4");
+		assertEquals(2, this.cache.size());
+		assertNull(this.cache.get("k1"));
+		assertEquals("v4", this.cache.get("k4"));
+	}
+
+	@Test
+	public void sizeLimitChange() {
+		this.cache.putIfAbsent("k1", "v1");
+		this.cache.putIfAbsent("k2", "v2");
+		this.cache.setSizeLimit(1);
+		assertEquals(1, this.cache.size());
+		assertEquals("v2", this.cache.get("k2"));
+
+		this.cache.setSizeLimit(0);
+		assertTrue(this.cache.isEmpty());
+		assertEquals("v3", this.cache.putIfAbsent("k3", "v3"));
+		assertTrue(this.cache.isEmpty());
+	}
+
+	@Test
+	public void clear() {
+		this.cache.putIfAbsent("k1", "v1");
+		this.cache.clear();
+		assertTrue(this.cache.isEmpty());
+		assertNull(this.cache.get("k1"));
+		this.cache.putIfAbsent("k2", "v2");
+		this.cache.putIfAbsent("k3", "v3");
+		assertEquals(2, this.cache.size());
+	}
+
+}
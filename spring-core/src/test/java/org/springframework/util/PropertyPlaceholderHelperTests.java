@@ -16,10 +16,16 @@
 
 package org.springframework.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 
 import org.junit.Test;
 
+import org.springframework.util.PropertyPlaceholderHelper.PlaceholderResolver;
+
 import static org.junit.Assert.*;
 
 /**
@@ -114,4 +120,97 @@ public class PropertyPlaceholderHelperTests {
 		assertEquals("foo=bar,bar=${bar}", helper.replacePlaceholders(text, props));
 	}
 
+	@Test
+	public void testRepeatedReplacementWithChangingValues() {
+		PropertyPlaceholderHelper helper = new PropertyPlaceholderHelper("${", "}", ":", true);
+		String text = "url=${host}:${port:8080}/${path}";
+		Properties props = new Properties();
+		props.setProperty("host", "localhost");
+		props.setProperty("path", "${app}");
+		props.setProperty("app", "demo");
+
+		assertEquals("url=localhost:8080/demo", helper.replacePlaceholders(text, props));
+		props.setProperty("host", "example.org");
+		props.setProperty("port", "9090");
+		props.setProperty("app", "other");
+		assertEquals("url=example.org:9090/other", helper.replacePlaceholders(text, props));
+		assertEquals("url=example.org:9090/other", helper.replacePlaceholders(text, props));
+	}
+
+	@Test
+	public void testNestedPlaceholderKeyWithDefault() {
+		PropertyPlaceholderHelper helper = new PropertyPlaceholderHelper("${", "}", ":", true);
+		String text = "${${env}.url:none} and ${bogus} and ${incomplete";
+		Properties props = new Properties();
+		props.setProperty("env", "dev");
+
+		assertEquals("none and ${bogus} and ${incomplete", helper.replacePlaceholders(text, props));
+		props.setProperty("dev.url", "devUrl");
+		assertEquals("devUrl and ${bogus} and ${incomplete", helper.replacePlaceholders(text, props));
+	}
+
+	@Test
+	public void testReplacementThroughParseStringValue() {
+		List<String> parsedValues = new ArrayList<>();
+		PropertyPlaceholderHelper helper = new PropertyPlaceholderHelper("${", "}", ":", false) {
+			@Override
+			protected String parseStringValue(
+					String value, PlaceholderResolver placeholderResolver, Set<String> visitedPlaceholders) {
+				parsedValues.add(value);
+				return super.parseStringValue(value, placeholderResolver, visitedPlaceholders);
+			}
+		};
+		Properties props = new Properties();
+		props.setProperty("foo", "${bar}");
+		props.setProperty("bar", "baz");
+
+		assertEquals("foo=baz", helper.replacePlaceholders("foo=${foo}", props));
+		assertEquals(Arrays.asList("foo=${foo}", "${bar}", "baz"), parsedValues);
+	}
+
+	@Test
+	public void testReplacementBeyondParsedValueCacheLimit() {
+		Properties props = new Properties();
+		props.setProperty("foo", "bar");
+
+		for (int i = 0; i < 2000; i++) {
+			assertEquals(i + "=bar", this.helper.replacePlaceholders(i + "=${foo}", props));
+		}
+		for (int i = 0; i < 2000; i++) {
+			assertEquals(i + "=bar", this.helper.replacePlaceholders(i + "=${foo}", props));
+		}
+	}
+
+	@Test
+	public void testRecurringReplacementCachedBeyondParsedValueCacheLimit() {
+		Properties props = new Properties();
+		props.setProperty("foo", "bar");
+		props.setProperty("name", "${foo}");
+
+		for (int i = 0; i < 2000; i++) {
+			assertEquals(i + "=bar", this.helper.replacePlaceholders(i + "=${foo}", props));
+			assertEquals("bar", this.helper.replacePlaceholders("${name}", props));
+		}
+		props.setProperty("foo", "baz");
+		assertEquals("baz", this.helper.replacePlaceholders("${name}", props));
+		assertEquals("1999=baz", this.helper.replacePlaceholders("1999=${foo}", props));
+	}
+
+	@Test
+	public void testCircularReferenceDetectedOnRepeatedReplacement() {
+		Properties props = new Properties();
+		props.setProperty("a", "${b}");
+		props.setProperty("b", "${a}");
+
+		for (int i = 0; i < 2; i++) {
+			try {
+				this.helper.replacePlaceholders("${a}", props);
+				fail("Should have thrown IllegalArgumentException");
+			}
+			catch (IllegalArgumentException ex) {
+				assertTrue(ex.getMessage().contains("Circular placeholder reference 'a'"));
+			}
+		}
+	}
+
 }
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.common;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link ExpressionParser} decorator which caches the parsed {@link Expression}
+ * per expression string and {@link ParserContext} settings, evicting expressions
+ * which have not been used recently once the cache limit has been reached.
+ *
+ * <p>A cache is bound to its target parser, so the parser configuration (e.g. the
+ * SpEL compiler mode) is implicitly part of the cache key: expressions that need
+ * to be parsed with a different configuration require a separate instance.
+ *
+ * <p>Limiting the number of cached expressions also limits the number of compiled
+ * SpEL expressions kept reachable through the cache: once evicted and no longer
+ * referenced elsewhere, an expression's generated class can be unloaded along
+ * with the compiler's ClassLoader that defined it.
+ *
+ * <p>This parser is safe for concurrent use. Cache hits do not acquire any lock,
+ * and cache misses parse outside of any lock: see {@link ConcurrentLruCache} for
+ * the eviction policy. Hit, miss and eviction counts as well as the time spent
+ * parsing are available for monitoring purposes.
+ *
+ * @since 5.0.11
+ * @see org.springframework.expression.spel.standard.SpelCompiler
+ */
+public class CachingExpressionParser implements ExpressionParser {
+
+	/** Default maximum number of cached expressions: 256 */
+	public static final int DEFAULT_CACHE_LIMIT = 256;
+
+	private static final String TEMPLATE_PREFIX = ParserContext.TEMPLATE_EXPRESSION.getExpressionPrefix();
+
+	private static final String TEMPLATE_SUFFIX = ParserContext.TEMPLATE_EXPRESSION.getExpressionSuffix();
+
+
+	private final ExpressionParser targetParser;
+
+	/** Cache of parsed expressions: expression String or ExpressionKey --> Expression */
+	private final ConcurrentLruCache<Object, Expression> expressionCache;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder parseTime = new LongAdder();
+
+
+	/**
+	 * Create a new CachingExpressionParser for the given target parser,
+	 * caching up to {@link #DEFAULT_CACHE_LIMIT} expressions.
+	 * @param targetParser the parser to parse expressions with
+	 */
+	public CachingExpressionParser(ExpressionParser targetParser) {
+		this(targetParser, DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Create a new CachingExpressionParser for the given target parser.
+	 * @param targetParser the parser to parse expressions with
+	 * @param cacheLimit the maximum number of cached expressions
+	 */
+	public CachingExpressionParser(ExpressionParser targetParser, int cacheLimit) {
+		Assert.notNull(targetParser, "Target ExpressionParser must not be null");
+		this.targetParser = targetParser;
+		this.expressionCache = new ConcurrentLruCache<>(cacheLimit);
+	}
+
+
+	/**
+	 * Return the parser that expressions are parsed with.
+	 */
+	public final ExpressionParser getTargetParser() {
+		return this.targetParser;
+	}
+
+	/**
+	 * Specify the maximum number of cached expressions, evicting expressions
+	 * which have not been used recently if the cache currently holds more than that.
+	 * <p>Default is 256. A limit of 0 or below effectively disables caching.
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		this.expressionCache.setSizeLimit(cacheLimit);
+	}
+
+	/**
+	 * Return the maximum number of cached expressions.
+	 */
+	public int getCacheLimit() {
+		return this.expressionCache.getSizeLimit();
+	}
+
+	/**
+	 * Return the number of currently cached expressions.
+	 */
+	public int getCacheSize() {
+		return this.expressionCache.size();
+	}
+
+	/**
+	 * Return the number of requests that were served from the cache.
+	 */
+	public long getCacheHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of requests that required parsing an expression.
+	 */
+	public long getCacheMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of expressions that were evicted from the cache
+	 * due to the cache limit.
+	 */
+	public long getCacheEvictionCount() {
+		return this.expressionCache.getEvictionCount();
+	}
+
+	/**
+	 * Return the total time spent parsing expressions on cache misses,
+	 * in nanoseconds.
+	 */
+	public long getTotalParseTimeNanos() {
+		return this.parseTime.sum();
+	}
+
+	/**
+	 * Clear the cache, removing all cached expressions.
+	 */
+	public void clearCache() {
+		this.expressionCache.clear();
+	}
+
+
+	@Override
+	public Expression parseExpression(String expressionString) throws ParseException {
+		return parseExpressionIfNecessary(expressionString, null);
+	}
+
+	@Override
+	public Expression parseExpression(String expressionString, ParserContext context) throws ParseException {
+		return parseExpressionIfNecessary(expressionString, context);
+	}
+
+	private Expression parseExpressionIfNecessary(String expressionString, @Nullable ParserContext context)
+			throws ParseException {
+
+		Object key = getCacheKey(expressionString, context);
+		Expression cached = this.expressionCache.get(key);
+		if (cached != null) {
+			this.hitCount.increment();
+			return cached;
+		}
+
+		this.missCount.increment();
+		// Parse outside of any lock, for concurrent callers to proceed...
+		Expression expression;
+		long startTime = System.nanoTime();
+		try {
+			expression = (context != null ? this.targetParser.parseExpression(expressionString, context) :
+					this.targetParser.parseExpression(expressionString));
+		}
+		finally {
+			this.parseTime.add(System.nanoTime() - startTime);
+		}
+		return this.expressionCache.putIfAbsent(key, expression);
+	}
+
+
+	/**
+	 * Return the cache key for the given expression string and parser context:
+	 * the expression string itself for the standard
+	 * {@link ParserContext#TEMPLATE_EXPRESSION template} settings, as used
+	 * for bean definition values, or an {@link ExpressionKey} otherwise.
+	 */
+	private Object getCacheKey(String expressionString, @Nullable ParserContext context) {
+		if (context != null && context.isTemplate() &&
+				TEMPLATE_PREFIX.equals(context.getExpressionPrefix()) &&
+				TEMPLATE_SUFFIX.equals(context.getExpressionSuffix())) {
+			return expressionString;
+		}
+		return new ExpressionKey(expressionString, context);
+	}
+
+
+	/**
+	 * Cache key for an expression string along with the settings of the
+	 * {@link ParserContext} that it is parsed with, if any.
+	 */
+	private static final class ExpressionKey {
+
+		private final String expressionString;
+
+		private final boolean contextGiven;
+
+		private final boolean template;
+
+		@Nullable
+		private final String expressionPrefix;
+
+		@Nullable
+		private final String expressionSuffix;
+
+		public ExpressionKey(String expressionString, @Nullable ParserContext context) {
+			this.expressionString = expressionString;
+			this.contextGiven = (context != null);
+			if (context != null && context.isTemplate()) {
+				this.template = true;
+				this.expressionPrefix = context.getExpressionPrefix();
+				this.expressionSuffix = context.getExpressionSuffix();
+			}
+			else {
+				this.template = false;
+				this.expressionPrefix = null;
+				this.expressionSuffix = null;
+			}
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ExpressionKey)) {
+				return false;
+			}
+			ExpressionKey otherKey = (ExpressionKey) other;
+			return (this.expressionString.equals(otherKey.expressionString) &&
+					this.contextGiven == otherKey.contextGiven && this.template == otherKey.template &&
+					ObjectUtils.nullSafeEquals(this.expressionPrefix, otherKey.expressionPrefix) &&
+					ObjectUtils.nullSafeEquals(this.expressionSuffix, otherKey.expressionSuffix));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.expressionString.hashCode() * 29 + ObjectUtils.nullSafeHashCode(this.expressionPrefix)) * 29 +
+					ObjectUtils.nullSafeHashCode(this.expressionSuffix);
+		}
+
+		@Override
+		public String toString() {
+			return (this.template ? "template " : "expression ") + "\"" + this.expressionString + "\"";
+		}
+	}
+
+}
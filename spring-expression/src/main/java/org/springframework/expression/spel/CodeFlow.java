@@ -85,9 +85,17 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * The local variables holding the targets of nested evaluations, e.g. the
+	 * current element when evaluating selection criteria. Empty when the target
+	 * is the object passed to CompiledExpression.getValue(target, context).
+	 */
+	private final Deque<Integer> targetVariableIds = new ArrayDeque<>();
 
 
 	/**
@@ -109,7 +117,38 @@ public class CodeFlow implements Opcodes {
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer targetVariableId = this.targetVariableIds.peek();
+		mv.visitVarInsn(ALOAD, (targetVariableId != null ? targetVariableId : 1));
+	}
+
+	/**
+	 * Enter a scope in which {@link #loadTarget} loads the object held in the
+	 * given local variable, e.g. the current element when evaluating the criteria
+	 * of a selection against each element of a collection.
+	 * @param variableId the local variable holding the target
+	 * @since 5.0.11
+	 * @see #nextFreeVariableId()
+	 */
+	public void enterTargetScope(int variableId) {
+		this.targetVariableIds.push(variableId);
+	}
+
+	/**
+	 * Enter a scope in which {@link #loadTarget} loads the object passed to
+	 * CompiledExpression.getValue(target, context) again, e.g. for evaluating
+	 * an index expression against the root object.
+	 * @since 5.0.11
+	 */
+	public void enterRootTargetScope() {
+		this.targetVariableIds.push(1);
+	}
+
+	/**
+	 * Exit a scope entered via {@link #enterTargetScope} or {@link #enterRootTargetScope}.
+	 * @since 5.0.11
+	 */
+	public void exitTargetScope() {
+		this.targetVariableIds.pop();
 	}
 
 	/**
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+/**
+ * Captures the possible backends that the compiler can turn expressions into,
+ * once the {@link SpelCompilerMode} calls for compilation.
+ *
+ * @since 5.0.11
+ * @see SpelParserConfiguration#getCompilerBackend()
+ */
+public enum SpelCompilerBackend {
+
+	/**
+	 * Generate a class with the bytecode for each compiled expression; this is the default.
+	 * Covers the widest range of expressions, at the expense of defining a class per
+	 * expression in a child of the configured compiler ClassLoader.
+	 * @see org.springframework.expression.spel.standard.SpelCompiler
+	 */
+	BYTECODE,
+
+	/**
+	 * Combine bound {@link java.lang.invoke.MethodHandle MethodHandles} for each compiled
+	 * expression, without defining any class. A compiled expression is eligible for garbage
+	 * collection along with its {@code Expression}, which suits large numbers of short-lived
+	 * expressions. Covers literals, variable, property and method references, compound
+	 * expressions as well as the boolean, equality and numeric comparison operators and
+	 * the ternary and Elvis operators; other expressions remain interpreted.
+	 */
+	METHOD_HANDLE
+
+}
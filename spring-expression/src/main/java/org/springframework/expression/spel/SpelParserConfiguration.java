@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,10 +32,15 @@ public class SpelParserConfiguration {
 
 	private static final SpelCompilerMode defaultCompilerMode;
 
+	private static final SpelCompilerBackend defaultCompilerBackend;
+
 	static {
 		String compilerMode = SpringProperties.getProperty("spring.expression.compiler.mode");
 		defaultCompilerMode = (compilerMode != null ?
 				SpelCompilerMode.valueOf(compilerMode.toUpperCase()) : SpelCompilerMode.OFF);
+		String compilerBackend = SpringProperties.getProperty("spring.expression.compiler.backend");
+		defaultCompilerBackend = (compilerBackend != null ?
+				SpelCompilerBackend.valueOf(compilerBackend.toUpperCase()) : SpelCompilerBackend.BYTECODE);
 	}
 
 
@@ -44,6 +49,8 @@ public class SpelParserConfiguration {
 	@Nullable
 	private final ClassLoader compilerClassLoader;
 
+	private final SpelCompilerBackend compilerBackend;
+
 	private final boolean autoGrowNullReferences;
 
 	private final boolean autoGrowCollections;
@@ -98,8 +105,26 @@ public class SpelParserConfiguration {
 	public SpelParserConfiguration(@Nullable SpelCompilerMode compilerMode, @Nullable ClassLoader compilerClassLoader,
 			boolean autoGrowNullReferences, boolean autoGrowCollections, int maximumAutoGrowSize) {
 
+		this(compilerMode, compilerClassLoader, null, autoGrowNullReferences, autoGrowCollections, maximumAutoGrowSize);
+	}
+
+	/**
+	 * Create a new {@code SpelParserConfiguration} instance.
+	 * @param compilerMode the compiler mode that parsers using this configuration object should use
+	 * @param compilerClassLoader the ClassLoader to use as the basis for expression compilation
+	 * @param compilerBackend the backend that expressions should be compiled into
+	 * @param autoGrowNullReferences if null references should automatically grow
+	 * @param autoGrowCollections if collections should automatically grow
+	 * @param maximumAutoGrowSize the maximum size that the collection can auto grow
+	 * @since 5.0.11
+	 */
+	public SpelParserConfiguration(@Nullable SpelCompilerMode compilerMode, @Nullable ClassLoader compilerClassLoader,
+			@Nullable SpelCompilerBackend compilerBackend, boolean autoGrowNullReferences,
+			boolean autoGrowCollections, int maximumAutoGrowSize) {
+
 		this.compilerMode = (compilerMode != null ? compilerMode : defaultCompilerMode);
 		this.compilerClassLoader = compilerClassLoader;
+		this.compilerBackend = (compilerBackend != null ? compilerBackend : defaultCompilerBackend);
 		this.autoGrowNullReferences = autoGrowNullReferences;
 		this.autoGrowCollections = autoGrowCollections;
 		this.maximumAutoGrowSize = maximumAutoGrowSize;
@@ -121,6 +146,14 @@ public class SpelParserConfiguration {
 		return this.compilerClassLoader;
 	}
 
+	/**
+	 * Return the backend that expressions are compiled into.
+	 * @since 5.0.11
+	 */
+	public SpelCompilerBackend getCompilerBackend() {
+		return this.compilerBackend;
+	}
+
 	/**
 	 * Return {@code true} if {@code null} references should be automatically grown.
 	 */
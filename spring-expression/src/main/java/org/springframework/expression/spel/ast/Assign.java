@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,10 @@
 
 package org.springframework.expression.spel.ast;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 
 /**
@@ -40,6 +42,9 @@ public class Assign extends SpelNodeImpl {
 	public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
 		TypedValue newValue = this.children[1].getValueInternal(state);
 		getChild(0).setValue(state, newValue.getValue());
+		String valueDescriptor = this.children[1].exitTypeDescriptor;
+		this.exitTypeDescriptor = (CodeFlow.isPrimitive(valueDescriptor) ?
+				CodeFlow.toBoxedDescriptor(valueDescriptor) : valueDescriptor);
 		return newValue;
 	}
 
@@ -48,4 +53,24 @@ public class Assign extends SpelNodeImpl {
 		return getChild(0).toStringAST() + "=" + getChild(1).toStringAST();
 	}
 
+	@Override
+	public boolean isCompilable() {
+		// Only assignments to variables can be compiled, not property writes
+		return (this.exitTypeDescriptor != null && this.children[0] instanceof VariableReference &&
+				((VariableReference) this.children[0]).isCompilableWrite() && this.children[1].isCompilable());
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		int valueVariableId = cf.nextFreeVariableId();
+		cf.enterCompilationScope();
+		this.children[1].generateCode(mv, cf);
+		CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
+		cf.exitCompilationScope();
+		mv.visitVarInsn(ASTORE, valueVariableId);
+		((VariableReference) this.children[0]).generateWriteCode(mv, valueVariableId);
+		mv.visitVarInsn(ALOAD, valueVariableId);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.invoke.MethodHandle;
+
 import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
@@ -131,4 +133,18 @@ public class CompoundExpression extends SpelNodeImpl {
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	@Override
+	@Nullable
+	public MethodHandle generateHandle() {
+		MethodHandle[] handles = generateHandles(this.children);
+		if (handles == null) {
+			return null;
+		}
+		MethodHandle handle = handles[0];
+		for (int i = 1; i < handles.length; i++) {
+			handle = HandleFlow.andThen(handle, handles[i]);
+		}
+		return handle;
+	}
+
 }
@@ -16,12 +16,15 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.invoke.MethodHandle;
+
 import org.springframework.asm.Label;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
@@ -109,6 +112,13 @@ public class Elvis extends SpelNodeImpl {
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	@Override
+	@Nullable
+	public MethodHandle generateHandle() {
+		MethodHandle[] handles = generateHandles(this.children);
+		return (handles != null ? HandleFlow.ifEmpty(handles[0], handles[1]) : null);
+	}
+
 	private void computeExitTypeDescriptor() {
 		if (this.exitTypeDescriptor == null && this.children[0].exitTypeDescriptor != null &&
 				this.children[1].exitTypeDescriptor != null) {
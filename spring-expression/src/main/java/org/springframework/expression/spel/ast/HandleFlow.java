@@ -0,0 +1,306 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.ast;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Combinators for composing the {@link MethodHandle} form of AST nodes, as the
+ * counterpart of {@link org.springframework.expression.spel.CodeFlow} for
+ * method handle compilation.
+ *
+ * <p>Every node handle is of {@link #NODE_TYPE}, taking the active context
+ * object, the root object and the evaluation context, and returning the
+ * (boxed) value of the node. Where a combinator accepts node handles with a
+ * different return type, the value is converted through
+ * {@link MethodHandle#asType}, i.e. cast or unboxed as required.
+ *
+ * @since 5.0.11
+ * @see SpelNodeImpl#generateHandle()
+ */
+abstract class HandleFlow {
+
+	/**
+	 * The type of all node handles:
+	 * {@code (Object activeObject, Object rootObject, EvaluationContext context)Object}.
+	 */
+	static final MethodType NODE_TYPE =
+			MethodType.methodType(Object.class, Object.class, Object.class, EvaluationContext.class);
+
+	private static final MethodType BOOLEAN_NODE_TYPE = NODE_TYPE.changeReturnType(boolean.class);
+
+	private static final MethodHandle ACTIVE_OBJECT = MethodHandles.dropArguments(
+			MethodHandles.identity(Object.class), 1, Object.class, EvaluationContext.class);
+
+	private static final MethodHandle ROOT_OBJECT = MethodHandles.dropArguments(MethodHandles.dropArguments(
+			MethodHandles.identity(Object.class), 1, EvaluationContext.class), 0, Object.class);
+
+	private static final MethodHandle EVALUATION_CONTEXT = MethodHandles.dropArguments(
+			MethodHandles.identity(EvaluationContext.class), 0, Object.class, Object.class);
+
+	private static final MethodHandle LOOKUP_VARIABLE;
+
+	private static final MethodHandle EQUALITY_CHECK;
+
+	private static final MethodHandle IS_NULL;
+
+	private static final MethodHandle IS_EMPTY;
+
+	private static final MethodHandle NOT;
+
+	static {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			LOOKUP_VARIABLE = lookup.findVirtual(EvaluationContext.class, "lookupVariable",
+					MethodType.methodType(Object.class, String.class));
+			EQUALITY_CHECK = lookup.findStatic(Operator.class, "equalityCheck",
+					MethodType.methodType(boolean.class, EvaluationContext.class, Object.class, Object.class));
+			IS_NULL = lookup.findStatic(HandleFlow.class, "isNull",
+					MethodType.methodType(boolean.class, Object.class));
+			IS_EMPTY = lookup.findStatic(StringUtils.class, "isEmpty",
+					MethodType.methodType(boolean.class, Object.class));
+			NOT = lookup.findStatic(HandleFlow.class, "negate",
+					MethodType.methodType(boolean.class, boolean.class));
+		}
+		catch (ReflectiveOperationException ex) {
+			throw new IllegalStateException("Failed to look up method handle combinators", ex);
+		}
+	}
+
+
+	/**
+	 * Return a node handle that evaluates to the given constant value.
+	 */
+	static MethodHandle constant(@Nullable Object value) {
+		return MethodHandles.dropArguments(
+				MethodHandles.constant(Object.class, value), 0, NODE_TYPE.parameterArray());
+	}
+
+	/**
+	 * Return a node handle that evaluates to the active context object.
+	 */
+	static MethodHandle activeObject() {
+		return ACTIVE_OBJECT;
+	}
+
+	/**
+	 * Return a node handle that evaluates to the root object.
+	 */
+	static MethodHandle rootObject() {
+		return ROOT_OBJECT;
+	}
+
+	/**
+	 * Return a node handle that evaluates to the evaluation context.
+	 */
+	static MethodHandle evaluationContext() {
+		return EVALUATION_CONTEXT;
+	}
+
+	/**
+	 * Return a node handle that evaluates to the value of the given variable
+	 * in the evaluation context.
+	 */
+	static MethodHandle variable(String name) {
+		return combine(MethodHandles.insertArguments(LOOKUP_VARIABLE, 1, name), EVALUATION_CONTEXT);
+	}
+
+	/**
+	 * Adapt the given node handle to evaluate with the root object as the
+	 * active context object, as applicable for method arguments.
+	 */
+	static MethodHandle withRootAsActive(MethodHandle node) {
+		// (a, r, c) -> node(r, r, c)
+		return MethodHandles.dropArguments(
+				MethodHandles.foldArguments(node, MethodHandles.identity(Object.class)), 0, Object.class);
+	}
+
+	/**
+	 * Return a node handle that invokes the given target with the values of the
+	 * given node handles, evaluated from left to right, as arguments.
+	 * @param target the handle to invoke, with one parameter per operand
+	 * @param operands the node handles to evaluate the arguments with
+	 */
+	static MethodHandle combine(MethodHandle target, MethodHandle... operands) {
+		MethodHandle result = MethodHandles.dropArguments(
+				target.asType(target.type().changeReturnType(Object.class)), 0, NODE_TYPE.parameterArray());
+		for (int i = operands.length - 1; i >= 0; i--) {
+			// (a, r, c, x0..xi) -> (xi, a, r, c, x0..xi-1), then fold the operand into xi
+			MethodType type = result.type();
+			Class<?> operandType = type.parameterType(3 + i);
+			MethodType permutedType = type.dropParameterTypes(3 + i, 4 + i).insertParameterTypes(0, operandType);
+			int[] reorder = new int[4 + i];
+			for (int j = 0; j < 3 + i; j++) {
+				reorder[j] = j + 1;
+			}
+			reorder[3 + i] = 0;
+			MethodHandle permuted = MethodHandles.permuteArguments(result, permutedType, reorder);
+			MethodHandle operand = operands[i].asType(operands[i].type().changeReturnType(operandType));
+			result = MethodHandles.foldArguments(permuted, operand);
+		}
+		return result;
+	}
+
+	/**
+	 * Return a node handle that evaluates the given next handle with the value
+	 * of the first handle as the active context object.
+	 */
+	static MethodHandle andThen(MethodHandle first, MethodHandle next) {
+		return MethodHandles.foldArguments(MethodHandles.dropArguments(next, 1, Object.class), first);
+	}
+
+	/**
+	 * Return a node handle that evaluates to {@code null} if the active context
+	 * object is {@code null}, and evaluates the given handle otherwise.
+	 */
+	static MethodHandle nullSafe(MethodHandle node) {
+		return MethodHandles.guardWithTest(
+				MethodHandles.dropArguments(IS_NULL, 1, Object.class, EvaluationContext.class),
+				constant(null), node);
+	}
+
+	/**
+	 * Return a node handle that evaluates one of the given handles, depending on
+	 * the (boolean) value of the given condition handle.
+	 */
+	static MethodHandle test(MethodHandle condition, MethodHandle ifTrue, MethodHandle ifFalse) {
+		return MethodHandles.guardWithTest(condition.asType(BOOLEAN_NODE_TYPE), ifTrue, ifFalse);
+	}
+
+	/**
+	 * Return a node handle that evaluates to the value of the first handle,
+	 * unless that value is {@code null} or an empty String in which case the
+	 * second handle is evaluated.
+	 */
+	static MethodHandle ifEmpty(MethodHandle value, MethodHandle otherwise) {
+		// (v, a, r, c) -> isEmpty(v) ? otherwise(a, r, c) : v
+		MethodHandle target = MethodHandles.guardWithTest(
+				MethodHandles.dropArguments(IS_EMPTY, 1, NODE_TYPE.parameterArray()),
+				MethodHandles.dropArguments(otherwise, 0, Object.class),
+				MethodHandles.dropArguments(MethodHandles.identity(Object.class), 1, NODE_TYPE.parameterArray()));
+		return MethodHandles.foldArguments(target, value);
+	}
+
+	/**
+	 * Return a node handle that evaluates to the (boxed) negation of the
+	 * (boolean) value of the given handle.
+	 */
+	static MethodHandle not(MethodHandle node) {
+		return toBoolean(MethodHandles.filterReturnValue(node.asType(BOOLEAN_NODE_TYPE), NOT));
+	}
+
+	/**
+	 * Adapt the given handle, returning a primitive boolean or a {@code Boolean},
+	 * into a node handle that returns a {@code Boolean}.
+	 */
+	static MethodHandle toBoolean(MethodHandle node) {
+		return node.asType(node.type().changeReturnType(boolean.class)).asType(
+				node.type().changeReturnType(Object.class));
+	}
+
+	/**
+	 * Return a node handle that checks the values of the given handles for equality.
+	 * @see Operator#equalityCheck
+	 */
+	static MethodHandle equalityCheck(MethodHandle left, MethodHandle right) {
+		return toBoolean(combine(EQUALITY_CHECK, EVALUATION_CONTEXT, left, right));
+	}
+
+	/**
+	 * Return a node handle that compares the numeric values of the given handles.
+	 * @param comparison the comparison to apply: {@code "lt"}, {@code "le"},
+	 * {@code "gt"} or {@code "ge"}
+	 * @param compatibleType the descriptor of the common primitive type of the operands
+	 * @param left the node handle for the left operand
+	 * @param right the node handle for the right operand
+	 * @return the node handle, or {@code null} if the given type is not supported
+	 */
+	@Nullable
+	static MethodHandle compare(String comparison, char compatibleType,
+			MethodHandle left, MethodHandle right) {
+
+		Class<?> type;
+		switch (compatibleType) {
+			case 'I':
+			case 'J':
+				type = long.class;
+				break;
+			case 'F':
+			case 'D':
+				type = double.class;
+				break;
+			default:
+				return null;
+		}
+		try {
+			MethodHandle target = MethodHandles.lookup().findStatic(HandleFlow.class, comparison,
+					MethodType.methodType(boolean.class, type, type));
+			return toBoolean(combine(target, left, right));
+		}
+		catch (ReflectiveOperationException ex) {
+			throw new IllegalArgumentException("Unsupported comparison: " + comparison, ex);
+		}
+	}
+
+
+	private static boolean isNull(@Nullable Object value) {
+		return (value == null);
+	}
+
+	private static boolean negate(boolean value) {
+		return !value;
+	}
+
+	private static boolean lt(long left, long right) {
+		return (left < right);
+	}
+
+	private static boolean lt(double left, double right) {
+		return (left < right);
+	}
+
+	private static boolean le(long left, long right) {
+		return (left <= right);
+	}
+
+	private static boolean le(double left, double right) {
+		return (left <= right);
+	}
+
+	private static boolean gt(long left, long right) {
+		return (left > right);
+	}
+
+	private static boolean gt(double left, double right) {
+		return (left > right);
+	}
+
+	private static boolean ge(long left, long right) {
+		return (left >= right);
+	}
+
+	private static boolean ge(double left, double right) {
+		return (left >= right);
+	}
+
+}
@@ -257,7 +257,9 @@ public class Indexer extends SpelNodeImpl {
 			}
 			SpelNodeImpl index = this.children[0];
 			cf.enterCompilationScope();
+			cf.enterRootTargetScope();
 			index.generateCode(mv, cf);
+			cf.exitTargetScope();
 			cf.exitCompilationScope();
 			mv.visitInsn(insn);
 		}
@@ -265,7 +267,9 @@ public class Indexer extends SpelNodeImpl {
 		else if (this.indexedType == IndexedType.LIST) {
 			mv.visitTypeInsn(CHECKCAST, "java/util/List");
 			cf.enterCompilationScope();
+			cf.enterRootTargetScope();
 			this.children[0].generateCode(mv, cf);
+			cf.exitTargetScope();
 			cf.exitCompilationScope();
 			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;", true);
 		}
@@ -281,7 +285,9 @@ public class Indexer extends SpelNodeImpl {
 			}
 			else {
 				cf.enterCompilationScope();
+				cf.enterRootTargetScope();
 				this.children[0].generateCode(mv, cf);
+				cf.exitTargetScope();
 				cf.exitCompilationScope();
 			}
 			mv.visitMethodInsn(
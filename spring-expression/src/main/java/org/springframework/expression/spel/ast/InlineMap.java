@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,8 +20,10 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelNode;
 import org.springframework.lang.Nullable;
@@ -43,6 +45,7 @@ public class InlineMap extends SpelNodeImpl {
 	public InlineMap(int pos, SpelNodeImpl... args) {
 		super(pos, args);
 		checkIfConstant();
+		this.exitTypeDescriptor = "Ljava/util/Map";
 	}
 
 
@@ -164,4 +167,94 @@ public class InlineMap extends SpelNodeImpl {
 		return (Map<Object,Object>) this.constant.getValue();
 	}
 
+	@Override
+	public boolean isCompilable() {
+		if (isConstant()) {
+			return true;
+		}
+		for (int c = 0; c < getChildCount(); c++) {
+			SpelNodeImpl child = this.children[c];
+			if (!(child.isCompilable() || (c % 2 == 0 && child instanceof PropertyOrFieldReference))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+		if (isConstant()) {
+			final String constantFieldName = "inlineMap$" + codeflow.nextFieldId();
+			final String className = codeflow.getClassName();
+
+			codeflow.registerNewField((cw, cflow) ->
+					cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, constantFieldName, "Ljava/util/Map;", null, null));
+
+			codeflow.registerNewClinit((mVisitor, cflow) ->
+					generateClinitCode(className, constantFieldName, mVisitor, cflow, false));
+
+			mv.visitFieldInsn(GETSTATIC, className, constantFieldName, "Ljava/util/Map;");
+		}
+		else {
+			mv.visitTypeInsn(NEW, "java/util/LinkedHashMap");
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, "java/util/LinkedHashMap", "<init>", "()V", false);
+			int childCount = getChildCount();
+			for (int c = 0; c < childCount; c++) {
+				mv.visitInsn(DUP);
+				generateEntryCode(mv, codeflow, c);
+				generateEntryCode(mv, codeflow, ++c);
+				mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+						"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+				mv.visitInsn(POP);
+			}
+		}
+		codeflow.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private void generateEntryCode(MethodVisitor mv, CodeFlow codeflow, int childIndex) {
+		SpelNodeImpl child = this.children[childIndex];
+		if (childIndex % 2 == 0 && child instanceof PropertyOrFieldReference) {
+			// Unquoted key, as in interpreted mode
+			mv.visitLdcInsn(((PropertyOrFieldReference) child).getName());
+		}
+		else {
+			codeflow.enterCompilationScope();
+			child.generateCode(mv, codeflow);
+			CodeFlow.insertBoxIfNecessary(mv, codeflow.lastDescriptor());
+			codeflow.exitCompilationScope();
+		}
+	}
+
+	void generateClinitCode(String clazzname, String constantFieldName, MethodVisitor mv, CodeFlow codeflow, boolean nested) {
+		mv.visitTypeInsn(NEW, "java/util/LinkedHashMap");
+		mv.visitInsn(DUP);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/util/LinkedHashMap", "<init>", "()V", false);
+		int childCount = getChildCount();
+		for (int c = 0; c < childCount; c++) {
+			mv.visitInsn(DUP);
+			generateEntryCode(mv, codeflow, c);
+			// Nested lists and maps are built directly here, rather than calling back into
+			// generateCode() which would register further clinit adders
+			SpelNodeImpl value = this.children[++c];
+			if (value instanceof InlineList) {
+				((InlineList) value).generateClinitCode(clazzname, constantFieldName, mv, codeflow, true);
+			}
+			else if (value instanceof InlineMap) {
+				((InlineMap) value).generateClinitCode(clazzname, constantFieldName, mv, codeflow, true);
+			}
+			else {
+				generateEntryCode(mv, codeflow, c);
+			}
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+					"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+			mv.visitInsn(POP);
+		}
+		mv.visitMethodInsn(INVOKESTATIC, "java/util/Collections", "unmodifiableMap",
+				"(Ljava/util/Map;)Ljava/util/Map;", false);
+		if (!nested) {
+			mv.visitFieldInsn(PUTSTATIC, clazzname, constantFieldName, "Ljava/util/Map;");
+		}
+	}
+
 }
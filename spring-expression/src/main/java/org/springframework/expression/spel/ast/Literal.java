@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.invoke.MethodHandle;
+
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.InternalParseException;
@@ -62,6 +64,11 @@ public abstract class Literal extends SpelNodeImpl {
 		return toString();
 	}
 
+	@Override
+	public MethodHandle generateHandle() {
+		return HandleFlow.constant(getLiteralValue().getValue());
+	}
+
 
 	public abstract TypedValue getLiteralValue();
 
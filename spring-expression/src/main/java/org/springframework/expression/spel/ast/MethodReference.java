@@ -16,6 +16,9 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -53,6 +56,12 @@ import org.springframework.util.ObjectUtils;
  */
 public class MethodReference extends SpelNodeImpl {
 
+	/** Maximum number of executors remembered by the inline cache */
+	private static final int INLINE_CACHE_SIZE = 4;
+
+	private static final CachedMethodExecutor[] NO_CACHED_EXECUTORS = new CachedMethodExecutor[0];
+
+
 	private final String name;
 
 	private final boolean nullSafe;
@@ -60,9 +69,13 @@ public class MethodReference extends SpelNodeImpl {
 	@Nullable
 	private String originalPrimitiveExitTypeDescriptor;
 
+	// The most recently used executor, as the basis for compilation
 	@Nullable
 	private volatile CachedMethodExecutor cachedExecutor;
 
+	// Polymorphic inline cache of the executors for the most recent targets and argument types
+	private volatile CachedMethodExecutor[] cachedExecutors = NO_CACHED_EXECUTORS;
+
 
 	public MethodReference(boolean nullSafe, String methodName, int pos, SpelNodeImpl... arguments) {
 		super(pos, arguments);
@@ -126,14 +139,14 @@ public class MethodReference extends SpelNodeImpl {
 
 				// At this point we know it wasn't a user problem so worth a retry if a
 				// better candidate can be found.
-				this.cachedExecutor = null;
+				removeCachedExecutor(executorToUse);
 			}
 		}
 
 		// either there was no accessor or it no longer existed
 		executorToUse = findAccessorForMethod(argumentTypes, value, evaluationContext);
-		this.cachedExecutor = new CachedMethodExecutor(
-				executorToUse, (value instanceof Class ? (Class<?>) value : null), targetType, argumentTypes);
+		addCachedExecutor(new CachedMethodExecutor(
+				executorToUse, (value instanceof Class ? (Class<?>) value : null), targetType, argumentTypes));
 		try {
 			return executorToUse.execute(evaluationContext, value, arguments);
 		}
@@ -191,10 +204,38 @@ public class MethodReference extends SpelNodeImpl {
 		if (executorToCheck != null && executorToCheck.isSuitable(value, target, argumentTypes)) {
 			return executorToCheck.get();
 		}
+		for (CachedMethodExecutor candidate : this.cachedExecutors) {
+			if (candidate != executorToCheck && candidate.isSuitable(value, target, argumentTypes)) {
+				this.cachedExecutor = candidate;
+				return candidate.get();
+			}
+		}
 		this.cachedExecutor = null;
 		return null;
 	}
 
+	private void addCachedExecutor(CachedMethodExecutor executor) {
+		CachedMethodExecutor[] existing = this.cachedExecutors;
+		CachedMethodExecutor[] updated = new CachedMethodExecutor[Math.min(existing.length + 1, INLINE_CACHE_SIZE)];
+		// Most recent first, dropping the least recently resolved executor if necessary
+		updated[0] = executor;
+		System.arraycopy(existing, 0, updated, 1, updated.length - 1);
+		this.cachedExecutors = updated;
+		this.cachedExecutor = executor;
+	}
+
+	private void removeCachedExecutor(MethodExecutor executor) {
+		CachedMethodExecutor[] existing = this.cachedExecutors;
+		List<CachedMethodExecutor> updated = new ArrayList<>(existing.length);
+		for (CachedMethodExecutor candidate : existing) {
+			if (candidate.get() != executor) {
+				updated.add(candidate);
+			}
+		}
+		this.cachedExecutors = updated.toArray(NO_CACHED_EXECUTORS);
+		this.cachedExecutor = null;
+	}
+
 	private MethodExecutor findAccessorForMethod(List<TypeDescriptor> argumentTypes, Object targetObject,
 			EvaluationContext evaluationContext) throws SpelEvaluationException {
 
@@ -365,6 +406,52 @@ public class MethodReference extends SpelNodeImpl {
 		}
 	}
 
+	@Override
+	@Nullable
+	public MethodHandle generateHandle() {
+		CachedMethodExecutor executorToCheck = this.cachedExecutor;
+		if (executorToCheck == null || !(executorToCheck.get() instanceof ReflectiveMethodExecutor)) {
+			return null;
+		}
+
+		ReflectiveMethodExecutor methodExecutor = (ReflectiveMethodExecutor) executorToCheck.get();
+		Method method = methodExecutor.getMethod();
+		if (method.isVarArgs()) {
+			// Arguments would need to be collected into an array first
+			return null;
+		}
+		Class<?> declaringClass = (Modifier.isPublic(method.getDeclaringClass().getModifiers()) ?
+				method.getDeclaringClass() : methodExecutor.getPublicDeclaringClass());
+		MethodHandle[] arguments = generateHandles(this.children);
+		if (declaringClass == null || arguments == null) {
+			return null;
+		}
+
+		boolean isStaticMethod = Modifier.isStatic(method.getModifiers());
+		MethodType type = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+		MethodHandle invoker;
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			invoker = (isStaticMethod ? lookup.findStatic(declaringClass, method.getName(), type) :
+					lookup.findVirtual(declaringClass, method.getName(), type));
+		}
+		catch (ReflectiveOperationException ex) {
+			return null;
+		}
+
+		// Arguments are evaluated against the root object, not the target of the invocation
+		MethodHandle[] operands = new MethodHandle[arguments.length + (isStaticMethod ? 0 : 1)];
+		int offset = 0;
+		if (!isStaticMethod) {
+			operands[offset++] = HandleFlow.activeObject();
+		}
+		for (MethodHandle argument : arguments) {
+			operands[offset++] = HandleFlow.withRootAsActive(argument);
+		}
+		MethodHandle handle = HandleFlow.combine(invoker, operands);
+		return (this.nullSafe ? HandleFlow.nullSafe(handle) : handle);
+	}
+
 
 	private class MethodValueRef implements ValueRef {
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.invoke.MethodHandle;
+
 import org.springframework.asm.Label;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
@@ -100,4 +102,12 @@ public class OpAnd extends Operator {
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	@Override
+	@Nullable
+	public MethodHandle generateHandle() {
+		MethodHandle[] handles = generateHandles(getLeftOperand(), getRightOperand());
+		return (handles != null ? HandleFlow.test(handles[0],
+				HandleFlow.toBoolean(handles[1]), HandleFlow.constant(Boolean.FALSE)) : null);
+	}
+
 }
@@ -16,12 +16,15 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.invoke.MethodHandle;
+
 import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.support.BooleanTypedValue;
+import org.springframework.lang.Nullable;
 
 /**
  * Implements the equality operator.
@@ -91,4 +94,11 @@ public class OpEQ extends Operator {
 		cf.pushDescriptor("Z");
 	}
 
+	@Override
+	@Nullable
+	public MethodHandle generateHandle() {
+		MethodHandle[] handles = generateHandles(getLeftOperand(), getRightOperand());
+		return (handles != null ? HandleFlow.equalityCheck(handles[0], handles[1]) : null);
+	}
+
 }
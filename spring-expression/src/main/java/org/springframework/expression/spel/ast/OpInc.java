@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,9 +19,11 @@ package org.springframework.expression.spel.ast;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Operation;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -118,6 +120,9 @@ public class OpInc extends Operator {
 			}
 		}
 
+		// Only numeric variables can be updated from compiled code
+		this.exitTypeDescriptor = determineVariableUpdateDescriptor(operand, value);
+
 		if (!this.postfix) {
 			// The return value is the new value, not the original value
 			returnValue = newValue;
@@ -136,4 +141,14 @@ public class OpInc extends Operator {
 		throw new IllegalStateException("No right operand");
 	}
 
+	@Override
+	public boolean isCompilable() {
+		return (this.exitTypeDescriptor != null);
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		generateVariableUpdateCode(mv, cf, true, this.postfix);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.invoke.MethodHandle;
+
 import org.springframework.asm.Label;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationContext;
@@ -23,6 +25,7 @@ import org.springframework.expression.EvaluationException;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.support.BooleanTypedValue;
+import org.springframework.lang.Nullable;
 
 /**
  * Implements the not-equal operator.
@@ -103,4 +106,11 @@ public class OpNE extends Operator {
 		cf.pushDescriptor("Z");
 	}
 
+	@Override
+	@Nullable
+	public MethodHandle generateHandle() {
+		MethodHandle[] handles = generateHandles(getLeftOperand(), getRightOperand());
+		return (handles != null ? HandleFlow.not(HandleFlow.equalityCheck(handles[0], handles[1])) : null);
+	}
+
 }
@@ -16,6 +16,7 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.invoke.MethodHandle;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
@@ -24,6 +25,7 @@ import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.NumberUtils;
 import org.springframework.util.ObjectUtils;
@@ -165,6 +167,100 @@ public abstract class Operator extends SpelNodeImpl {
 		cf.pushDescriptor("Z");
 	}
 
+	/**
+	 * Determine the primitive descriptor for an increment or decrement of the given
+	 * operand value, if the operation can be compiled: only numeric variables of a
+	 * supported type can be updated from compiled code.
+	 * @param operand the operand that was updated
+	 * @param value the operand value prior to the update
+	 * @return the primitive descriptor, or {@code null} if not compilable
+	 */
+	@Nullable
+	static String determineVariableUpdateDescriptor(SpelNodeImpl operand, @Nullable Object value) {
+		if (!(operand instanceof VariableReference) || !((VariableReference) operand).isCompilableWrite()) {
+			return null;
+		}
+		String valueDescriptor = CodeFlow.toDescriptorFromObject(value);
+		if (value == null || !CodeFlow.isPrimitiveOrUnboxableSupportedNumber(valueDescriptor)) {
+			return null;
+		}
+		return String.valueOf(CodeFlow.toPrimitiveTargetDesc(valueDescriptor));
+	}
+
+	/**
+	 * Increment and decrement operators share very similar generated code for updating
+	 * a numeric variable, only differing in the arithmetic instruction.
+	 * @param increment whether to increment (or decrement) the variable
+	 * @param postfix whether the result is the original value (or the updated value)
+	 */
+	void generateVariableUpdateCode(MethodVisitor mv, CodeFlow cf, boolean increment, boolean postfix) {
+		VariableReference variable = (VariableReference) getLeftOperand();
+		String exitDesc = this.exitTypeDescriptor;
+		Assert.state(exitDesc != null, "No exit type descriptor");
+		char targetType = exitDesc.charAt(0);
+		boolean wide = (targetType == 'J' || targetType == 'D');
+
+		cf.enterCompilationScope();
+		variable.generateCode(mv, cf);
+		String variableDesc = cf.lastDescriptor();
+		cf.exitCompilationScope();
+		CodeFlow.insertUnboxInsns(mv, targetType, (variableDesc != null ? variableDesc : "Ljava/lang/Object"));
+
+		if (postfix) {
+			mv.visitInsn(wide ? DUP2 : DUP);
+		}
+		switch (targetType) {
+			case 'I':
+				mv.visitInsn(ICONST_1);
+				mv.visitInsn(increment ? IADD : ISUB);
+				break;
+			case 'J':
+				mv.visitInsn(LCONST_1);
+				mv.visitInsn(increment ? LADD : LSUB);
+				break;
+			case 'F':
+				mv.visitInsn(FCONST_1);
+				mv.visitInsn(increment ? FADD : FSUB);
+				break;
+			case 'D':
+				mv.visitInsn(DCONST_1);
+				mv.visitInsn(increment ? DADD : DSUB);
+				break;
+			default:
+				throw new IllegalStateException("Unexpected descriptor " + exitDesc);
+		}
+		if (!postfix) {
+			mv.visitInsn(wide ? DUP2 : DUP);
+		}
+
+		CodeFlow.insertBoxIfNecessary(mv, targetType);
+		int valueVariableId = cf.nextFreeVariableId();
+		mv.visitVarInsn(ASTORE, valueVariableId);
+		variable.generateWriteCode(mv, valueVariableId);
+		cf.pushDescriptor(exitDesc);
+	}
+
+
+	/**
+	 * Numeric comparison operators share very similar method handles, only differing
+	 * in the comparison applied.
+	 * @param comparison the comparison to apply: {@code "lt"}, {@code "le"},
+	 * {@code "gt"} or {@code "ge"}
+	 * @since 5.0.11
+	 */
+	@Nullable
+	protected MethodHandle generateComparisonHandle(String comparison) {
+		SpelNodeImpl left = getLeftOperand();
+		SpelNodeImpl right = getRightOperand();
+		MethodHandle[] handles = generateHandles(left, right);
+		if (handles == null) {
+			return null;
+		}
+		DescriptorComparison dc = DescriptorComparison.checkNumericCompatibility(
+				left.exitTypeDescriptor, right.exitTypeDescriptor, this.leftActualDescriptor, this.rightActualDescriptor);
+		return HandleFlow.compare(comparison, dc.compatibleType, handles[0], handles[1]);
+	}
+
 
 	/**
 	 * Perform an equality check for the given operand values.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,8 +18,11 @@ package org.springframework.expression.spel.ast;
 
 import java.util.List;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypeComparator;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -63,7 +66,10 @@ public class OperatorBetween extends Operator {
 		Object high = list.get(1);
 		TypeComparator comp = state.getTypeComparator();
 		try {
-			return BooleanTypedValue.forValue(comp.compare(left, low) >= 0 && comp.compare(left, high) <= 0);
+			BooleanTypedValue result =
+					BooleanTypedValue.forValue(comp.compare(left, low) >= 0 && comp.compare(left, high) <= 0);
+			this.exitTypeDescriptor = "Z";
+			return result;
 		}
 		catch (SpelEvaluationException ex) {
 			ex.setPosition(getStartPosition());
@@ -71,4 +77,57 @@ public class OperatorBetween extends Operator {
 		}
 	}
 
+	@Override
+	public boolean isCompilable() {
+		// The bounds need to be an inline list, compiled as two separate values
+		SpelNodeImpl left = getLeftOperand();
+		SpelNodeImpl right = getRightOperand();
+		return (this.exitTypeDescriptor != null && left.isCompilable() &&
+				right instanceof InlineList && right.getChildCount() == 2 &&
+				right.children[0].isCompilable() && right.children[1].isCompilable());
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		int leftVariableId = cf.nextFreeVariableId();
+		int comparatorVariableId = cf.nextFreeVariableId();
+		generateBoxedOperandCode(mv, cf, getLeftOperand());
+		mv.visitVarInsn(ASTORE, leftVariableId);
+		cf.loadEvaluationContext(mv);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext",
+				"getTypeComparator", "()Lorg/springframework/expression/TypeComparator;", true);
+		mv.visitVarInsn(ASTORE, comparatorVariableId);
+
+		Label notBetween = new Label();
+		Label endOfIf = new Label();
+		SpelNodeImpl[] bounds = getRightOperand().children;
+		// comparator.compare(left, low) >= 0
+		mv.visitVarInsn(ALOAD, comparatorVariableId);
+		mv.visitVarInsn(ALOAD, leftVariableId);
+		generateBoxedOperandCode(mv, cf, bounds[0]);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/TypeComparator",
+				"compare", "(Ljava/lang/Object;Ljava/lang/Object;)I", true);
+		mv.visitJumpInsn(IFLT, notBetween);
+		// comparator.compare(left, high) <= 0
+		mv.visitVarInsn(ALOAD, comparatorVariableId);
+		mv.visitVarInsn(ALOAD, leftVariableId);
+		generateBoxedOperandCode(mv, cf, bounds[1]);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/TypeComparator",
+				"compare", "(Ljava/lang/Object;Ljava/lang/Object;)I", true);
+		mv.visitJumpInsn(IFGT, notBetween);
+		mv.visitInsn(ICONST_1);
+		mv.visitJumpInsn(GOTO, endOfIf);
+		mv.visitLabel(notBetween);
+		mv.visitInsn(ICONST_0);
+		mv.visitLabel(endOfIf);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private static void generateBoxedOperandCode(MethodVisitor mv, CodeFlow cf, SpelNodeImpl operand) {
+		cf.enterCompilationScope();
+		operand.generateCode(mv, cf);
+		CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
+		cf.exitCompilationScope();
+	}
+
 }
@@ -22,7 +22,9 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -81,8 +83,9 @@ public class OperatorMatches extends Operator {
 				pattern = Pattern.compile(rightString);
 				this.patternCache.putIfAbsent(rightString, pattern);
 			}
-			Matcher matcher = pattern.matcher(new MatcherInput(left, new AccessCount()));
-			return BooleanTypedValue.forValue(matcher.matches());
+			BooleanTypedValue result = BooleanTypedValue.forValue(matches(pattern, left));
+			this.exitTypeDescriptor = "Z";
+			return result;
 		}
 		catch (PatternSyntaxException ex) {
 			throw new SpelEvaluationException(
@@ -95,6 +98,55 @@ public class OperatorMatches extends Operator {
 	}
 
 
+	@Override
+	public boolean isCompilable() {
+		// Literal patterns only, to be precompiled into a constant of the generated class,
+		// and String input only, since compiled code does not apply any type conversion
+		SpelNodeImpl left = getLeftOperand();
+		return (this.exitTypeDescriptor != null && getRightOperand() instanceof StringLiteral &&
+				left.isCompilable() && "Ljava/lang/String".equals(left.exitTypeDescriptor));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		String regex = (String) ((StringLiteral) getRightOperand()).getLiteralValue().getValue();
+		String constantFieldName = "pattern$" + cf.nextFieldId();
+		String className = cf.getClassName();
+
+		cf.registerNewField((cw, cflow) ->
+				cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, constantFieldName, "Ljava/util/regex/Pattern;", null, null));
+		cf.registerNewClinit((clinit, cflow) -> {
+			clinit.visitLdcInsn(regex);
+			clinit.visitMethodInsn(INVOKESTATIC, "java/util/regex/Pattern", "compile",
+					"(Ljava/lang/String;)Ljava/util/regex/Pattern;", false);
+			clinit.visitFieldInsn(PUTSTATIC, className, constantFieldName, "Ljava/util/regex/Pattern;");
+		});
+
+		mv.visitFieldInsn(GETSTATIC, className, constantFieldName, "Ljava/util/regex/Pattern;");
+		cf.enterCompilationScope();
+		getLeftOperand().generateCode(mv, cf);
+		cf.exitCompilationScope();
+		mv.visitMethodInsn(INVOKESTATIC, "org/springframework/expression/spel/ast/OperatorMatches", "matches",
+				"(Ljava/util/regex/Pattern;Ljava/lang/String;)Z", false);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+
+	/**
+	 * Check whether the given input matches the given pattern, giving up with an
+	 * {@link IllegalStateException} if the input is accessed excessively often
+	 * while matching. Also used by compiled expressions.
+	 * @param pattern the compiled regex
+	 * @param input the input to match
+	 * @return {@code true} if the entire input matches the pattern
+	 * @since 5.0.11
+	 */
+	public static boolean matches(Pattern pattern, String input) {
+		Matcher matcher = pattern.matcher(new MatcherInput(input, new AccessCount()));
+		return matcher.matches();
+	}
+
+
 	private static class AccessCount {
 
 		private int count;
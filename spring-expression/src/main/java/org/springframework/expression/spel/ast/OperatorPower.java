@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,9 +19,11 @@ package org.springframework.expression.spel.ast;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Operation;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.util.NumberUtils;
 
@@ -47,6 +49,9 @@ public class OperatorPower extends Operator {
 		Object leftOperand = leftOp.getValueInternal(state).getValue();
 		Object rightOperand = rightOp.getValueInternal(state).getValue();
 
+		// Only double and long results are of a predictable type (int results may widen to long)
+		this.exitTypeDescriptor = null;
+
 		if (leftOperand instanceof Number && rightOperand instanceof Number) {
 			Number leftNumber = (Number) leftOperand;
 			Number rightNumber = (Number) rightOperand;
@@ -60,14 +65,20 @@ public class OperatorPower extends Operator {
 				return new TypedValue(leftBigInteger.pow(rightNumber.intValue()));
 			}
 			else if (leftNumber instanceof Double || rightNumber instanceof Double) {
+				this.exitTypeDescriptor = "D";
 				return new TypedValue(Math.pow(leftNumber.doubleValue(), rightNumber.doubleValue()));
 			}
 			else if (leftNumber instanceof Float || rightNumber instanceof Float) {
+				this.exitTypeDescriptor = "D";
 				return new TypedValue(Math.pow(leftNumber.floatValue(), rightNumber.floatValue()));
 			}
 
 			double d = Math.pow(leftNumber.doubleValue(), rightNumber.doubleValue());
-			if (d > Integer.MAX_VALUE || leftNumber instanceof Long || rightNumber instanceof Long) {
+			if (leftNumber instanceof Long || rightNumber instanceof Long) {
+				this.exitTypeDescriptor = "J";
+				return new TypedValue((long) d);
+			}
+			else if (d > Integer.MAX_VALUE) {
 				return new TypedValue((long) d);
 			}
 			else {
@@ -78,4 +89,45 @@ public class OperatorPower extends Operator {
 		return state.operate(Operation.POWER, leftOperand, rightOperand);
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl left = getLeftOperand();
+		SpelNodeImpl right = getRightOperand();
+		return (this.exitTypeDescriptor != null && left.isCompilable() && right.isCompilable() &&
+				CodeFlow.isPrimitiveOrUnboxableSupportedNumber(left.exitTypeDescriptor) &&
+				CodeFlow.isPrimitiveOrUnboxableSupportedNumber(right.exitTypeDescriptor));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		SpelNodeImpl left = getLeftOperand();
+		SpelNodeImpl right = getRightOperand();
+		char leftDesc = CodeFlow.toPrimitiveTargetDesc(left.exitTypeDescriptor);
+		char rightDesc = CodeFlow.toPrimitiveTargetDesc(right.exitTypeDescriptor);
+		// As in interpreted mode, the operands of a float power are narrowed to float first
+		boolean floatOperands = (leftDesc != 'D' && rightDesc != 'D' && (leftDesc == 'F' || rightDesc == 'F'));
+
+		generateOperandCode(mv, cf, left, floatOperands);
+		generateOperandCode(mv, cf, right, floatOperands);
+		mv.visitMethodInsn(INVOKESTATIC, "java/lang/Math", "pow", "(DD)D", false);
+		if ("J".equals(this.exitTypeDescriptor)) {
+			mv.visitInsn(D2L);
+		}
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private static void generateOperandCode(MethodVisitor mv, CodeFlow cf, SpelNodeImpl operand, boolean floatOperand) {
+		cf.enterCompilationScope();
+		operand.generateCode(mv, cf);
+		String desc = cf.lastDescriptor();
+		cf.exitCompilationScope();
+		if (floatOperand) {
+			CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, desc, 'F');
+			mv.visitInsn(F2D);
+		}
+		else {
+			CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, desc, 'D');
+		}
+	}
+
 }
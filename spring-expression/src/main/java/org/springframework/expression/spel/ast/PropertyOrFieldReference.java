@@ -16,8 +16,15 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +42,7 @@ import org.springframework.expression.spel.CompilablePropertyAccessor;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.support.DataBindingPropertyAccessor;
 import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -50,6 +58,12 @@ import org.springframework.util.ReflectionUtils;
  */
 public class PropertyOrFieldReference extends SpelNodeImpl {
 
+	/** Maximum number of target types remembered by the inline read cache */
+	private static final int INLINE_CACHE_SIZE = 4;
+
+	private static final InlineReadAccessor[] NO_INLINE_READ_ACCESSORS = new InlineReadAccessor[0];
+
+
 	private final boolean nullSafe;
 
 	private final String name;
@@ -63,6 +77,10 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	@Nullable
 	private volatile PropertyAccessor cachedWriteAccessor;
 
+	// Polymorphic inline cache of the optimal reflective accessors for the most recent
+	// target types, valid across evaluation contexts with an equivalent accessor chain
+	private volatile InlineReadAccessor[] inlineReadAccessors = NO_INLINE_READ_ACCESSORS;
+
 
 	public PropertyOrFieldReference(boolean nullSafe, String propertyOrFieldName, int pos) {
 		super(pos);
@@ -174,6 +192,19 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			return TypedValue.NULL;
 		}
 
+		InlineReadAccessor inlineAccessor = getInlineReadAccessor(targetObject, evalContext);
+		if (inlineAccessor != null) {
+			if (this.cachedReadAccessor != inlineAccessor.accessor) {
+				this.cachedReadAccessor = inlineAccessor.accessor;
+			}
+			try {
+				return inlineAccessor.accessor.read(evalContext, targetObject, name);
+			}
+			catch (AccessException ex) {
+				throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_DURING_PROPERTY_READ, name, ex.getMessage());
+			}
+		}
+
 		PropertyAccessor accessorToUse = this.cachedReadAccessor;
 		if (accessorToUse != null) {
 			if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
@@ -197,8 +228,10 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			for (PropertyAccessor accessor : accessorsToTry) {
 				if (accessor.canRead(evalContext, contextObject.getValue(), name)) {
 					if (accessor instanceof ReflectivePropertyAccessor) {
+						PropertyAccessor reflectiveAccessor = accessor;
 						accessor = ((ReflectivePropertyAccessor) accessor).createOptimalAccessor(
 								evalContext, contextObject.getValue(), name);
+						addInlineReadAccessor(targetObject, reflectiveAccessor, accessor, accessorsToTry);
 					}
 					this.cachedReadAccessor = accessor;
 					return accessor.read(evalContext, contextObject.getValue(), name);
@@ -218,6 +251,79 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+	@Nullable
+	private InlineReadAccessor getInlineReadAccessor(@Nullable Object targetObject, EvaluationContext evalContext) {
+		if (targetObject == null) {
+			return null;
+		}
+		Class<?> targetType = targetObject.getClass();
+		for (InlineReadAccessor inlineAccessor : this.inlineReadAccessors) {
+			if (inlineAccessor.targetType == targetType) {
+				return (isFirstAccessorToTry(inlineAccessor.reflectiveAccessorType, targetType,
+						evalContext.getPropertyAccessors()) ? inlineAccessor : null);
+			}
+		}
+		return null;
+	}
+
+	private void addInlineReadAccessor(@Nullable Object targetObject, PropertyAccessor reflectiveAccessor,
+			PropertyAccessor optimalAccessor, List<PropertyAccessor> accessorsToTry) {
+
+		// Only applicable to the framework's accessors, which resolve members based on the target type
+		// alone, and to instance properties: static access differs per Class target.
+		Class<?> reflectiveAccessorType = reflectiveAccessor.getClass();
+		if (targetObject == null || targetObject instanceof Class ||
+				!(optimalAccessor instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor) ||
+				!(reflectiveAccessorType == ReflectivePropertyAccessor.class ||
+						reflectiveAccessorType == DataBindingPropertyAccessor.class) ||
+				accessorsToTry.get(0) != reflectiveAccessor) {
+			return;
+		}
+		InlineReadAccessor[] existing = this.inlineReadAccessors;
+		int length = Math.min(existing.length, INLINE_CACHE_SIZE - 1);
+		InlineReadAccessor[] updated = new InlineReadAccessor[length + 1];
+		// Most recent first, dropping the least recently resolved target type if necessary
+		updated[0] = new InlineReadAccessor(targetObject.getClass(), reflectiveAccessorType, optimalAccessor);
+		int index = 1;
+		for (int i = 0; i < existing.length && index < updated.length; i++) {
+			if (existing[i].targetType != targetObject.getClass()) {
+				updated[index++] = existing[i];
+			}
+		}
+		this.inlineReadAccessors = (index < updated.length ? Arrays.copyOf(updated, index) : updated);
+	}
+
+	/**
+	 * Determine whether an accessor of the given type would be the first accessor
+	 * to try for the given target type, according to {@link #getPropertyAccessorsToTry}.
+	 */
+	private static boolean isFirstAccessorToTry(Class<?> accessorType, Class<?> targetType,
+			List<PropertyAccessor> propertyAccessors) {
+
+		boolean found = false;
+		for (PropertyAccessor accessor : propertyAccessors) {
+			Class<?>[] targets = accessor.getSpecificTargetClasses();
+			if (targets == null) {
+				if (!found && accessor.getClass() == accessorType) {
+					found = true;
+				}
+				else if (!found) {
+					// Another generic accessor to try first
+					return false;
+				}
+			}
+			else {
+				for (Class<?> clazz : targets) {
+					// Specific accessors for the exact type go first, other applicable ones in order
+					if (clazz == targetType || (!found && clazz.isAssignableFrom(targetType))) {
+						return false;
+					}
+				}
+			}
+		}
+		return found;
+	}
+
 	private void writeProperty(
 			TypedValue contextObject, EvaluationContext evalContext, String name, @Nullable Object newValue)
 			throws EvaluationException {
@@ -368,6 +474,35 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+	@Override
+	@Nullable
+	public MethodHandle generateHandle() {
+		PropertyAccessor accessorToUse = this.cachedReadAccessor;
+		if (!(accessorToUse instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor)) {
+			return null;
+		}
+
+		Member member = ((ReflectivePropertyAccessor.OptimalPropertyAccessor) accessorToUse).member;
+		MethodHandle getter;
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			getter = (member instanceof Method ? lookup.unreflect((Method) member) :
+					lookup.unreflectGetter((Field) member));
+		}
+		catch (IllegalAccessException ex) {
+			return null;
+		}
+
+		MethodHandle handle;
+		if (Modifier.isStatic(member.getModifiers())) {
+			handle = HandleFlow.combine(getter);
+		}
+		else {
+			handle = HandleFlow.combine(getter, HandleFlow.activeObject());
+		}
+		return (this.nullSafe ? HandleFlow.nullSafe(handle) : handle);
+	}
+
 	void setExitTypeDescriptor(String descriptor) {
 		// If this property or field access would return a primitive - and yet
 		// it is also marked null safe - then the exit type descriptor must be
@@ -423,4 +558,24 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+
+	/**
+	 * An optimal accessor for a specific target type, along with the type of
+	 * reflective accessor that it has been created by.
+	 */
+	private static class InlineReadAccessor {
+
+		final Class<?> targetType;
+
+		final Class<?> reflectiveAccessorType;
+
+		final PropertyAccessor accessor;
+
+		public InlineReadAccessor(Class<?> targetType, Class<?> reflectiveAccessorType, PropertyAccessor accessor) {
+			this.targetType = targetType;
+			this.reflectiveAccessorType = reflectiveAccessorType;
+			this.accessor = accessor;
+		}
+	}
+
 }
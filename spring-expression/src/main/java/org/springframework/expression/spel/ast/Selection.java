@@ -23,9 +23,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -79,6 +82,7 @@ public class Selection extends SpelNodeImpl {
 		SpelNodeImpl selectionCriteria = this.children[0];
 
 		if (operand instanceof Map) {
+			this.exitTypeDescriptor = "Ljava/util/Map";
 			Map<?, ?> mapdata = (Map<?, ?>) operand;
 			// TODO don't lose generic info for the new map
 			Map<Object, Object> result = new HashMap<>();
@@ -126,6 +130,9 @@ public class Selection extends SpelNodeImpl {
 		}
 
 		if (operand instanceof Iterable || ObjectUtils.isArray(operand)) {
+			// Selection over arrays is not compilable: the result is an array of the element type
+			this.exitTypeDescriptor = (operand instanceof Iterable ?
+					(this.variant == ALL ? "Ljava/util/List" : "Ljava/lang/Object") : null);
 			Iterable<?> data = (operand instanceof Iterable ?
 					(Iterable<?>) operand : Arrays.asList(ObjectUtils.toObjectArray(operand)));
 
@@ -194,6 +201,142 @@ public class Selection extends SpelNodeImpl {
 				operand.getClass().getName());
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl selectionCriteria = this.children[0];
+		return (this.exitTypeDescriptor != null && selectionCriteria.isCompilable() &&
+				CodeFlow.isBooleanCompatible(selectionCriteria.exitTypeDescriptor));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		boolean mapSelection = "Ljava/util/Map".equals(this.exitTypeDescriptor);
+		Label endOfSelection = new Label();
+		if (cf.lastDescriptor() == null) {
+			cf.loadTarget(mv);
+		}
+		if (this.nullSafe) {
+			Label notNull = new Label();
+			mv.visitInsn(DUP);
+			mv.visitJumpInsn(IFNONNULL, notNull);
+			CodeFlow.insertCheckCast(mv, this.exitTypeDescriptor);
+			mv.visitJumpInsn(GOTO, endOfSelection);
+			mv.visitLabel(notNull);
+		}
+
+		int iteratorVariableId = cf.nextFreeVariableId();
+		int elementVariableId = cf.nextFreeVariableId();
+		int resultVariableId = cf.nextFreeVariableId();
+		if (mapSelection) {
+			mv.visitTypeInsn(CHECKCAST, "java/util/Map");
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "entrySet", "()Ljava/util/Set;", true);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Set", "iterator", "()Ljava/util/Iterator;", true);
+		}
+		else {
+			mv.visitTypeInsn(CHECKCAST, "java/lang/Iterable");
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/lang/Iterable", "iterator", "()Ljava/util/Iterator;", true);
+		}
+		mv.visitVarInsn(ASTORE, iteratorVariableId);
+		if (this.variant == ALL || (mapSelection && this.variant == FIRST)) {
+			String resultType = (mapSelection ? "java/util/HashMap" : "java/util/ArrayList");
+			mv.visitTypeInsn(NEW, resultType);
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, resultType, "<init>", "()V", false);
+		}
+		else {
+			mv.visitInsn(ACONST_NULL);
+		}
+		mv.visitVarInsn(ASTORE, resultVariableId);
+
+		// while (iterator.hasNext())
+		Label nextElement = new Label();
+		Label endOfElements = new Label();
+		mv.visitLabel(nextElement);
+		mv.visitVarInsn(ALOAD, iteratorVariableId);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+		mv.visitJumpInsn(IFEQ, endOfElements);
+		mv.visitVarInsn(ALOAD, iteratorVariableId);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ASTORE, elementVariableId);
+
+		// Evaluate the selection criteria against the current element (or map entry)
+		cf.enterCompilationScope();
+		cf.enterTargetScope(elementVariableId);
+		this.children[0].generateCode(mv, cf);
+		cf.unboxBooleanIfNecessary(mv);
+		cf.exitTargetScope();
+		cf.exitCompilationScope();
+		mv.visitJumpInsn(IFEQ, nextElement);
+
+		if (this.variant == LAST) {
+			mv.visitVarInsn(ALOAD, elementVariableId);
+			mv.visitVarInsn(ASTORE, resultVariableId);
+			mv.visitJumpInsn(GOTO, nextElement);
+		}
+		else if (mapSelection) {
+			mv.visitVarInsn(ALOAD, resultVariableId);
+			generatePutEntryCode(mv, elementVariableId);
+			if (this.variant == FIRST) {
+				mv.visitVarInsn(ALOAD, resultVariableId);
+				mv.visitJumpInsn(GOTO, endOfSelection);
+			}
+			else {
+				mv.visitJumpInsn(GOTO, nextElement);
+			}
+		}
+		else if (this.variant == FIRST) {
+			mv.visitVarInsn(ALOAD, elementVariableId);
+			mv.visitJumpInsn(GOTO, endOfSelection);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, resultVariableId);
+			mv.visitVarInsn(ALOAD, elementVariableId);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
+			mv.visitInsn(POP);
+			mv.visitJumpInsn(GOTO, nextElement);
+		}
+
+		mv.visitLabel(endOfElements);
+		if (this.variant == FIRST) {
+			mv.visitInsn(ACONST_NULL);
+		}
+		else if (mapSelection && this.variant == LAST) {
+			// A map with the last matching entry, if any
+			Label noMatch = new Label();
+			mv.visitVarInsn(ALOAD, resultVariableId);
+			mv.visitJumpInsn(IFNULL, noMatch);
+			mv.visitTypeInsn(NEW, "java/util/HashMap");
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, "java/util/HashMap", "<init>", "()V", false);
+			mv.visitInsn(DUP);
+			generatePutEntryCode(mv, resultVariableId);
+			mv.visitJumpInsn(GOTO, endOfSelection);
+			mv.visitLabel(noMatch);
+			mv.visitInsn(ACONST_NULL);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, resultVariableId);
+		}
+		mv.visitLabel(endOfSelection);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	/**
+	 * Generate code that puts the map entry held in the given local variable
+	 * into the map on top of the stack.
+	 */
+	private static void generatePutEntryCode(MethodVisitor mv, int entryVariableId) {
+		mv.visitVarInsn(ALOAD, entryVariableId);
+		mv.visitTypeInsn(CHECKCAST, "java/util/Map$Entry");
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map$Entry", "getKey", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ALOAD, entryVariableId);
+		mv.visitTypeInsn(CHECKCAST, "java/util/Map$Entry");
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map$Entry", "getValue", "()Ljava/lang/Object;", true);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+				"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+		mv.visitInsn(POP);
+	}
+
 	@Override
 	public String toStringAST() {
 		StringBuilder sb = new StringBuilder();
@@ -16,6 +16,7 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
@@ -187,6 +188,41 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		throw new IllegalStateException(getClass().getName() +" has no generateCode(..) method");
 	}
 
+	/**
+	 * Generate a method handle that evaluates this node, as an alternative to
+	 * generating bytecode. Only called on nodes which are {@link #isCompilable()
+	 * compilable}, relying on the same state learned during interpreted runs.
+	 * <p>The returned handle is of type
+	 * {@code (Object activeObject, Object rootObject, EvaluationContext context)Object},
+	 * with method arguments evaluated against the root object as active object.
+	 * @return the method handle, or {@code null} if this node (or any of its
+	 * children) does not support method handle compilation
+	 * @since 5.0.11
+	 * @see org.springframework.expression.spel.SpelCompilerBackend#METHOD_HANDLE
+	 */
+	@Nullable
+	public MethodHandle generateHandle() {
+		return null;
+	}
+
+	/**
+	 * Generate the method handles for the given child nodes.
+	 * @return the method handles, or {@code null} if any child node does not
+	 * support method handle compilation
+	 * @since 5.0.11
+	 */
+	@Nullable
+	protected static MethodHandle[] generateHandles(SpelNodeImpl... nodes) {
+		MethodHandle[] handles = new MethodHandle[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			handles[i] = nodes[i].generateHandle();
+			if (handles[i] == null) {
+				return null;
+			}
+		}
+		return handles;
+	}
+
 	@Nullable
 	public String getExitDescriptor() {
 		return this.exitTypeDescriptor;
@@ -16,6 +16,7 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Modifier;
 
 import org.springframework.asm.MethodVisitor;
@@ -66,7 +67,9 @@ public class VariableReference extends SpelNodeImpl {
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws SpelEvaluationException {
 		if (this.name.equals(THIS)) {
-			return state.getActiveContextObject();
+			TypedValue result = state.getActiveContextObject();
+			this.exitTypeDescriptor = toPublicDescriptor(result.getValue());
+			return result;
 		}
 		if (this.name.equals(ROOT)) {
 			TypedValue result = state.getRootContextObject();
@@ -74,18 +77,8 @@ public class VariableReference extends SpelNodeImpl {
 			return result;
 		}
 		TypedValue result = state.lookupVariable(this.name);
-		Object value = result.getValue();
-		if (value == null || !Modifier.isPublic(value.getClass().getModifiers())) {
-			// If the type is not public then when generateCode produces a checkcast to it
-			// then an IllegalAccessError will occur.
-			// If resorting to Object isn't sufficient, the hierarchy could be traversed for 
-			// the first public type.
-			this.exitTypeDescriptor = "Ljava/lang/Object";
-		}
-		else {
-			this.exitTypeDescriptor = CodeFlow.toDescriptorFromObject(value);
-		}
 		// a null value will mean either the value was null or the variable was not found
+		this.exitTypeDescriptor = toPublicDescriptor(result.getValue());
 		return result;
 	}
 
@@ -114,6 +107,12 @@ public class VariableReference extends SpelNodeImpl {
 		if (this.name.equals(ROOT)) {
 			mv.visitVarInsn(ALOAD,1);
 		}
+		else if (this.name.equals(THIS)) {
+			// Within a compound expression the active context object is already on the stack
+			if (cf.lastDescriptor() == null) {
+				cf.loadTarget(mv);
+			}
+		}
 		else {
 			mv.visitVarInsn(ALOAD, 2);
 			mv.visitLdcInsn(name);
@@ -123,6 +122,52 @@ public class VariableReference extends SpelNodeImpl {
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	@Override
+	public MethodHandle generateHandle() {
+		if (this.name.equals(ROOT)) {
+			return HandleFlow.rootObject();
+		}
+		else if (this.name.equals(THIS)) {
+			return HandleFlow.activeObject();
+		}
+		else {
+			return HandleFlow.variable(this.name);
+		}
+	}
+
+	/**
+	 * Whether compiled code may assign this variable via {@link #generateWriteCode}.
+	 */
+	boolean isCompilableWrite() {
+		return !(this.name.equals(THIS) || this.name.equals(ROOT));
+	}
+
+	/**
+	 * Generate code that sets this variable in the evaluation context
+	 * to the value held in the given local variable.
+	 * @param valueVariableId the local variable holding the (boxed) value
+	 */
+	void generateWriteCode(MethodVisitor mv, int valueVariableId) {
+		mv.visitVarInsn(ALOAD, 2);
+		mv.visitLdcInsn(this.name);
+		mv.visitVarInsn(ALOAD, valueVariableId);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext",
+				"setVariable", "(Ljava/lang/String;Ljava/lang/Object;)V", true);
+	}
+
+	private static String toPublicDescriptor(@Nullable Object value) {
+		if (value == null || !Modifier.isPublic(value.getClass().getModifiers())) {
+			// If the type is not public then when generateCode produces a checkcast to it
+			// then an IllegalAccessError will occur.
+			// If resorting to Object isn't sufficient, the hierarchy could be traversed for 
+			// the first public type.
+			return "Ljava/lang/Object";
+		}
+		else {
+			return CodeFlow.toDescriptorFromObject(value);
+		}
+	}
+
 
 	private static class VariableRef implements ValueRef {
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.UndeclaredThrowableException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.spel.CompiledExpression;
+import org.springframework.expression.spel.ast.SpelNodeImpl;
+import org.springframework.lang.Nullable;
+
+/**
+ * Compiles a parsed expression into a composition of bound method handles,
+ * as an alternative to {@link SpelCompiler} which generates and loads a class
+ * per expression.
+ *
+ * <p>Just like bytecode compilation, this relies on the type information and
+ * resolved members learned during interpreted runs of the expression, and the
+ * compiled form fails (e.g. with a {@code ClassCastException}) once that
+ * information no longer applies. No class gets defined for a compiled
+ * expression, so it can be garbage collected along with its expression.
+ *
+ * @since 5.0.11
+ * @see org.springframework.expression.spel.SpelCompilerBackend#METHOD_HANDLE
+ * @see SpelNodeImpl#generateHandle()
+ */
+abstract class MethodHandleCompiler {
+
+	private static final Log logger = LogFactory.getLog(MethodHandleCompiler.class);
+
+
+	/**
+	 * Attempt compilation of the supplied expression. A check is made to see
+	 * if it is compilable before compilation proceeds, and every node of the
+	 * expression needs to support method handle compilation.
+	 * @param expression the expression to compile
+	 * @return the compiled expression, or {@code null} if compilation is not possible
+	 */
+	@Nullable
+	static CompiledExpression compile(SpelNodeImpl expression) {
+		if (expression.isCompilable()) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("SpEL: compiling " + expression.toStringAST() + " into method handles");
+			}
+			MethodHandle handle = expression.generateHandle();
+			if (handle != null) {
+				// The root object is the initial active context object: (r, c) -> handle(r, r, c)
+				return new MethodHandleCompiledExpression(
+						MethodHandles.foldArguments(handle, MethodHandles.identity(Object.class)));
+			}
+		}
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("SpEL: unable to compile " + expression.toStringAST() + " into method handles");
+		}
+		return null;
+	}
+
+
+	/**
+	 * {@link CompiledExpression} that invokes the method handle for an expression.
+	 */
+	private static class MethodHandleCompiledExpression extends CompiledExpression {
+
+		private final MethodHandle handle;
+
+		public MethodHandleCompiledExpression(MethodHandle handle) {
+			this.handle = handle;
+		}
+
+		@Override
+		public Object getValue(@Nullable Object target, @Nullable EvaluationContext context)
+				throws EvaluationException {
+
+			try {
+				return this.handle.invokeExact(target, context);
+			}
+			catch (RuntimeException | Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new UndeclaredThrowableException(ex);
+			}
+		}
+	}
+
+}
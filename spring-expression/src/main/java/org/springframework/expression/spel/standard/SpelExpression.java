@@ -24,6 +24,7 @@ import org.springframework.expression.TypedValue;
 import org.springframework.expression.common.ExpressionUtils;
 import org.springframework.expression.spel.CompiledExpression;
 import org.springframework.expression.spel.ExpressionState;
+import org.springframework.expression.spel.SpelCompilerBackend;
 import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -495,6 +496,8 @@ public class SpelExpression implements Expression {
 	 * Perform expression compilation. This will only succeed once exit descriptors for all nodes have
 	 * been determined. If the compilation fails and has failed more than 100 times the expression is
 	 * no longer considered suitable for compilation.
+	 * <p>Depending on the configured {@link SpelCompilerBackend}, the expression is either
+	 * compiled to bytecode or into a composition of method handles.
 	 */
 	public boolean compileExpression() {
 		if (this.failedAttempts > FAILED_ATTEMPTS_THRESHOLD) {
@@ -507,8 +510,13 @@ public class SpelExpression implements Expression {
 				if (this.compiledAst != null) {
 					return true;
 				}
-				SpelCompiler compiler = SpelCompiler.getCompiler(this.configuration.getCompilerClassLoader());
-				this.compiledAst = compiler.compile(this.ast);
+				if (this.configuration.getCompilerBackend() == SpelCompilerBackend.METHOD_HANDLE) {
+					this.compiledAst = MethodHandleCompiler.compile(this.ast);
+				}
+				else {
+					SpelCompiler compiler = SpelCompiler.getCompiler(this.configuration.getCompilerClassLoader());
+					this.compiledAst = compiler.compile(this.ast);
+				}
 				if (this.compiledAst == null) {
 					this.failedAttempts++;
 				}
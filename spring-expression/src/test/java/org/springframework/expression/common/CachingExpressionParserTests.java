@@ -0,0 +1,154 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CachingExpressionParser}.
+ */
+public class CachingExpressionParserTests {
+
+	private final CachingExpressionParser parser = new CachingExpressionParser(new SpelExpressionParser());
+
+
+	@Test
+	public void cachedPerExpressionString() {
+		Expression expression = this.parser.parseExpression("1 + 2");
+		assertSame(expression, this.parser.parseExpression("1 + 2"));
+		assertNotSame(expression, this.parser.parseExpression("1 + 3"));
+		assertEquals(3, expression.getValue());
+		assertEquals(1, this.parser.getCacheHitCount());
+		assertEquals(2, this.parser.getCacheMissCount());
+		assertEquals(2, this.parser.getCacheSize());
+		assertTrue(this.parser.getTotalParseTimeNanos() > 0);
+	}
+
+	@Test
+	public void cachedPerParserContext() {
+		Expression expression = this.parser.parseExpression("1");
+		assertNotSame(expression, this.parser.parseExpression("1", ParserContext.TEMPLATE_EXPRESSION));
+
+		Expression template = this.parser.parseExpression("#{1}", ParserContext.TEMPLATE_EXPRESSION);
+		Expression otherTemplate = this.parser.parseExpression("#{1}", new TemplateParserContext("${", "}"));
+		assertNotSame(template, otherTemplate);
+		assertSame(template, this.parser.parseExpression("#{1}", new TemplateParserContext()));
+		assertEquals(1, template.getValue());
+		assertEquals("#{1}", otherTemplate.getValue());
+	}
+
+	@Test
+	public void leastRecentlyUsedEvicted() {
+		this.parser.setCacheLimit(2);
+		Expression one = this.parser.parseExpression("1");
+		Expression two = this.parser.parseExpression("2");
+		assertSame(one, this.parser.parseExpression("1"));
+		this.parser.parseExpression("3");
+		assertEquals(2, this.parser.getCacheSize());
+		assertEquals(1, this.parser.getCacheEvictionCount());
+		assertSame(one, this.parser.parseExpression("1"));
+		assertNotSame(two, this.parser.parseExpression("2"));
+
+		this.parser.setCacheLimit(1);
+		assertEquals(1, this.parser.getCacheSize());
+		assertEquals(3, this.parser.getCacheEvictionCount());
+	}
+
+	@Test
+	public void cachingDisabled() {
+		this.parser.setCacheLimit(0);
+		Expression expression = this.parser.parseExpression("1");
+		assertNotSame(expression, this.parser.parseExpression("1"));
+		assertEquals(0, this.parser.getCacheSize());
+	}
+
+	@Test
+	public void parseExceptionNotCached() {
+		for (int i = 0; i < 2; i++) {
+			try {
+				this.parser.parseExpression("1 +");
+				fail("Should have thrown ParseException");
+			}
+			catch (ParseException ex) {
+				// expected
+			}
+		}
+		assertEquals(2, this.parser.getCacheMissCount());
+		assertEquals(0, this.parser.getCacheSize());
+	}
+
+	@Test
+	public void concurrentAccess() throws Exception {
+		this.parser.setCacheLimit(16);
+		int threadCount = 8;
+		int iterations = 5000;
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			CountDownLatch startLatch = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threadCount; i++) {
+				int offset = i;
+				futures.add(executor.submit(() -> {
+					startLatch.await();
+					for (int j = 0; j < iterations; j++) {
+						// Mostly a hot set of 8 expressions, occasionally one out of 32 others
+						int value = (j % 10 == 0 ? 8 + (j / 10 + offset) % 32 : (j + offset) % 8);
+						assertEquals(value, this.parser.parseExpression(Integer.toString(value)).getValue());
+					}
+					return null;
+				}));
+			}
+			startLatch.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(threadCount * iterations, this.parser.getCacheHitCount() + this.parser.getCacheMissCount());
+		assertTrue(this.parser.getCacheSize() <= 16);
+		assertTrue(this.parser.getCacheEvictionCount() > 0);
+		assertTrue(this.parser.getCacheMissCount() >= this.parser.getCacheSize() + this.parser.getCacheEvictionCount());
+		assertTrue("Hot expressions evicted", this.parser.getCacheHitCount() > this.parser.getCacheMissCount());
+	}
+
+	@Test
+	public void clearCache() {
+		Expression expression = this.parser.parseExpression("1");
+		this.parser.clearCache();
+		assertEquals(0, this.parser.getCacheSize());
+		assertNotSame(expression, this.parser.parseExpression("1"));
+	}
+
+}
@@ -16,12 +16,21 @@
 
 package org.springframework.expression.spel;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.MethodExecutor;
 import org.springframework.expression.spel.ast.MethodReference;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import static org.junit.Assert.*;
@@ -58,6 +67,26 @@ public class CachedMethodExecutorTests {
 		assertMethodExecution(expression, new RootObject(), "int: 42");
 	}
 
+	@Test
+	public void testCachedExecutionForAlternatingTargets() {
+		AtomicInteger resolutionCount = new AtomicInteger();
+		this.context.setMethodResolvers(Collections.singletonList(new ReflectiveMethodResolver() {
+			@Override
+			public MethodExecutor resolve(EvaluationContext context, Object targetObject, String name,
+					List<TypeDescriptor> argumentTypes) throws AccessException {
+				resolutionCount.incrementAndGet();
+				return super.resolve(context, targetObject, name, argumentTypes);
+			}
+		}));
+		Expression expression = this.parser.parseExpression("#var.echo(42)");
+
+		for (int i = 0; i < 3; i++) {
+			assertMethodExecution(expression, new RootObject(), "int: 42");
+			assertMethodExecution(expression, new BaseObject(), "String: 42");
+		}
+		assertEquals(2, resolutionCount.get());
+	}
+
 	private void assertMethodExecution(Expression expression, Object var, String expected) {
 		this.context.setVariable("var", var);
 		assertEquals(expected, expression.getValue(this.context));
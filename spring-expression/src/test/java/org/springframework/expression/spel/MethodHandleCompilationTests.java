@@ -0,0 +1,203 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import java.lang.reflect.Field;
+
+import org.junit.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for compiling expressions into method handles, checking that the
+ * compiled form evaluates to the same values as the interpreted form.
+ */
+public class MethodHandleCompilationTests {
+
+	private final SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(
+			SpelCompilerMode.IMMEDIATE, null, SpelCompilerBackend.METHOD_HANDLE, false, false, Integer.MAX_VALUE));
+
+	private final Person person = new Person("Dave", 42);
+
+
+	@Test
+	public void literalsAndOperators() {
+		assertCompiled("'abc'", "abc");
+		assertCompiled("null", null);
+		assertCompiled("3 > 2 and !(1 == 2)", true);
+		assertCompiled("1 != 1 or 2L <= 1L", false);
+		assertCompiled("3.5d >= 3.5d", true);
+		assertCompiled("1.5f < 1.0f", false);
+		assertCompiled("true ? 'yes' : 'no'", "yes");
+		assertCompiled("'' ?: 'empty'", "empty");
+	}
+
+	@Test
+	public void propertyAndMethodReferences() {
+		assertCompiled("name", "Dave");
+		assertCompiled("age > 40", true);
+		assertCompiled("#root.name.toUpperCase()", "DAVE");
+		assertCompiled("greet(name.substring(1), 2)", "ave, ave");
+		assertCompiled("nickname", null);
+		assertCompiled("nickname ?: name", "Dave");
+		assertCompiled("name.length() == 4 ? 'four' : 'other'", "four");
+		assertCompiled("isAdult()", true);
+		assertCompiled("DEFAULT_NAME", "anonymous");
+	}
+
+	@Test
+	public void variableReferences() {
+		StandardEvaluationContext context = new StandardEvaluationContext(this.person);
+		context.setVariable("prefix", "Da");
+		Expression expression = this.parser.parseExpression("name.startsWith(#prefix) and #this.age == 42");
+		assertEquals(true, expression.getValue(context));
+		assertTrue(((SpelExpression) expression).compileExpression());
+		assertIsMethodHandleCompiled(expression);
+		assertEquals(true, expression.getValue(context));
+		context.setVariable("prefix", "Bo");
+		assertEquals(false, expression.getValue(context));
+	}
+
+	@Test
+	public void nullSafeNavigation() {
+		Person withFriend = new Person("Dave", 42);
+		withFriend.friend = new Person("Bob", 41);
+		Expression expression = this.parser.parseExpression("friend?.name");
+		assertEquals("Bob", expression.getValue(withFriend));
+		assertTrue(((SpelExpression) expression).compileExpression());
+		assertIsMethodHandleCompiled(expression);
+		assertEquals("Bob", expression.getValue(withFriend));
+		assertNull(expression.getValue(this.person));
+	}
+
+	@Test
+	public void unsupportedExpressionRemainsInterpreted() {
+		Expression expression = this.parser.parseExpression("name + '!'");
+		assertEquals("Dave!", expression.getValue(this.person));
+		assertFalse(((SpelExpression) expression).compileExpression());
+		assertEquals("Dave!", expression.getValue(this.person));
+	}
+
+	@Test
+	public void compiledExpressionFailsForDifferentTargetType() {
+		Expression expression = this.parser.parseExpression("name");
+		assertEquals("Dave", expression.getValue(this.person));
+		assertTrue(((SpelExpression) expression).compileExpression());
+		try {
+			expression.getValue(new Named("Bob"));
+			fail("Should have thrown SpelEvaluationException");
+		}
+		catch (SpelEvaluationException ex) {
+			assertEquals(SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION, ex.getMessageCode());
+		}
+	}
+
+	@Test
+	public void mixedModeRevertsToInterpreted() {
+		SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(
+				SpelCompilerMode.MIXED, null, SpelCompilerBackend.METHOD_HANDLE, false, false, Integer.MAX_VALUE));
+		Expression expression = parser.parseExpression("name");
+		assertEquals("Dave", expression.getValue(this.person));
+		assertTrue(((SpelExpression) expression).compileExpression());
+		assertEquals("Bob", expression.getValue(new Named("Bob")));
+		assertEquals("Dave", expression.getValue(this.person));
+	}
+
+
+	private void assertCompiled(String expressionString, Object expected) {
+		Expression expression = this.parser.parseExpression(expressionString);
+		assertEquals(expected, expression.getValue(this.person));
+		assertTrue("Not compiled: " + expressionString, ((SpelExpression) expression).compileExpression());
+		assertIsMethodHandleCompiled(expression);
+		assertEquals(expected, expression.getValue(this.person));
+	}
+
+	private void assertIsMethodHandleCompiled(Expression expression) {
+		try {
+			Field field = SpelExpression.class.getDeclaredField("compiledAst");
+			field.setAccessible(true);
+			Object compiled = field.get(expression);
+			assertNotNull(compiled);
+			// No class defined for the expression
+			assertSame(SpelExpression.class.getClassLoader(), compiled.getClass().getClassLoader());
+		}
+		catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+
+	public static class Person {
+
+		public static final String DEFAULT_NAME = "anonymous";
+
+		private final String name;
+
+		private final int age;
+
+		public Person friend;
+
+		public Person(String name, int age) {
+			this.name = name;
+			this.age = age;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public String getNickname() {
+			return null;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public boolean isAdult() {
+			return (this.age >= 18);
+		}
+
+		public String greet(String value, int times) {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < times; i++) {
+				sb.append(i > 0 ? ", " : "").append(value);
+			}
+			return sb.toString();
+		}
+	}
+
+
+	public static class Named {
+
+		private final String name;
+
+		public Named(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+	}
+
+}
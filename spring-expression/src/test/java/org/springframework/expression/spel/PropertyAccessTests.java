@@ -17,6 +17,7 @@
 package org.springframework.expression.spel;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -285,6 +286,64 @@ public class PropertyAccessTests extends AbstractExpressionTests {
 		assertSame(Object.class, context.getRootObject().getTypeDescriptor().getType());
 	}
 
+	@Test
+	public void propertyAccessWithAlternatingTargetTypes() {
+		Expression expr = parser.parseExpression("name");
+		for (int i = 0; i < 3; i++) {
+			assertEquals("p1", expr.getValue(new StandardEvaluationContext(), new Person("p1")));
+			assertEquals("n1", expr.getValue(new StandardEvaluationContext(), new Named("n1")));
+		}
+	}
+
+	@Test
+	public void propertyAccessWithAccessorPrecedingReflectiveAccess() {
+		Expression expr = parser.parseExpression("name");
+		Person target = new Person("p1");
+		assertEquals("p1", expr.getValue(new StandardEvaluationContext(), target));
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		PropertyAccessor reflectiveAccessor = context.getPropertyAccessors().get(0);
+		context.setPropertyAccessors(new ArrayList<>(Arrays.asList(
+				new ConfigurablePropertyAccessor(Collections.singletonMap("name", "c1")), reflectiveAccessor)));
+		assertEquals("c1", expr.getValue(context, target));
+
+		context.addPropertyAccessor(new ConfigurablePropertyAccessor(Collections.singletonMap("name", "c2")));
+		assertEquals("c1", expr.getValue(context, target));
+		assertEquals("p1", expr.getValue(new StandardEvaluationContext(), target));
+	}
+
+	@Test
+	public void propertyAccessWithExceptionFromGetter() {
+		Expression expr = parser.parseExpression("name");
+		assertEquals("n1", expr.getValue(new Named("n1")));
+		for (int i = 0; i < 2; i++) {
+			try {
+				expr.getValue(new Named(null));
+				fail("Should have thrown SpelEvaluationException");
+			}
+			catch (SpelEvaluationException ex) {
+				assertEquals(SpelMessage.EXCEPTION_DURING_PROPERTY_READ, ex.getMessageCode());
+			}
+		}
+	}
+
+
+	private static class Named {
+
+		private final String name;
+
+		public Named(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			if (this.name == null) {
+				throw new IllegalStateException("No name");
+			}
+			return this.name;
+		}
+	}
+
 
 	// This can resolve the property 'flibbles' on any String (very useful...)
 	private static class StringyPropertyAccessor implements PropertyAccessor {
@@ -104,19 +104,20 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * FunctionReference
 	 * InlineList
 	 * OpModulus
+	 * InlineMap
+	 * BeanReference
+	 * OpBetween
+	 * OpMatches (literal patterns)
+	 * OpPower (double, float and long operands)
+	 * Selection (collections and maps)
+	 * Projection (collections and maps)
+	 * Assign (variables)
+	 * OpInc (variables)
+	 * OpDec (variables)
 	 *
 	 * Not yet compiled (some may never need to be):
-	 * Assign
-	 * BeanReference
 	 * Identifier
-	 * OpDec
-	 * OpBetween
-	 * OpMatches
-	 * OpPower
-	 * OpInc
-	 * Projection
 	 * QualifiedId
-	 * Selection
 	 */
 
 
@@ -5019,6 +5020,217 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertIsCompiled(exp);
 	}
 
+	@Test
+	public void selection() {
+		List<Integer> numbers = new ArrayList<>();
+		for (int i = 1; i <= 5; i++) {
+			numbers.add(i);
+		}
+		StandardEvaluationContext context = new StandardEvaluationContext();
+
+		expression = parser.parseExpression("?[#this > 2]");
+		assertEquals("[3, 4, 5]", expression.getValue(context, numbers).toString());
+		assertCanCompile(expression);
+		assertEquals("[3, 4, 5]", expression.getValue(context, numbers).toString());
+
+		expression = parser.parseExpression("^[#this > 2]");
+		assertEquals(3, expression.getValue(context, numbers));
+		assertCanCompile(expression);
+		assertEquals(3, expression.getValue(context, numbers));
+
+		expression = parser.parseExpression("$[#this > 2]");
+		assertEquals(5, expression.getValue(context, numbers));
+		assertCanCompile(expression);
+		assertEquals(5, expression.getValue(context, numbers));
+		assertNull(expression.getValue(context, Collections.singletonList(1)));
+
+		// Criteria referring to a variable rather than the current element
+		context.setVariable("limit", 4);
+		expression = parser.parseExpression("?[#this >= #limit]");
+		assertEquals("[4, 5]", expression.getValue(context, numbers).toString());
+		assertCanCompile(expression);
+		assertEquals("[4, 5]", expression.getValue(context, numbers).toString());
+
+		// Map entries of a public type, accessible from compiled code
+		Map<String, Integer> map = Collections.singletonMap("b", 2);
+		expression = parser.parseExpression("?[value > 1]");
+		assertEquals(map, expression.getValue(context, map));
+		assertCanCompile(expression);
+		assertEquals(map, expression.getValue(context, map));
+		assertEquals(Collections.emptyMap(), expression.getValue(context, Collections.singletonMap("a", 1)));
+
+		// Arrays are not supported
+		expression = parser.parseExpression("?[#this > 2]");
+		assertEquals(1, ((Integer[]) expression.getValue(context, new Integer[] {1, 2, 3})).length);
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void projection() {
+		List<Integer> numbers = new ArrayList<>();
+		for (int i = 1; i <= 3; i++) {
+			numbers.add(i);
+		}
+
+		expression = parser.parseExpression("![#this * 2]");
+		assertEquals("[2, 4, 6]", expression.getValue(numbers).toString());
+		assertCanCompile(expression);
+		assertEquals("[2, 4, 6]", expression.getValue(numbers).toString());
+
+		expression = parser.parseExpression("?[#this > 1].![#this * 10]");
+		assertEquals("[20, 30]", expression.getValue(numbers).toString());
+		assertCanCompile(expression);
+		assertEquals("[20, 30]", expression.getValue(numbers).toString());
+
+		Map<String, Integer> map = Collections.singletonMap("a", 2);
+		expression = parser.parseExpression("![value * 2]");
+		assertEquals("[4]", expression.getValue(map).toString());
+		assertCanCompile(expression);
+		assertEquals("[4]", expression.getValue(map).toString());
+	}
+
+	@Test
+	public void inlineMap() {
+		expression = parser.parseExpression("{a:1,b:{c:'x'}}");
+		Object map = expression.getValue();
+		assertEquals("{a=1, b={c=x}}", map.toString());
+		assertCanCompile(expression);
+		assertEquals("{a=1, b={c=x}}", expression.getValue().toString());
+		assertSame(expression.getValue(), expression.getValue());
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("x", 3);
+		expression = parser.parseExpression("{a:#x,'b':2}");
+		assertEquals("{a=3, b=2}", expression.getValue(context).toString());
+		assertCanCompile(expression);
+		assertEquals("{a=3, b=2}", expression.getValue(context).toString());
+		context.setVariable("x", 4);
+		assertEquals("{a=4, b=2}", expression.getValue(context).toString());
+	}
+
+	@Test
+	public void beanReference() {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setBeanResolver((ctx, beanName) -> beanName.toUpperCase());
+
+		expression = parser.parseExpression("@foo.length()");
+		assertEquals(3, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(3, expression.getValue(context));
+
+		expression = parser.parseExpression("@foo");
+		assertEquals("FOO", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("FOO", expression.getValue(context));
+	}
+
+	@Test
+	public void opMatches() {
+		expression = parser.parseExpression("'abc' matches 'a.c'");
+		assertTrue(expression.getValue(Boolean.class));
+		assertCanCompile(expression);
+		assertTrue(expression.getValue(Boolean.class));
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("s", "123");
+		expression = parser.parseExpression("#s matches '[0-9]+'");
+		assertTrue(expression.getValue(context, Boolean.class));
+		assertCanCompile(expression);
+		assertTrue(expression.getValue(context, Boolean.class));
+		context.setVariable("s", "12a");
+		assertFalse(expression.getValue(context, Boolean.class));
+
+		// Only literal patterns can be precompiled
+		context.setVariable("p", "a.c");
+		expression = parser.parseExpression("'abc' matches #p");
+		assertTrue(expression.getValue(context, Boolean.class));
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void opBetween() {
+		expression = parser.parseExpression("3 between {1,5}");
+		assertTrue(expression.getValue(Boolean.class));
+		assertCanCompile(expression);
+		assertTrue(expression.getValue(Boolean.class));
+
+		expression = parser.parseExpression("'e' between {'a','d'}");
+		assertFalse(expression.getValue(Boolean.class));
+		assertCanCompile(expression);
+		assertFalse(expression.getValue(Boolean.class));
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("x", 2.5d);
+		expression = parser.parseExpression("#x between {2.0d,#x}");
+		assertTrue(expression.getValue(context, Boolean.class));
+		assertCanCompile(expression);
+		assertTrue(expression.getValue(context, Boolean.class));
+		context.setVariable("x", 1.5d);
+		assertFalse(expression.getValue(context, Boolean.class));
+	}
+
+	@Test
+	public void opPower() {
+		expression = parser.parseExpression("2.0d ^ 3");
+		assertEquals(8.0d, expression.getValue());
+		assertCanCompile(expression);
+		assertEquals(8.0d, expression.getValue());
+
+		expression = parser.parseExpression("2L ^ 3");
+		assertEquals(8L, expression.getValue());
+		assertCanCompile(expression);
+		assertEquals(8L, expression.getValue());
+
+		expression = parser.parseExpression("1.5f ^ 2");
+		assertEquals(2.25d, expression.getValue());
+		assertCanCompile(expression);
+		assertEquals(2.25d, expression.getValue());
+
+		// The result type of an int power depends on its value
+		expression = parser.parseExpression("2 ^ 3");
+		assertEquals(8, expression.getValue());
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void assignAndIncrementVariables() {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("i", 5);
+		context.setVariable("l", 5L);
+		context.setVariable("d", 1.5d);
+
+		expression = parser.parseExpression("#x = #i");
+		assertEquals(5, expression.getValue(context));
+		assertCanCompile(expression);
+		context.setVariable("i", 6);
+		assertEquals(6, expression.getValue(context));
+		assertEquals(6, context.lookupVariable("x"));
+
+		expression = parser.parseExpression("#i++");
+		assertEquals(6, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(7, expression.getValue(context));
+		assertEquals(8, context.lookupVariable("i"));
+
+		expression = parser.parseExpression("++#i");
+		assertEquals(9, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(10, expression.getValue(context));
+		assertEquals(10, context.lookupVariable("i"));
+
+		expression = parser.parseExpression("#l--");
+		assertEquals(5L, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(4L, expression.getValue(context));
+		assertEquals(3L, context.lookupVariable("l"));
+
+		expression = parser.parseExpression("--#d");
+		assertEquals(0.5d, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(-0.5d, expression.getValue(context));
+		assertEquals(-0.5d, context.lookupVariable("d"));
+	}
+
 	@Test
 	public void repeatedCompilation() throws Exception {
 		// Verifying that after a number of compilations, the classloaders
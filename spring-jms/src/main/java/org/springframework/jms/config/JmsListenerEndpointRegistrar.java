@@ -137,13 +137,18 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 
 	protected void registerAllEndpoints() {
 		Assert.state(this.endpointRegistry != null, "No JmsListenerEndpointRegistry set");
+		List<JmsListenerEndpointDescriptor> descriptors;
 		synchronized (this.mutex) {
-			for (JmsListenerEndpointDescriptor descriptor : this.endpointDescriptors) {
-				this.endpointRegistry.registerListenerContainer(
-						descriptor.endpoint, resolveContainerFactory(descriptor));
-			}
+			descriptors = new ArrayList<>(this.endpointDescriptors);
 			this.startImmediately = true;  // trigger immediate startup
 		}
+		// Outside of the mutex, since the container factory may need to be obtained
+		// from the BeanFactory: the mutex may be its singleton mutex, which must not
+		// be held while obtaining beans in case of per-bean singleton locking.
+		for (JmsListenerEndpointDescriptor descriptor : descriptors) {
+			this.endpointRegistry.registerListenerContainer(
+					descriptor.endpoint, resolveContainerFactory(descriptor));
+		}
 	}
 
 	private JmsListenerContainerFactory<?> resolveContainerFactory(JmsListenerEndpointDescriptor descriptor) {
@@ -181,15 +186,15 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 		JmsListenerEndpointDescriptor descriptor = new JmsListenerEndpointDescriptor(endpoint, factory);
 
 		synchronized (this.mutex) {
-			if (this.startImmediately) {  // register and start immediately
-				Assert.state(this.endpointRegistry != null, "No JmsListenerEndpointRegistry set");
-				this.endpointRegistry.registerListenerContainer(descriptor.endpoint,
-						resolveContainerFactory(descriptor), true);
-			}
-			else {
+			if (!this.startImmediately) {
 				this.endpointDescriptors.add(descriptor);
+				return;
 			}
 		}
+		// Register and start immediately, outside of the mutex (see registerAllEndpoints)
+		Assert.state(this.endpointRegistry != null, "No JmsListenerEndpointRegistry set");
+		this.endpointRegistry.registerListenerContainer(descriptor.endpoint,
+				resolveContainerFactory(descriptor), true);
 	}
 
 	/**
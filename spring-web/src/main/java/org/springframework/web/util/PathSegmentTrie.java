@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * A trie over the literal leading segments of mapping path patterns, holding
+ * each mapping at the node for its literal segments. The mappings whose patterns
+ * may match a given path are the ones along the path's segments, optionally
+ * plus the ones at a last segment matched by suffix pattern.
+ *
+ * <p>Used by the Spring MVC handler method mappings in order to pre-filter
+ * the mappings to check for a lookup path. Not thread-safe.
+ *
+ * @since 5.0.11
+ * @param <T> the mapping type
+ */
+public class PathSegmentTrie<T> {
+
+	private final Map<String, PathSegmentTrie<T>> children = new HashMap<>(4);
+
+	private final Set<T> mappings = new LinkedHashSet<>(2);
+
+
+	/**
+	 * Add the given mapping at the node for the given pattern segments.
+	 * @param segments the literal segments, as returned from {@link #getLiteralSegments}
+	 * @param mapping the mapping to add
+	 */
+	public void add(String[] segments, T mapping) {
+		PathSegmentTrie<T> node = this;
+		for (String segment : segments) {
+			node = node.children.computeIfAbsent(segment, key -> new PathSegmentTrie<>());
+		}
+		node.mappings.add(mapping);
+	}
+
+	/**
+	 * Remove the given mapping from the node for the given pattern segments,
+	 * along with any nodes left empty.
+	 * @param segments the literal segments the mapping was added with
+	 * @param mapping the mapping to remove
+	 */
+	public void remove(String[] segments, T mapping) {
+		remove(segments, 0, mapping);
+	}
+
+	private boolean remove(String[] segments, int index, T mapping) {
+		if (index == segments.length) {
+			this.mappings.remove(mapping);
+		}
+		else {
+			PathSegmentTrie<T> child = this.children.get(segments[index]);
+			if (child != null && child.remove(segments, index + 1, mapping)) {
+				this.children.remove(segments[index]);
+			}
+		}
+		return (this.mappings.isEmpty() && this.children.isEmpty());
+	}
+
+	/**
+	 * Return the mappings whose patterns may match a path with the given segments,
+	 * in registration order per pattern segment. The returned collection must not
+	 * be modified.
+	 * @param pathSegments the non-empty segments of the lookup path
+	 * @param suffixPatternMatch whether to include the mappings for each prefix
+	 * before a '.' in the last path segment, for patterns matched with an
+	 * additional ".*" suffix or file extension
+	 */
+	public Collection<T> getMappings(String[] pathSegments, boolean suffixPatternMatch) {
+		if (this.children.isEmpty()) {
+			return this.mappings;
+		}
+		Set<T> result = new LinkedHashSet<>(this.mappings);
+		PathSegmentTrie<T> node = this;
+		for (int i = 0; i < pathSegments.length && !node.children.isEmpty(); i++) {
+			String segment = pathSegments[i];
+			if (suffixPatternMatch && i == pathSegments.length - 1) {
+				for (int index = segment.indexOf('.'); index != -1; index = segment.indexOf('.', index + 1)) {
+					PathSegmentTrie<T> stem = node.children.get(segment.substring(0, index));
+					if (stem != null) {
+						result.addAll(stem.mappings);
+					}
+				}
+			}
+			node = node.children.get(segment);
+			if (node == null) {
+				break;
+			}
+			result.addAll(node.mappings);
+		}
+		return result;
+	}
+
+
+	/**
+	 * Return the leading segments of the given "/"-separated pattern up until
+	 * the first segment with wildcards or URI variables.
+	 * @param pattern the path pattern
+	 * @return the literal segments, possibly empty
+	 */
+	public static String[] getLiteralSegments(String pattern) {
+		String[] segments = StringUtils.tokenizeToStringArray(pattern, "/", false, true);
+		int count = 0;
+		while (count < segments.length && segments[count].indexOf('*') == -1 &&
+				segments[count].indexOf('?') == -1 && segments[count].indexOf('{') == -1) {
+			count++;
+		}
+		return (count < segments.length ? Arrays.copyOf(segments, count) : segments);
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.util.StringUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PathSegmentTrie}.
+ */
+public class PathSegmentTrieTests {
+
+	private final PathSegmentTrie<String> trie = new PathSegmentTrie<>();
+
+
+	@Test
+	public void getLiteralSegments() {
+		assertArrayEquals(new String[] {"orders", "list"}, PathSegmentTrie.getLiteralSegments("/orders/list"));
+		assertArrayEquals(new String[] {"orders"}, PathSegmentTrie.getLiteralSegments("/orders/{id}/items"));
+		assertArrayEquals(new String[] {"orders"}, PathSegmentTrie.getLiteralSegments("/orders//a*"));
+		assertArrayEquals(new String[] {"orders"}, PathSegmentTrie.getLiteralSegments("orders/?/items"));
+		assertArrayEquals(new String[0], PathSegmentTrie.getLiteralSegments("/**"));
+		assertArrayEquals(new String[0], PathSegmentTrie.getLiteralSegments(""));
+	}
+
+	@Test
+	public void getMappingsAlongPath() {
+		add("/orders/{id}", "/orders/{id}/items", "/orders/list", "/customers/{id}", "/**");
+
+		assertEquals(Arrays.asList("/**", "/orders/{id}", "/orders/{id}/items"), getMappings("/orders/7/items"));
+		assertEquals(Arrays.asList("/**", "/orders/{id}", "/orders/{id}/items", "/orders/list"),
+				getMappings("/orders/list"));
+		assertEquals(Arrays.asList("/**", "/customers/{id}"), getMappings("/customers/7"));
+		assertEquals(Collections.singletonList("/**"), getMappings("/products/7"));
+		assertEquals(Collections.singletonList("/**"), getMappings("/"));
+	}
+
+	@Test
+	public void getMappingsWithSuffixPatternMatch() {
+		add("/orders/list", "/orders/list.json", "/orders/{id}");
+
+		assertEquals(Arrays.asList("/orders/{id}", "/orders/list.json"), getMappings("/orders/list.json"));
+		assertEquals(Arrays.asList("/orders/{id}", "/orders/list", "/orders/list.json"),
+				getMappings("/orders/list.json", true));
+		assertEquals(Arrays.asList("/orders/{id}", "/orders/list", "/orders/list.json"),
+				getMappings("/orders/list.json.gz", true));
+		assertEquals(Collections.singletonList("/orders/{id}"), getMappings("/orders/.json", true));
+	}
+
+	@Test
+	public void getMappingsWithoutLiteralSegments() {
+		add("/{category}/{id}", "/**/*.html");
+
+		assertEquals(Arrays.asList("/{category}/{id}", "/**/*.html"), getMappings("/orders/7"));
+	}
+
+	@Test
+	public void remove() {
+		add("/orders/{id}", "/orders/{id}/items", "/orders/list/{page}");
+
+		remove("/orders/list/{page}");
+		assertEquals(Arrays.asList("/orders/{id}", "/orders/{id}/items"), getMappings("/orders/list/1"));
+
+		remove("/orders/{id}");
+		remove("/orders/{id}/items");
+		assertEquals(Collections.emptyList(), getMappings("/orders/7"));
+
+		remove("/orders/{id}");
+		add("/orders/{id}");
+		assertEquals(Collections.singletonList("/orders/{id}"), getMappings("/orders/7"));
+	}
+
+
+	private void add(String... patterns) {
+		for (String pattern : patterns) {
+			this.trie.add(PathSegmentTrie.getLiteralSegments(pattern), pattern);
+		}
+	}
+
+	private void remove(String pattern) {
+		this.trie.remove(PathSegmentTrie.getLiteralSegments(pattern), pattern);
+	}
+
+	private List<String> getMappings(String path) {
+		return getMappings(path, false);
+	}
+
+	private List<String> getMappings(String path, boolean suffixPatternMatch) {
+		String[] segments = StringUtils.tokenizeToStringArray(path, "/", false, true);
+		return new ArrayList<>(this.trie.getMappings(segments, suffixPatternMatch));
+	}
+
+}
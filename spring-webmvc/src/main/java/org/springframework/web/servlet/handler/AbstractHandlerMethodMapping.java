@@ -36,14 +36,18 @@ import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
 import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.PathSegmentTrie;
 
 /**
  * Abstract base class for {@link HandlerMapping} implementations that define
@@ -301,6 +305,34 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	protected void handlerMethodsInitialized(Map<T, HandlerMethod> handlerMethods) {
 	}
 
+	/**
+	 * Whether the mappings to check for a lookup path without direct URL match
+	 * may be narrowed down by the literal leading segments of their
+	 * {@link #getMappingPathPatterns path patterns}, i.e. whether
+	 * {@link #getMatchingMapping} only ever matches lookup paths that one of
+	 * the mapping's path patterns matches with the configured
+	 * {@link #getPathMatcher() PathMatcher}.
+	 * <p>The default is "false": All mappings are checked in such a case.
+	 * @since 5.0.11
+	 */
+	protected boolean usePathPatternLookup() {
+		return false;
+	}
+
+	/**
+	 * Whether the given mapping may be narrowed down by the literal leading
+	 * segments of its path patterns in case of {@link #usePathPatternLookup()},
+	 * i.e. whether it matches lookup paths as determined by this handler mapping,
+	 * with this handler mapping's {@link #getPathMatcher() PathMatcher}.
+	 * Any other mapping is checked for every lookup path without direct URL match.
+	 * <p>The default is "true".
+	 * @param mapping the mapping to check
+	 * @since 5.0.11
+	 */
+	protected boolean usePathPatternLookup(T mapping) {
+		return true;
+	}
+
 
 	// Handler method lookup
 
@@ -349,8 +381,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			if (usePathPatternLookup()) {
+				// Go through all mappings whose patterns may match...
+				addMatchingMappings(this.mappingRegistry.getMappingsByPattern(lookupPath), matches, request);
+			}
+			else {
+				// No choice but to go through all mappings...
+				addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			}
 		}
 
 		if (!matches.isEmpty()) {
@@ -487,6 +525,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		private final PathSegmentTrie<T> patternLookup = new PathSegmentTrie<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -510,6 +550,15 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings whose path patterns may match the given URL path,
+		 * in case of {@link #usePathPatternLookup()}. Not thread-safe.
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPattern(String urlPath) {
+			return this.patternLookup.getMappings(StringUtils.tokenizeToStringArray(urlPath, "/", false, true), true);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -526,14 +575,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 
 		/**
-		 * Acquire the read lock when using getMappings and getMappingsByUrl.
+		 * Acquire the read lock when using getMappings, getMappingsByUrl and getMappingsByPattern.
 		 */
 		public void acquireReadLock() {
 			this.readWriteLock.readLock().lock();
 		}
 
 		/**
-		 * Release the read lock after using getMappings and getMappingsByUrl.
+		 * Release the read lock after using getMappings, getMappingsByUrl and getMappingsByPattern.
 		 */
 		public void releaseReadLock() {
 			this.readWriteLock.readLock().unlock();
@@ -555,6 +604,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.urlLookup.add(url, mapping);
 				}
 
+				List<String[]> patternSegments = getPatternSegments(mapping);
+				for (String[] segments : patternSegments) {
+					this.patternLookup.add(segments, mapping);
+				}
+
 				String name = null;
 				if (getNamingStrategy() != null) {
 					name = getNamingStrategy().getName(handlerMethod, mapping);
@@ -566,7 +620,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.corsLookup.put(handlerMethod, corsConfig);
 				}
 
-				this.registry.put(mapping, new MappingRegistration<>(mapping, handlerMethod, directUrls, name));
+				this.registry.put(mapping,
+						new MappingRegistration<>(mapping, handlerMethod, directUrls, patternSegments, name));
 			}
 			finally {
 				this.readWriteLock.writeLock().unlock();
@@ -593,6 +648,35 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return urls;
 		}
 
+		private List<String[]> getPatternSegments(T mapping) {
+			if (!usePathPatternLookup()) {
+				return Collections.emptyList();
+			}
+			Set<String> patterns = getMappingPathPatterns(mapping);
+			if (patterns.isEmpty() || !usePathPatternLookup(mapping)) {
+				return Collections.singletonList(new String[0]);
+			}
+			boolean literalSegments = isLiteralSegmentMatching(getPathMatcher());
+			List<String[]> result = new ArrayList<>(patterns.size());
+			for (String pattern : patterns) {
+				result.add(literalSegments ? PathSegmentTrie.getLiteralSegments(pattern) : new String[0]);
+			}
+			return result;
+		}
+
+		/**
+		 * Whether the given PathMatcher matches pattern segments without
+		 * wildcards and URI variables by equality with the path segment.
+		 */
+		private boolean isLiteralSegmentMatching(PathMatcher pathMatcher) {
+			if (pathMatcher.getClass() != AntPathMatcher.class) {
+				return false;
+			}
+			AntPathMatcher antPathMatcher = (AntPathMatcher) pathMatcher;
+			return (antPathMatcher.getPathSeparator().equals("/") &&
+					antPathMatcher.isCaseSensitive() && !antPathMatcher.isTrimTokens());
+		}
+
 		private void addMappingName(String name, HandlerMethod handlerMethod) {
 			List<HandlerMethod> oldList = this.nameLookup.get(name);
 			if (oldList == null) {
@@ -642,6 +726,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				for (String[] segments : definition.getPatternSegments()) {
+					this.patternLookup.remove(segments, definition.getMapping());
+				}
+
 				removeMappingName(definition);
 
 				this.corsLookup.remove(definition.getHandlerMethod());
@@ -684,17 +772,20 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final List<String> directUrls;
 
+		private final List<String[]> patternSegments;
+
 		@Nullable
 		private final String mappingName;
 
-		public MappingRegistration(T mapping, HandlerMethod handlerMethod,
-				@Nullable List<String> directUrls, @Nullable String mappingName) {
+		public MappingRegistration(T mapping, HandlerMethod handlerMethod, @Nullable List<String> directUrls,
+				@Nullable List<String[]> patternSegments, @Nullable String mappingName) {
 
 			Assert.notNull(mapping, "Mapping must not be null");
 			Assert.notNull(handlerMethod, "HandlerMethod must not be null");
 			this.mapping = mapping;
 			this.handlerMethod = handlerMethod;
 			this.directUrls = (directUrls != null ? directUrls : Collections.emptyList());
+			this.patternSegments = (patternSegments != null ? patternSegments : Collections.emptyList());
 			this.mappingName = mappingName;
 		}
 
@@ -710,6 +801,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.directUrls;
 		}
 
+		public List<String[]> getPatternSegments() {
+			return this.patternSegments;
+		}
+
 		@Nullable
 		public String getMappingName() {
 			return this.mappingName;
@@ -27,9 +27,7 @@ import javax.servlet.http.HttpServletRequest;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.lang.Nullable;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.servlet.mvc.condition.HeadersRequestCondition.HeaderExpression;
 
 /**
@@ -162,7 +160,7 @@ public final class ConsumesRequestCondition extends AbstractRequestCondition<Con
 	@Override
 	@Nullable
 	public ConsumesRequestCondition getMatchingCondition(HttpServletRequest request) {
-		if (CorsUtils.isPreFlightRequest(request)) {
+		if (RequestMatchContext.isPreFlightRequest(request)) {
 			return PRE_FLIGHT_MATCH;
 		}
 		if (isEmpty()) {
@@ -171,17 +169,22 @@ public final class ConsumesRequestCondition extends AbstractRequestCondition<Con
 
 		MediaType contentType;
 		try {
-			contentType = (StringUtils.hasLength(request.getContentType()) ?
-					MediaType.parseMediaType(request.getContentType()) :
-					MediaType.APPLICATION_OCTET_STREAM);
+			contentType = RequestMatchContext.getContentType(request);
 		}
 		catch (InvalidMediaTypeException ex) {
 			return null;
 		}
 
-		Set<ConsumeMediaTypeExpression> result = new LinkedHashSet<>(this.expressions);
-		result.removeIf(expression -> !expression.match(contentType));
-		return (!result.isEmpty() ? new ConsumesRequestCondition(result) : null);
+		Set<ConsumeMediaTypeExpression> result = null;
+		for (ConsumeMediaTypeExpression expression : this.expressions) {
+			if (expression.match(contentType)) {
+				if (result == null) {
+					result = new LinkedHashSet<>();
+				}
+				result.add(expression);
+			}
+		}
+		return (result != null ? new ConsumesRequestCondition(result) : null);
 	}
 
 	/**
@@ -25,7 +25,6 @@ import javax.servlet.http.HttpServletRequest;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.cors.CorsUtils;
 
 /**
  * A logical conjunction (' && ') request condition that matches a request against
@@ -110,7 +109,7 @@ public final class HeadersRequestCondition extends AbstractRequestCondition<Head
 	@Override
 	@Nullable
 	public HeadersRequestCondition getMatchingCondition(HttpServletRequest request) {
-		if (CorsUtils.isPreFlightRequest(request)) {
+		if (RequestMatchContext.isPreFlightRequest(request)) {
 			return PRE_FLIGHT_MATCH;
 		}
 		for (HeaderExpression expression : expressions) {
@@ -136,6 +136,16 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		return this.patterns;
 	}
 
+	/**
+	 * Whether this condition determines the lookup path with the given
+	 * {@link UrlPathHelper} and matches its patterns with the given
+	 * {@link PathMatcher}, i.e. with the very same instances.
+	 * @since 5.0.11
+	 */
+	public boolean isMatchingWith(UrlPathHelper urlPathHelper, PathMatcher pathMatcher) {
+		return (this.pathHelper == urlPathHelper && this.pathMatcher == pathMatcher);
+	}
+
 	@Override
 	protected Collection<String> getContent() {
 		return this.patterns;
@@ -201,7 +211,7 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		if (this.patterns.isEmpty()) {
 			return this;
 		}
-		String lookupPath = this.pathHelper.getLookupPathForRequest(request);
+		String lookupPath = RequestMatchContext.getLookupPath(request, this.pathHelper);
 		List<String> matches = getMatchingPatterns(lookupPath);
 		return (!matches.isEmpty() ?
 				new PatternsRequestCondition(matches, this.pathHelper, this.pathMatcher,
@@ -275,7 +285,7 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 */
 	@Override
 	public int compareTo(PatternsRequestCondition other, HttpServletRequest request) {
-		String lookupPath = this.pathHelper.getLookupPathForRequest(request);
+		String lookupPath = RequestMatchContext.getLookupPath(request, this.pathHelper);
 		Comparator<String> patternComparator = this.pathMatcher.getPatternComparator(lookupPath);
 		Iterator<String> iterator = this.patterns.iterator();
 		Iterator<String> iteratorOther = other.patterns.iterator();
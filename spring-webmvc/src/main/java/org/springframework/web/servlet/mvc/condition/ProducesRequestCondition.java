@@ -30,8 +30,6 @@ import org.springframework.web.HttpMediaTypeException;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.context.request.ServletWebRequest;
-import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.servlet.mvc.condition.HeadersRequestCondition.HeaderExpression;
 
 /**
@@ -187,7 +185,7 @@ public final class ProducesRequestCondition extends AbstractRequestCondition<Pro
 	@Override
 	@Nullable
 	public ProducesRequestCondition getMatchingCondition(HttpServletRequest request) {
-		if (CorsUtils.isPreFlightRequest(request)) {
+		if (RequestMatchContext.isPreFlightRequest(request)) {
 			return PRE_FLIGHT_MATCH;
 		}
 		if (isEmpty()) {
@@ -202,9 +200,16 @@ public final class ProducesRequestCondition extends AbstractRequestCondition<Pro
 			return null;
 		}
 
-		Set<ProduceMediaTypeExpression> result = new LinkedHashSet<>(this.expressions);
-		result.removeIf(expression -> !expression.match(acceptedMediaTypes));
-		if (!result.isEmpty()) {
+		Set<ProduceMediaTypeExpression> result = null;
+		for (ProduceMediaTypeExpression expression : this.expressions) {
+			if (expression.match(acceptedMediaTypes)) {
+				if (result == null) {
+					result = new LinkedHashSet<>();
+				}
+				result.add(expression);
+			}
+		}
+		if (result != null) {
 			return new ProducesRequestCondition(result, this.contentNegotiationManager);
 		}
 		else if (acceptedMediaTypes.contains(MediaType.ALL)) {
@@ -259,7 +264,7 @@ public final class ProducesRequestCondition extends AbstractRequestCondition<Pro
 	}
 
 	private List<MediaType> getAcceptedMediaTypes(HttpServletRequest request) throws HttpMediaTypeNotAcceptableException {
-		return this.contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request));
+		return RequestMatchContext.getAcceptedMediaTypes(request, this.contentNegotiationManager);
 	}
 
 	private int indexOfEqualMediaType(MediaType mediaType) {
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.condition;
+
+import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Holds the request-level inputs to {@link RequestCondition} matching, i.e.
+ * the lookup path, the accepted media types, the content type and whether
+ * the request is a CORS pre-flight request, resolving each of them at most
+ * once per handler lookup rather than once per candidate mapping.
+ *
+ * <p>A context is bound to the request for the duration of a lookup via
+ * {@link #bind} and {@link #unbind()}. Conditions consult the context bound
+ * to the given request, if any, and resolve the inputs themselves otherwise,
+ * e.g. when invoked outside of a handler lookup or with a wrapped request.
+ *
+ * @since 5.0.11
+ * @see org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping
+ */
+public final class RequestMatchContext {
+
+	private static final String CONTEXT_ATTRIBUTE = RequestMatchContext.class.getName() + ".CONTEXT";
+
+
+	private final HttpServletRequest request;
+
+	private final UrlPathHelper urlPathHelper;
+
+	private final String lookupPath;
+
+	@Nullable
+	private final Object previousContext;
+
+	@Nullable
+	private Boolean preFlightRequest;
+
+	@Nullable
+	private ContentNegotiationManager contentNegotiationManager;
+
+	@Nullable
+	private List<MediaType> acceptedMediaTypes;
+
+	@Nullable
+	private HttpMediaTypeNotAcceptableException acceptedMediaTypesException;
+
+	@Nullable
+	private MediaType contentType;
+
+	@Nullable
+	private InvalidMediaTypeException contentTypeException;
+
+
+	private RequestMatchContext(HttpServletRequest request, UrlPathHelper urlPathHelper, String lookupPath) {
+		this.request = request;
+		this.urlPathHelper = urlPathHelper;
+		this.lookupPath = lookupPath;
+		this.previousContext = request.getAttribute(CONTEXT_ATTRIBUTE);
+	}
+
+
+	/**
+	 * Create a context for the given request and bind it to the request
+	 * until {@link #unbind()} is called.
+	 * @param request the current request
+	 * @param urlPathHelper the UrlPathHelper that the lookup path was resolved with
+	 * @param lookupPath the lookup path for the request
+	 * @return the bound context
+	 */
+	public static RequestMatchContext bind(HttpServletRequest request, UrlPathHelper urlPathHelper, String lookupPath) {
+		RequestMatchContext context = new RequestMatchContext(request, urlPathHelper, lookupPath);
+		request.setAttribute(CONTEXT_ATTRIBUTE, context);
+		return context;
+	}
+
+	/**
+	 * Unbind this context from its request, restoring any context that
+	 * was bound to the request before.
+	 */
+	public void unbind() {
+		if (this.previousContext != null) {
+			this.request.setAttribute(CONTEXT_ATTRIBUTE, this.previousContext);
+		}
+		else {
+			this.request.removeAttribute(CONTEXT_ATTRIBUTE);
+		}
+	}
+
+
+	/**
+	 * Return the lookup path for the given request, as resolved by the given
+	 * UrlPathHelper.
+	 */
+	static String getLookupPath(HttpServletRequest request, UrlPathHelper urlPathHelper) {
+		RequestMatchContext context = getContext(request);
+		if (context != null && context.urlPathHelper == urlPathHelper) {
+			return context.lookupPath;
+		}
+		return urlPathHelper.getLookupPathForRequest(request);
+	}
+
+	/**
+	 * Whether the given request is a CORS pre-flight request.
+	 * @see CorsUtils#isPreFlightRequest(HttpServletRequest)
+	 */
+	static boolean isPreFlightRequest(HttpServletRequest request) {
+		RequestMatchContext context = getContext(request);
+		if (context == null) {
+			return CorsUtils.isPreFlightRequest(request);
+		}
+		if (context.preFlightRequest == null) {
+			context.preFlightRequest = CorsUtils.isPreFlightRequest(request);
+		}
+		return context.preFlightRequest;
+	}
+
+	/**
+	 * Return the media types accepted by the given request, as resolved by
+	 * the given ContentNegotiationManager. The returned list must not be modified.
+	 */
+	static List<MediaType> getAcceptedMediaTypes(HttpServletRequest request, ContentNegotiationManager manager)
+			throws HttpMediaTypeNotAcceptableException {
+
+		RequestMatchContext context = getContext(request);
+		if (context == null) {
+			return manager.resolveMediaTypes(new ServletWebRequest(request));
+		}
+		if (context.contentNegotiationManager != manager) {
+			context.contentNegotiationManager = manager;
+			try {
+				context.acceptedMediaTypes = manager.resolveMediaTypes(new ServletWebRequest(request));
+				context.acceptedMediaTypesException = null;
+			}
+			catch (HttpMediaTypeNotAcceptableException ex) {
+				context.acceptedMediaTypes = null;
+				context.acceptedMediaTypesException = ex;
+			}
+		}
+		if (context.acceptedMediaTypesException != null) {
+			throw context.acceptedMediaTypesException;
+		}
+		return context.acceptedMediaTypes;
+	}
+
+	/**
+	 * Return the content type of the given request, falling back on
+	 * {@code application/octet-stream} if the request has none.
+	 */
+	static MediaType getContentType(HttpServletRequest request) throws InvalidMediaTypeException {
+		RequestMatchContext context = getContext(request);
+		if (context == null) {
+			return parseContentType(request);
+		}
+		if (context.contentType == null && context.contentTypeException == null) {
+			try {
+				context.contentType = parseContentType(request);
+			}
+			catch (InvalidMediaTypeException ex) {
+				context.contentTypeException = ex;
+			}
+		}
+		if (context.contentTypeException != null) {
+			throw context.contentTypeException;
+		}
+		return context.contentType;
+	}
+
+	private static MediaType parseContentType(HttpServletRequest request) {
+		return (StringUtils.hasLength(request.getContentType()) ?
+				MediaType.parseMediaType(request.getContentType()) :
+				MediaType.APPLICATION_OCTET_STREAM);
+	}
+
+	@Nullable
+	private static RequestMatchContext getContext(HttpServletRequest request) {
+		Object context = request.getAttribute(CONTEXT_ATTRIBUTE);
+		// Only applicable to the request it was bound to, not to wrappers of it
+		if (context instanceof RequestMatchContext && ((RequestMatchContext) context).request == request) {
+			return (RequestMatchContext) context;
+		}
+		return null;
+	}
+
+}
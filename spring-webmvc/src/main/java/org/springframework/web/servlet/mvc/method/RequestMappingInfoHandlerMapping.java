@@ -32,6 +32,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -44,6 +45,8 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.handler.AbstractHandlerMethodMapping;
 import org.springframework.web.servlet.mvc.condition.NameValueExpression;
+import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
+import org.springframework.web.servlet.mvc.condition.RequestMatchContext;
 import org.springframework.web.util.WebUtils;
 
 /**
@@ -82,6 +85,47 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		return info.getPatternsCondition().getPatterns();
 	}
 
+	/**
+	 * Narrow down the mappings to check for a lookup path by their URL path
+	 * patterns.
+	 * @since 5.0.11
+	 * @see #usePathPatternLookup(RequestMappingInfo)
+	 */
+	@Override
+	protected boolean usePathPatternLookup() {
+		return true;
+	}
+
+	/**
+	 * Only narrow down mappings whose {@link PatternsRequestCondition} uses this
+	 * handler mapping's {@link #getUrlPathHelper() UrlPathHelper} and
+	 * {@link #getPathMatcher() PathMatcher}, e.g. not mappings registered with
+	 * a {@link RequestMappingInfo} built for a different configuration.
+	 * @since 5.0.11
+	 */
+	@Override
+	protected boolean usePathPatternLookup(RequestMappingInfo info) {
+		return info.getPatternsCondition().isMatchingWith(getUrlPathHelper(), getPathMatcher());
+	}
+
+	/**
+	 * Bind a {@link RequestMatchContext} to the request for the duration of
+	 * the lookup, so that request-level inputs such as the lookup path and the
+	 * accepted media types are resolved once rather than for every candidate.
+	 * @since 5.0.11
+	 */
+	@Override
+	@Nullable
+	protected HandlerMethod lookupHandlerMethod(String lookupPath, HttpServletRequest request) throws Exception {
+		RequestMatchContext context = RequestMatchContext.bind(request, getUrlPathHelper(), lookupPath);
+		try {
+			return super.lookupHandlerMethod(lookupPath, request);
+		}
+		finally {
+			context.unbind();
+		}
+	}
+
 	/**
 	 * Check if the given RequestMappingInfo matches the current request and
 	 * return a (potentially new) instance with conditions that match the
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.condition;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+import org.junit.Test;
+
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.test.MockHttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.util.UrlPathHelper;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link RequestMatchContext}.
+ */
+public class RequestMatchContextTests {
+
+	private final UrlPathHelper pathHelper = new UrlPathHelper();
+
+
+	@Test
+	public void acceptedMediaTypesResolvedOncePerLookup() {
+		AtomicInteger count = new AtomicInteger();
+		ContentNegotiationManager manager = new ContentNegotiationManager(request -> {
+			count.incrementAndGet();
+			return new HeaderContentNegotiationStrategy().resolveMediaTypes(request);
+		});
+		ProducesRequestCondition json = new ProducesRequestCondition(new String[] {"application/json"}, null, manager);
+		ProducesRequestCondition xml = new ProducesRequestCondition(new String[] {"application/xml"}, null, manager);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo");
+		request.addHeader("Accept", "application/json");
+
+		RequestMatchContext context = RequestMatchContext.bind(request, this.pathHelper, "/foo");
+		try {
+			assertNotNull(json.getMatchingCondition(request));
+			assertNull(xml.getMatchingCondition(request));
+			assertEquals(1, count.get());
+		}
+		finally {
+			context.unbind();
+		}
+
+		assertNotNull(json.getMatchingCondition(request));
+		assertEquals(2, count.get());
+	}
+
+	@Test
+	public void invalidContentTypeWithinLookup() {
+		ConsumesRequestCondition condition = new ConsumesRequestCondition("text/plain");
+
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/foo");
+		request.setContentType("foo");
+
+		RequestMatchContext context = RequestMatchContext.bind(request, this.pathHelper, "/foo");
+		try {
+			assertNull(condition.getMatchingCondition(request));
+			assertNull(condition.getMatchingCondition(request));
+		}
+		finally {
+			context.unbind();
+		}
+	}
+
+	@Test
+	public void missingContentTypeWithinLookup() {
+		ConsumesRequestCondition condition = new ConsumesRequestCondition("application/octet-stream");
+
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/foo");
+
+		RequestMatchContext context = RequestMatchContext.bind(request, this.pathHelper, "/foo");
+		try {
+			ConsumesRequestCondition match = condition.getMatchingCondition(request);
+			assertNotNull(match);
+			assertEquals(MediaType.APPLICATION_OCTET_STREAM, match.getConsumableMediaTypes().iterator().next());
+			assertNotNull(condition.getMatchingCondition(request));
+		}
+		finally {
+			context.unbind();
+		}
+	}
+
+	@Test
+	public void lookupPathFromContext() {
+		PatternsRequestCondition condition = new PatternsRequestCondition(
+				new String[] {"/foo"}, this.pathHelper, new AntPathMatcher(), true, true);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bar");
+		RequestMatchContext context = RequestMatchContext.bind(request, this.pathHelper, "/foo");
+		try {
+			assertNotNull(condition.getMatchingCondition(request));
+
+			PatternsRequestCondition otherHelperCondition = new PatternsRequestCondition(
+					new String[] {"/foo"}, new UrlPathHelper(), new AntPathMatcher(), true, true);
+			assertNull(otherHelperCondition.getMatchingCondition(request));
+		}
+		finally {
+			context.unbind();
+		}
+		assertNull(condition.getMatchingCondition(request));
+	}
+
+	@Test
+	public void wrappedRequestResolvesItself() {
+		PatternsRequestCondition condition = new PatternsRequestCondition(
+				new String[] {"/foo"}, this.pathHelper, new AntPathMatcher(), true, true);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bar");
+		RequestMatchContext context = RequestMatchContext.bind(request, this.pathHelper, "/foo");
+		try {
+			assertNull(condition.getMatchingCondition(new HttpServletRequestWrapper(request)));
+		}
+		finally {
+			context.unbind();
+		}
+	}
+
+	@Test
+	public void unbindRestoresPreviousContext() {
+		PatternsRequestCondition condition = new PatternsRequestCondition(
+				new String[] {"/foo"}, this.pathHelper, new AntPathMatcher(), true, true);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bar");
+		RequestMatchContext outer = RequestMatchContext.bind(request, this.pathHelper, "/foo");
+		RequestMatchContext inner = RequestMatchContext.bind(request, this.pathHelper, "/baz");
+		assertNull(condition.getMatchingCondition(request));
+		inner.unbind();
+		assertNotNull(condition.getMatchingCondition(request));
+		outer.unbind();
+		assertFalse(request.getAttributeNames().hasMoreElements());
+	}
+
+}
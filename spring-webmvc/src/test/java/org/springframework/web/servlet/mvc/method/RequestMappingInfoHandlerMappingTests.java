@@ -33,6 +33,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
@@ -249,6 +250,92 @@ public class RequestMappingInfoHandlerMappingTests {
 		assertNull(chain);
 	}
 
+	@Test
+	public void getHandlerPatternMatchAmongManyMappings() throws Exception {
+		for (int i = 0; i < 100; i++) {
+			RequestMappingInfo info = RequestMappingInfo.paths("/orders" + i + "/{id}", "/orders" + i + "/{id}/items/*").build();
+			this.handlerMapping.registerMapping(info, this.barMethod.getBean(), this.barMethod.getMethod());
+		}
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders42/7");
+		assertEquals(this.barMethod.getMethod(), getHandler(request).getMethod());
+		assertEquals("/orders42/{id}", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+		assertEquals("7", getUriTemplateVariables(request).get("id"));
+
+		request = new MockHttpServletRequest("GET", "/orders42/7/items/1");
+		assertEquals(this.barMethod.getMethod(), getHandler(request).getMethod());
+		assertEquals("/orders42/{id}/items/*", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+
+		request = new MockHttpServletRequest("GET", "/orders42/7/items");
+		assertNull(this.handlerMapping.getHandler(request));
+	}
+
+	@Test
+	public void getHandlerPatternMatchWithSuffix() throws Exception {
+		RequestMappingInfo info = RequestMappingInfo.paths("/orders/list", "/orders/{id}/items").build();
+		this.handlerMapping.registerMapping(info, this.barMethod.getBean(), this.barMethod.getMethod());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders/list.json");
+		assertEquals(this.barMethod.getMethod(), getHandler(request).getMethod());
+		assertEquals("/orders/list.*", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+
+		request = new MockHttpServletRequest("GET", "/orders/7/items.json");
+		assertEquals(this.barMethod.getMethod(), getHandler(request).getMethod());
+		assertEquals("/orders/{id}/items.*", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+
+		request = new MockHttpServletRequest("GET", "/orders/7/items/");
+		assertEquals(this.barMethod.getMethod(), getHandler(request).getMethod());
+		assertEquals("/orders/{id}/items/", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+	}
+
+	@Test
+	public void getHandlerPatternMatchAfterUnregister() throws Exception {
+		RequestMappingInfo info = RequestMappingInfo.paths("/orders/{id}").build();
+		this.handlerMapping.registerMapping(info, this.barMethod.getBean(), this.barMethod.getMethod());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders/7");
+		assertEquals(this.barMethod.getMethod(), getHandler(request).getMethod());
+
+		this.handlerMapping.unregisterMapping(info);
+		assertNull(this.handlerMapping.getHandler(new MockHttpServletRequest("GET", "/orders/7")));
+
+		this.handlerMapping.registerMapping(info, this.barMethod.getBean(), this.barMethod.getMethod());
+		assertEquals(this.barMethod.getMethod(), getHandler(new MockHttpServletRequest("GET", "/orders/7")).getMethod());
+	}
+
+	@Test
+	public void getHandlerPatternMatchCaseInsensitive() throws Exception {
+		AntPathMatcher pathMatcher = new AntPathMatcher();
+		pathMatcher.setCaseSensitive(false);
+		this.handlerMapping.setPathMatcher(pathMatcher);
+		RequestMappingInfo info = new RequestMappingInfo(new PatternsRequestCondition(new String[] {"/Orders/{id}"},
+				null, pathMatcher, true, true), null, null, null, null, null, null);
+		this.handlerMapping.registerMapping(info, this.barMethod.getBean(), this.barMethod.getMethod());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders/7");
+		assertEquals(this.barMethod.getMethod(), getHandler(request).getMethod());
+	}
+
+	@Test
+	public void getHandlerPatternMatchWithOtherUrlPathHelper() throws Exception {
+		TestRequestMappingInfoHandlerMapping handlerMapping = new TestRequestMappingInfoHandlerMapping() {
+			@Override
+			protected void handleMatch(RequestMappingInfo info, String lookupPath, HttpServletRequest request) {
+				// the info determines its own lookup path
+			}
+		};
+		handlerMapping.setAlwaysUseFullPath(true);
+		RequestMappingInfo info = RequestMappingInfo.paths("/orders/{id}").build();
+		handlerMapping.registerMapping(info, this.barMethod.getBean(), this.barMethod.getMethod());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/orders/7");
+		request.setServletPath("/app");
+		request.setPathInfo("/orders/7");
+		HandlerExecutionChain chain = handlerMapping.getHandler(request);
+		assertNotNull(chain);
+		assertEquals(this.barMethod.getMethod(), ((HandlerMethod) chain.getHandler()).getMethod());
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void handleMatchUriTemplateVariables() {